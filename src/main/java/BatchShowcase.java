@@ -0,0 +1,38 @@
+import api.BatchRunner;
+import api.BatchSummary;
+import api.DataFormat;
+import com.google.gson.JsonParseException;
+import model.input.InputReader;
+import model.input.IntersectionLayout;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class BatchShowcase {
+    public static void main(String[] args) {
+        if (args.length != 4 && args.length != 5) {
+            System.out.println(String.format("Invalid number of arguments: %d!!!", args.length));
+            System.out.println("Please provide input directory, glob, layout file, output directory and optionally " +
+                    "number of threads");
+
+            return;
+        }
+
+        try {
+            IntersectionLayout layout = InputReader.readLayout(args[2]);
+            int parallelism = args.length == 5 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+
+            BatchSummary summary = BatchRunner.runBatch(
+                    Path.of(args[0]), args[1], layout, Path.of(args[3]), DataFormat.JSON, parallelism
+            );
+
+            System.out.println(String.format(
+                    "Simulated %d files (%d failed, %d steps) in %d ms",
+                    summary.filesCount(), summary.failuresCount(), summary.totalSteps(), summary.totalTimeMillis()
+            ));
+        } catch (IOException | JsonParseException | IllegalArgumentException exception) {
+            System.out.println("Error while running batch!!!");
+            System.out.println("Error message: " + exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+import model.ingest.DetectorLoadGenerator;
+import model.ingest.IngestServer;
+import model.input.InputReader;
+import model.input.IntersectionLayout;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+
+public class IngestShowcase {
+    private static final long TIMEOUT_NANOS = 60_000_000_000L;
+
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            System.out.println(String.format("Invalid number of arguments: %d!!!", args.length));
+            System.out.println("Please provide number of intersections, connections and events per connection");
+
+            return;
+        }
+
+        try {
+            int intersectionsCount = Integer.parseInt(args[0]);
+            int connectionsCount = Integer.parseInt(args[1]);
+            int eventsPerConnection = Integer.parseInt(args[2]);
+            IntersectionLayout layout = InputReader.readLayout("showcase/layouts/basic_crossing_layout.json");
+
+            try (IngestServer server = new IngestServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+                for (int intersectionId = 0; intersectionId < intersectionsCount; intersectionId++) {
+                    server.register(intersectionId, layout.createSimulation());
+                }
+
+                server.start();
+
+                long startTime = System.nanoTime();
+                long sentEvents = DetectorLoadGenerator.generate(
+                        new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()),
+                        connectionsCount, eventsPerConnection, intersectionsCount
+                );
+
+                long deadline = System.nanoTime() + TIMEOUT_NANOS;
+
+                while (server.getAcceptedEventsCount() + server.getRejectedEventsCount() < sentEvents) {
+                    if ( ! server.isRunning() || System.nanoTime() > deadline) {
+                        System.out.println(String.format(
+                                "Ingest did not finish, %d of %d events ingested!!!",
+                                server.getAcceptedEventsCount() + server.getRejectedEventsCount(), sentEvents
+                        ));
+
+                        return;
+                    }
+
+                    Thread.onSpinWait();
+                }
+
+                long timeNanos = System.nanoTime() - startTime;
+
+                System.out.println(String.format(
+                        "Ingested %d events (%d rejected) in %d ms, %.0f events per second",
+                        sentEvents, server.getRejectedEventsCount(), timeNanos / 1_000_000,
+                        sentEvents * 1e9 / timeNanos
+                ));
+            }
+        } catch (IOException | IllegalArgumentException exception) {
+            System.out.println("Error while running ingest!!!");
+            System.out.println("Error message: " + exception.getMessage());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+import api.TrafficLightServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+public class ServerShowcase {
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.out.println(String.format("Invalid number of arguments: %d!!!", args.length));
+            System.out.println("Please provide port number");
+
+            return;
+        }
+
+        try {
+            TrafficLightServer server = new TrafficLightServer(new InetSocketAddress(Integer.parseInt(args[0])));
+            server.start();
+
+            System.out.println(String.format("Listening on port %d", server.getPort()));
+        } catch (IOException | IllegalArgumentException exception) {
+            System.out.println("Error while starting server!!!");
+            System.out.println("Error message: " + exception.getMessage());
+        }
+    }
+}
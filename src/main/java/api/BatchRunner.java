@@ -0,0 +1,256 @@
+package api;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import model.input.IntersectionLayout;
+import model.simulation.BatchingSimulationObserver;
+import model.simulation.Simulation;
+import model.simulation.SimulationEventBatch;
+import model.traffic.Car;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * BatchRunner class simulates every input file of a directory that matches given glob. Each file is simulated in its
+ * own Simulation created from the same intersection layout, and files are spread across threads of a work-stealing
+ * pool, so a batch of many small files uses all cores. Failure of a single file does not stop the batch.
+ *
+ * <p>Output of every input file is written to the output directory as <i>&lt;input name&gt;_output</i> with extension
+ * of the output format, so names of input files have to differ by more than extension. After all files are processed,
+ * <i>summary.json</i> with timings, step counts and failures of every file is written to the same directory.</p>
+ *
+ * <p>Example</p>
+ * <pre>
+ *     IntersectionLayout layout = InputReader.readLayout("layout.json");
+ *     BatchSummary summary = BatchRunner.runBatch(
+ *             Path.of("inputs"), "*.json", layout, Path.of("outputs"), DataFormat.JSON, 8
+ *     );
+ * </pre>
+ */
+public final class BatchRunner {
+    public static final String SUMMARY_FILE_NAME = "summary.json";
+    private static final String OUTPUT_SUFFIX = "_output";
+
+    private BatchRunner() {
+    }
+
+    /**
+     * Runs batch with one worker thread per available processor.
+     *
+     * @param inputDirectory Directory with input files
+     * @param glob Glob that names of input files have to match, e.g. <i>*.json</i>
+     * @param layout Layout of the crossing simulated for every input file
+     * @param outputDirectory Directory to which outputs and summary are written, created if missing
+     * @param outputFormat Format of output files
+     * @return Summary of the batch
+     * @throws IOException If input directory can not be listed or summary can not be written
+     */
+    public static BatchSummary runBatch(Path inputDirectory, String glob, IntersectionLayout layout,
+                                        Path outputDirectory, DataFormat outputFormat) throws IOException {
+        return runBatch(
+                inputDirectory, glob, layout, outputDirectory, outputFormat, Runtime.getRuntime().availableProcessors()
+        );
+    }
+
+    /**
+     * Runs batch with given number of worker threads.
+     *
+     * @param inputDirectory Directory with input files
+     * @param glob Glob that names of input files have to match, e.g. <i>*.json</i>
+     * @param layout Layout of the crossing simulated for every input file
+     * @param outputDirectory Directory to which outputs and summary are written, created if missing
+     * @param outputFormat Format of output files
+     * @param parallelism Number of worker threads
+     * @return Summary of the batch
+     * @throws IOException If input directory can not be listed or summary can not be written
+     * @throws IllegalArgumentException If parallelism is not positive or two input files have the same output file
+     */
+    public static BatchSummary runBatch(Path inputDirectory, String glob, IntersectionLayout layout,
+                                        Path outputDirectory, DataFormat outputFormat, int parallelism)
+            throws IOException, IllegalArgumentException {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException(String.format("Parallelism has to be positive: %d", parallelism));
+        }
+
+        List<Path> inputFiles = listInputFiles(inputDirectory, glob);
+        Map<Path, Path> outputFiles = getOutputFiles(inputFiles, outputDirectory, outputFormat);
+        Files.createDirectories(outputDirectory);
+
+        long startTime = System.nanoTime();
+        List<BatchSummary.FileResult> results = new ArrayList<>();
+        ExecutorService executor = Executors.newWorkStealingPool(parallelism);
+
+        try {
+            List<Future<BatchSummary.FileResult>> futures = new ArrayList<>();
+
+            for (Path inputFile : inputFiles) {
+                Path outputFile = outputFiles.get(inputFile);
+                futures.add(executor.submit(() -> runFile(inputFile, outputFile, layout, outputFormat)));
+            }
+
+            for (Future<BatchSummary.FileResult> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Batch was interrupted!!!", exception);
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException("Unexpected batch failure!!!", exception.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long totalTimeMillis = (System.nanoTime() - startTime) / 1_000_000;
+        BatchSummary summary = BatchSummary.of(parallelism, totalTimeMillis, results);
+        writeSummary(summary, outputDirectory.resolve(SUMMARY_FILE_NAME));
+
+        return summary;
+    }
+
+    /**
+     * Lists regular files of the directory that match the glob, sorted by name.
+     *
+     * @param inputDirectory Directory with input files
+     * @param glob Glob that names of input files have to match
+     * @return Sorted list of matching files
+     * @throws IOException If directory can not be listed
+     */
+    private static List<Path> listInputFiles(Path inputDirectory, String glob) throws IOException {
+        List<Path> inputFiles = new ArrayList<>();
+
+        try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(inputDirectory, glob)) {
+            for (Path path : directoryStream) {
+                if (Files.isRegularFile(path)) {
+                    inputFiles.add(path);
+                }
+            }
+        }
+
+        inputFiles.sort(null);
+
+        return inputFiles;
+    }
+
+    /**
+     * Maps input files to their output files. Files that differ only by extension would be written to the same output
+     * file at once by two workers, so such batch is rejected before any file is simulated.
+     *
+     * @param inputFiles Input files of the batch
+     * @param outputDirectory Directory to which outputs are written
+     * @param outputFormat Format of output files
+     * @return Output file of every input file
+     * @throws IllegalArgumentException If two input files have the same output file
+     */
+    private static Map<Path, Path> getOutputFiles(List<Path> inputFiles, Path outputDirectory,
+                                                  DataFormat outputFormat) throws IllegalArgumentException {
+        Map<Path, Path> outputFiles = new HashMap<>();
+        Map<Path, Path> inputFilesByOutput = new HashMap<>();
+
+        for (Path inputFile : inputFiles) {
+            Path outputFile = outputDirectory.resolve(getOutputFileName(inputFile, outputFormat));
+            Path otherInputFile = inputFilesByOutput.putIfAbsent(outputFile, inputFile);
+
+            if (otherInputFile != null) {
+                throw new IllegalArgumentException(String.format(
+                        "Input files %s and %s have the same output file: %s",
+                        otherInputFile.getFileName(), inputFile.getFileName(), outputFile.getFileName()
+                ));
+            }
+
+            outputFiles.put(inputFile, outputFile);
+        }
+
+        return outputFiles;
+    }
+
+    private static String getOutputFileName(Path inputFile, DataFormat outputFormat) {
+        String fileName = inputFile.getFileName().toString();
+        int extensionStart = fileName.lastIndexOf('.');
+        String stem = extensionStart > 0 ? fileName.substring(0, extensionStart) : fileName;
+
+        return stem + OUTPUT_SUFFIX + outputFormat.getExtension();
+    }
+
+    /**
+     * Simulates single input file in a new simulation. Failures are recorded in the result instead of being thrown.
+     *
+     * @param inputFile Path to the input file
+     * @param outputFile Path to the output file
+     * @param layout Layout of the simulated crossing
+     * @param outputFormat Format of the output file
+     * @return Result of the simulation
+     */
+    private static BatchSummary.FileResult runFile(Path inputFile, Path outputFile, IntersectionLayout layout,
+                                                   DataFormat outputFormat) {
+        long startTime = System.nanoTime();
+        Simulation simulation = layout.createSimulation();
+        StepCounter stepCounter = new StepCounter();
+        simulation.subscribe(stepCounter);
+
+        String error = null;
+
+        try {
+            TrafficLightManager.runManagerOrThrow(
+                    inputFile.toString(),
+                    outputFile.toString(),
+                    simulation,
+                    DataFormat.fromPath(inputFile.toString()),
+                    outputFormat,
+                    false
+            );
+        } catch (IOException | RuntimeException exception) {
+            error = exception.getClass().getSimpleName() + ": " + exception.getMessage();
+        }
+
+        long timeMillis = (System.nanoTime() - startTime) / 1_000_000;
+
+        return new BatchSummary.FileResult(
+                inputFile.getFileName().toString(),
+                outputFile.getFileName().toString(),
+                timeMillis,
+                stepCounter.stepsCount,
+                error
+        );
+    }
+
+    private static void writeSummary(BatchSummary summary, Path summaryFile) throws IOException {
+        Gson gson = new GsonBuilder().setPrettyPrinting().serializeNulls().create();
+
+        try (Writer writer = Files.newBufferedWriter(summaryFile)) {
+            gson.toJson(summary, writer);
+        }
+    }
+
+    /**
+     * Observer counting steps of a single simulation. It is used by one worker thread only. It receives events in
+     * batches, so the simulation does not have to create lists of departing cars for it.
+     */
+    private static class StepCounter implements BatchingSimulationObserver {
+        private long stepsCount = 0;
+
+        @Override
+        public void notifyBatch(SimulationEventBatch batch) {
+            this.stepsCount += batch.getStepsCount();
+        }
+
+        @Override
+        public void notifySimulationStep(List<Car> carsLeavingCrossing) {
+        }
+
+        @Override
+        public void notifyAddVehicle(Car vehicle) {
+        }
+    }
+}
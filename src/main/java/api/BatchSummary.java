@@ -0,0 +1,54 @@
+package api;
+
+import java.util.List;
+
+/**
+ * BatchSummary record describes single run of BatchRunner: results of every input file and totals of the whole batch.
+ * It is written next to the output files as <i>summary.json</i>.
+ *
+ * @param parallelism Number of worker threads used by the batch
+ * @param totalTimeMillis Wall clock time of the whole batch in milliseconds
+ * @param filesCount Number of processed input files
+ * @param failuresCount Number of input files whose simulation failed
+ * @param totalSteps Sum of simulation steps of all input files
+ * @param results Results of input files in the order of their names
+ */
+public record BatchSummary(int parallelism, long totalTimeMillis, int filesCount, int failuresCount, long totalSteps,
+                           List<FileResult> results) {
+    /**
+     * FileResult record describes simulation of a single input file.
+     *
+     * @param input Name of the input file
+     * @param output Name of the output file
+     * @param timeMillis Time of the simulation in milliseconds
+     * @param steps Number of performed simulation steps
+     * @param error Message of the failure or `null` if simulation succeeded
+     */
+    public record FileResult(String input, String output, long timeMillis, long steps, String error) {
+        /**
+         * Checks if simulation of the file succeeded.
+         *
+         * @return `true` if simulation succeeded, otherwise `false`
+         */
+        public boolean succeeded() {
+            return this.error == null;
+        }
+    }
+
+    /**
+     * Creates summary with totals computed from the results.
+     *
+     * @param parallelism Number of worker threads used by the batch
+     * @param totalTimeMillis Wall clock time of the whole batch in milliseconds
+     * @param results Results of input files
+     * @return Summary of the batch
+     */
+    public static BatchSummary of(int parallelism, long totalTimeMillis, List<FileResult> results) {
+        int failuresCount = (int) results.stream().filter(result -> ! result.succeeded()).count();
+        long totalSteps = results.stream().mapToLong(FileResult::steps).sum();
+
+        return new BatchSummary(
+                parallelism, totalTimeMillis, results.size(), failuresCount, totalSteps, List.copyOf(results)
+        );
+    }
+}
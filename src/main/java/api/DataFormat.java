@@ -0,0 +1,160 @@
+package api;
+
+import model.binary.BinaryCommandStream;
+import model.binary.BinaryCommandWriter;
+import model.binary.BinaryResultStream;
+import model.binary.BinaryResultWriter;
+import model.input.CommandStream;
+import model.input.CommandWriter;
+import model.input.InputReader;
+import model.input.JsonCommandWriter;
+import model.output.JsonStepStatusStream;
+import model.output.NdjsonOutputWriter;
+import model.output.OutputWriter;
+import model.output.StepStatusStream;
+import model.output.StreamingOutputWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * DataFormat enum lists formats of input and output files supported by TrafficLightManager and opens readers and
+ * writers of each format.
+ *
+ * <ul>
+ *     <li><b>JSON</b> - single document with <i>commands</i> array (input) or <i>stepStatuses</i> array (output)</li>
+ *     <li><b>NDJSON</b> - newline-delimited JSON, one command (input) or one step status (output) per line</li>
+ *     <li><b>BINARY</b> - compact binary files described by BinaryFormat, read through memory mapping</li>
+ * </ul>
+ */
+public enum DataFormat {
+    JSON,
+    NDJSON,
+    BINARY;
+
+    /**
+     * Detects format from file extension. Files with <i>.ndjson</i> or <i>.jsonl</i> extension are NDJSON files,
+     * files with <i>.bin</i> extension are binary files and all other files are treated as JSON files.
+     *
+     * @param path Path to the file
+     * @return Detected format
+     */
+    public static DataFormat fromPath(String path) {
+        String lowerCasePath = path.toLowerCase(Locale.ROOT);
+
+        if (lowerCasePath.endsWith(".ndjson") || lowerCasePath.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        else if (lowerCasePath.endsWith(".bin")) {
+            return BINARY;
+        }
+
+        return JSON;
+    }
+
+    /**
+     * Converts text flag into format, e.g. <i>ndjson</i> into NDJSON.
+     *
+     * @param format Name of the format, case-insensitive
+     * @return Format of given name
+     * @throws IllegalArgumentException If there is no format of given name
+     */
+    public static DataFormat fromString(String format) throws IllegalArgumentException {
+        return switch (format.toLowerCase(Locale.ROOT)) {
+            case "json" -> JSON;
+            case "ndjson", "jsonl" -> NDJSON;
+            case "binary", "bin" -> BINARY;
+            default -> throw new IllegalArgumentException(String.format("Unknown data format: %s", format));
+        };
+    }
+
+    /**
+     * Returns extension of files in this format, e.g. <i>.ndjson</i> for NDJSON.
+     *
+     * @return File extension with leading dot
+     */
+    public String getExtension() {
+        return switch (this) {
+            case JSON -> ".json";
+            case NDJSON -> ".ndjson";
+            case BINARY -> ".bin";
+        };
+    }
+
+    /**
+     * Opens file with commands of this format for streaming.
+     *
+     * @param path Path to the file
+     * @return Stream of commands
+     * @throws IOException If file can not be opened
+     */
+    public CommandStream openCommandStream(String path) throws IOException {
+        return switch (this) {
+            case JSON -> InputReader.streamJsonCommands(path);
+            case NDJSON -> InputReader.streamNdjsonCommands(path);
+            case BINARY -> new BinaryCommandStream(Path.of(path));
+        };
+    }
+
+    /**
+     * Creates file to which commands can be written in this format.
+     *
+     * @param path Path to the file
+     * @return Writer of commands
+     * @throws IOException If file can not be created
+     */
+    public CommandWriter openCommandWriter(String path) throws IOException {
+        if (this == BINARY) {
+            return new BinaryCommandWriter(Files.newOutputStream(Path.of(path)));
+        }
+
+        Writer writer = Files.newBufferedWriter(Path.of(path));
+
+        try {
+            return new JsonCommandWriter(writer, this == NDJSON);
+        } catch (IOException exception) {
+            writer.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * Creates file to which simulation output is written in this format.
+     *
+     * @param path Path to the file
+     * @return Writer of simulation output
+     * @throws IOException If file can not be created
+     */
+    public OutputWriter openOutputWriter(String path) throws IOException {
+        if (this == BINARY) {
+            return new BinaryResultWriter(Files.newOutputStream(Path.of(path)));
+        }
+
+        Writer writer = Files.newBufferedWriter(Path.of(path));
+
+        try {
+            return this == NDJSON ? new NdjsonOutputWriter(writer) : new StreamingOutputWriter(writer);
+        } catch (IOException exception) {
+            writer.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * Opens file with simulation output of this format for streaming.
+     *
+     * @param path Path to the file
+     * @return Stream of step statuses
+     * @throws IOException If file can not be opened or its beginning is malformed
+     */
+    public StepStatusStream openStepStatusStream(String path) throws IOException {
+        if (this == BINARY) {
+            return new BinaryResultStream(Path.of(path));
+        }
+
+        return new JsonStepStatusStream(Files.newBufferedReader(Path.of(path)), this == NDJSON);
+    }
+}
@@ -0,0 +1,63 @@
+package api;
+
+import model.input.CommandStream;
+import model.input.CommandWriter;
+import model.output.OutputWriter;
+import model.output.StepStatusStream;
+
+import java.io.IOException;
+
+/**
+ * FormatConverter class converts files with commands and files with simulation output between supported data formats
+ * (see DataFormat). Files are converted in a streaming way, so their size is not limited by memory.
+ *
+ * <p>Example</p>
+ * <pre>
+ *     FormatConverter.convertCommands("commands.json", DataFormat.JSON, "commands.bin", DataFormat.BINARY);
+ *     TrafficLightManager.runManager("commands.bin", "output.bin", simulation);
+ *     FormatConverter.convertOutput("output.bin", DataFormat.BINARY, "output.json", DataFormat.JSON);
+ * </pre>
+ */
+public final class FormatConverter {
+    private FormatConverter() {
+    }
+
+    /**
+     * Converts file with commands to another format.
+     *
+     * @param pathToInputFile Path to file with commands
+     * @param inputFormat Format of the input file
+     * @param pathToOutputFile Path to the created file
+     * @param outputFormat Format of the created file
+     * @throws IOException If reading or writing fails
+     * @throws IllegalArgumentException If input file contains incorrect command
+     */
+    public static void convertCommands(String pathToInputFile, DataFormat inputFormat, String pathToOutputFile,
+                                       DataFormat outputFormat) throws IOException, IllegalArgumentException {
+        try (CommandStream commands = inputFormat.openCommandStream(pathToInputFile);
+             CommandWriter commandWriter = outputFormat.openCommandWriter(pathToOutputFile)) {
+            while (commands.hasNext()) {
+                commandWriter.write(commands.next());
+            }
+        }
+    }
+
+    /**
+     * Converts file with simulation output to another format.
+     *
+     * @param pathToInputFile Path to file with simulation output
+     * @param inputFormat Format of the input file
+     * @param pathToOutputFile Path to the created file
+     * @param outputFormat Format of the created file
+     * @throws IOException If reading or writing fails
+     */
+    public static void convertOutput(String pathToInputFile, DataFormat inputFormat, String pathToOutputFile,
+                                     DataFormat outputFormat) throws IOException {
+        try (StepStatusStream stepStatuses = inputFormat.openStepStatusStream(pathToInputFile);
+             OutputWriter outputWriter = outputFormat.openOutputWriter(pathToOutputFile)) {
+            while (stepStatuses.hasNext()) {
+                outputWriter.writeStepStatus(stepStatuses.next());
+            }
+        }
+    }
+}
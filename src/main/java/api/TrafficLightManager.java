@@ -1,22 +1,31 @@
 package api;
 
-import model.input.InputReader;
-import model.output.OutputCollector;
+import com.google.gson.JsonParseException;
+import model.input.CommandStream;
+import model.input.JsonCommandStream;
+import model.output.OutputWriter;
+import model.simulation.PipelinedSimulationRunner;
 import model.simulation.Simulation;
 import model.simulation.SimulationRunner;
 
-import java.io.FileWriter;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 /**
  * The `TrafficLightManager` class is responsible for managing the simulation of traffic lights.
  * It reads input commands from a file, executes the simulation, and writes the output to a file.
+ * Commands are streamed from the input file one at a time and step statuses are written to the output file as soon as
+ * they are produced, so neither the whole input nor the whole output is ever held in memory.
+ *
+ * <p>Input and output files can be JSON documents, newline-delimited JSON or compact binary files (see DataFormat).
+ * By default format of each file is detected from its extension.</p>
+ *
+ * <p>If reading commands or running the simulation fails partway through the input, the output file is deleted, so an
+ * incomplete output is never left looking like a complete document.</p>
  */
 public class TrafficLightManager {
-    private static final String COMMANDS = "commands";
-
     /**
      * Runs the traffic light manager by reading input commands, executing the simulation, and writing the output.
      *
@@ -25,34 +34,158 @@ public class TrafficLightManager {
      * @param simulation The simulation object that will be controlled by the commands.
      */
     public static void runManager(String pathToInputFile, String pathToOutputFile, Simulation simulation) {
+        runManager(pathToInputFile, pathToOutputFile, simulation, false);
+    }
+
+    /**
+     * Runs the traffic light manager like <i>runManager(String, String, Simulation)</i>. In pipelined mode parsing,
+     * simulation and output writing run on separate threads connected with bounded ring buffers, which shortens
+     * run time of large inputs on multicore machines. Output is the same in both modes.
+     *
+     * @param pathToInputFile The path to the input file containing simulation commands in JSON format.
+     * @param pathToOutputFile The path to the output file where simulation results will be written.
+     * @param simulation The simulation object that will be controlled by the commands.
+     * @param pipelined Whether parsing, simulation and output writing should run on separate threads
+     */
+    public static void runManager(String pathToInputFile, String pathToOutputFile, Simulation simulation,
+                                  boolean pipelined) {
+        runManager(
+                pathToInputFile,
+                pathToOutputFile,
+                simulation,
+                DataFormat.fromPath(pathToInputFile),
+                DataFormat.fromPath(pathToOutputFile),
+                pipelined
+        );
+    }
+
+    /**
+     * Runs the traffic light manager with explicitly given formats of input and output files.
+     *
+     * @param pathToInputFile The path to the input file containing simulation commands.
+     * @param pathToOutputFile The path to the output file where simulation results will be written.
+     * @param simulation The simulation object that will be controlled by the commands.
+     * @param inputFormat Format of the input file
+     * @param outputFormat Format of the output file
+     * @param pipelined Whether parsing, simulation and output writing should run on separate threads
+     */
+    public static void runManager(String pathToInputFile, String pathToOutputFile, Simulation simulation,
+                                  DataFormat inputFormat, DataFormat outputFormat, boolean pipelined) {
         // Read commands
-        Optional<Map<String, List<Map<String, String>>>> optionalInput = InputReader.readJsonCommands(pathToInputFile);
+        try (CommandStream commands = inputFormat.openCommandStream(pathToInputFile)) {
+            if (commands instanceof JsonCommandStream jsonCommands && ! jsonCommands.hasCommandsArray()) {
+                System.out.println("No commands found!!!");
+                return;
+            }
 
-        if (optionalInput.isEmpty()) {
-            return;
+            runSimulation(commands, pathToOutputFile, outputFormat, simulation, pipelined);
+        } catch (IOException | UncheckedIOException | JsonParseException exception) {
+            System.out.println("Error while commands from json file!!!");
+            System.out.println("Error message: " + exception.getMessage());
+        }
+    }
+
+    /**
+     * Runs the traffic light manager like <i>runManager(String, String, Simulation, DataFormat, DataFormat,
+     * boolean)</i>, but reports failures to the caller instead of printing them.
+     *
+     * @param pathToInputFile The path to the input file containing simulation commands.
+     * @param pathToOutputFile The path to the output file where simulation results will be written.
+     * @param simulation The simulation object that will be controlled by the commands.
+     * @param inputFormat Format of the input file
+     * @param outputFormat Format of the output file
+     * @param pipelined Whether parsing, simulation and output writing should run on separate threads
+     * @throws IOException If input has no commands or reading or writing fails
+     * @throws JsonParseException If input is malformed
+     * @throws IllegalArgumentException If input contains incorrect command
+     */
+    public static void runManagerOrThrow(String pathToInputFile, String pathToOutputFile, Simulation simulation,
+                                         DataFormat inputFormat, DataFormat outputFormat, boolean pipelined)
+            throws IOException, JsonParseException, IllegalArgumentException {
+        try (CommandStream commands = inputFormat.openCommandStream(pathToInputFile)) {
+            if (commands instanceof JsonCommandStream jsonCommands && ! jsonCommands.hasCommandsArray()) {
+                throw new IOException("No commands found!!!");
+            }
+
+            runToOutputFile(commands, pathToOutputFile, outputFormat, simulation, pipelined);
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
         }
+    }
+
+    /**
+     * Runs simulation with streamed commands and writes its output step by step.
+     *
+     * @param commands Stream of commands positioned at the first command
+     * @param pathToOutputFile The path to the output file where simulation results will be written.
+     * @param outputFormat Format of the output file
+     * @param simulation The simulation object that will be controlled by the commands.
+     * @param pipelined Whether parsing, simulation and output writing should run on separate threads
+     */
+    private static void runSimulation(CommandStream commands, String pathToOutputFile, DataFormat outputFormat,
+                                      Simulation simulation, boolean pipelined) {
+        // Write the output of the simulation
+        try {
+            runToOutputFile(commands, pathToOutputFile, outputFormat, simulation, pipelined);
+        } catch (IOException | UncheckedIOException exception) {
+            System.out.println(exception.getMessage());
+        }
+    }
+
+    /**
+     * Runs all commands writing step statuses to the output file. If running fails, output file is deleted instead
+     * of being completed.
+     *
+     * @param commands Stream of commands positioned at the first command
+     * @param pathToOutputFile The path to the output file where simulation results will be written.
+     * @param outputFormat Format of the output file
+     * @param simulation The simulation object that will be controlled by the commands.
+     * @param pipelined Whether parsing, simulation and output writing should run on separate threads
+     * @throws IOException If output file can not be written
+     */
+    private static void runToOutputFile(CommandStream commands, String pathToOutputFile, DataFormat outputFormat,
+                                        Simulation simulation, boolean pipelined) throws IOException {
+        OutputWriter outputWriter = outputFormat.openOutputWriter(pathToOutputFile);
+
+        try {
+            runCommands(commands, outputWriter, simulation, pipelined);
+        } catch (RuntimeException exception) {
+            try {
+                outputWriter.close();
+                Files.deleteIfExists(Path.of(pathToOutputFile));
+            } catch (IOException | RuntimeException closingException) {
+                exception.addSuppressed(closingException);
+            }
 
-        Map<String, List<Map<String, String>>> commands = optionalInput.get();
-        List<Map<String, String>> commandsList = commands.get(COMMANDS);
+            throw exception;
+        }
+
+        outputWriter.close();
+    }
 
-        if (commandsList == null) {
-            System.out.println("No commands found!!!");
+    /**
+     * Runs all commands on the simulation and passes its step statuses to the output writer.
+     *
+     * @param commands Stream of commands positioned at the first command
+     * @param outputWriter Writer of simulation output
+     * @param simulation The simulation object that will be controlled by the commands.
+     * @param pipelined Whether parsing, simulation and output writing should run on separate threads
+     */
+    private static void runCommands(CommandStream commands, OutputWriter outputWriter, Simulation simulation,
+                                    boolean pipelined) {
+        if (pipelined) {
+            new PipelinedSimulationRunner(simulation).runCommands(commands, outputWriter);
             return;
         }
 
-        // Collect the output of the simulation
-        OutputCollector outputCollector = new OutputCollector();
-        simulation.subscribe(outputCollector);
+        simulation.subscribe(outputWriter);
 
         // Run simulation
         SimulationRunner simulationRunner = new SimulationRunner(simulation);
-        simulationRunner.runSimulation(commandsList);
-
-        // Write output
-        try (FileWriter outputFile = new FileWriter(pathToOutputFile)) {
-            outputFile.write(outputCollector.toString());
-        } catch (Exception exception) {
-            System.out.println(exception.getMessage());
+        try {
+            simulationRunner.runCommands(commands);
+        } finally {
+            simulation.unsubscribe(outputWriter);
         }
     }
 }
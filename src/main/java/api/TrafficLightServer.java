@@ -0,0 +1,449 @@
+package api;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import model.commands.AddVehicle;
+import model.commands.Command;
+import model.commands.Step;
+import model.commands.StepMany;
+import model.enums.Direction;
+import model.input.IntersectionLayout;
+import model.input.JsonCommandStream;
+import model.output.StreamingOutputWriter;
+import model.simulation.Simulation;
+import model.simulation.SimulationRunner;
+import model.simulation.SimulationSnapshot;
+import model.simulation.SimulationSnapshot.TrafficLaneSnapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * TrafficLightServer class exposes simulations of many intersections over HTTP. It uses the JDK built-in HTTP server
+ * and handles every request on its own virtual thread. Request bodies use the same JSON schemas as input files, and
+ * step statuses are returned in the same JSON schema as output files.
+ *
+ * <p>Endpoints</p>
+ * <ul>
+ *     <li><b>POST /intersections</b> - creates intersection from layout (see IntersectionLayout), returns
+ *     <i>{"id": 0}</i></li>
+ *     <li><b>POST /intersections/{id}/commands</b> - runs <i>{"commands": [...]}</i>, e.g. single or many addVehicle
+ *     commands, returns <i>{"stepStatuses": [...]}</i></li>
+ *     <li><b>POST /intersections/{id}/step[?stepsCount=n]</b> - performs one or n steps, returns step statuses</li>
+ *     <li><b>GET /intersections/{id}/queues</b> - returns number of cars waiting on each traffic lane</li>
+ *     <li><b>DELETE /intersections/{id}</b> - removes intersection</li>
+ * </ul>
+ *
+ * <p>Commands are decoded from the request body token by token, without reading the whole body into a string, and
+ * all of them are decoded and checked against roads of the intersection before any is run, so a malformed request
+ * does not change the simulation. Requests to one intersection are run one at a time; requests to different
+ * intersections run in parallel. Responses are rendered to pooled buffers, so status code and length are known before
+ * the response is sent.</p>
+ *
+ * <p>Example</p>
+ * <pre>
+ *     try (TrafficLightServer server = new TrafficLightServer(new InetSocketAddress(8080))) {
+ *         server.start();
+ *         ...
+ *     }
+ * </pre>
+ */
+public class TrafficLightServer implements AutoCloseable {
+    public static final String INTERSECTIONS_PATH = "/intersections";
+
+    private static final String COMMANDS = "commands";
+    private static final String STEP = "step";
+    private static final String QUEUES = "queues";
+    private static final String STEPS_COUNT_PARAMETER = "stepsCount";
+
+    private static final int MAX_POOLED_BUFFERS = 256;
+    private static final int MAX_POOLED_BUFFER_SIZE = 64 * 1024;
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+
+    private record Intersection(Simulation simulation, ReentrantLock lock) {
+    }
+
+    private record Response(int statusCode, ResponseBuffer body) {
+    }
+
+    /**
+     * Byte buffer of a response body, returned to the pool after the response is sent.
+     */
+    private static final class ResponseBuffer extends ByteArrayOutputStream {
+        private ResponseBuffer() {
+            super(INITIAL_BUFFER_SIZE);
+        }
+
+        private int capacity() {
+            return this.buf.length;
+        }
+    }
+
+    /**
+     * Exception reported to the client with given status code.
+     */
+    private static final class RequestException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final int statusCode;
+
+        private RequestException(int statusCode, String message) {
+            super(message);
+            this.statusCode = statusCode;
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<Integer, Intersection> intersections = new ConcurrentHashMap<>();
+    private final AtomicInteger nextIntersectionId = new AtomicInteger();
+    private final Queue<ResponseBuffer> buffersPool = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooledBuffersCount = new AtomicInteger();
+
+    /**
+     * Creates server bound to given address. Server does not accept requests until it is started.
+     *
+     * @param address Address to bind, port 0 chooses free port
+     * @throws IOException If server can not be bound
+     */
+    public TrafficLightServer(InetSocketAddress address) throws IOException {
+        this.server = HttpServer.create(address, 0);
+        this.server.setExecutor(this.executor);
+        this.server.createContext(INTERSECTIONS_PATH, this::handle);
+    }
+
+    public void start() {
+        this.server.start();
+    }
+
+    public int getPort() {
+        return this.server.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting requests and waits until requests being handled are finished.
+     */
+    @Override
+    public void close() {
+        this.server.stop(0);
+        this.executor.close();
+    }
+
+    private void handle(HttpExchange exchange) {
+        try {
+            Response response;
+
+            try {
+                response = this.route(exchange);
+            } catch (RequestException exception) {
+                response = this.errorResponse(exception.statusCode, exception.getMessage());
+            } catch (JsonParseException | IllegalArgumentException exception) {
+                response = this.errorResponse(400, exception.getMessage());
+            } catch (RuntimeException exception) {
+                response = this.errorResponse(500, String.format("Internal server error: %s", exception));
+            }
+
+            this.send(exchange, response);
+        } catch (IOException | UncheckedIOException exception) {
+            // client disconnected, nothing can be reported
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Response route(HttpExchange exchange) throws IOException {
+        String subpath = exchange.getRequestURI().getPath().substring(INTERSECTIONS_PATH.length());
+        String[] pathSegments = subpath.split("/");
+        String method = exchange.getRequestMethod();
+
+        if ( ! subpath.isEmpty() && ! subpath.startsWith("/")) {
+            throw new RequestException(404, "Unknown endpoint!!!");
+        }
+
+        // path starts with "/", so the first segment is empty
+        if (pathSegments.length <= 1) {
+            requireMethod(method, "POST");
+            return this.createIntersection(exchange);
+        }
+
+        int intersectionId = parseIntersectionId(pathSegments[1]);
+
+        if (pathSegments.length == 2) {
+            requireMethod(method, "DELETE");
+
+            if (this.intersections.remove(intersectionId) == null) {
+                throw new RequestException(404, String.format("Intersection does not exist: %d", intersectionId));
+            }
+
+            return new Response(204, null);
+        }
+        else if (pathSegments.length > 3) {
+            throw new RequestException(404, "Unknown endpoint!!!");
+        }
+
+        Intersection intersection = this.getIntersection(intersectionId);
+
+        return switch (pathSegments[2]) {
+            case COMMANDS -> {
+                requireMethod(method, "POST");
+                List<Command> commands = readCommands(exchange);
+                checkCommands(intersection, commands);
+                yield this.runCommands(intersection, commands);
+            }
+            case STEP -> {
+                requireMethod(method, "POST");
+                int stepsCount = parseStepsCount(exchange.getRequestURI().getQuery());
+                Command command = stepsCount == 1 ? Step.INSTANCE : new StepMany(stepsCount);
+                yield this.runCommands(intersection, List.of(command));
+            }
+            case QUEUES -> {
+                requireMethod(method, "GET");
+                yield this.queueDepths(intersection);
+            }
+            default -> throw new RequestException(404, "Unknown endpoint!!!");
+        };
+    }
+
+    private Response createIntersection(HttpExchange exchange) throws IOException {
+        IntersectionLayout layout;
+
+        try (Reader reader = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+            layout = IntersectionLayout.fromJson(reader);
+        }
+
+        int intersectionId = this.nextIntersectionId.getAndIncrement();
+        this.intersections.put(intersectionId, new Intersection(layout.createSimulation(), new ReentrantLock()));
+
+        ResponseBuffer body = this.acquireBuffer();
+
+        try (JsonWriter jsonWriter = new JsonWriter(new OutputStreamWriter(body, StandardCharsets.UTF_8))) {
+            jsonWriter.beginObject();
+            jsonWriter.name("id").value(intersectionId);
+            jsonWriter.endObject();
+        }
+
+        return new Response(201, body);
+    }
+
+    /**
+     * Runs commands on the intersection and renders step statuses they produce.
+     */
+    private Response runCommands(Intersection intersection, List<Command> commands) throws IOException {
+        ResponseBuffer body = this.acquireBuffer();
+        Writer writer = new OutputStreamWriter(body, StandardCharsets.UTF_8);
+
+        try (StreamingOutputWriter outputWriter = new StreamingOutputWriter(writer, false)) {
+            intersection.lock().lock();
+
+            try {
+                intersection.simulation().subscribe(outputWriter);
+                new SimulationRunner(intersection.simulation()).runCommands(commands);
+            } finally {
+                intersection.simulation().unsubscribe(outputWriter);
+                intersection.lock().unlock();
+            }
+        } catch (RuntimeException exception) {
+            this.releaseBuffer(body);
+            throw exception;
+        }
+
+        return new Response(200, body);
+    }
+
+    private Response queueDepths(Intersection intersection) throws IOException {
+        SimulationSnapshot snapshot;
+        intersection.lock().lock();
+
+        try {
+            snapshot = intersection.simulation().snapshot();
+        } finally {
+            intersection.lock().unlock();
+        }
+
+        ResponseBuffer body = this.acquireBuffer();
+
+        try (JsonWriter jsonWriter = new JsonWriter(new OutputStreamWriter(body, StandardCharsets.UTF_8))) {
+            jsonWriter.beginObject();
+            jsonWriter.name("roads");
+            jsonWriter.beginObject();
+
+            for (Map.Entry<Direction, List<TrafficLaneSnapshot>> road : snapshot.roads().entrySet()) {
+                jsonWriter.name(road.getKey().name());
+                jsonWriter.beginArray();
+
+                for (TrafficLaneSnapshot trafficLane : road.getValue()) {
+                    jsonWriter.beginObject();
+                    jsonWriter.name("lane").value(trafficLane.currentLane() == null
+                            ? null
+                            : trafficLane.currentLane().name());
+                    jsonWriter.name("size").value(trafficLane.size());
+                    jsonWriter.endObject();
+                }
+
+                jsonWriter.endArray();
+            }
+
+            jsonWriter.endObject();
+            jsonWriter.endObject();
+        }
+
+        return new Response(200, body);
+    }
+
+    private Response errorResponse(int statusCode, String message) throws IOException {
+        ResponseBuffer body = this.acquireBuffer();
+
+        try (JsonWriter jsonWriter = new JsonWriter(new OutputStreamWriter(body, StandardCharsets.UTF_8))) {
+            jsonWriter.beginObject();
+            jsonWriter.name("error").value(message);
+            jsonWriter.endObject();
+        }
+
+        return new Response(statusCode, body);
+    }
+
+    private void send(HttpExchange exchange, Response response) throws IOException {
+        if (response.body() == null) {
+            exchange.sendResponseHeaders(response.statusCode(), -1);
+            return;
+        }
+
+        try {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(response.statusCode(), response.body().size());
+            response.body().writeTo(exchange.getResponseBody());
+        } finally {
+            this.releaseBuffer(response.body());
+        }
+    }
+
+    private Intersection getIntersection(int intersectionId) throws RequestException {
+        Intersection intersection = this.intersections.get(intersectionId);
+
+        if (intersection == null) {
+            throw new RequestException(404, String.format("Intersection does not exist: %d", intersectionId));
+        }
+
+        return intersection;
+    }
+
+    private ResponseBuffer acquireBuffer() {
+        ResponseBuffer buffer = this.buffersPool.poll();
+
+        if (buffer == null) {
+            return new ResponseBuffer();
+        }
+
+        this.pooledBuffersCount.decrementAndGet();
+        buffer.reset();
+
+        return buffer;
+    }
+
+    private void releaseBuffer(ResponseBuffer buffer) {
+        if (buffer.capacity() > MAX_POOLED_BUFFER_SIZE || this.pooledBuffersCount.get() >= MAX_POOLED_BUFFERS) {
+            return;
+        }
+
+        this.pooledBuffersCount.incrementAndGet();
+        this.buffersPool.offer(buffer);
+    }
+
+    /**
+     * Decodes all commands of the request body before any of them is run.
+     */
+    private static List<Command> readCommands(HttpExchange exchange) throws IOException {
+        try (JsonCommandStream commandStream = new JsonCommandStream(
+                new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)
+        )) {
+            if ( ! commandStream.hasCommandsArray()) {
+                throw new RequestException(400, "No commands found!!!");
+            }
+
+            List<Command> commands = new ArrayList<>();
+            commandStream.forEachRemaining(commands::add);
+
+            return commands;
+        } catch (MalformedJsonException | EOFException | IllegalStateException exception) {
+            throw new JsonParseException(exception.getMessage(), exception);
+        }
+    }
+
+    /**
+     * Checks that every added vehicle can join the intersection, so commands are not run partially.
+     */
+    private static void checkCommands(Intersection intersection, List<Command> commands) throws RequestException {
+        for (Command command : commands) {
+            if (command instanceof AddVehicle addVehicle
+                    && ! intersection.simulation().supportsLane(addVehicle.lane())) {
+                throw new RequestException(
+                        400,
+                        String.format("Intersection does not support lane of vehicle %s: %s",
+                                addVehicle.vehicleId(), addVehicle.lane())
+                );
+            }
+        }
+    }
+
+    private static int parseIntersectionId(String pathSegment) throws RequestException {
+        try {
+            return Integer.parseInt(pathSegment);
+        } catch (NumberFormatException exception) {
+            throw new RequestException(404, String.format("Intersection does not exist: %s", pathSegment));
+        }
+    }
+
+    /**
+     * Reads steps count from query string. Query can contain only <i>stepsCount</i> parameter.
+     */
+    private static int parseStepsCount(String query) throws IllegalArgumentException {
+        if (query == null || query.isEmpty()) {
+            return 1;
+        }
+
+        int stepsCount = 1;
+
+        for (String parameter : query.split("&")) {
+            int separatorIndex = parameter.indexOf('=');
+
+            if (separatorIndex < 0 || ! STEPS_COUNT_PARAMETER.equals(parameter.substring(0, separatorIndex))) {
+                throw new IllegalArgumentException(String.format("Unknown query parameter: %s", parameter));
+            }
+
+            stepsCount = Integer.parseInt(parameter.substring(separatorIndex + 1));
+        }
+
+        if (stepsCount <= 0) {
+            throw new IllegalArgumentException(String.format("Steps count has to be positive: %d", stepsCount));
+        }
+
+        return stepsCount;
+    }
+
+    private static void requireMethod(String method, String expectedMethod) throws RequestException {
+        if ( ! expectedMethod.equals(method)) {
+            throw new RequestException(405, String.format("Method not allowed: %s", method));
+        }
+    }
+}
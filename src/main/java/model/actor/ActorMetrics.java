@@ -0,0 +1,15 @@
+package model.actor;
+
+/**
+ * ActorMetrics record describes load of a single IntersectionActor at some moment.
+ *
+ * @param actorId Identifier of the actor in its ActorRuntime
+ * @param mailboxDepth Number of messages sent to the actor and not processed yet
+ * @param processedMessagesCount Number of processed messages
+ * @param averageLatencyNanos Average time from sending a message to completing its reply
+ * @param maxLatencyNanos Longest time from sending a message to completing its reply
+ * @param averageProcessingNanos Average time the actor spent processing a message
+ */
+public record ActorMetrics(int actorId, int mailboxDepth, long processedMessagesCount, long averageLatencyNanos,
+                           long maxLatencyNanos, long averageProcessingNanos) {
+}
@@ -0,0 +1,116 @@
+package model.actor;
+
+import model.simulation.Simulation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ActorRuntime class hosts many independent intersections, each wrapped in an IntersectionActor. Actors are run on
+ * virtual threads, so an idle actor costs only its mailbox and a busy one a cheap virtual thread, which allows
+ * hosting tens of thousands of intersections in a single process.
+ *
+ * <p>Runtime should be closed when it is no longer needed. Closing stops accepting new messages and waits until all
+ * messages already sent are processed.</p>
+ *
+ * <p>Example</p>
+ * <pre>
+ *     try (ActorRuntime runtime = new ActorRuntime()) {
+ *         IntersectionActor actor = runtime.spawn(new Simulation(roads));
+ *
+ *         actor.addVehicle(new Car("vehicle1", Lane.SOUTH_LEFT));
+ *         List&lt;Car&gt; departures = actor.step().join();
+ *     }
+ * </pre>
+ */
+public class ActorRuntime implements AutoCloseable {
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<Integer, IntersectionActor> actors = new ConcurrentHashMap<>();
+    private final AtomicInteger nextActorId = new AtomicInteger();
+    private final int throughput;
+    private volatile boolean closed = false;
+
+    public ActorRuntime() {
+        this(IntersectionActor.DEFAULT_THROUGHPUT);
+    }
+
+    /**
+     * Creates runtime.
+     *
+     * @param throughput Maximum number of messages an actor processes before giving its thread to other actors
+     * @throws IllegalArgumentException If throughput is not positive
+     */
+    public ActorRuntime(int throughput) throws IllegalArgumentException {
+        if (throughput <= 0) {
+            throw new IllegalArgumentException(String.format("Throughput has to be positive: %d", throughput));
+        }
+
+        this.throughput = throughput;
+    }
+
+    /**
+     * Creates actor owning given simulation. Simulation should not be used directly afterwards.
+     *
+     * @param simulation Simulation of the intersection
+     * @return Actor of the intersection
+     * @throws IllegalStateException If runtime is closed
+     */
+    public IntersectionActor spawn(Simulation simulation) throws IllegalStateException {
+        if (this.closed) {
+            throw new IllegalStateException("Actor runtime is closed!!!");
+        }
+
+        int actorId = this.nextActorId.getAndIncrement();
+        IntersectionActor actor = new IntersectionActor(actorId, simulation, this.executor, this.throughput);
+        this.actors.put(actorId, actor);
+
+        return actor;
+    }
+
+    /**
+     * Retrieves actor with given identifier.
+     *
+     * @param actorId Identifier of the actor
+     * @return Actor with given identifier
+     * @throws IllegalArgumentException If actor does not exist
+     */
+    public IntersectionActor getActor(int actorId) throws IllegalArgumentException {
+        IntersectionActor actor = this.actors.get(actorId);
+
+        if (actor == null) {
+            throw new IllegalArgumentException(String.format("Actor does not exist: %d", actorId));
+        }
+
+        return actor;
+    }
+
+    public int getActorsCount() {
+        return this.actors.size();
+    }
+
+    /**
+     * Retrieves metrics of all actors, ordered by actor identifier.
+     *
+     * @return List of metrics of each actor
+     */
+    public List<ActorMetrics> getMetrics() {
+        return this.actors.values().stream()
+                .map(IntersectionActor::getMetrics)
+                .sorted((metrics, other) -> Integer.compare(metrics.actorId(), other.actorId()))
+                .toList();
+    }
+
+    /**
+     * Stops all actors and waits until messages already sent to them are processed.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        this.actors.values().forEach(IntersectionActor::stop);
+        this.executor.close();
+    }
+}
@@ -0,0 +1,246 @@
+package model.actor;
+
+import model.commands.AddVehicle;
+import model.commands.Command;
+import model.commands.Step;
+import model.commands.StepMany;
+import model.concurrent.MpscQueue;
+import model.simulation.Simulation;
+import model.traffic.Car;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * IntersectionActor class owns a single Simulation and processes messages sent to it one at a time, so callers from
+ * any thread can control the simulation without own locking. Sending a message never blocks: message is appended to
+ * a lock-free mailbox and the reply is returned as CompletableFuture, completed exceptionally if processing fails.
+ *
+ * <p>Actor does not own a thread. When a message arrives at an idle actor, a task processing the mailbox is submitted
+ * to the executor of its ActorRuntime, i.e. to a new virtual thread. Task processes at most <i>throughput</i>
+ * messages and then submits itself again if mailbox is not empty, so busy actors do not starve the others. Messages
+ * sent by a single thread are processed in order they were sent.</p>
+ *
+ * <p>Messages accepted before the runtime is closed are always processed. Once executor refuses new tasks, remaining
+ * messages are processed by the thread that sent the last of them.</p>
+ *
+ * <p>Example</p>
+ * <pre>
+ *     IntersectionActor actor = runtime.spawn(simulation);
+ *
+ *     actor.addVehicle(new Car("vehicle1", Lane.SOUTH_LEFT));
+ *     CompletableFuture&lt;List&lt;Car&gt;&gt; departures = actor.step();
+ * </pre>
+ */
+public class IntersectionActor {
+    public static final int DEFAULT_THROUGHPUT = 64;
+
+    private record Message<T>(Function<Simulation, T> action, CompletableFuture<T> reply, long sendNanos) {
+        void process(Simulation simulation) {
+            try {
+                this.reply.complete(this.action.apply(simulation));
+            } catch (RuntimeException exception) {
+                this.reply.completeExceptionally(exception);
+            } catch (Error error) {
+                this.reply.completeExceptionally(error);
+                throw error;
+            }
+        }
+    }
+
+    private final int id;
+    private final Simulation simulation;
+    private final Executor executor;
+    private final int throughput;
+
+    private final MpscQueue<Message<?>> mailbox = new MpscQueue<>();
+    private final AtomicInteger mailboxDepth = new AtomicInteger();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile boolean stopped = false;
+
+    private volatile long processedMessagesCount = 0;
+    private volatile long totalLatencyNanos = 0;
+    private volatile long maxLatencyNanos = 0;
+    private volatile long totalProcessingNanos = 0;
+
+    IntersectionActor(int id, Simulation simulation, Executor executor, int throughput) {
+        this.id = id;
+        this.simulation = simulation;
+        this.executor = executor;
+        this.throughput = throughput;
+    }
+
+    /**
+     * Sends message adding vehicle to the simulation.
+     *
+     * @param car Car that should be added
+     * @return Future completed when the vehicle is added
+     * @throws IllegalStateException If actor is stopped
+     */
+    public CompletableFuture<Void> addVehicle(Car car) throws IllegalStateException {
+        return this.ask(simulation -> {
+            simulation.addVehicle(car);
+            return null;
+        });
+    }
+
+    /**
+     * Sends message performing single simulation step.
+     *
+     * @return Future of cars that leave crossing during the step
+     * @throws IllegalStateException If actor is stopped
+     */
+    public CompletableFuture<List<Car>> step() throws IllegalStateException {
+        return this.ask(Simulation::step);
+    }
+
+    /**
+     * Sends message performing given number of simulation steps.
+     *
+     * @param stepsCount Number of steps to perform
+     * @return Future of results of each step
+     * @throws IllegalStateException If actor is stopped
+     */
+    public CompletableFuture<List<List<Car>>> stepMany(int stepsCount) throws IllegalStateException {
+        return this.ask(simulation -> simulation.stepMany(stepsCount));
+    }
+
+    /**
+     * Sends typed command to the simulation.
+     *
+     * @param command Command to run
+     * @return Future of cars that leave crossing during all steps performed by the command, in order they leave
+     * @throws IllegalStateException If actor is stopped
+     */
+    public CompletableFuture<List<Car>> send(Command command) throws IllegalStateException {
+        return this.ask(simulation -> switch (command) {
+            case AddVehicle addVehicle -> {
+                simulation.addVehicle(new Car(addVehicle.vehicleId(), addVehicle.lane()));
+                yield List.of();
+            }
+            case Step step -> simulation.step();
+            case StepMany stepMany -> {
+                List<Car> departures = new ArrayList<>();
+                simulation.stepMany(stepMany.stepsCount()).forEach(departures::addAll);
+                yield departures;
+            }
+        });
+    }
+
+    /**
+     * Sends message running given query on the simulation, e.g. <i>Simulation::snapshot</i>. Query is run on the
+     * thread of the actor, so it can read and modify the simulation, but it should not block.
+     *
+     * @param query Function run on the simulation
+     * @return Future of the query result
+     * @param <T> Type of the query result
+     * @throws IllegalStateException If actor is stopped
+     */
+    public <T> CompletableFuture<T> ask(Function<Simulation, T> query) throws IllegalStateException {
+        if (this.stopped) {
+            throw new IllegalStateException("Actor is stopped!!!");
+        }
+
+        CompletableFuture<T> reply = new CompletableFuture<>();
+
+        this.mailboxDepth.incrementAndGet();
+        this.mailbox.offer(new Message<>(query, reply, System.nanoTime()));
+        this.schedule();
+
+        return reply;
+    }
+
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * Retrieves current load of the actor. Can be called from any thread.
+     *
+     * @return Metrics of the actor
+     */
+    public ActorMetrics getMetrics() {
+        long processedCount = this.processedMessagesCount;
+
+        return new ActorMetrics(
+                this.id,
+                this.mailboxDepth.get(),
+                processedCount,
+                processedCount == 0 ? 0 : this.totalLatencyNanos / processedCount,
+                this.maxLatencyNanos,
+                processedCount == 0 ? 0 : this.totalProcessingNanos / processedCount
+        );
+    }
+
+    /**
+     * Stops accepting new messages. Messages already sent are still processed.
+     */
+    void stop() {
+        this.stopped = true;
+    }
+
+    private void schedule() {
+        if ( ! this.scheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            this.executor.execute(this::processMailbox);
+        } catch (RejectedExecutionException exception) {
+            // runtime is closed, messages sent before it was closed are processed on this thread
+            this.processMailbox();
+        }
+    }
+
+    /**
+     * Processes messages from the mailbox. Only one such task runs at a time, which is guaranteed by the scheduled
+     * flag. After the actor is stopped, mailbox is drained to empty without submitting new tasks, as executor may not
+     * accept them.
+     */
+    private void processMailbox() {
+        int processedCount = 0;
+
+        try {
+            while ((this.stopped || processedCount < this.throughput) && this.mailboxDepth.get() > 0) {
+                Message<?> message = this.mailbox.poll();
+
+                if (message == null) {
+                    // sender increased depth but has not linked its message yet
+                    Thread.onSpinWait();
+                    continue;
+                }
+
+                this.processMessage(message);
+                processedCount++;
+            }
+        } finally {
+            this.scheduled.set(false);
+
+            if (this.mailboxDepth.get() > 0) {
+                this.schedule();
+            }
+        }
+    }
+
+    private void processMessage(Message<?> message) {
+        long startNanos = System.nanoTime();
+
+        try {
+            message.process(this.simulation);
+        } finally {
+            long endNanos = System.nanoTime();
+            long latencyNanos = endNanos - message.sendNanos();
+            this.totalLatencyNanos += latencyNanos;
+            this.totalProcessingNanos += endNanos - startNanos;
+            this.maxLatencyNanos = Math.max(this.maxLatencyNanos, latencyNanos);
+            this.processedMessagesCount++;
+            this.mailboxDepth.decrementAndGet();
+        }
+    }
+}
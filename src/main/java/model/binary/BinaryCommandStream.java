@@ -0,0 +1,111 @@
+package model.binary;
+
+import model.commands.AddVehicle;
+import model.commands.Command;
+import model.commands.Step;
+import model.commands.StepMany;
+import model.enums.LaneTopology;
+import model.input.CommandStream;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * BinaryCommandStream class reads commands from binary commands file (see BinaryFormat). The file is memory-mapped,
+ * so reading does not copy data and is limited by the disk rather than by parsing. Each vehicle name is decoded only
+ * once, when it is defined in the dictionary.
+ *
+ * <p>Malformed input is reported with <i>IllegalArgumentException</i>.</p>
+ *
+ * <p>Example</p>
+ * <pre>
+ *     try (BinaryCommandStream commands = new BinaryCommandStream(Path.of(pathToBinary))) {
+ *         simulationRunner.runCommands(commands);
+ *     }
+ * </pre>
+ */
+public class BinaryCommandStream implements CommandStream {
+    private final MappedInput input;
+    private final List<String> vehicleNames = new ArrayList<>();
+    private Command nextCommand = null;
+
+    public BinaryCommandStream(Path path) throws IOException {
+        this(path, MappedInput.DEFAULT_WINDOW_SIZE);
+    }
+
+    BinaryCommandStream(Path path, long windowSize) throws IOException {
+        this.input = new MappedInput(path, BinaryFormat.COMMANDS_MAGIC, windowSize);
+    }
+
+    @Override
+    public boolean hasNext() throws IllegalArgumentException, UncheckedIOException {
+        while (this.nextCommand == null && this.input.hasRemaining()) {
+            this.nextCommand = this.readRecord();
+        }
+
+        return this.nextCommand != null;
+    }
+
+    @Override
+    public Command next() throws IllegalArgumentException, UncheckedIOException {
+        if ( ! this.hasNext()) {
+            throw new NoSuchElementException("No more commands!!!");
+        }
+
+        Command command = this.nextCommand;
+        this.nextCommand = null;
+
+        return command;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.input.close();
+    }
+
+    /**
+     * Reads single record.
+     *
+     * @return Command stored in the record, or null if record only defines vehicle name
+     * @throws IllegalArgumentException If record is malformed
+     */
+    private Command readRecord() throws IllegalArgumentException {
+        int opcode = this.input.readVarint();
+
+        return switch (opcode) {
+            case BinaryFormat.DEFINE_VEHICLE -> {
+                this.vehicleNames.add(this.input.readString());
+                yield null;
+            }
+            case BinaryFormat.ADD_VEHICLE -> {
+                int vehicleId = this.input.readVarint();
+                int laneOrdinal = this.input.readVarint();
+
+                if (vehicleId < 0 || vehicleId >= this.vehicleNames.size()) {
+                    throw this.input.malformed(String.format("Undefined vehicle id: %d", vehicleId));
+                }
+
+                if (laneOrdinal < 0 || laneOrdinal >= LaneTopology.LANES_COUNT) {
+                    throw this.input.malformed(String.format("Wrong Lane ordinal: %d", laneOrdinal));
+                }
+
+                yield new AddVehicle(this.vehicleNames.get(vehicleId), LaneTopology.fromOrdinal(laneOrdinal));
+            }
+            case BinaryFormat.STEP -> Step.INSTANCE;
+            case BinaryFormat.STEP_MANY -> {
+                int stepsCount = this.input.readVarint();
+
+                if (stepsCount < 0) {
+                    throw this.input.malformed(String.format("Wrong number of steps: %d", stepsCount));
+                }
+
+                yield new StepMany(stepsCount);
+            }
+            default -> throw this.input.malformed(String.format("Unknown opcode: %d", opcode));
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package model.binary;
+
+import model.commands.AddVehicle;
+import model.commands.Command;
+import model.commands.Step;
+import model.commands.StepMany;
+import model.input.CommandWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * BinaryCommandWriter class writes commands to binary commands file (see BinaryFormat). Vehicle names are added to the
+ * dictionary when they are used for the first time, later commands refer to them by id.
+ *
+ * <p>Example</p>
+ * <pre>
+ *     try (BinaryCommandWriter writer = new BinaryCommandWriter(Files.newOutputStream(path))) {
+ *         writer.write(new AddVehicle("vehicle1", Lane.SOUTH_STRAIGHT));
+ *         writer.write(Step.INSTANCE);
+ *     }
+ * </pre>
+ */
+public class BinaryCommandWriter implements CommandWriter {
+    private final OutputStream outputStream;
+    private final Map<String, Integer> vehicleIds = new HashMap<>();
+
+    public BinaryCommandWriter(OutputStream outputStream) throws IOException {
+        this.outputStream = outputStream instanceof BufferedOutputStream ?
+                outputStream : new BufferedOutputStream(outputStream);
+
+        BinaryFormat.writeHeader(this.outputStream, BinaryFormat.COMMANDS_MAGIC);
+    }
+
+    @Override
+    public void write(Command command) throws IOException {
+        switch (command) {
+            case AddVehicle addVehicle -> {
+                int vehicleId = this.defineVehicle(addVehicle.vehicleId());
+
+                BinaryFormat.writeVarint(this.outputStream, BinaryFormat.ADD_VEHICLE);
+                BinaryFormat.writeVarint(this.outputStream, vehicleId);
+                BinaryFormat.writeVarint(this.outputStream, addVehicle.lane().ordinal());
+            }
+            case Step step -> BinaryFormat.writeVarint(this.outputStream, BinaryFormat.STEP);
+            case StepMany stepMany -> {
+                BinaryFormat.writeVarint(this.outputStream, BinaryFormat.STEP_MANY);
+                BinaryFormat.writeVarint(this.outputStream, stepMany.stepsCount());
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.outputStream.close();
+    }
+
+    /**
+     * Retrieves dictionary id of given vehicle name, writing its definition if the name was not used before.
+     *
+     * @param vehicleName Name of the vehicle
+     * @return Dictionary id of the name
+     * @throws IOException If writing fails
+     */
+    private int defineVehicle(String vehicleName) throws IOException {
+        Integer vehicleId = this.vehicleIds.get(vehicleName);
+
+        if (vehicleId != null) {
+            return vehicleId;
+        }
+
+        vehicleId = this.vehicleIds.size();
+        this.vehicleIds.put(vehicleName, vehicleId);
+
+        BinaryFormat.writeVarint(this.outputStream, BinaryFormat.DEFINE_VEHICLE);
+        BinaryFormat.writeString(this.outputStream, vehicleName);
+
+        return vehicleId;
+    }
+}
@@ -0,0 +1,63 @@
+package model.binary;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * BinaryFormat class describes compact binary files with commands and step results. Both files start with 4 magic
+ * bytes and a version byte followed by records. Each record starts with an opcode and all integers are written as
+ * unsigned LEB128 varints, so small values take a single byte.
+ *
+ * <p>Commands file records:</p>
+ * <ul>
+ *     <li><b>DEFINE_VEHICLE</b> name - adds vehicle name to dictionary, first defined name gets id 0</li>
+ *     <li><b>ADD_VEHICLE</b> vehicle id, Lane ordinal</li>
+ *     <li><b>STEP</b></li>
+ *     <li><b>STEP_MANY</b> number of steps</li>
+ * </ul>
+ *
+ * <p>Results file records:</p>
+ * <ul>
+ *     <li><b>STEP_STATUS</b> number of vehicles, then names of vehicles that left crossing</li>
+ * </ul>
+ *
+ * <p>Names are written as varint length followed by UTF-8 bytes. Dictionary is defined inline, right before the first
+ * command that uses given name, so files can be written and read in a single pass. Results do not use dictionary,
+ * because each vehicle leaves the crossing only once.</p>
+ */
+public final class BinaryFormat {
+    public static final byte[] COMMANDS_MAGIC = {'T', 'L', 'M', 'C'};
+    public static final byte[] RESULTS_MAGIC = {'T', 'L', 'M', 'R'};
+    public static final int VERSION = 1;
+
+    public static final int DEFINE_VEHICLE = 0;
+    public static final int ADD_VEHICLE = 1;
+    public static final int STEP = 2;
+    public static final int STEP_MANY = 3;
+
+    public static final int STEP_STATUS = 1;
+
+    private BinaryFormat() {
+    }
+
+    static void writeHeader(OutputStream outputStream, byte[] magic) throws IOException {
+        outputStream.write(magic);
+        outputStream.write(VERSION);
+    }
+
+    static void writeVarint(OutputStream outputStream, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            outputStream.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        outputStream.write(value);
+    }
+
+    static void writeString(OutputStream outputStream, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(outputStream, bytes.length);
+        outputStream.write(bytes);
+    }
+}
@@ -0,0 +1,65 @@
+package model.binary;
+
+import model.output.StepStatusStream;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * BinaryResultStream class reads step statuses from memory-mapped binary results file (see BinaryFormat). Each status
+ * is a list of names of vehicles that left crossing during the step.
+ *
+ * <p>Malformed input is reported with <i>IllegalArgumentException</i>.</p>
+ */
+public class BinaryResultStream implements StepStatusStream {
+    private final MappedInput input;
+
+    public BinaryResultStream(Path path) throws IOException {
+        this(path, MappedInput.DEFAULT_WINDOW_SIZE);
+    }
+
+    BinaryResultStream(Path path, long windowSize) throws IOException {
+        this.input = new MappedInput(path, BinaryFormat.RESULTS_MAGIC, windowSize);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return this.input.hasRemaining();
+    }
+
+    @Override
+    public List<String> next() throws IllegalArgumentException, UncheckedIOException {
+        if ( ! this.hasNext()) {
+            throw new NoSuchElementException("No more step statuses!!!");
+        }
+
+        int opcode = this.input.readVarint();
+
+        if (opcode != BinaryFormat.STEP_STATUS) {
+            throw this.input.malformed(String.format("Unknown opcode: %d", opcode));
+        }
+
+        int vehiclesCount = this.input.readVarint();
+
+        if (vehiclesCount < 0) {
+            throw this.input.malformed(String.format("Wrong number of vehicles: %d", vehiclesCount));
+        }
+
+        List<String> leftVehicles = new ArrayList<>(Math.min(vehiclesCount, 64));
+
+        for (int i = 0; i < vehiclesCount; i++) {
+            leftVehicles.add(this.input.readString());
+        }
+
+        return leftVehicles;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.input.close();
+    }
+}
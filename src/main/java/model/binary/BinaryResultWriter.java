@@ -0,0 +1,87 @@
+package model.binary;
+
+import model.output.OutputWriter;
+import model.traffic.Car;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * BinaryResultWriter class writes vehicles that left crossing after each step of simulation to binary results file
+ * (see BinaryFormat). Every step is written as soon as it is reported.
+ *
+ * <p>Example</p>
+ * <pre>
+ *     try (BinaryResultWriter outputWriter = new BinaryResultWriter(Files.newOutputStream(path))) {
+ *         simulation.subscribe(outputWriter);
+ *         simulationRunner.runCommands(commands);
+ *     }
+ * </pre>
+ */
+public class BinaryResultWriter implements OutputWriter {
+    private final OutputStream outputStream;
+    private boolean closed = false;
+
+    public BinaryResultWriter(OutputStream outputStream) throws IOException {
+        this.outputStream = outputStream instanceof BufferedOutputStream ?
+                outputStream : new BufferedOutputStream(outputStream);
+
+        BinaryFormat.writeHeader(this.outputStream, BinaryFormat.RESULTS_MAGIC);
+    }
+
+    @Override
+    public void notifySimulationStep(List<Car> carsLeavingCrossing) throws IllegalStateException, UncheckedIOException {
+        this.checkOpen();
+
+        try {
+            BinaryFormat.writeVarint(this.outputStream, BinaryFormat.STEP_STATUS);
+            BinaryFormat.writeVarint(this.outputStream, carsLeavingCrossing.size());
+
+            for (Car car : carsLeavingCrossing) {
+                BinaryFormat.writeString(this.outputStream, car.name());
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    @Override
+    public void notifyAddVehicle(Car vehicle) {
+        /* empty */
+    }
+
+    @Override
+    public void writeStepStatus(List<String> leftVehicles) throws IllegalStateException, UncheckedIOException {
+        this.checkOpen();
+
+        try {
+            BinaryFormat.writeVarint(this.outputStream, BinaryFormat.STEP_STATUS);
+            BinaryFormat.writeVarint(this.outputStream, leftVehicles.size());
+
+            for (String vehicleName : leftVehicles) {
+                BinaryFormat.writeString(this.outputStream, vehicleName);
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+
+        this.closed = true;
+        this.outputStream.close();
+    }
+
+    private void checkOpen() throws IllegalStateException {
+        if (this.closed) {
+            throw new IllegalStateException("Output writer is already closed!!!");
+        }
+    }
+}
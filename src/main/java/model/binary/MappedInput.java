@@ -0,0 +1,152 @@
+package model.binary;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * MappedInput class reads binary file through memory-mapped windows. Data is read straight from the page cache without
+ * copying it into intermediate buffers. Files of any size are supported: when a value does not fit into the rest of
+ * the current window, the next window is mapped starting at the current position.
+ */
+final class MappedInput implements Closeable {
+    static final long DEFAULT_WINDOW_SIZE = 64L << 20;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final long windowSize;
+
+    private MappedByteBuffer window;
+    private long windowStart = 0;
+
+    MappedInput(Path path, byte[] magic, long windowSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.fileSize = this.channel.size();
+        this.windowSize = windowSize;
+
+        try {
+            this.readHeader(magic);
+        } catch (IOException | RuntimeException exception) {
+            this.channel.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * Retrieves position in the file of the next byte to read.
+     *
+     * @return Position in the file
+     */
+    long position() {
+        return this.windowStart + this.window.position();
+    }
+
+    boolean hasRemaining() {
+        return this.position() < this.fileSize;
+    }
+
+    int readByte() throws IllegalArgumentException, UncheckedIOException {
+        this.ensureAvailable(1);
+
+        return this.window.get() & 0xFF;
+    }
+
+    int readVarint() throws IllegalArgumentException, UncheckedIOException {
+        int value = 0;
+
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            int nextByte = this.readByte();
+            value |= (nextByte & 0x7F) << shift;
+
+            if ((nextByte & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw this.malformed("Varint is too long");
+    }
+
+    String readString() throws IllegalArgumentException, UncheckedIOException {
+        int length = this.readVarint();
+
+        if (length < 0) {
+            throw this.malformed(String.format("Wrong string length: %d", length));
+        }
+
+        this.ensureAvailable(length);
+        byte[] bytes = new byte[length];
+        this.window.get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    IllegalArgumentException malformed(String message) {
+        return new IllegalArgumentException(
+                String.format("Malformed binary input at byte %d: %s", this.position(), message)
+        );
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    private void readHeader(byte[] magic) throws IOException {
+        if (this.fileSize < magic.length + 1) {
+            throw new IOException("File is too short to be a binary file!!!");
+        }
+
+        this.mapWindow(0, magic.length + 1);
+
+        byte[] fileMagic = new byte[magic.length];
+        this.window.get(fileMagic);
+
+        if ( ! Arrays.equals(magic, fileMagic)) {
+            throw new IOException("Wrong magic bytes of binary file!!!");
+        }
+
+        int version = this.window.get() & 0xFF;
+
+        if (version != BinaryFormat.VERSION) {
+            throw new IOException(String.format("Unsupported binary file version: %d", version));
+        }
+    }
+
+    /**
+     * Makes sure that given number of bytes can be read from the current window, remapping it if necessary.
+     *
+     * @param bytesCount Number of bytes to read
+     * @throws IllegalArgumentException If file ends before given number of bytes
+     * @throws UncheckedIOException If mapping fails
+     */
+    private void ensureAvailable(int bytesCount) throws IllegalArgumentException, UncheckedIOException {
+        if (this.window.remaining() >= bytesCount) {
+            return;
+        }
+
+        long position = this.position();
+
+        if (this.fileSize - position < bytesCount) {
+            throw this.malformed("Unexpected end of file");
+        }
+
+        try {
+            this.mapWindow(position, bytesCount);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private void mapWindow(long start, int minimumSize) throws IOException {
+        long size = Math.min(Math.max(this.windowSize, minimumSize), this.fileSize - start);
+
+        this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, start, size);
+        this.windowStart = start;
+    }
+}
@@ -0,0 +1,12 @@
+package model.commands;
+
+import model.enums.Lane;
+
+/**
+ * Command that adds vehicle of given id occupying given Lane to the simulation.
+ *
+ * @param vehicleId Id of the vehicle
+ * @param lane Lane occupied by the vehicle
+ */
+public record AddVehicle(String vehicleId, Lane lane) implements Command {
+}
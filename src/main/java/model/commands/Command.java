@@ -0,0 +1,105 @@
+package model.commands;
+
+import model.enums.Direction;
+import model.enums.LaneTopology;
+
+import java.util.Map;
+
+/**
+ * Command interface represents a single typed action that controls simulation. Commands are decoded once, so running
+ * them does not require looking up text parameters or parsing directions again.
+ *
+ * <p>Example</p>
+ * <pre>
+ *     Command command = Command.fromMap(Map.of("type", "step"));
+ *
+ *     switch (command) {
+ *         case AddVehicle addVehicle -> ...
+ *         case Step step -> ...
+ *         case StepMany stepMany -> ...
+ *     }
+ * </pre>
+ */
+public sealed interface Command permits AddVehicle, Step, StepMany {
+    String COMMAND_TYPE = "type";
+    String ADD_VEHICLE = "addVehicle";
+    String STEP = "step";
+    String STEP_MANY = "stepMany";
+
+    String VEHICLE_ID = "vehicleId";
+    String START_ROAD = "startRoad";
+    String END_ROAD = "endRoad";
+    String STEPS_COUNT = "stepsCount";
+
+    /**
+     * Creates command from text command parameters.
+     *
+     * @param command Map that contains command with all its parameters
+     * @return Typed command
+     * @throws IllegalArgumentException If command type is unknown or command is incorrectly structured
+     */
+    static Command fromMap(Map<String, String> command) throws IllegalArgumentException {
+        String commandType = command.get(COMMAND_TYPE);
+
+        try {
+            return fromParameters(
+                    commandType,
+                    command.get(VEHICLE_ID),
+                    command.get(START_ROAD),
+                    command.get(END_ROAD),
+                    command.get(STEPS_COUNT)
+            );
+        } catch (IllegalArgumentException exception) {
+            if (isKnownType(commandType)) {
+                throw new IllegalArgumentException(String.format("Wrong command structure: %s", command), exception);
+            }
+
+            throw exception;
+        }
+    }
+
+    /**
+     * Creates command from already extracted parameters. Parameters that are not used by given command type are
+     * ignored.
+     *
+     * @param commandType Type of the command
+     * @param vehicleId Id of added vehicle, or null
+     * @param startRoad Start road of added vehicle, or null
+     * @param endRoad End road of added vehicle, or null
+     * @param stepsCount Number of steps in text form, or null
+     * @return Typed command
+     * @throws IllegalArgumentException If command type is unknown or required parameter is missing or invalid
+     */
+    static Command fromParameters(String commandType, String vehicleId, String startRoad, String endRoad,
+                                  String stepsCount) throws IllegalArgumentException {
+        if (commandType == null) {
+            throw new IllegalArgumentException("Unknown command type: null");
+        }
+
+        return switch (commandType) {
+            case ADD_VEHICLE -> {
+                if (vehicleId == null || startRoad == null || endRoad == null) {
+                    throw new IllegalArgumentException("Missing parameter of addVehicle command!!!");
+                }
+
+                yield new AddVehicle(
+                        vehicleId,
+                        LaneTopology.getLane(Direction.fromString(startRoad), Direction.fromString(endRoad))
+                );
+            }
+            case STEP -> Step.INSTANCE;
+            case STEP_MANY -> {
+                if (stepsCount == null) {
+                    throw new IllegalArgumentException("Missing parameter of stepMany command!!!");
+                }
+
+                yield new StepMany(Integer.parseInt(stepsCount));
+            }
+            default -> throw new IllegalArgumentException(String.format("Unknown command type: %s", commandType));
+        };
+    }
+
+    private static boolean isKnownType(String commandType) {
+        return ADD_VEHICLE.equals(commandType) || STEP.equals(commandType) || STEP_MANY.equals(commandType);
+    }
+}
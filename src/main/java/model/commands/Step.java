@@ -0,0 +1,8 @@
+package model.commands;
+
+/**
+ * Command that performs a single simulation step. Has no parameters, so the shared <i>INSTANCE</i> can be used.
+ */
+public record Step() implements Command {
+    public static final Step INSTANCE = new Step();
+}
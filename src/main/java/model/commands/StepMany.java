@@ -0,0 +1,14 @@
+package model.commands;
+
+/**
+ * Command that performs given number of simulation steps. It is equivalent to that many consecutive step commands.
+ *
+ * @param stepsCount Number of steps to perform
+ */
+public record StepMany(int stepsCount) implements Command {
+    public StepMany {
+        if (stepsCount < 0) {
+            throw new IllegalArgumentException(String.format("Number of steps can not be negative: %d", stepsCount));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package model.concurrent;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * MpscQueue class is an unbounded lock-free queue for many producer threads and exactly one consumer thread. It is
+ * a linked list in which producers append nodes by swapping the tail with a single atomic operation, so adding never
+ * waits for other producers or for the consumer. Consumer follows links from the head without any atomic operation.
+ *
+ * <p>Item added by a producer becomes visible to the consumer once the producer links its node. Between swapping the
+ * tail and linking the node, items added later by other producers are not visible either, so <i>poll()</i> can
+ * shortly return null although queue is not empty. Such items are returned by the following calls.</p>
+ *
+ * <p>Example</p>
+ * <pre>
+ *     MpscQueue<Car> queue = new MpscQueue<>();
+ *
+ *     queue.offer(car);                 // any thread
+ *     Car car = queue.poll();           // consumer thread
+ * </pre>
+ *
+ * @param <T> Type of stored items
+ */
+public class MpscQueue<T> {
+    private static final class Node<T> {
+        private T value;
+        private volatile Node<T> next;
+
+        private Node(T value) {
+            this.value = value;
+        }
+    }
+
+    private final AtomicReference<Node<T>> tail;
+    private Node<T> head;
+
+    public MpscQueue() {
+        Node<T> stub = new Node<>(null);
+        this.head = stub;
+        this.tail = new AtomicReference<>(stub);
+    }
+
+    /**
+     * Adds item at the end of the queue. Can be called from any thread.
+     *
+     * @param item Non-null item to add
+     * @throws NullPointerException If item is null
+     */
+    public void offer(T item) throws NullPointerException {
+        if (item == null) {
+            throw new NullPointerException("Queue item can not be null!!!");
+        }
+
+        Node<T> node = new Node<>(item);
+        Node<T> previous = this.tail.getAndSet(node);
+        previous.next = node;
+    }
+
+    /**
+     * Removes first item from the queue. Can be called only from consumer thread.
+     *
+     * @return First item, or null if no item is visible yet
+     */
+    public T poll() {
+        Node<T> next = this.head.next;
+
+        if (next == null) {
+            return null;
+        }
+
+        T item = next.value;
+        next.value = null;
+        this.head = next;
+
+        return item;
+    }
+
+    /**
+     * Checks if any item is visible to the consumer. Can be called only from consumer thread.
+     *
+     * @return `true` if <i>poll()</i> would return an item, otherwise `false`
+     */
+    public boolean isEmpty() {
+        return this.head.next == null;
+    }
+}
@@ -0,0 +1,184 @@
+package model.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * SpscRingBuffer class is a bounded queue for exactly one producer thread and exactly one consumer thread. Items are
+ * stored in a power-of-two array, and producer and consumer positions are published with release/acquire writes
+ * instead of locks. Each side caches the last seen position of the other one, so shared positions are read only when
+ * the buffer looks full or empty.
+ *
+ * <p>Blocking methods spin, then yield, then park for a short time while waiting, and can be interrupted.</p>
+ *
+ * <p>Example</p>
+ * <pre>
+ *     SpscRingBuffer<Command> buffer = new SpscRingBuffer<>(1024);
+ *
+ *     buffer.put(command);                 // producer thread
+ *     Command command = buffer.take();     // consumer thread
+ * </pre>
+ *
+ * @param <T> Type of stored items
+ */
+public class SpscRingBuffer<T> {
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long PARK_NANOS = 50_000;
+
+    private final Object[] buffer;
+    private final int mask;
+
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private long cachedHead = 0;
+    private long cachedTail = 0;
+
+    /**
+     * Creates ring buffer able to hold at least given number of items. Capacity is rounded up to the power of two.
+     *
+     * @param capacity Minimum capacity of the buffer
+     * @throws IllegalArgumentException If capacity is not positive or too big
+     */
+    public SpscRingBuffer(int capacity) throws IllegalArgumentException {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException(String.format("Wrong ring buffer capacity: %d", capacity));
+        }
+
+        int roundedCapacity = Integer.highestOneBit(capacity);
+
+        if (roundedCapacity < capacity) {
+            roundedCapacity <<= 1;
+        }
+
+        this.buffer = new Object[roundedCapacity];
+        this.mask = roundedCapacity - 1;
+    }
+
+    /**
+     * Retrieves number of items the buffer can hold.
+     *
+     * @return Capacity of the buffer
+     */
+    public int capacity() {
+        return this.buffer.length;
+    }
+
+    /**
+     * Retrieves approximate number of items in the buffer. Exact only when neither side is running.
+     *
+     * @return Number of items in the buffer
+     */
+    public int size() {
+        return (int) Math.max(0, this.tail.get() - this.head.get());
+    }
+
+    /**
+     * Adds item to the buffer if there is free space. Can be called only from producer thread.
+     *
+     * @param item Non-null item to add
+     * @return `true` if item was added, `false` if buffer is full
+     * @throws NullPointerException If item is null
+     */
+    public boolean offer(T item) throws NullPointerException {
+        if (item == null) {
+            throw new NullPointerException("Ring buffer item can not be null!!!");
+        }
+
+        long currentTail = this.tail.getPlain();
+
+        if (currentTail - this.cachedHead >= this.buffer.length) {
+            this.cachedHead = this.head.getAcquire();
+
+            if (currentTail - this.cachedHead >= this.buffer.length) {
+                return false;
+            }
+        }
+
+        this.buffer[(int) currentTail & this.mask] = item;
+        this.tail.setRelease(currentTail + 1);
+
+        return true;
+    }
+
+    /**
+     * Removes first item from the buffer. Can be called only from consumer thread.
+     *
+     * @return First item, or null if buffer is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        long currentHead = this.head.getPlain();
+
+        if (currentHead >= this.cachedTail) {
+            this.cachedTail = this.tail.getAcquire();
+
+            if (currentHead >= this.cachedTail) {
+                return null;
+            }
+        }
+
+        int index = (int) currentHead & this.mask;
+        T item = (T) this.buffer[index];
+        this.buffer[index] = null;
+        this.head.setRelease(currentHead + 1);
+
+        return item;
+    }
+
+    /**
+     * Adds item to the buffer, waiting for free space if necessary. Can be called only from producer thread.
+     *
+     * @param item Non-null item to add
+     * @throws InterruptedException If producer thread is interrupted while waiting
+     */
+    public void put(T item) throws InterruptedException {
+        int tries = 0;
+
+        while ( ! this.offer(item)) {
+            tries = idle(tries);
+        }
+    }
+
+    /**
+     * Removes first item from the buffer, waiting for it if necessary. Can be called only from consumer thread.
+     *
+     * @return First item
+     * @throws InterruptedException If consumer thread is interrupted while waiting
+     */
+    public T take() throws InterruptedException {
+        int tries = 0;
+        T item;
+
+        while ((item = this.poll()) == null) {
+            tries = idle(tries);
+        }
+
+        return item;
+    }
+
+    /**
+     * Waits a moment before the next try. The longer the buffer stays full or empty, the less CPU is used.
+     *
+     * @param tries Number of previous unsuccessful tries
+     * @return Number of tries including the current one
+     * @throws InterruptedException If thread is interrupted
+     */
+    private static int idle(int tries) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+
+        if (tries < SPIN_TRIES) {
+            Thread.onSpinWait();
+        }
+        else if (tries < SPIN_TRIES + YIELD_TRIES) {
+            Thread.yield();
+        }
+        else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+
+        return Math.min(tries + 1, SPIN_TRIES + YIELD_TRIES);
+    }
+}
@@ -6,6 +6,8 @@ public enum Direction {
     SOUTH,
     WEST;
 
+    private static final Direction[] VALUES = Direction.values();
+
     public static Direction fromString(String direction) throws IllegalArgumentException {
         return switch (direction) {
             case "north" -> NORTH;
@@ -17,16 +19,19 @@ public enum Direction {
     }
 
     public static Direction fromInteger(int value) throws IllegalArgumentException {
-        Direction[] directionValues = Direction.values();
-        if (value < 0 || value >= directionValues.length) {
+        if (value < 0 || value >= VALUES.length) {
             throw new IllegalArgumentException(String.format("Direction can not be of value: %d", value));
         }
 
-        return directionValues[value];
+        return VALUES[value];
     }
 
     public static int count() {
-        return Direction.values().length;
+        return VALUES.length;
+    }
+
+    public Direction opposite() {
+        return VALUES[(this.ordinal() + 2) % VALUES.length];
     }
 
     public boolean are_opposite(Direction other) {
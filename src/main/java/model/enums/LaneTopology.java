@@ -0,0 +1,247 @@
+package model.enums;
+
+/**
+ * LaneTopology class holds precomputed information about every Lane of the crossing. The table is built once during
+ * class initialization and afterward every query is a plain array lookup.
+ *
+ * <p>For each Lane the table stores its Move, its Direction and a 12-bit compatibility mask. Bit <i>i</i> of the
+ * compatibility mask is set when the Lane does not collide with the Lane of ordinal <i>i</i>. Thanks to that, checking
+ * whether two Lanes collide costs a single AND operation.</p>
+ *
+ * <p>There is also a table of Lanes indexed by start and end Direction of a route.</p>
+ *
+ * <p>Example</p>
+ * <pre>
+ *     int mask = LaneTopology.getCompatibilityMask(Lane.SOUTH_STRAIGHT);
+ *     boolean compatible = (mask &amp; LaneTopology.getLaneBit(Lane.NORTH_STRAIGHT)) != 0;   // true
+ * </pre>
+ */
+public final class LaneTopology {
+    public static final int LANES_COUNT = Lane.values().length;
+    public static final int ALL_LANES_MASK = (1 << LANES_COUNT) - 1;
+
+    private static final Lane[] LANES = Lane.values();
+    private static final Move[] MOVES = new Move[LANES_COUNT];
+    private static final Direction[] DIRECTIONS = new Direction[LANES_COUNT];
+    private static final int[] COMPATIBILITY_MASKS = new int[LANES_COUNT];
+    private static final Lane[][] ROUTE_LANES = new Lane[Direction.count()][Direction.count()];
+    private static final Direction[] END_DIRECTIONS = new Direction[LANES_COUNT];
+
+    static {
+        Move[] moveValues = Move.values();
+        Direction[] directionValues = Direction.values();
+
+        for (Lane lane : LANES) {
+            int ordinal = lane.ordinal();
+            MOVES[ordinal] = moveValues[ordinal % moveValues.length];
+            DIRECTIONS[ordinal] = directionValues[ordinal / moveValues.length];
+        }
+
+        for (int laneId = 0; laneId < LANES_COUNT; laneId++) {
+            int mask = 0;
+
+            for (int otherId = 0; otherId < LANES_COUNT; otherId++) {
+                if ( ! computeCollision(laneId, otherId)) {
+                    mask |= 1 << otherId;
+                }
+            }
+
+            COMPATIBILITY_MASKS[laneId] = mask;
+        }
+
+        for (Direction start : directionValues) {
+            for (Direction end : directionValues) {
+                int moveId = computeRouteMove(start, end).ordinal();
+                ROUTE_LANES[start.ordinal()][end.ordinal()] = LANES[start.ordinal() * moveValues.length + moveId];
+
+                if (start != end) {
+                    END_DIRECTIONS[start.ordinal() * moveValues.length + moveId] = end;
+                }
+            }
+        }
+    }
+
+    private LaneTopology() {
+    }
+
+    /**
+     * Retrieves Lane of given ordinal without copying Lane.values() array.
+     *
+     * @param ordinal Ordinal of the Lane
+     * @return Lane of given ordinal
+     * @throws IllegalArgumentException If there is no Lane of given ordinal
+     */
+    public static Lane fromOrdinal(int ordinal) throws IllegalArgumentException {
+        if (ordinal < 0 || ordinal >= LANES_COUNT) {
+            throw new IllegalArgumentException(String.format("Lane can not be of value: %d", ordinal));
+        }
+
+        return LANES[ordinal];
+    }
+
+    /**
+     * Retrieves Lane that has to be occupied by car going from road of start Direction to road of end Direction.
+     * Routes that end on the start road (U-turns) use left Lane.
+     *
+     * @param start Direction of the road on which car starts
+     * @param end Direction of the road on which car ends
+     * @return Lane of the route
+     */
+    public static Lane getLane(Direction start, Direction end) {
+        return ROUTE_LANES[start.ordinal()][end.ordinal()];
+    }
+
+    /**
+     * Retrieves Direction of the road on which cars occupying given Lane end their route. Inverse of
+     * <i>getLane()</i> for all routes except U-turns.
+     *
+     * @param lane Lane to check
+     * @return Direction of the end road
+     */
+    public static Direction getEndDirection(Lane lane) {
+        return END_DIRECTIONS[lane.ordinal()];
+    }
+
+    /**
+     * Retrieves Move performed by cars occupying given Lane.
+     *
+     * @param lane Lane to check
+     * @return Move of the Lane
+     */
+    public static Move getMove(Lane lane) {
+        return MOVES[lane.ordinal()];
+    }
+
+    /**
+     * Retrieves Direction of the road on which given Lane starts.
+     *
+     * @param lane Lane to check
+     * @return Direction of the Lane
+     */
+    public static Direction getDirection(Lane lane) {
+        return DIRECTIONS[lane.ordinal()];
+    }
+
+    /**
+     * Retrieves mask of Lanes that do not collide with the Lane of given ordinal.
+     *
+     * @param ordinal Ordinal of the Lane
+     * @return 12-bit compatibility mask
+     */
+    public static int getCompatibilityMask(int ordinal) {
+        return COMPATIBILITY_MASKS[ordinal];
+    }
+
+    /**
+     * Retrieves mask of Lanes that do not collide with given Lane.
+     *
+     * @param lane Lane to check
+     * @return 12-bit compatibility mask
+     */
+    public static int getCompatibilityMask(Lane lane) {
+        return COMPATIBILITY_MASKS[lane.ordinal()];
+    }
+
+    /**
+     * Retrieves single bit representing given Lane in masks used by this class.
+     *
+     * @param lane Lane to convert
+     * @return Mask with only bit of the Lane set
+     */
+    public static int getLaneBit(Lane lane) {
+        return 1 << lane.ordinal();
+    }
+
+    /**
+     * Retrieves mask of all Lanes that start on the road of given Direction.
+     *
+     * @param direction Direction of the road
+     * @return Mask of Lanes of given Direction
+     */
+    public static int getDirectionMask(Direction direction) {
+        return ((1 << Move.count()) - 1) << (direction.ordinal() * Move.count());
+    }
+
+    /**
+     * Checks if cars occupying given Lanes would collide when allowed to leave crossing at the same time.
+     *
+     * @param lane First Lane
+     * @param other Second Lane
+     * @return `true` if Lanes collide, otherwise `false`
+     */
+    public static boolean collide(Lane lane, Lane other) {
+        return (COMPATIBILITY_MASKS[lane.ordinal()] & (1 << other.ordinal())) == 0;
+    }
+
+    /**
+     * Checks if every pair of Lanes in given mask is non-colliding.
+     *
+     * @param lanesMask Mask of Lanes to check
+     * @return `true` if no two Lanes from the mask collide, otherwise `false`
+     */
+    public static boolean isCompatible(int lanesMask) {
+        int remaining = lanesMask;
+
+        while (remaining != 0) {
+            int laneId = Integer.numberOfTrailingZeros(remaining);
+            remaining &= remaining - 1;
+
+            if ((lanesMask & ~COMPATIBILITY_MASKS[laneId]) != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Decides which Move is performed by car going from road of start Direction to road of end Direction. Used only
+     * once to build route table.
+     *
+     * @param start Direction of the road on which car starts
+     * @param end Direction of the road on which car ends
+     * @return Move of the route
+     */
+    private static Move computeRouteMove(Direction start, Direction end) {
+        int turn = Math.floorMod(end.ordinal() - start.ordinal(), Direction.count());
+
+        return switch (turn) {
+            case 2 -> Move.STRAIGHT;
+            case 3 -> Move.RIGHT;
+            default -> Move.LEFT;
+        };
+    }
+
+    /**
+     * Decides whether Lanes of given ordinals collide. Used only once to build compatibility masks.
+     *
+     * @param laneId Ordinal of the first Lane
+     * @param otherId Ordinal of the second Lane
+     * @return `true` if Lanes collide, otherwise `false`
+     */
+    private static boolean computeCollision(int laneId, int otherId) {
+        Direction direction = DIRECTIONS[laneId];
+        Direction otherDirection = DIRECTIONS[otherId];
+
+        if (direction == otherDirection) {
+            return false;
+        }
+        else if (direction.are_opposite(otherDirection)) {
+            return (MOVES[laneId] == Move.LEFT && MOVES[otherId] != Move.LEFT) ||
+                    (MOVES[laneId] != Move.LEFT && MOVES[otherId] == Move.LEFT);
+        }
+        else {
+            Move previousLaneMove = MOVES[laneId];
+            Move nextLaneMove = MOVES[otherId];
+
+            if (direction.is_previous(otherDirection)) {
+                Move tmp = previousLaneMove;
+                previousLaneMove = nextLaneMove;
+                nextLaneMove = tmp;
+            }
+
+            return (nextLaneMove == Move.STRAIGHT) ||
+                    (nextLaneMove == Move.LEFT && (previousLaneMove != Move.RIGHT));
+        }
+    }
+}
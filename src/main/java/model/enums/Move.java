@@ -5,16 +5,26 @@ public enum Move {
     STRAIGHT,
     LEFT;
 
+    private static final Move[] VALUES = Move.values();
+
+    public static Move fromString(String move) throws IllegalArgumentException {
+        return switch (move) {
+            case "right" -> RIGHT;
+            case "straight" -> STRAIGHT;
+            case "left" -> LEFT;
+            default -> throw new IllegalArgumentException(String.format("Unknown move: %s", move));
+        };
+    }
+
     public static Move fromInteger(int value) throws IllegalArgumentException {
-        Move[] moveValues = Move.values();
-        if (value < 0 || value >= moveValues.length) {
+        if (value < 0 || value >= VALUES.length) {
             throw new IllegalArgumentException(String.format("Move can not be of value: %d", value));
         }
 
-        return moveValues[value];
+        return VALUES[value];
     }
 
     public static int count() {
-        return Move.values().length;
+        return VALUES.length;
     }
 }
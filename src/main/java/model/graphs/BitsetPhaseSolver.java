@@ -0,0 +1,87 @@
+package model.graphs;
+
+import model.enums.Lane;
+import model.enums.LaneTopology;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * BitsetPhaseSolver class is a PhaseSolver that runs BitsetWeightedBronKerbosch over graph of all Lanes. The graph is
+ * created once from LaneTopology compatibility masks, each call only updates vertices weights and restricts search to
+ * currently active Lanes.
+ *
+ * <p>Instances keep search buffers between calls, so a single instance should not be used by multiple threads at the
+ * same time.</p>
+ */
+public class BitsetPhaseSolver implements PhaseSolver {
+    private final BitsetWeightedBronKerbosch solver = new BitsetWeightedBronKerbosch(LaneTopology.LANES_COUNT);
+    private final long[] activeLanes = new long[1];
+    private final long[] maxCliqueLanes = new long[1];
+
+    public BitsetPhaseSolver() {
+        for (int laneId = 0; laneId < LaneTopology.LANES_COUNT; laneId++) {
+            int compatibilityMask = LaneTopology.getCompatibilityMask(laneId);
+
+            for (int otherId = laneId + 1; otherId < LaneTopology.LANES_COUNT; otherId++) {
+                if ((compatibilityMask & (1 << otherId)) != 0) {
+                    this.solver.addEdge(laneId, otherId);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Set<Vertex<Lane>> findMaximumWeightClique(List<Vertex<Lane>> vertices) {
+        long activeLanesMask = 0L;
+
+        for (int laneId = 0; laneId < LaneTopology.LANES_COUNT; laneId++) {
+            this.solver.setWeight(laneId, 0);
+        }
+
+        for (Vertex<Lane> vertex : vertices) {
+            this.solver.setWeight(vertex.id().ordinal(), vertex.weight());
+            activeLanesMask |= LaneTopology.getLaneBit(vertex.id());
+        }
+
+        this.activeLanes[0] = activeLanesMask;
+        long maxCliqueMask = this.solver.findMaximumWeightClique(this.activeLanes)[0];
+        Set<Vertex<Lane>> maxClique = new HashSet<>();
+
+        for (Vertex<Lane> vertex : vertices) {
+            if ((maxCliqueMask & LaneTopology.getLaneBit(vertex.id())) != 0) {
+                maxClique.add(vertex);
+            }
+        }
+
+        return maxClique;
+    }
+
+    @Override
+    public int findMaximumWeightPhase(int[] laneWeights) {
+        long activeLanesMask = 0L;
+
+        for (int laneId = 0; laneId < LaneTopology.LANES_COUNT; laneId++) {
+            this.solver.setWeight(laneId, laneWeights[laneId]);
+
+            if (laneWeights[laneId] > 0) {
+                activeLanesMask |= 1L << laneId;
+            }
+        }
+
+        this.activeLanes[0] = activeLanesMask;
+        this.solver.findMaximumWeightClique(this.activeLanes, this.maxCliqueLanes);
+
+        return (int) this.maxCliqueLanes[0];
+    }
+
+    /**
+     * Retrieves number of recursion nodes visited by the last search.
+     *
+     * @return Number of explored nodes
+     */
+    public long getExploredNodesCount() {
+        return this.solver.getExploredNodesCount();
+    }
+}
@@ -0,0 +1,322 @@
+package model.graphs;
+
+import model.enums.Lane;
+import model.enums.LaneTopology;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * BitsetWeightedBronKerbosch class is an int-indexed variant of WeightedBronKerbosch solver. Vertices are identified
+ * by numbers from 0 to vertexCount - 1 and sets of vertices are stored as <i>long[]</i> bitsets, so graphs with up to
+ * 64 vertices use a single word per set. Buffers for all recursion levels are allocated once and reused by following
+ * searches.
+ *
+ * <p>Besides pivoting, branches are bounded by weight (Östergård-style): a branch is skipped when weight of the
+ * current clique plus weight of all prospective vertices can not beat the best clique found so far.</p>
+ *
+ * <p>Example</p>
+ * <pre>
+ *     BitsetWeightedBronKerbosch solver = BitsetWeightedBronKerbosch.fromLanes(verticesList);
+ *     long[] maxClique = solver.findMaximumWeightClique();
+ *     long exploredNodes = solver.getExploredNodesCount();
+ * </pre>
+ */
+public class BitsetWeightedBronKerbosch {
+    private final int vertexCount;
+    private final int wordsCount;
+    private final int[] weights;
+    private final long[][] neighbours;
+
+    private final long[][] prospectiveStack;
+    private final long[][] excludedStack;
+    private final long[][] candidatesStack;
+    private final long[] currentClique;
+    private final long[] maxClique;
+
+    private int maxCliqueWeight = -1;
+    private long exploredNodesCount = 0;
+
+    public BitsetWeightedBronKerbosch(int vertexCount) throws IllegalArgumentException {
+        if (vertexCount < 0) {
+            throw new IllegalArgumentException(String.format("Vertex count can not be negative: %d", vertexCount));
+        }
+
+        this.vertexCount = vertexCount;
+        this.wordsCount = Math.max(1, (vertexCount + Long.SIZE - 1) / Long.SIZE);
+        this.weights = new int[vertexCount];
+        this.neighbours = new long[vertexCount][this.wordsCount];
+
+        this.prospectiveStack = new long[vertexCount + 1][this.wordsCount];
+        this.excludedStack = new long[vertexCount + 1][this.wordsCount];
+        this.candidatesStack = new long[vertexCount + 1][this.wordsCount];
+        this.currentClique = new long[this.wordsCount];
+        this.maxClique = new long[this.wordsCount];
+    }
+
+    /**
+     * Creates solver from Vertices list. Vertex of index <i>i</i> in the list becomes vertex <i>i</i> of the solver.
+     * Edges are created only between vertices that contain non-colliding Lanes.
+     *
+     * @param lanesList List of Vertex Objects
+     * @return Solver ready for searching
+     */
+    public static BitsetWeightedBronKerbosch fromLanes(List<Vertex<Lane>> lanesList) {
+        int lanesCount = lanesList.size();
+        BitsetWeightedBronKerbosch solver = new BitsetWeightedBronKerbosch(lanesCount);
+
+        for (int vertexId = 0; vertexId < lanesCount; vertexId++) {
+            Vertex<Lane> vertex = lanesList.get(vertexId);
+            solver.setWeight(vertexId, vertex.weight());
+            int compatibilityMask = LaneTopology.getCompatibilityMask(vertex.id());
+
+            for (int neighbourId = vertexId + 1; neighbourId < lanesCount; neighbourId++) {
+                if ((compatibilityMask & LaneTopology.getLaneBit(lanesList.get(neighbourId).id())) != 0) {
+                    solver.addEdge(vertexId, neighbourId);
+                }
+            }
+        }
+
+        return solver;
+    }
+
+    /**
+     * Sets weight of given vertex.
+     *
+     * @param vertex Vertex id
+     * @param weight New non-negative weight of the vertex
+     * @throws IllegalArgumentException If weight is negative
+     */
+    public void setWeight(int vertex, int weight) throws IllegalArgumentException {
+        if (weight < 0) {
+            throw new IllegalArgumentException(String.format("Vertex weight can not be negative: %d", weight));
+        }
+
+        this.weights[vertex] = weight;
+    }
+
+    /**
+     * Adds bidirectional edge between given vertices. Self loops are ignored.
+     *
+     * @param vertex1 First vertex id
+     * @param vertex2 Second vertex id
+     */
+    public void addEdge(int vertex1, int vertex2) {
+        if (vertex1 == vertex2) {
+            return;
+        }
+
+        setBit(this.neighbours[vertex1], vertex2);
+        setBit(this.neighbours[vertex2], vertex1);
+    }
+
+    /**
+     * Finds clique with maximum sum of vertices weights among all vertices of the graph.
+     *
+     * @return Bitset of vertices creating maximum weight clique
+     */
+    public long[] findMaximumWeightClique() {
+        long[] allVertices = new long[this.wordsCount];
+
+        for (int vertex = 0; vertex < this.vertexCount; vertex++) {
+            setBit(allVertices, vertex);
+        }
+
+        return this.findMaximumWeightClique(allVertices);
+    }
+
+    /**
+     * Finds clique with maximum sum of vertices weights among given vertices only.
+     *
+     * @param allowedVertices Bitset of vertices that can be part of the clique
+     * @return Bitset of vertices creating maximum weight clique
+     */
+    public long[] findMaximumWeightClique(long[] allowedVertices) {
+        long[] result = new long[this.wordsCount];
+        this.findMaximumWeightClique(allowedVertices, result);
+
+        return result;
+    }
+
+    /**
+     * Finds clique with maximum sum of vertices weights among given vertices only and writes it to given bitset.
+     * Does not allocate.
+     *
+     * @param allowedVertices Bitset of vertices that can be part of the clique
+     * @param result Bitset of at least <i>(vertexCount + 63) / 64</i> words for vertices of maximum weight clique
+     */
+    public void findMaximumWeightClique(long[] allowedVertices, long[] result) {
+        this.maxCliqueWeight = -1;
+        this.exploredNodesCount = 0;
+        Arrays.fill(this.currentClique, 0L);
+        Arrays.fill(this.maxClique, 0L);
+
+        long[] prospective = this.prospectiveStack[0];
+        Arrays.fill(prospective, 0L);
+        System.arraycopy(allowedVertices, 0, prospective, 0, Math.min(allowedVertices.length, this.wordsCount));
+
+        if (this.vertexCount % Long.SIZE != 0) {
+            prospective[this.wordsCount - 1] &= (1L << (this.vertexCount % Long.SIZE)) - 1;
+        }
+
+        Arrays.fill(this.excludedStack[0], 0L);
+
+        this.bronKerbosch(0, 0);
+
+        System.arraycopy(this.maxClique, 0, result, 0, this.wordsCount);
+    }
+
+    /**
+     * Retrieves weight of clique found by the last search.
+     *
+     * @return Weight of maximum weight clique, or -1 if no search was run
+     */
+    public int getMaximumCliqueWeight() {
+        return this.maxCliqueWeight;
+    }
+
+    /**
+     * Retrieves number of recursion nodes visited by the last search.
+     *
+     * @return Number of explored nodes
+     */
+    public long getExploredNodesCount() {
+        return this.exploredNodesCount;
+    }
+
+    /**
+     * Recursive Bron-Kerbosch algorithm with pivoting and weight bounding. Prospective and excluded vertices of given
+     * depth are read from preallocated stacks.
+     *
+     * @param depth Current recursion depth
+     * @param currentCliqueWeight Weight of current clique
+     */
+    private void bronKerbosch(int depth, int currentCliqueWeight) {
+        this.exploredNodesCount++;
+
+        long[] prospective = this.prospectiveStack[depth];
+        long[] excluded = this.excludedStack[depth];
+
+        if (isEmpty(prospective)) {
+            if (isEmpty(excluded) && this.maxCliqueWeight < currentCliqueWeight) {
+                this.maxCliqueWeight = currentCliqueWeight;
+                System.arraycopy(this.currentClique, 0, this.maxClique, 0, this.wordsCount);
+            }
+
+            return;
+        }
+
+        if (currentCliqueWeight + this.sumWeights(prospective) <= this.maxCliqueWeight) {
+            return;
+        }
+
+        // determine set: prospective \ neighbours(pivot)
+        long[] pivotNeighbours = this.neighbours[this.choosePivotVertex(prospective, excluded)];
+        long[] candidates = this.candidatesStack[depth];
+
+        for (int word = 0; word < this.wordsCount; word++) {
+            candidates[word] = prospective[word] & ~pivotNeighbours[word];
+        }
+
+        long[] newProspective = this.prospectiveStack[depth + 1];
+        long[] newExcluded = this.excludedStack[depth + 1];
+
+        for (int word = 0; word < this.wordsCount; word++) {
+            while (candidates[word] != 0) {
+                int vertex = word * Long.SIZE + Long.numberOfTrailingZeros(candidates[word]);
+                candidates[word] &= candidates[word] - 1;
+                long[] vertexNeighbours = this.neighbours[vertex];
+
+                for (int i = 0; i < this.wordsCount; i++) {
+                    newProspective[i] = prospective[i] & vertexNeighbours[i];
+                    newExcluded[i] = excluded[i] & vertexNeighbours[i];
+                }
+
+                setBit(this.currentClique, vertex);
+                this.bronKerbosch(depth + 1, currentCliqueWeight + this.weights[vertex]);
+                clearBit(this.currentClique, vertex);
+
+                clearBit(prospective, vertex);
+                setBit(excluded, vertex);
+
+                if (currentCliqueWeight + this.sumWeights(prospective) <= this.maxCliqueWeight) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Chooses the pivot vertex from prospective and excluded vertices that has the most neighbours among prospective
+     * vertices, which leaves the fewest branches to explore.
+     *
+     * @param prospective The non-empty bitset of prospective vertices
+     * @param excluded The bitset of excluded vertices
+     * @return Pivot vertex id
+     */
+    private int choosePivotVertex(long[] prospective, long[] excluded) {
+        int pivot = -1;
+        int pivotDegree = -1;
+
+        for (int word = 0; word < this.wordsCount; word++) {
+            long vertices = prospective[word] | excluded[word];
+
+            while (vertices != 0) {
+                int vertex = word * Long.SIZE + Long.numberOfTrailingZeros(vertices);
+                vertices &= vertices - 1;
+                long[] vertexNeighbours = this.neighbours[vertex];
+                int degree = 0;
+
+                for (int i = 0; i < this.wordsCount; i++) {
+                    degree += Long.bitCount(prospective[i] & vertexNeighbours[i]);
+                }
+
+                if (pivotDegree < degree) {
+                    pivotDegree = degree;
+                    pivot = vertex;
+                }
+            }
+        }
+
+        return pivot;
+    }
+
+    /**
+     * Calculates the total weight of vertices in given bitset.
+     *
+     * @param vertices Bitset of vertices
+     * @return The total weight of the vertices
+     */
+    private int sumWeights(long[] vertices) {
+        int sum = 0;
+
+        for (int word = 0; word < this.wordsCount; word++) {
+            long remaining = vertices[word];
+
+            while (remaining != 0) {
+                sum += this.weights[word * Long.SIZE + Long.numberOfTrailingZeros(remaining)];
+                remaining &= remaining - 1;
+            }
+        }
+
+        return sum;
+    }
+
+    private static boolean isEmpty(long[] bitset) {
+        for (long word : bitset) {
+            if (word != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static void setBit(long[] bitset, int bit) {
+        bitset[bit / Long.SIZE] |= 1L << (bit % Long.SIZE);
+    }
+
+    private static void clearBit(long[] bitset, int bit) {
+        bitset[bit / Long.SIZE] &= ~(1L << (bit % Long.SIZE));
+    }
+}
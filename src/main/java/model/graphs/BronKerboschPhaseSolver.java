@@ -0,0 +1,20 @@
+package model.graphs;
+
+import model.enums.Lane;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * BronKerboschPhaseSolver class is the default PhaseSolver. It creates weighted Graph of non-colliding Lanes and
+ * finds maximum weighted clique with WeightedBronKerbosch solver.
+ */
+public class BronKerboschPhaseSolver implements PhaseSolver {
+    @Override
+    public Set<Vertex<Lane>> findMaximumWeightClique(List<Vertex<Lane>> vertices) {
+        Graph<Vertex<Lane>> graph = Graph.fromLanes(vertices);
+        WeightedBronKerbosch weightedBronKerbosch = new WeightedBronKerbosch(graph);
+
+        return weightedBronKerbosch.findMaximumWeightClique();
+    }
+}
@@ -0,0 +1,205 @@
+package model.graphs;
+
+import model.enums.Lane;
+import model.enums.LaneTopology;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * CachingPhaseSolver class is a PhaseSolver that remembers results of another PhaseSolver. Results are kept in a
+ * bounded cache with least recently used eviction and are keyed by weights of all Lanes packed into a single long
+ * value (5 bits per Lane). Searches with any Lane weight above 30 are passed to the underlying solver without
+ * caching.
+ *
+ * <p>Result of a search depends only on Lanes weights, so a single instance can be shared by many Simulation objects.
+ * All operations are synchronized, the underlying solver is never called by two threads at the same time.</p>
+ *
+ * <p>Example</p>
+ * <pre>
+ *     CachingPhaseSolver phaseSolver = new CachingPhaseSolver(new BitsetPhaseSolver(), 4096);
+ *     Simulation simulation1 = new Simulation(roads1, phaseSolver);
+ *     Simulation simulation2 = new Simulation(roads2, phaseSolver);
+ * </pre>
+ */
+public class CachingPhaseSolver implements PhaseSolver {
+    private static final int BITS_PER_LANE = 5;
+    private static final int MAX_CACHED_WEIGHT = (1 << BITS_PER_LANE) - 2;
+
+    private final PhaseSolver phaseSolver;
+    private final int capacity;
+    private final Map<Long, Integer> cache;
+
+    private long hitsCount = 0;
+    private long missesCount = 0;
+    private long evictionsCount = 0;
+
+    public CachingPhaseSolver(PhaseSolver phaseSolver, int capacity) throws IllegalArgumentException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(String.format("Cache capacity has to be positive: %d", capacity));
+        }
+
+        this.phaseSolver = phaseSolver;
+        this.capacity = capacity;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Integer> eldest) {
+                if (this.size() > CachingPhaseSolver.this.capacity) {
+                    CachingPhaseSolver.this.evictionsCount++;
+                    return true;
+                }
+
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Set<Vertex<Lane>> findMaximumWeightClique(List<Vertex<Lane>> vertices) {
+        long signature = getSignature(vertices);
+
+        if (signature < 0) {
+            this.missesCount++;
+            return this.phaseSolver.findMaximumWeightClique(vertices);
+        }
+
+        Integer cachedGreenLightLanes = this.cache.get(signature);
+
+        if (cachedGreenLightLanes != null) {
+            this.hitsCount++;
+            return selectVertices(vertices, cachedGreenLightLanes);
+        }
+
+        this.missesCount++;
+        Set<Vertex<Lane>> maxClique = this.phaseSolver.findMaximumWeightClique(vertices);
+        int greenLightLanes = 0;
+
+        for (Vertex<Lane> vertex : maxClique) {
+            greenLightLanes |= LaneTopology.getLaneBit(vertex.id());
+        }
+
+        this.cache.put(signature, greenLightLanes);
+
+        return maxClique;
+    }
+
+    @Override
+    public synchronized int findMaximumWeightPhase(int[] laneWeights) {
+        long signature = getSignature(laneWeights);
+
+        if (signature < 0) {
+            this.missesCount++;
+            return this.phaseSolver.findMaximumWeightPhase(laneWeights);
+        }
+
+        Integer cachedGreenLightLanes = this.cache.get(signature);
+
+        if (cachedGreenLightLanes != null) {
+            this.hitsCount++;
+            return cachedGreenLightLanes;
+        }
+
+        this.missesCount++;
+        int greenLightLanes = this.phaseSolver.findMaximumWeightPhase(laneWeights);
+        this.cache.put(signature, greenLightLanes);
+
+        return greenLightLanes;
+    }
+
+    /**
+     * Retrieves number of searches answered from the cache.
+     *
+     * @return Number of cache hits
+     */
+    public synchronized long getHitsCount() {
+        return this.hitsCount;
+    }
+
+    /**
+     * Retrieves number of searches passed to the underlying solver.
+     *
+     * @return Number of cache misses
+     */
+    public synchronized long getMissesCount() {
+        return this.missesCount;
+    }
+
+    /**
+     * Retrieves number of results removed from the cache because it was full.
+     *
+     * @return Number of evictions
+     */
+    public synchronized long getEvictionsCount() {
+        return this.evictionsCount;
+    }
+
+    /**
+     * Retrieves number of results currently kept in the cache.
+     *
+     * @return Size of the cache
+     */
+    public synchronized int size() {
+        return this.cache.size();
+    }
+
+    /**
+     * Packs weights of all Lanes into a single long value.
+     *
+     * @param vertices List of vertices with Lanes as ids
+     * @return Packed weights, or -1 if some weight is too big to be packed
+     */
+    private static long getSignature(List<Vertex<Lane>> vertices) {
+        long signature = 0L;
+
+        for (Vertex<Lane> vertex : vertices) {
+            if (vertex.weight() < 0 || vertex.weight() > MAX_CACHED_WEIGHT) {
+                return -1L;
+            }
+
+            // add one, so that vertex of weight 0 differs from missing vertex
+            long packedWeight = vertex.weight() + 1;
+            signature |= packedWeight << (vertex.id().ordinal() * BITS_PER_LANE);
+        }
+
+        return signature;
+    }
+
+    /**
+     * Packs Lanes weights into a single long value. Lanes of weight 0 are packed the same way as missing vertices.
+     *
+     * @param laneWeights Weights of Lanes indexed by Lane ordinal
+     * @return Packed weights, or -1 if some weight is too big to be packed
+     */
+    private static long getSignature(int[] laneWeights) {
+        long signature = 0L;
+
+        for (int laneId = 0; laneId < LaneTopology.LANES_COUNT; laneId++) {
+            int weight = laneWeights[laneId];
+
+            if (weight < 0 || weight > MAX_CACHED_WEIGHT) {
+                return -1L;
+            }
+
+            if (weight > 0) {
+                signature |= (long) (weight + 1) << (laneId * BITS_PER_LANE);
+            }
+        }
+
+        return signature;
+    }
+
+    private static Set<Vertex<Lane>> selectVertices(List<Vertex<Lane>> vertices, int lanesMask) {
+        Set<Vertex<Lane>> selectedVertices = new HashSet<>();
+
+        for (Vertex<Lane> vertex : vertices) {
+            if ((lanesMask & LaneTopology.getLaneBit(vertex.id())) != 0) {
+                selectedVertices.add(vertex);
+            }
+        }
+
+        return selectedVertices;
+    }
+}
@@ -1,6 +1,7 @@
 package model.graphs;
 
 import model.enums.Lane;
+import model.enums.LaneTopology;
 
 import java.util.*;
 
@@ -96,7 +97,8 @@ public class Graph<VertexType> {
 
     /**
      * Creates weighted graph from Vertices list. Vertices of result graph are Lanes with weight of vehicles count which
-     * occupy these Lanes. Edges are created only between vertices that contain non-colliding Lanes.
+     * occupy these Lanes. Edges are created only between vertices that contain non-colliding Lanes. Collisions are
+     * checked against precomputed LaneTopology compatibility masks.
      *
      * @param lanesList List of Vertex Objects that create graph
      * @return Graph
@@ -108,13 +110,12 @@ public class Graph<VertexType> {
         for (int vertexId = 0; vertexId < lanesCount; vertexId++) {
             Vertex<Lane> vertex = lanesList.get(vertexId);
             graph.addVertex(vertex);
-            Lane vertexLane = vertex.id();
+            int compatibilityMask = LaneTopology.getCompatibilityMask(vertex.id());
 
             for (int neighbourId = vertexId + 1; neighbourId < lanesCount; neighbourId++) {
                 Vertex<Lane> neighbour = lanesList.get(neighbourId);
-                Lane neighbourLane = neighbour.id();
 
-                if ( ! vertexLane.collide(neighbourLane)) {
+                if ((compatibilityMask & LaneTopology.getLaneBit(neighbour.id())) != 0) {
                     graph.addEdge(vertex, neighbour);
                 }
             }
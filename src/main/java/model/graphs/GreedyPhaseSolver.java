@@ -0,0 +1,35 @@
+package model.graphs;
+
+import model.enums.Lane;
+import model.enums.LaneTopology;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * GreedyPhaseSolver class is a heuristic PhaseSolver. It goes through vertices from the heaviest one and takes each
+ * vertex whose Lane does not collide with Lanes taken so far. The result is always a set of non-colliding Lanes, but
+ * its weight may be lower than weight of maximum weighted clique.
+ */
+public class GreedyPhaseSolver implements PhaseSolver {
+    @Override
+    public Set<Vertex<Lane>> findMaximumWeightClique(List<Vertex<Lane>> vertices) {
+        List<Vertex<Lane>> sortedVertices = vertices.stream()
+                .sorted(Comparator.comparingInt((Vertex<Lane> vertex) -> vertex.weight()).reversed())
+                .toList();
+
+        Set<Vertex<Lane>> clique = new HashSet<>();
+        int compatibleLanesMask = LaneTopology.ALL_LANES_MASK;
+
+        for (Vertex<Lane> vertex : sortedVertices) {
+            if ((compatibleLanesMask & LaneTopology.getLaneBit(vertex.id())) != 0) {
+                clique.add(vertex);
+                compatibleLanesMask &= LaneTopology.getCompatibilityMask(vertex.id());
+            }
+        }
+
+        return clique;
+    }
+}
@@ -0,0 +1,57 @@
+package model.graphs;
+
+import model.enums.Lane;
+import model.enums.LaneTopology;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * PhaseSolver interface represents strategy of selecting Lanes that get green light during a simulation step.
+ * Implementations find a set of non-colliding Lanes with possibly the highest sum of weights, where weight of each
+ * Lane is number of cars that are first in traffic lanes queues and occupy this Lane.
+ *
+ * <p>Available implementations:</p>
+ * <ul>
+ *     <li><b>BronKerboschPhaseSolver</b> - exact, builds Graph and runs WeightedBronKerbosch (default)</li>
+ *     <li><b>BitsetPhaseSolver</b> - exact, runs BitsetWeightedBronKerbosch with weight bounding</li>
+ *     <li><b>PhaseTableSolver</b> - exact, scans precomputed table of maximal non-colliding Lane sets</li>
+ *     <li><b>GreedyPhaseSolver</b> - heuristic, picks heaviest non-colliding Lanes one by one</li>
+ * </ul>
+ */
+public interface PhaseSolver {
+    /**
+     * Finds set of non-colliding vertices with possibly maximum sum of weights.
+     *
+     * @param vertices List of vertices with Lanes as ids, each Lane appears at most once
+     * @return Set of vertices that get green light
+     */
+    Set<Vertex<Lane>> findMaximumWeightClique(List<Vertex<Lane>> vertices);
+
+    /**
+     * Finds mask of non-colliding Lanes with possibly maximum sum of weights. Lanes of weight 0 are not active and are
+     * never part of the result. The default implementation creates vertices and calls
+     * <i>findMaximumWeightClique()</i>, implementations that can search without allocating override it.
+     *
+     * @param laneWeights Weights of Lanes indexed by Lane ordinal
+     * @return Mask of Lanes that get green light
+     */
+    default int findMaximumWeightPhase(int[] laneWeights) {
+        List<Vertex<Lane>> vertices = new ArrayList<>();
+
+        for (int laneId = 0; laneId < LaneTopology.LANES_COUNT; laneId++) {
+            if (laneWeights[laneId] > 0) {
+                vertices.add(new Vertex<>(LaneTopology.fromOrdinal(laneId), laneWeights[laneId]));
+            }
+        }
+
+        int greenLightLanes = 0;
+
+        for (Vertex<Lane> vertex : this.findMaximumWeightClique(vertices)) {
+            greenLightLanes |= LaneTopology.getLaneBit(vertex.id());
+        }
+
+        return greenLightLanes;
+    }
+}
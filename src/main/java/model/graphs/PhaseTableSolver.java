@@ -0,0 +1,137 @@
+package model.graphs;
+
+import model.enums.Lane;
+import model.enums.LaneTopology;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * PhaseTableSolver class finds maximum weighted clique of non-colliding Lanes without building a graph. All maximal
+ * sets of non-colliding Lanes (phases) of the standard crossing are enumerated once during class initialization.
+ * Each call only scores these phases against weights of currently active Lanes and picks the best one.
+ *
+ * <p>Every clique of active Lanes is contained in some phase and weights are never negative, so the best phase
+ * restricted to the active Lanes is a maximum weight clique.</p>
+ *
+ * <p>Example</p>
+ * <pre>
+ *     PhaseTableSolver phaseTableSolver = new PhaseTableSolver();
+ *     Set<Vertex<Lane>> maxCliqueVertices = phaseTableSolver.findMaximumWeightClique(verticesList);
+ * </pre>
+ */
+public class PhaseTableSolver implements PhaseSolver {
+    private static final int[] PHASES = enumeratePhases();
+
+    /**
+     * Finds clique with maximum sum of vertices weights among given vertices.
+     *
+     * @param vertices List of vertices with Lanes as ids
+     * @return Set of vertices creating maximum weight clique
+     */
+    @Override
+    public Set<Vertex<Lane>> findMaximumWeightClique(List<Vertex<Lane>> vertices) {
+        int[] laneWeights = new int[LaneTopology.LANES_COUNT];
+        int activeLanesMask = 0;
+
+        for (Vertex<Lane> vertex : vertices) {
+            laneWeights[vertex.id().ordinal()] += vertex.weight();
+            activeLanesMask |= LaneTopology.getLaneBit(vertex.id());
+        }
+
+        int phase = this.findMaximumWeightPhase(laneWeights, activeLanesMask);
+        Set<Vertex<Lane>> maxClique = new HashSet<>();
+
+        for (Vertex<Lane> vertex : vertices) {
+            if ((phase & LaneTopology.getLaneBit(vertex.id())) != 0) {
+                maxClique.add(vertex);
+            }
+        }
+
+        return maxClique;
+    }
+
+    @Override
+    public int findMaximumWeightPhase(int[] laneWeights) {
+        int activeLanesMask = 0;
+
+        for (int laneId = 0; laneId < LaneTopology.LANES_COUNT; laneId++) {
+            if (laneWeights[laneId] > 0) {
+                activeLanesMask |= 1 << laneId;
+            }
+        }
+
+        return this.findMaximumWeightPhase(laneWeights, activeLanesMask);
+    }
+
+    /**
+     * Finds mask of active Lanes that create clique with maximum sum of weights. Does not allocate.
+     *
+     * @param laneWeights Weights of Lanes indexed by Lane ordinal
+     * @param activeLanesMask Mask of Lanes that take part in the search
+     * @return Mask of Lanes creating maximum weight clique, always a subset of activeLanesMask
+     */
+    public int findMaximumWeightPhase(int[] laneWeights, int activeLanesMask) {
+        int bestPhase = 0;
+        int bestWeight = -1;
+
+        for (int phase : PHASES) {
+            int remaining = phase & activeLanesMask;
+            int weight = 0;
+
+            while (remaining != 0) {
+                weight += laneWeights[Integer.numberOfTrailingZeros(remaining)];
+                remaining &= remaining - 1;
+            }
+
+            if (bestWeight < weight) {
+                bestWeight = weight;
+                bestPhase = phase & activeLanesMask;
+            }
+        }
+
+        return bestPhase;
+    }
+
+    /**
+     * Retrieves all maximal sets of non-colliding Lanes.
+     *
+     * @return Copy of phases table, each phase represented as Lane mask
+     */
+    public static int[] getPhases() {
+        return Arrays.copyOf(PHASES, PHASES.length);
+    }
+
+    /**
+     * Enumerates all maximal sets of non-colliding Lanes. There are only 2^12 Lane subsets, so all of them are checked.
+     *
+     * @return Array of phases represented as Lane masks
+     */
+    private static int[] enumeratePhases() {
+        return IntStream.rangeClosed(0, LaneTopology.ALL_LANES_MASK)
+                .filter(LaneTopology::isCompatible)
+                .filter(PhaseTableSolver::isMaximal)
+                .toArray();
+    }
+
+    /**
+     * Checks if no Lane outside the compatible mask can extend it.
+     *
+     * @param lanesMask Compatible mask of Lanes
+     * @return `true` if mask is maximal, otherwise `false`
+     */
+    private static boolean isMaximal(int lanesMask) {
+        for (int laneId = 0; laneId < LaneTopology.LANES_COUNT; laneId++) {
+            int laneBit = 1 << laneId;
+
+            if ((lanesMask & laneBit) == 0 && (LaneTopology.getCompatibilityMask(laneId) & lanesMask) == lanesMask) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,48 @@
+package model.ingest;
+
+import model.enums.Direction;
+
+import java.nio.ByteBuffer;
+
+/**
+ * DetectorFrame class describes binary frames of vehicle arrival events pushed by loop detectors. Every frame has the
+ * same size, so frames can be decoded straight from a network buffer without any delimiter search. All integers are
+ * big-endian.
+ *
+ * <p>Frame layout:</p>
+ * <ul>
+ *     <li><b>0-3</b> intersection id (int)</li>
+ *     <li><b>4-11</b> vehicle id (long)</li>
+ *     <li><b>12</b> start Direction ordinal</li>
+ *     <li><b>13</b> end Direction ordinal</li>
+ *     <li><b>14-15</b> reserved, written as zeros</li>
+ * </ul>
+ */
+public final class DetectorFrame {
+    public static final int SIZE = 16;
+
+    static final int INTERSECTION_ID_OFFSET = 0;
+    static final int VEHICLE_ID_OFFSET = 4;
+    static final int START_DIRECTION_OFFSET = 12;
+    static final int END_DIRECTION_OFFSET = 13;
+
+    private DetectorFrame() {
+    }
+
+    /**
+     * Writes single frame at the current position of the buffer.
+     *
+     * @param buffer Buffer with at least SIZE bytes remaining
+     * @param intersectionId Id of the intersection the vehicle arrives at
+     * @param vehicleId Id of the vehicle
+     * @param start Direction of the road on which vehicle arrives
+     * @param end Direction of the road on which vehicle leaves
+     */
+    public static void write(ByteBuffer buffer, int intersectionId, long vehicleId, Direction start, Direction end) {
+        buffer.putInt(intersectionId);
+        buffer.putLong(vehicleId);
+        buffer.put((byte) start.ordinal());
+        buffer.put((byte) end.ordinal());
+        buffer.putShort((short) 0);
+    }
+}
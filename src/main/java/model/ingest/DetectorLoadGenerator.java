@@ -0,0 +1,116 @@
+package model.ingest;
+
+import model.enums.Direction;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DetectorLoadGenerator class simulates many loop detectors pushing arrival events to IngestServer, so ingestion can
+ * be benchmarked on a single machine. Every connection is served by its own thread writing frames in large batches.
+ * Vehicle ids are unique across all connections, intersections are assigned round-robin and routes are pseudo-random
+ * but repeatable.
+ *
+ * <p>Example</p>
+ * <pre>
+ *     long sentEvents = DetectorLoadGenerator.generate(new InetSocketAddress("localhost", 9000), 4, 250_000, 100);
+ * </pre>
+ */
+public final class DetectorLoadGenerator {
+    private static final int BATCH_FRAMES = 4096;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private DetectorLoadGenerator() {
+    }
+
+    /**
+     * Sends events over given number of connections and waits until all of them are written.
+     *
+     * @param address Address of the ingest server
+     * @param connectionsCount Number of parallel connections
+     * @param eventsPerConnection Number of events sent over each connection
+     * @param intersectionsCount Number of intersections, events are sent to intersections 0 to count - 1
+     * @return Number of sent events
+     * @throws IOException If connecting or writing fails
+     * @throws InterruptedException If interrupted while waiting for connections
+     * @throws IllegalArgumentException If any count is not positive
+     */
+    public static long generate(InetSocketAddress address, int connectionsCount, int eventsPerConnection,
+                                int intersectionsCount)
+            throws IOException, InterruptedException, IllegalArgumentException {
+        if (connectionsCount <= 0 || eventsPerConnection <= 0 || intersectionsCount <= 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Counts have to be positive: %d connections, %d events, %d intersections",
+                    connectionsCount, eventsPerConnection, intersectionsCount
+            ));
+        }
+
+        List<Thread> connections = new ArrayList<>();
+        List<IOException> failures = new ArrayList<>();
+
+        for (int connectionId = 0; connectionId < connectionsCount; connectionId++) {
+            long firstVehicleId = (long) connectionId * eventsPerConnection;
+
+            connections.add(Thread.ofPlatform().name("detector-" + connectionId).start(() -> {
+                try {
+                    sendEvents(address, firstVehicleId, eventsPerConnection, intersectionsCount);
+                } catch (IOException exception) {
+                    synchronized (failures) {
+                        failures.add(exception);
+                    }
+                }
+            }));
+        }
+
+        for (Thread connection : connections) {
+            connection.join();
+        }
+
+        if ( ! failures.isEmpty()) {
+            throw failures.getFirst();
+        }
+
+        return (long) connectionsCount * eventsPerConnection;
+    }
+
+    private static void sendEvents(InetSocketAddress address, long firstVehicleId, int eventsCount,
+                                   int intersectionsCount) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BATCH_FRAMES * DetectorFrame.SIZE);
+        long random = firstVehicleId + 1;
+
+        try (SocketChannel channel = SocketChannel.open(address)) {
+            for (long vehicleId = firstVehicleId; vehicleId < firstVehicleId + eventsCount; vehicleId++) {
+                random ^= random << 13;
+                random ^= random >>> 7;
+                random ^= random << 17;
+
+                int start = (int) ((random >>> 8) % DIRECTIONS.length);
+                int end = (start + 1 + (int) ((random >>> 16) % (DIRECTIONS.length - 1))) % DIRECTIONS.length;
+
+                DetectorFrame.write(
+                        buffer, (int) (vehicleId % intersectionsCount), vehicleId, DIRECTIONS[start], DIRECTIONS[end]
+                );
+
+                if ( ! buffer.hasRemaining()) {
+                    writeFully(channel, buffer);
+                }
+            }
+
+            writeFully(channel, buffer);
+        }
+    }
+
+    private static void writeFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+
+        buffer.clear();
+    }
+}
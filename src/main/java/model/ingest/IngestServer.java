@@ -0,0 +1,327 @@
+package model.ingest;
+
+import model.enums.Direction;
+import model.enums.Lane;
+import model.enums.LaneTopology;
+import model.simulation.Simulation;
+import model.traffic.Car;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * IngestServer class receives vehicle arrival events from loop detectors over TCP and adds vehicles to simulations of
+ * their intersections. A single thread serves all connections with a non-blocking Selector. Every connection reads
+ * into a direct ByteBuffer taken from a pool, and fixed-size frames (see DetectorFrame) are decoded straight from that
+ * buffer, so the only objects created per event are the Car and, when vehicle id is seen for the first time, its
+ * interned name.
+ *
+ * <p>Vehicles are added with <i>Simulation.addVehicleConcurrently()</i>, so simulations can be stepped by their own
+ * threads while events arrive. Events of unknown intersections, with invalid directions or with moves not supported
+ * by the intersection are counted as rejected and skipped.</p>
+ *
+ * <p>Example</p>
+ * <pre>
+ *     try (IngestServer server = new IngestServer(new InetSocketAddress(9000))) {
+ *         server.register(0, simulation);
+ *         server.start();
+ *         ...
+ *     }
+ * </pre>
+ */
+public class IngestServer implements AutoCloseable {
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private final ArrayDeque<ByteBuffer> buffersPool = new ArrayDeque<>();
+    private final int bufferSize;
+    private final VehicleNameTable vehicleNames = new VehicleNameTable();
+    private final Thread selectorThread;
+
+    private volatile Simulation[] intersections = new Simulation[0];
+    private volatile boolean closed = false;
+    private volatile long acceptedEventsCount = 0;
+    private volatile long rejectedEventsCount = 0;
+    private IOException failure = null;
+
+    public IngestServer(InetSocketAddress address) throws IOException {
+        this(address, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates server bound to given address. Server does not accept connections until it is started.
+     *
+     * @param address Address to bind, port 0 chooses free port
+     * @param bufferSize Size of the read buffer of each connection, multiple of frame size
+     * @throws IOException If server can not be bound
+     * @throws IllegalArgumentException If buffer size is not a positive multiple of frame size
+     */
+    public IngestServer(InetSocketAddress address, int bufferSize) throws IOException, IllegalArgumentException {
+        if (bufferSize <= 0 || bufferSize % DetectorFrame.SIZE != 0) {
+            throw new IllegalArgumentException(
+                    String.format("Buffer size has to be a positive multiple of %d: %d", DetectorFrame.SIZE, bufferSize)
+            );
+        }
+
+        this.bufferSize = bufferSize;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+
+        try {
+            this.serverChannel.bind(address);
+            this.serverChannel.configureBlocking(false);
+            this.serverChannel.register(this.selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException exception) {
+            this.serverChannel.close();
+            this.selector.close();
+            throw exception;
+        }
+
+        this.selectorThread = new Thread(this::runSelectorLoop, "detector-ingest");
+        this.selectorThread.setDaemon(true);
+    }
+
+    /**
+     * Routes events of given intersection to the simulation and enables its concurrent ingestion. Has to be called by
+     * the thread controlling the simulation, before it steps the simulation again.
+     *
+     * @param intersectionId Non-negative id of the intersection used in frames
+     * @param simulation Simulation of the intersection
+     * @throws IllegalArgumentException If id is negative or already registered
+     */
+    public synchronized void register(int intersectionId, Simulation simulation) throws IllegalArgumentException {
+        if (intersectionId < 0) {
+            throw new IllegalArgumentException(
+                    String.format("Intersection id can not be negative: %d", intersectionId)
+            );
+        }
+
+        Simulation[] currentIntersections = this.intersections;
+
+        if (intersectionId < currentIntersections.length && currentIntersections[intersectionId] != null) {
+            throw new IllegalArgumentException(
+                    String.format("Intersection is already registered: %d", intersectionId)
+            );
+        }
+
+        simulation.enableConcurrentIngestion();
+
+        Simulation[] newIntersections = Arrays.copyOf(
+                currentIntersections, Math.max(currentIntersections.length, intersectionId + 1)
+        );
+        newIntersections[intersectionId] = simulation;
+        this.intersections = newIntersections;
+    }
+
+    public void start() {
+        this.selectorThread.start();
+    }
+
+    public int getPort() throws UncheckedIOException {
+        try {
+            return ((InetSocketAddress) this.serverChannel.getLocalAddress()).getPort();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Checks if the server is started and still reads events.
+     *
+     * @return `true` if the server is running, otherwise `false`
+     */
+    public boolean isRunning() {
+        return ! this.closed && this.selectorThread.isAlive();
+    }
+
+    public long getAcceptedEventsCount() {
+        return this.acceptedEventsCount;
+    }
+
+    public long getRejectedEventsCount() {
+        return this.rejectedEventsCount;
+    }
+
+    /**
+     * Stops the server and closes all connections. Events already read are added to simulations.
+     *
+     * @throws IOException If the server failed while running
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+
+        this.closed = true;
+        this.selector.wakeup();
+
+        if (this.selectorThread.isAlive()) {
+            try {
+                this.selectorThread.join();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        else {
+            this.closeChannels();
+        }
+
+        if (this.failure != null) {
+            throw this.failure;
+        }
+    }
+
+    private void runSelectorLoop() {
+        try {
+            while ( ! this.closed) {
+                this.selector.select(this::handleKey);
+            }
+        } catch (IOException exception) {
+            this.failure = exception;
+        } catch (UncheckedIOException exception) {
+            this.failure = exception.getCause();
+        } finally {
+            this.closeChannels();
+        }
+    }
+
+    private void handleKey(SelectionKey key) throws UncheckedIOException {
+        try {
+            if (key.isAcceptable()) {
+                this.acceptConnection();
+            }
+            else if (key.isReadable()) {
+                this.readFrames(key);
+            }
+        } catch (IOException exception) {
+            if (key.channel() == this.serverChannel) {
+                throw new UncheckedIOException(exception);
+            }
+
+            // connection reset by detector
+            this.closeConnection(key);
+        }
+    }
+
+    private void acceptConnection() throws IOException {
+        SocketChannel channel = this.serverChannel.accept();
+
+        if (channel == null) {
+            return;
+        }
+
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        channel.register(this.selector, SelectionKey.OP_READ, this.acquireBuffer());
+    }
+
+    private void readFrames(SelectionKey key) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        ByteBuffer buffer = (ByteBuffer) key.attachment();
+
+        int readBytes = channel.read(buffer);
+        buffer.flip();
+
+        while (buffer.remaining() >= DetectorFrame.SIZE) {
+            this.decodeFrame(buffer, buffer.position());
+            buffer.position(buffer.position() + DetectorFrame.SIZE);
+        }
+
+        buffer.compact();
+
+        if (readBytes < 0) {
+            this.closeConnection(key);
+        }
+    }
+
+    /**
+     * Decodes frame starting at given position of the buffer and adds its vehicle to the intersection.
+     */
+    private void decodeFrame(ByteBuffer buffer, int position) {
+        int intersectionId = buffer.getInt(position + DetectorFrame.INTERSECTION_ID_OFFSET);
+        int startOrdinal = buffer.get(position + DetectorFrame.START_DIRECTION_OFFSET);
+        int endOrdinal = buffer.get(position + DetectorFrame.END_DIRECTION_OFFSET);
+        Simulation[] currentIntersections = this.intersections;
+
+        if (intersectionId < 0 || intersectionId >= currentIntersections.length
+                || currentIntersections[intersectionId] == null
+                || startOrdinal < 0 || startOrdinal >= DIRECTIONS.length
+                || endOrdinal < 0 || endOrdinal >= DIRECTIONS.length) {
+            this.rejectedEventsCount++;
+            return;
+        }
+
+        long vehicleId = buffer.getLong(position + DetectorFrame.VEHICLE_ID_OFFSET);
+        Lane lane = LaneTopology.getLane(DIRECTIONS[startOrdinal], DIRECTIONS[endOrdinal]);
+
+        try {
+            Car car = new Car(this.vehicleNames.intern(vehicleId), lane);
+            currentIntersections[intersectionId].addVehicleConcurrently(car);
+            this.acceptedEventsCount++;
+        } catch (IllegalArgumentException | IllegalStateException exception) {
+            this.rejectedEventsCount++;
+        }
+    }
+
+    private void closeConnection(SelectionKey key) {
+        if ( ! key.isValid()) {
+            return;
+        }
+
+        key.cancel();
+
+        try {
+            key.channel().close();
+        } catch (IOException exception) {
+            // channel is dropped anyway
+        }
+
+        this.releaseBuffer((ByteBuffer) key.attachment());
+    }
+
+    private void closeChannels() {
+        if ( ! this.selector.isOpen()) {
+            return;
+        }
+
+        for (SelectionKey key : this.selector.keys()) {
+            if (key.channel() != this.serverChannel) {
+                this.closeConnection(key);
+            }
+        }
+
+        try {
+            this.serverChannel.close();
+            this.selector.close();
+        } catch (IOException exception) {
+            if (this.failure == null) {
+                this.failure = exception;
+            }
+        }
+    }
+
+    private ByteBuffer acquireBuffer() {
+        ByteBuffer buffer = this.buffersPool.poll();
+
+        return buffer == null ? ByteBuffer.allocateDirect(this.bufferSize) : buffer.clear();
+    }
+
+    private void releaseBuffer(ByteBuffer buffer) {
+        if (buffer != null) {
+            this.buffersPool.push(buffer);
+        }
+    }
+}
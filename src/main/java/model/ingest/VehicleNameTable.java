@@ -0,0 +1,120 @@
+package model.ingest;
+
+import java.util.Arrays;
+
+/**
+ * VehicleNameTable class interns names of vehicles by their numeric ids. Name of a vehicle is created once, when its
+ * id is seen for the first time, and the same String instance is returned for all later events of that vehicle. Ids
+ * are kept in an open-addressing table of primitive longs, so lookups do not box ids.
+ *
+ * <p>Server does not know when vehicles leave simulations, so the table keeps at most <i>maxSize</i> names. When it is
+ * full, it is cleared and filled again with vehicles seen afterwards, so memory used by a long-running server does not
+ * depend on the number of distinct vehicles it has seen. Vehicle seen again after clearing gets an equal, new name.</p>
+ *
+ * <p>Table is not thread-safe; it is used only by the thread decoding frames.</p>
+ */
+class VehicleNameTable {
+    static final String NAME_PREFIX = "vehicle";
+    static final int DEFAULT_MAX_SIZE = 1 << 16;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private final int maxSize;
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private String[] names = new String[INITIAL_CAPACITY];
+    private int size = 0;
+
+    VehicleNameTable() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates table keeping at most given number of names.
+     *
+     * @param maxSize Maximum number of names
+     * @throws IllegalArgumentException If maximum size is not positive
+     */
+    VehicleNameTable(int maxSize) throws IllegalArgumentException {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException(String.format("Maximum size has to be positive: %d", maxSize));
+        }
+
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Retrieves name of the vehicle, creating it if id is seen for the first time.
+     *
+     * @param vehicleId Id of the vehicle
+     * @return Interned name of the vehicle
+     */
+    String intern(long vehicleId) {
+        int mask = this.ids.length - 1;
+        int index = hash(vehicleId) & mask;
+
+        while (this.names[index] != null) {
+            if (this.ids[index] == vehicleId) {
+                return this.names[index];
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        String name = NAME_PREFIX + vehicleId;
+
+        if (this.size == this.maxSize) {
+            this.clear();
+            index = hash(vehicleId) & mask;
+        }
+
+        this.ids[index] = vehicleId;
+        this.names[index] = name;
+
+        if (++this.size > this.ids.length * LOAD_FACTOR) {
+            this.resize();
+        }
+
+        return name;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Removes all names, keeping arrays of the table for reuse.
+     */
+    private void clear() {
+        Arrays.fill(this.names, null);
+        this.size = 0;
+    }
+
+    private void resize() {
+        long[] oldIds = this.ids;
+        String[] oldNames = this.names;
+        this.ids = new long[oldIds.length * 2];
+        this.names = new String[oldNames.length * 2];
+        int mask = this.ids.length - 1;
+
+        for (int oldIndex = 0; oldIndex < oldIds.length; oldIndex++) {
+            if (oldNames[oldIndex] == null) {
+                continue;
+            }
+
+            int index = hash(oldIds[oldIndex]) & mask;
+
+            while (this.names[index] != null) {
+                index = (index + 1) & mask;
+            }
+
+            this.ids[index] = oldIds[oldIndex];
+            this.names[index] = oldNames[oldIndex];
+        }
+    }
+
+    private static int hash(long vehicleId) {
+        long hash = vehicleId * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
@@ -0,0 +1,13 @@
+package model.input;
+
+import model.commands.Command;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * CommandStream interface represents source of typed commands read lazily from some input. Commands are decoded one by
+ * one while iterating and the stream should be closed after use.
+ */
+public interface CommandStream extends Iterator<Command>, Closeable {
+}
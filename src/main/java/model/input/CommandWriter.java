@@ -0,0 +1,20 @@
+package model.input;
+
+import model.commands.Command;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * CommandWriter interface represents destination to which typed commands can be written in one of input formats, so
+ * they can be later read with matching CommandStream.
+ */
+public interface CommandWriter extends Closeable {
+    /**
+     * Writes single command.
+     *
+     * @param command Command to write
+     * @throws IOException If writing fails
+     */
+    void write(Command command) throws IOException;
+}
@@ -4,14 +4,18 @@ import java.util.List;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import java.io.FileReader;
+import java.io.IOException;
 import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.lang.reflect.Type;
 import java.util.Map;
 import java.util.Optional;
 
 /**
  * This class is responsible for reading commands from a JSON file and converting them
- * into a map structure for further processing.
+ * into a map structure for further processing. Large inputs can be streamed command by command with
+ * <i>streamJsonCommands()</i>, and newline-delimited JSON inputs with <i>streamNdjsonCommands()</i>.
  */
 public class InputReader {
     public static Optional<Map<String, List<Map<String, String>>>> readJsonCommands(String pathToJson) {
@@ -29,4 +33,43 @@ public class InputReader {
 
         return Optional.ofNullable(map);
     }
+
+    /**
+     * Opens JSON file with commands for streaming. Commands are parsed one at a time while iterating, so memory usage
+     * does not depend on file size.
+     *
+     * @param pathToJson Path to JSON file with <i>commands</i> array
+     * @return Stream of commands positioned at the first command
+     * @throws IOException If file can not be opened or its beginning is malformed
+     */
+    public static JsonCommandStream streamJsonCommands(String pathToJson) throws IOException {
+        return new JsonCommandStream(Files.newBufferedReader(Path.of(pathToJson)));
+    }
+
+    /**
+     * Opens newline-delimited JSON file with commands for streaming. Every non-blank line of the file has to contain
+     * a single command object.
+     *
+     * @param pathToNdjson Path to NDJSON file with commands
+     * @return Stream of commands
+     * @throws IOException If file can not be opened
+     */
+    public static NdjsonCommandStream streamNdjsonCommands(String pathToNdjson) throws IOException {
+        return new NdjsonCommandStream(Files.newBufferedReader(Path.of(pathToNdjson)));
+    }
+
+    /**
+     * Reads layout of the crossing from JSON file.
+     *
+     * @param pathToJson Path to JSON file with layout
+     * @return Read layout
+     * @throws IOException If file can not be read
+     * @throws com.google.gson.JsonParseException If file is malformed
+     * @throws IllegalArgumentException If file does not describe correct layout
+     */
+    public static IntersectionLayout readLayout(String pathToJson) throws IOException, IllegalArgumentException {
+        try (Reader reader = Files.newBufferedReader(Path.of(pathToJson))) {
+            return IntersectionLayout.fromJson(reader);
+        }
+    }
 }
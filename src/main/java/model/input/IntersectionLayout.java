@@ -0,0 +1,142 @@
+package model.input;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import model.enums.Direction;
+import model.enums.Move;
+import model.simulation.Simulation;
+import model.traffic.Road;
+import model.traffic.TrafficLane;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * IntersectionLayout record describes roads of the crossing and moves supported by each of their traffic lanes. Layout
+ * is immutable, so the same layout can be used to create any number of independent simulations.
+ *
+ * <p>JSON layout structure</p>
+ * <pre>
+ *     {
+ *       "roads": [
+ *         {"direction": "north", "trafficLanes": [["right", "straight"], ["left"]]},
+ *         {"direction": "south", "trafficLanes": [["right", "straight", "left"]]}
+ *       ]
+ *     }
+ * </pre>
+ *
+ * @param trafficLanes Supported moves of each traffic lane, for each road direction
+ */
+public record IntersectionLayout(Map<Direction, List<Set<Move>>> trafficLanes) {
+    private static final String ROADS = "roads";
+    private static final String DIRECTION = "direction";
+    private static final String TRAFFIC_LANES = "trafficLanes";
+
+    public IntersectionLayout {
+        Map<Direction, List<Set<Move>>> trafficLanesCopy = new EnumMap<>(Direction.class);
+
+        trafficLanes.forEach((direction, roadTrafficLanes) -> {
+            if (roadTrafficLanes.isEmpty()) {
+                throw new IllegalArgumentException(
+                        String.format("Road of direction %s has no traffic lanes!!!", direction)
+                );
+            }
+
+            trafficLanesCopy.put(direction, roadTrafficLanes.stream().map(Set::copyOf).toList());
+        });
+
+        trafficLanes = Collections.unmodifiableMap(trafficLanesCopy);
+    }
+
+    /**
+     * Reads layout from JSON document.
+     *
+     * @param reader Reader of JSON document with layout
+     * @return Read layout
+     * @throws JsonParseException If document is malformed
+     * @throws IllegalArgumentException If document does not describe correct layout
+     */
+    public static IntersectionLayout fromJson(Reader reader) throws JsonParseException, IllegalArgumentException {
+        JsonElement root = JsonParser.parseReader(reader);
+
+        if ( ! root.isJsonObject() || ! root.getAsJsonObject().has(ROADS)) {
+            throw new IllegalArgumentException("Layout has no roads!!!");
+        }
+
+        try {
+            return new IntersectionLayout(readRoads(root.getAsJsonObject().getAsJsonArray(ROADS)));
+        } catch (NullPointerException | IllegalStateException | ClassCastException | UnsupportedOperationException e) {
+            throw new IllegalArgumentException("Wrong layout structure!!!", e);
+        }
+    }
+
+    /**
+     * Creates new roads with empty traffic lanes according to the layout.
+     *
+     * @return List of roads ordered by direction
+     */
+    public List<Road> createRoads() {
+        List<Road> roads = new ArrayList<>();
+
+        this.trafficLanes.forEach((direction, roadTrafficLanes) -> roads.add(new Road(
+                direction,
+                roadTrafficLanes.stream().map(TrafficLane::new).toList()
+        )));
+
+        return roads;
+    }
+
+    /**
+     * Creates new simulation of the crossing with this layout.
+     *
+     * @return Simulation without any vehicles
+     */
+    public Simulation createSimulation() {
+        return new Simulation(this.createRoads());
+    }
+
+    private static Map<Direction, List<Set<Move>>> readRoads(JsonArray roadsArray) throws IllegalArgumentException {
+        Map<Direction, List<Set<Move>>> trafficLanes = new EnumMap<>(Direction.class);
+
+        for (JsonElement roadElement : roadsArray) {
+            JsonObject road = roadElement.getAsJsonObject();
+            Direction direction = Direction.fromString(road.get(DIRECTION).getAsString());
+            List<Set<Move>> roadTrafficLanes = new ArrayList<>();
+
+            for (JsonElement trafficLaneElement : road.getAsJsonArray(TRAFFIC_LANES)) {
+                roadTrafficLanes.add(readMoves(trafficLaneElement.getAsJsonArray()));
+            }
+
+            if (trafficLanes.put(direction, roadTrafficLanes) != null) {
+                throw new IllegalArgumentException(
+                        String.format("Road of direction %s already exists!!!", direction)
+                );
+            }
+        }
+
+        return trafficLanes;
+    }
+
+    private static Set<Move> readMoves(JsonArray movesArray) throws IllegalArgumentException {
+        Set<Move> moves = EnumSet.noneOf(Move.class);
+
+        for (JsonElement move : movesArray) {
+            moves.add(Move.fromString(move.getAsString()));
+        }
+
+        if (moves.isEmpty()) {
+            throw new IllegalArgumentException("Traffic lane has to support at least one move!!!");
+        }
+
+        return moves;
+    }
+}
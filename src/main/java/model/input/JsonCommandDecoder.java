@@ -0,0 +1,98 @@
+package model.input;
+
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import model.commands.Command;
+
+import java.io.IOException;
+
+/**
+ * JsonCommandDecoder class decodes single JSON command object into typed Command. It is shared by command streams of
+ * all JSON based input formats.
+ */
+final class JsonCommandDecoder {
+    private JsonCommandDecoder() {
+    }
+
+    /**
+     * Reads single command object. All values of command parameters are read as strings and parameters unknown to
+     * Command are skipped.
+     *
+     * @param jsonReader Reader positioned at the beginning of command object
+     * @param location Location of the command in the input, used in error messages
+     * @return Typed command
+     * @throws IOException If reading fails or command is malformed
+     * @throws IllegalArgumentException If command type is unknown or command is incorrectly structured
+     */
+    static Command readCommand(JsonReader jsonReader, String location) throws IOException, IllegalArgumentException {
+        String commandType = null;
+        String vehicleId = null;
+        String startRoad = null;
+        String endRoad = null;
+        String stepsCount = null;
+
+        jsonReader.beginObject();
+
+        while (jsonReader.hasNext()) {
+            String name = jsonReader.nextName();
+
+            switch (name) {
+                case Command.COMMAND_TYPE -> commandType = readParameter(jsonReader, name);
+                case Command.VEHICLE_ID -> vehicleId = readParameter(jsonReader, name);
+                case Command.START_ROAD -> startRoad = readParameter(jsonReader, name);
+                case Command.END_ROAD -> endRoad = readParameter(jsonReader, name);
+                case Command.STEPS_COUNT -> stepsCount = readParameter(jsonReader, name);
+                default -> jsonReader.skipValue();
+            }
+        }
+
+        jsonReader.endObject();
+
+        try {
+            return Command.fromParameters(commandType, vehicleId, startRoad, endRoad, stepsCount);
+        } catch (IllegalArgumentException exception) {
+            throw new IllegalArgumentException(
+                    String.format("Wrong command structure at %s: %s", location, exception.getMessage()), exception
+            );
+        }
+    }
+
+    /**
+     * Converts checked exception of JsonReader into unchecked Gson exception.
+     *
+     * @param exception Exception thrown by JsonReader
+     * @return <i>JsonSyntaxException</i> for malformed input, otherwise <i>JsonIOException</i>
+     */
+    static RuntimeException wrapException(IOException exception) {
+        if (exception instanceof MalformedJsonException) {
+            return new JsonSyntaxException(exception);
+        }
+
+        return new JsonIOException(exception);
+    }
+
+    /**
+     * Reads value of command parameter as string.
+     *
+     * @param jsonReader Reader positioned at the parameter value
+     * @param name Name of the parameter
+     * @return Value of the parameter, or null if value is JSON null
+     * @throws IOException If reading fails or value is not a primitive
+     */
+    private static String readParameter(JsonReader jsonReader, String name) throws IOException {
+        return switch (jsonReader.peek()) {
+            case STRING, NUMBER -> jsonReader.nextString();
+            case BOOLEAN -> String.valueOf(jsonReader.nextBoolean());
+            case NULL -> {
+                jsonReader.nextNull();
+                yield null;
+            }
+            default -> throw new MalformedJsonException(
+                    String.format("Unexpected value of %s at %s", name, jsonReader.getPath())
+            );
+        };
+    }
+}
@@ -0,0 +1,120 @@
+package model.input;
+
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import model.commands.Command;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.NoSuchElementException;
+
+/**
+ * JsonCommandStream class reads commands from the <i>commands</i> array of a JSON document one by one. Only a single
+ * command is kept in memory at a time, so memory usage does not depend on the size of the input. Commands are decoded
+ * straight from JSON tokens into typed Command objects, without building intermediate maps.
+ *
+ * <p>Parsing errors found while iterating are reported with unchecked <i>JsonSyntaxException</i> (malformed input) or
+ * <i>JsonIOException</i> (reading failure). Unknown or incorrectly structured commands are reported with
+ * <i>IllegalArgumentException</i>. Stream should be closed after use.</p>
+ *
+ * <p>Example</p>
+ * <pre>
+ *     try (JsonCommandStream commands = InputReader.streamJsonCommands(pathToJson)) {
+ *         while (commands.hasNext()) {
+ *             Command command = commands.next();
+ *         }
+ *     }
+ * </pre>
+ */
+public class JsonCommandStream implements CommandStream {
+    private static final String COMMANDS = "commands";
+
+    private final JsonReader jsonReader;
+    private final boolean commandsFound;
+    private boolean finished = false;
+
+    public JsonCommandStream(Reader reader) throws IOException {
+        this.jsonReader = new JsonReader(reader);
+
+        try {
+            this.commandsFound = this.moveToCommandsArray();
+        } catch (IOException | RuntimeException exception) {
+            this.jsonReader.close();
+            throw exception;
+        }
+
+        this.finished = ! this.commandsFound;
+    }
+
+    /**
+     * Checks if input document contains <i>commands</i> array.
+     *
+     * @return `true` if commands array was found, otherwise `false`
+     */
+    public boolean hasCommandsArray() {
+        return this.commandsFound;
+    }
+
+    @Override
+    public boolean hasNext() throws JsonSyntaxException, JsonIOException {
+        if (this.finished) {
+            return false;
+        }
+
+        try {
+            if (this.jsonReader.hasNext()) {
+                return true;
+            }
+
+            this.jsonReader.endArray();
+            this.finished = true;
+
+            return false;
+        } catch (IOException exception) {
+            throw JsonCommandDecoder.wrapException(exception);
+        }
+    }
+
+    @Override
+    public Command next() throws JsonSyntaxException, JsonIOException, IllegalArgumentException {
+        if ( ! this.hasNext()) {
+            throw new NoSuchElementException("No more commands!!!");
+        }
+
+        try {
+            return JsonCommandDecoder.readCommand(this.jsonReader, this.jsonReader.getPath());
+        } catch (IOException exception) {
+            throw JsonCommandDecoder.wrapException(exception);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.jsonReader.close();
+    }
+
+    /**
+     * Skips top level values until <i>commands</i> array and enters it.
+     *
+     * @return `true` if reader is positioned inside commands array, `false` if document has no commands array
+     * @throws IOException If reading fails or document is malformed
+     */
+    private boolean moveToCommandsArray() throws IOException {
+        this.jsonReader.beginObject();
+
+        while (this.jsonReader.hasNext()) {
+            String name = this.jsonReader.nextName();
+
+            if (COMMANDS.equals(name) && this.jsonReader.peek() == JsonToken.BEGIN_ARRAY) {
+                this.jsonReader.beginArray();
+                return true;
+            }
+
+            this.jsonReader.skipValue();
+        }
+
+        return false;
+    }
+}
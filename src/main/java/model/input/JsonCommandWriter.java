@@ -0,0 +1,96 @@
+package model.input;
+
+import com.google.gson.stream.JsonWriter;
+import model.commands.AddVehicle;
+import model.commands.Command;
+import model.commands.Step;
+import model.commands.StepMany;
+import model.enums.Direction;
+import model.enums.LaneTopology;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+/**
+ * JsonCommandWriter class writes typed commands in the input format read by JsonCommandStream (single document with
+ * <i>commands</i> array) or by NdjsonCommandStream (one command per line). Document is completed when the writer is
+ * closed.
+ *
+ * <p>Example</p>
+ * <pre>
+ *     try (JsonCommandWriter writer = new JsonCommandWriter(new FileWriter(pathToJson), false)) {
+ *         writer.write(new AddVehicle("vehicle1", Lane.SOUTH_STRAIGHT));
+ *         writer.write(Step.INSTANCE);
+ *     }
+ * </pre>
+ */
+public class JsonCommandWriter implements CommandWriter {
+    private static final String COMMANDS = "commands";
+    private static final String PRETTY_INDENT = "  ";
+
+    private final Writer writer;
+    private final JsonWriter jsonWriter;
+    private final boolean ndjson;
+
+    @SuppressWarnings("deprecation")
+    public JsonCommandWriter(Writer writer, boolean ndjson) throws IOException {
+        this.writer = writer instanceof BufferedWriter ? writer : new BufferedWriter(writer);
+        this.jsonWriter = new JsonWriter(this.writer);
+        this.jsonWriter.setHtmlSafe(true);
+        this.ndjson = ndjson;
+
+        if (ndjson) {
+            // lenient mode allows writing many top level values, one for each line
+            this.jsonWriter.setLenient(true);
+        }
+        else {
+            this.jsonWriter.setIndent(PRETTY_INDENT);
+            this.jsonWriter.beginObject();
+            this.jsonWriter.name(COMMANDS);
+            this.jsonWriter.beginArray();
+        }
+    }
+
+    @Override
+    public void write(Command command) throws IOException {
+        this.jsonWriter.beginObject();
+
+        switch (command) {
+            case AddVehicle addVehicle -> {
+                this.jsonWriter.name(Command.COMMAND_TYPE).value(Command.ADD_VEHICLE);
+                this.jsonWriter.name(Command.VEHICLE_ID).value(addVehicle.vehicleId());
+                this.jsonWriter.name(Command.START_ROAD).value(toRoadName(addVehicle.lane().getDirection()));
+                this.jsonWriter.name(Command.END_ROAD).value(
+                        toRoadName(LaneTopology.getEndDirection(addVehicle.lane()))
+                );
+            }
+            case Step step -> this.jsonWriter.name(Command.COMMAND_TYPE).value(Command.STEP);
+            case StepMany stepMany -> {
+                this.jsonWriter.name(Command.COMMAND_TYPE).value(Command.STEP_MANY);
+                this.jsonWriter.name(Command.STEPS_COUNT).value(stepMany.stepsCount());
+            }
+        }
+
+        this.jsonWriter.endObject();
+
+        if (this.ndjson) {
+            this.writer.write('\n');
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if ( ! this.ndjson) {
+            this.jsonWriter.endArray();
+            this.jsonWriter.endObject();
+        }
+
+        this.writer.close();
+    }
+
+    private static String toRoadName(Direction direction) {
+        return direction.name().toLowerCase(Locale.ROOT);
+    }
+}
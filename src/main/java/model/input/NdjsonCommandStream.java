@@ -0,0 +1,92 @@
+package model.input;
+
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import model.commands.Command;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.NoSuchElementException;
+
+/**
+ * NdjsonCommandStream class reads commands from newline-delimited JSON input, where every non-blank line contains
+ * a single command object, e.g. <i>{"type": "step"}</i>. Such input can be appended to, split at any line and read
+ * while it is still being written.
+ *
+ * <p>Errors are reported in the same way as by JsonCommandStream, with line number as location.</p>
+ *
+ * <p>Example</p>
+ * <pre>
+ *     try (NdjsonCommandStream commands = InputReader.streamNdjsonCommands(pathToNdjson)) {
+ *         while (commands.hasNext()) {
+ *             Command command = commands.next();
+ *         }
+ *     }
+ * </pre>
+ */
+public class NdjsonCommandStream implements CommandStream {
+    private final BufferedReader reader;
+    private String nextLine = null;
+    private long lineNumber = 0;
+
+    public NdjsonCommandStream(Reader reader) {
+        this.reader = reader instanceof BufferedReader bufferedReader ? bufferedReader : new BufferedReader(reader);
+    }
+
+    @Override
+    public boolean hasNext() throws JsonIOException {
+        try {
+            while (this.nextLine == null) {
+                String line = this.reader.readLine();
+
+                if (line == null) {
+                    return false;
+                }
+
+                this.lineNumber++;
+
+                if ( ! line.isBlank()) {
+                    this.nextLine = line;
+                }
+            }
+
+            return true;
+        } catch (IOException exception) {
+            throw new JsonIOException(exception);
+        }
+    }
+
+    @Override
+    public Command next() throws JsonSyntaxException, JsonIOException, IllegalArgumentException {
+        if ( ! this.hasNext()) {
+            throw new NoSuchElementException("No more commands!!!");
+        }
+
+        String line = this.nextLine;
+        this.nextLine = null;
+
+        try (JsonReader jsonReader = new JsonReader(new StringReader(line))) {
+            Command command = JsonCommandDecoder.readCommand(jsonReader, "line " + this.lineNumber);
+
+            if (jsonReader.peek() != JsonToken.END_DOCUMENT) {
+                throw new MalformedJsonException(
+                        String.format("Unexpected data after command at line %d", this.lineNumber)
+                );
+            }
+
+            return command;
+        } catch (IOException exception) {
+            throw JsonCommandDecoder.wrapException(exception);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.reader.close();
+    }
+}
@@ -0,0 +1,132 @@
+package model.output;
+
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * JsonStepStatusStream class reads step statuses written by StreamingOutputWriter (single document with
+ * <i>stepStatuses</i> array) or by NdjsonOutputWriter (one status per line), one status at a time.
+ *
+ * <p>Errors are reported with unchecked <i>JsonSyntaxException</i> (malformed input) or <i>JsonIOException</i>
+ * (reading failure).</p>
+ */
+public class JsonStepStatusStream implements StepStatusStream {
+    private static final String STEP_STATUSES = "stepStatuses";
+    private static final String LEFT_VEHICLES = "leftVehicles";
+
+    private final JsonReader jsonReader;
+    private final boolean ndjson;
+    private boolean finished = false;
+
+    @SuppressWarnings("deprecation")
+    public JsonStepStatusStream(Reader reader, boolean ndjson) throws IOException {
+        this.jsonReader = new JsonReader(reader);
+        this.ndjson = ndjson;
+
+        try {
+            if (ndjson) {
+                // lenient mode allows reading many top level values, one for each line
+                this.jsonReader.setLenient(true);
+            }
+            else {
+                this.moveToStepStatusesArray();
+            }
+        } catch (IOException | RuntimeException exception) {
+            this.jsonReader.close();
+            throw exception;
+        }
+    }
+
+    @Override
+    public boolean hasNext() throws JsonSyntaxException, JsonIOException {
+        if (this.finished) {
+            return false;
+        }
+
+        try {
+            if (this.ndjson ? this.jsonReader.peek() != JsonToken.END_DOCUMENT : this.jsonReader.hasNext()) {
+                return true;
+            }
+
+            if ( ! this.ndjson) {
+                this.jsonReader.endArray();
+            }
+
+            this.finished = true;
+
+            return false;
+        } catch (IOException exception) {
+            throw wrapException(exception);
+        }
+    }
+
+    @Override
+    public List<String> next() throws JsonSyntaxException, JsonIOException {
+        if ( ! this.hasNext()) {
+            throw new NoSuchElementException("No more step statuses!!!");
+        }
+
+        try {
+            List<String> leftVehicles = new ArrayList<>();
+            this.jsonReader.beginObject();
+
+            while (this.jsonReader.hasNext()) {
+                if ( ! LEFT_VEHICLES.equals(this.jsonReader.nextName())) {
+                    this.jsonReader.skipValue();
+                    continue;
+                }
+
+                this.jsonReader.beginArray();
+
+                while (this.jsonReader.hasNext()) {
+                    leftVehicles.add(this.jsonReader.nextString());
+                }
+
+                this.jsonReader.endArray();
+            }
+
+            this.jsonReader.endObject();
+
+            return leftVehicles;
+        } catch (IOException exception) {
+            throw wrapException(exception);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.jsonReader.close();
+    }
+
+    private void moveToStepStatusesArray() throws IOException {
+        this.jsonReader.beginObject();
+
+        while (this.jsonReader.hasNext()) {
+            if (STEP_STATUSES.equals(this.jsonReader.nextName())) {
+                this.jsonReader.beginArray();
+                return;
+            }
+
+            this.jsonReader.skipValue();
+        }
+
+        throw new MalformedJsonException("No stepStatuses array found");
+    }
+
+    private static RuntimeException wrapException(IOException exception) {
+        if (exception instanceof MalformedJsonException) {
+            return new JsonSyntaxException(exception);
+        }
+
+        return new JsonIOException(exception);
+    }
+}
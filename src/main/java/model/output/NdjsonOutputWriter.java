@@ -0,0 +1,127 @@
+package model.output;
+
+import com.google.gson.stream.JsonWriter;
+import model.traffic.Car;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * NdjsonOutputWriter class writes vehicles that left crossing after each step of simulation as newline-delimited JSON.
+ * Every step is written as a single line with the same object as an entry of <i>stepStatuses</i> array, e.g.
+ * <i>{"leftVehicles":["vehicle1","vehicle2"]}</i>. Output of several runs can be concatenated and read line by line.
+ *
+ * <p>When <i>flushEachStep</i> is set, every line is flushed as soon as it is written, so the output can be followed
+ * (e.g. with <i>tail -f</i>) while simulation is running.</p>
+ *
+ * <p>Example</p>
+ * <pre>
+ *     try (NdjsonOutputWriter outputWriter = new NdjsonOutputWriter(new FileWriter(pathToOutputFile))) {
+ *         simulation.subscribe(outputWriter);
+ *         simulationRunner.runCommands(commands);
+ *     }
+ * </pre>
+ */
+public class NdjsonOutputWriter implements OutputWriter {
+    private static final String LEFT_VEHICLES = "leftVehicles";
+
+    private final Writer writer;
+    private final JsonWriter jsonWriter;
+    private final boolean flushEachStep;
+    private boolean closed = false;
+
+    public NdjsonOutputWriter(Writer writer) {
+        this(writer, false);
+    }
+
+    @SuppressWarnings("deprecation")
+    public NdjsonOutputWriter(Writer writer, boolean flushEachStep) {
+        this.writer = writer instanceof BufferedWriter ? writer : new BufferedWriter(writer);
+        this.flushEachStep = flushEachStep;
+
+        // lenient mode allows writing many top level values, one for each line
+        this.jsonWriter = new JsonWriter(this.writer);
+        this.jsonWriter.setLenient(true);
+        this.jsonWriter.setHtmlSafe(true);
+    }
+
+    /**
+     * Writes status of the step as a single line.
+     *
+     * @param carsLeavingCrossing List of cars that leave crossing during current simulation step
+     * @throws IllegalStateException If writer was already closed
+     * @throws UncheckedIOException If writing fails
+     */
+    @Override
+    public void notifySimulationStep(List<Car> carsLeavingCrossing) throws IllegalStateException, UncheckedIOException {
+        try {
+            this.beginStepStatus();
+
+            for (Car car : carsLeavingCrossing) {
+                this.jsonWriter.value(car.name());
+            }
+
+            this.endStepStatus();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    @Override
+    public void writeStepStatus(List<String> leftVehicles) throws IllegalStateException, UncheckedIOException {
+        try {
+            this.beginStepStatus();
+
+            for (String vehicleName : leftVehicles) {
+                this.jsonWriter.value(vehicleName);
+            }
+
+            this.endStepStatus();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    @Override
+    public void notifyAddVehicle(Car vehicle) {
+        /* empty */
+    }
+
+    /**
+     * Flushes and closes underlying writer.
+     *
+     * @throws IOException If writing fails
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+
+        this.closed = true;
+        this.writer.close();
+    }
+
+    private void beginStepStatus() throws IllegalStateException, IOException {
+        if (this.closed) {
+            throw new IllegalStateException("Output writer is already closed!!!");
+        }
+
+        this.jsonWriter.beginObject();
+        this.jsonWriter.name(LEFT_VEHICLES);
+        this.jsonWriter.beginArray();
+    }
+
+    private void endStepStatus() throws IOException {
+        this.jsonWriter.endArray();
+        this.jsonWriter.endObject();
+        this.writer.write('\n');
+
+        if (this.flushEachStep) {
+            this.writer.flush();
+        }
+    }
+}
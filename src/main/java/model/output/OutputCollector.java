@@ -2,7 +2,8 @@ package model.output;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import model.simulation.SimulationObserver;
+import model.simulation.BatchingSimulationObserver;
+import model.simulation.SimulationEventBatch;
 import model.traffic.Car;
 
 import java.util.ArrayList;
@@ -13,7 +14,8 @@ import java.util.Map;
 /**
  * This class collects vehicles that left crossing after each step of simulation.
  * Output is combined into single map that can be easily converted into json format by calling toString() method.
- * To use <b>OutputCollector</b> remember to subscribe it to simulation instance.
+ * To use <b>OutputCollector</b> remember to subscribe it to simulation instance. Steps are collected in batches, so
+ * collector costs one call per batch instead of one call per step.
  *
  * <p>Example</p>
  * <pre>
@@ -24,7 +26,7 @@ import java.util.Map;
  *     System.out.println(collector);   // prints data in json file structure
  * </pre>
  */
-public class OutputCollector implements SimulationObserver {
+public class OutputCollector implements BatchingSimulationObserver {
     private static final String LEFT_VEHICLES = "leftVehicles";
     private final List<Map<String, List<String>>> stepStatuses = new ArrayList<>();
 
@@ -41,6 +43,28 @@ public class OutputCollector implements SimulationObserver {
         /* empty */
     }
 
+    @Override
+    public void notifyBatch(SimulationEventBatch batch) {
+        int departureId = 0;
+
+        for (int stepId = 0; stepId < batch.getStepsCount(); stepId++) {
+            long stepIndex = batch.getFirstStepIndex() + stepId;
+            int firstDepartureId = departureId;
+
+            while (departureId < batch.getDeparturesCount() && batch.getDepartureStep(departureId) == stepIndex) {
+                departureId++;
+            }
+
+            String[] listOfLeavingCarsNames = new String[departureId - firstDepartureId];
+
+            for (int i = 0; i < listOfLeavingCarsNames.length; i++) {
+                listOfLeavingCarsNames[i] = batch.getDepartureName(firstDepartureId + i);
+            }
+
+            this.stepStatuses.add(this.createStepMap(List.of(listOfLeavingCarsNames)));
+        }
+    }
+
     private List<String> getListOfLeavingCarsNames(List<Car> carsLeavingCrossing) {
         return carsLeavingCrossing.stream()
                 .map(Car::name)
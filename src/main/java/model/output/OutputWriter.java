@@ -0,0 +1,46 @@
+package model.output;
+
+import model.simulation.BatchingSimulationObserver;
+import model.simulation.SimulationEventBatch;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * OutputWriter interface represents observer that writes simulation output to some destination as soon as steps are
+ * reported. Output is complete only after the writer is closed.
+ *
+ * <p>When subscribed directly to Simulation, writer receives steps in batches, which are written step by step with
+ * <i>writeStepStatus()</i>.</p>
+ */
+public interface OutputWriter extends BatchingSimulationObserver, Closeable {
+    /**
+     * Writes status of the step given only by names of vehicles, e.g. when converting output between formats.
+     *
+     * @param leftVehicles Names of vehicles that left crossing during the step
+     */
+    void writeStepStatus(List<String> leftVehicles);
+
+    /**
+     * Writes statuses of all steps of the batch.
+     *
+     * @param batch Events since the previous batch
+     */
+    @Override
+    default void notifyBatch(SimulationEventBatch batch) {
+        List<String> leftVehicles = new ArrayList<>();
+        int departureId = 0;
+
+        for (int stepId = 0; stepId < batch.getStepsCount(); stepId++) {
+            long stepIndex = batch.getFirstStepIndex() + stepId;
+            leftVehicles.clear();
+
+            while (departureId < batch.getDeparturesCount() && batch.getDepartureStep(departureId) == stepIndex) {
+                leftVehicles.add(batch.getDepartureName(departureId++));
+            }
+
+            this.writeStepStatus(leftVehicles);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package model.output;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * StepStatusStream interface represents source of step statuses read lazily from simulation output. Each status is
+ * a list of names of vehicles that left crossing during the step. The stream should be closed after use.
+ */
+public interface StepStatusStream extends Iterator<List<String>>, Closeable {
+}
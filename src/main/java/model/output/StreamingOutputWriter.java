@@ -0,0 +1,129 @@
+package model.output;
+
+import com.google.gson.stream.JsonWriter;
+import model.traffic.Car;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * StreamingOutputWriter class writes vehicles that left crossing after each step of simulation directly to the output.
+ * It produces the same JSON document as <b>OutputCollector</b>, but every step status is written as soon as it is
+ * reported, so memory usage does not grow with the number of steps. Document is completed when the writer is closed.
+ *
+ * <p>Output can be pretty printed (identical to <i>OutputCollector.toString()</i>) or compact.</p>
+ *
+ * <p>Example</p>
+ * <pre>
+ *     try (StreamingOutputWriter outputWriter = new StreamingOutputWriter(new FileWriter(pathToOutputFile))) {
+ *         simulation.subscribe(outputWriter);
+ *         simulationRunner.runSimulation(commands);
+ *     }
+ * </pre>
+ */
+public class StreamingOutputWriter implements OutputWriter {
+    private static final String STEP_STATUSES = "stepStatuses";
+    private static final String LEFT_VEHICLES = "leftVehicles";
+    private static final String PRETTY_INDENT = "  ";
+
+    private final JsonWriter jsonWriter;
+    private boolean closed = false;
+
+    public StreamingOutputWriter(Writer writer) throws IOException {
+        this(writer, true);
+    }
+
+    public StreamingOutputWriter(Writer writer, boolean prettyPrinting) throws IOException {
+        this.jsonWriter = new JsonWriter(writer instanceof BufferedWriter ? writer : new BufferedWriter(writer));
+        this.jsonWriter.setHtmlSafe(true);
+
+        if (prettyPrinting) {
+            this.jsonWriter.setIndent(PRETTY_INDENT);
+        }
+
+        this.jsonWriter.beginObject();
+        this.jsonWriter.name(STEP_STATUSES);
+        this.jsonWriter.beginArray();
+    }
+
+    /**
+     * Writes status of the step to the output.
+     *
+     * @param carsLeavingCrossing List of cars that leave crossing during current simulation step
+     * @throws IllegalStateException If writer was already closed
+     * @throws UncheckedIOException If writing fails
+     */
+    @Override
+    public void notifySimulationStep(List<Car> carsLeavingCrossing) throws IllegalStateException, UncheckedIOException {
+        try {
+            this.beginStepStatus();
+
+            for (Car car : carsLeavingCrossing) {
+                this.jsonWriter.value(car.name());
+            }
+
+            this.endStepStatus();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    @Override
+    public void writeStepStatus(List<String> leftVehicles) throws IllegalStateException, UncheckedIOException {
+        try {
+            this.beginStepStatus();
+
+            for (String vehicleName : leftVehicles) {
+                this.jsonWriter.value(vehicleName);
+            }
+
+            this.endStepStatus();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    @Override
+    public void notifyAddVehicle(Car vehicle) {
+        /* empty */
+    }
+
+    /**
+     * Completes JSON document, flushes and closes underlying writer.
+     *
+     * @throws IOException If writing fails
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+
+        this.closed = true;
+
+        try {
+            this.jsonWriter.endArray();
+            this.jsonWriter.endObject();
+        } finally {
+            this.jsonWriter.close();
+        }
+    }
+
+    private void beginStepStatus() throws IllegalStateException, IOException {
+        if (this.closed) {
+            throw new IllegalStateException("Output writer is already closed!!!");
+        }
+
+        this.jsonWriter.beginObject();
+        this.jsonWriter.name(LEFT_VEHICLES);
+        this.jsonWriter.beginArray();
+    }
+
+    private void endStepStatus() throws IOException {
+        this.jsonWriter.endArray();
+        this.jsonWriter.endObject();
+    }
+}
@@ -0,0 +1,296 @@
+package model.simulation;
+
+import model.concurrent.SpscRingBuffer;
+import model.traffic.Car;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * AsyncSimulationObserver class moves notification of slow observers out of the simulation thread. Events reported by
+ * the simulation are published to a bounded ring buffer and a dedicated thread passes them to the wrapped observer or
+ * group of observers, so <i>step()</i> and <i>addVehicle()</i> do not wait for e.g. console output.
+ *
+ * <p>Lists of departing cars are copied before publishing. Wrapped observers implementing SnapshotObserver are
+ * notified with immutable SimulationSnapshot taken right after each event, so they never read the simulation while
+ * it is being changed. Snapshots are taken only if at least one wrapped observer needs them.</p>
+ *
+ * <p>When the buffer is full, events are handled according to OverflowPolicy:</p>
+ * <ul>
+ *     <li><b>BLOCK</b> - simulation thread waits for free space, no event is lost</li>
+ *     <li><b>DROP</b> - events that do not fit are dropped</li>
+ *     <li><b>SAMPLE</b> - of events reported while the buffer is full only every n-th is published (waiting for
+ *     free space), others are dropped, so a slow observer still sees a regular sample of events</li>
+ * </ul>
+ *
+ * <p>Events have to be reported by a single thread, as they are by Simulation. Observer should be closed after the
+ * simulation finishes; closing waits until all published events are delivered and rethrows the first failure of
+ * wrapped observers.</p>
+ *
+ * <p>Example</p>
+ * <pre>
+ *     SimulationLogger logger = new SimulationLogger(simulation);
+ *
+ *     try (AsyncSimulationObserver asyncLogger = new AsyncSimulationObserver(simulation, logger)) {
+ *         simulation.subscribe(asyncLogger);
+ *         simulationRunner.runCommands(commands);
+ *         simulation.unsubscribe(asyncLogger);
+ *     }
+ * </pre>
+ */
+public class AsyncSimulationObserver implements SimulationObserver, AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    public enum OverflowPolicy {
+        BLOCK,
+        DROP,
+        SAMPLE
+    }
+
+    private sealed interface Event permits StepEvent, AddVehicleEvent, VehicleRejectedEvent, EndEvent {
+    }
+
+    private record StepEvent(List<Car> carsLeavingCrossing, SimulationSnapshot snapshot) implements Event {
+    }
+
+    private record AddVehicleEvent(Car vehicle, SimulationSnapshot snapshot) implements Event {
+    }
+
+    private record VehicleRejectedEvent(Car vehicle) implements Event {
+    }
+
+    private record EndEvent() implements Event {
+    }
+
+    private static final Event END = new EndEvent();
+
+    private final Simulation simulation;
+    private final List<SimulationObserver> observers;
+    private final boolean snapshotsNeeded;
+    private final OverflowPolicy overflowPolicy;
+    private final int sampleInterval;
+
+    private final SpscRingBuffer<Event> eventsBuffer;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final Thread dispatchThread;
+
+    private long overflowedEventsCount = 0;
+    private volatile long droppedEventsCount = 0;
+    private boolean closed = false;
+
+    /**
+     * Creates observer passing events to a single observer with default capacity and BLOCK policy.
+     *
+     * @param simulation Observed simulation, used to take snapshots
+     * @param observer Wrapped observer
+     */
+    public AsyncSimulationObserver(Simulation simulation, SimulationObserver observer) {
+        this(simulation, List.of(observer), DEFAULT_CAPACITY, OverflowPolicy.BLOCK, 1);
+    }
+
+    /**
+     * Creates observer passing events to a group of observers. With SAMPLE policy every event is published, waiting
+     * for free space like with BLOCK policy.
+     *
+     * @param simulation Observed simulation, used to take snapshots
+     * @param observers Wrapped observers, notified in the given order
+     * @param capacity Minimum capacity of the events buffer
+     * @param overflowPolicy Handling of events when the buffer is full
+     * @throws IllegalArgumentException If capacity is not positive
+     */
+    public AsyncSimulationObserver(Simulation simulation, List<? extends SimulationObserver> observers, int capacity,
+                                   OverflowPolicy overflowPolicy) throws IllegalArgumentException {
+        this(simulation, observers, capacity, overflowPolicy, 1);
+    }
+
+    /**
+     * Creates observer passing events to a group of observers.
+     *
+     * @param simulation Observed simulation, used to take snapshots
+     * @param observers Wrapped observers, notified in the given order
+     * @param capacity Minimum capacity of the events buffer
+     * @param overflowPolicy Handling of events when the buffer is full
+     * @param sampleInterval With SAMPLE policy only every <i>sampleInterval</i>-th event reported while the buffer is
+     * full is published
+     * @throws IllegalArgumentException If capacity or sample interval is not positive
+     */
+    public AsyncSimulationObserver(Simulation simulation, List<? extends SimulationObserver> observers, int capacity,
+                                   OverflowPolicy overflowPolicy, int sampleInterval) throws IllegalArgumentException {
+        if (sampleInterval <= 0) {
+            throw new IllegalArgumentException(String.format("Sample interval has to be positive: %d", sampleInterval));
+        }
+
+        this.simulation = simulation;
+        this.observers = List.copyOf(observers);
+        this.snapshotsNeeded = this.observers.stream().anyMatch(observer -> observer instanceof SnapshotObserver);
+        this.overflowPolicy = overflowPolicy;
+        this.sampleInterval = sampleInterval;
+        this.eventsBuffer = new SpscRingBuffer<>(capacity);
+
+        this.dispatchThread = Thread.ofPlatform().name("async-observer").daemon().unstarted(this::runDispatch);
+        this.dispatchThread.start();
+    }
+
+    /**
+     * Retrieves number of events that were not passed to wrapped observers because of overflow policy.
+     *
+     * @return Number of dropped events
+     */
+    public long getDroppedEventsCount() {
+        return this.droppedEventsCount;
+    }
+
+    @Override
+    public void notifySimulationStep(List<Car> carsLeavingCrossing) throws IllegalStateException {
+        if (this.shouldPublish()) {
+            this.publish(new StepEvent(List.copyOf(carsLeavingCrossing), this.takeSnapshot()));
+        }
+    }
+
+    @Override
+    public void notifyAddVehicle(Car vehicle) throws IllegalStateException {
+        if (this.shouldPublish()) {
+            this.publish(new AddVehicleEvent(vehicle, this.takeSnapshot()));
+        }
+    }
+
+    @Override
+    public void notifyVehicleRejected(Car vehicle) throws IllegalStateException {
+        if (this.shouldPublish()) {
+            this.publish(new VehicleRejectedEvent(vehicle));
+        }
+    }
+
+    /**
+     * Waits until all published events are delivered and stops the dispatch thread.
+     *
+     * @throws RuntimeException First failure of wrapped observers
+     * @throws IllegalStateException If interrupted while waiting
+     */
+    @Override
+    public void close() throws RuntimeException, IllegalStateException {
+        if (this.closed) {
+            return;
+        }
+
+        this.closed = true;
+
+        try {
+            // dispatch thread that stopped running would never free space for the end event
+            while ( ! this.eventsBuffer.offer(END) && this.dispatchThread.isAlive()) {
+                this.dispatchThread.join(1);
+            }
+
+            this.dispatchThread.join();
+        } catch (InterruptedException exception) {
+            this.dispatchThread.interrupt();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for observers!!!", exception);
+        }
+
+        Throwable cause = this.failure.get();
+
+        if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        else if (cause instanceof Error error) {
+            throw error;
+        }
+        else if (cause != null) {
+            throw new IllegalStateException("Observer failed!!!", cause);
+        }
+    }
+
+    /**
+     * Decides if reported event should be published according to SAMPLE policy. Events are sampled only while the
+     * buffer is full.
+     *
+     * @return `true` if event should be published, otherwise `false`
+     * @throws IllegalStateException If observer is already closed
+     */
+    private boolean shouldPublish() throws IllegalStateException {
+        if (this.closed) {
+            throw new IllegalStateException("Observer is already closed!!!");
+        }
+
+        if (this.overflowPolicy == OverflowPolicy.SAMPLE
+                && this.eventsBuffer.size() >= this.eventsBuffer.capacity()
+                && ++this.overflowedEventsCount % this.sampleInterval != 0) {
+            this.droppedEventsCount++;
+            return false;
+        }
+
+        return true;
+    }
+
+    private SimulationSnapshot takeSnapshot() {
+        return this.snapshotsNeeded ? this.simulation.snapshot() : null;
+    }
+
+    private void publish(Event event) throws IllegalStateException {
+        if (this.overflowPolicy == OverflowPolicy.DROP) {
+            if ( ! this.eventsBuffer.offer(event)) {
+                this.droppedEventsCount++;
+            }
+
+            return;
+        }
+
+        try {
+            this.eventsBuffer.put(event);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing event!!!", exception);
+        }
+    }
+
+    /**
+     * Dispatch thread. After the first failure remaining events are still taken from the buffer, so simulation
+     * thread never waits forever, but they are no longer delivered.
+     */
+    private void runDispatch() {
+        try {
+            Event event;
+
+            while ((event = this.eventsBuffer.take()) != END) {
+                if (this.failure.get() != null) {
+                    continue;
+                }
+
+                try {
+                    this.dispatch(event);
+                } catch (Throwable exception) {
+                    this.failure.compareAndSet(null, exception);
+                }
+            }
+        } catch (InterruptedException exception) {
+            this.failure.compareAndSet(null, exception);
+        }
+    }
+
+    private void dispatch(Event event) {
+        for (SimulationObserver observer : this.observers) {
+            switch (event) {
+                case StepEvent stepEvent -> {
+                    if (observer instanceof SnapshotObserver snapshotObserver) {
+                        snapshotObserver.notifySimulationStep(stepEvent.carsLeavingCrossing(), stepEvent.snapshot());
+                    }
+                    else {
+                        observer.notifySimulationStep(stepEvent.carsLeavingCrossing());
+                    }
+                }
+                case AddVehicleEvent addVehicleEvent -> {
+                    if (observer instanceof SnapshotObserver snapshotObserver) {
+                        snapshotObserver.notifyAddVehicle(addVehicleEvent.vehicle(), addVehicleEvent.snapshot());
+                    }
+                    else {
+                        observer.notifyAddVehicle(addVehicleEvent.vehicle());
+                    }
+                }
+                case VehicleRejectedEvent vehicleRejectedEvent ->
+                        observer.notifyVehicleRejected(vehicleRejectedEvent.vehicle());
+                case EndEvent endEvent -> throw new IllegalStateException("Unexpected end event!!!");
+            }
+        }
+    }
+}
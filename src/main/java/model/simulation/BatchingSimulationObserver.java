@@ -0,0 +1,19 @@
+package model.simulation;
+
+/**
+ * BatchingSimulationObserver interface is implemented by high-rate consumers which prefer to receive simulation events
+ * in blocks. Simulation collects events for such observers in a reusable SimulationEventBatch and passes it with
+ * a single <i>notifyBatch()</i> call when the batch is full (see <i>Simulation.setEventBatchSize()</i>), at the end of
+ * each simulation operation or, when commands are run by SimulationRunner, at the end of the run.
+ *
+ * <p>Simulation never calls per-event methods of observers subscribed directly. They are still used by dispatchers
+ * which forward single events, e.g. PipelinedSimulationRunner or AsyncSimulationObserver.</p>
+ */
+public interface BatchingSimulationObserver extends SimulationObserver {
+    /**
+     * Notify subscriber about block of consecutive simulation events.
+     *
+     * @param batch Events since the previous batch, valid only during this call
+     */
+    void notifyBatch(SimulationEventBatch batch);
+}
@@ -0,0 +1,145 @@
+package model.simulation;
+
+import model.enums.Lane;
+import model.traffic.Car;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * DepartureBuffer class is a reusable container for cars that leave crossing during a single simulation step.
+ * Simulation clears the buffer at the beginning of each step, so one buffer can be passed to every step call and
+ * after warm-up no memory is allocated for the results. Cars are kept as names and Lanes in parallel arrays, Car
+ * objects are created only when requested with <i>get()</i> or <i>toList()</i>.
+ *
+ * <p>Example</p>
+ * <pre>
+ *     DepartureBuffer departures = new DepartureBuffer();
+ *
+ *     while (...) {
+ *         int leftCount = simulation.step(departures);
+ *         for (int i = 0; i < leftCount; i++) {
+ *             String carName = departures.getName(i);
+ *         }
+ *     }
+ * </pre>
+ */
+public class DepartureBuffer {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private String[] names;
+    private Lane[] lanes;
+    private int size = 0;
+
+    public DepartureBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public DepartureBuffer(int initialCapacity) {
+        this.names = new String[Math.max(1, initialCapacity)];
+        this.lanes = new Lane[this.names.length];
+    }
+
+    /**
+     * Appends car to the buffer, growing it if necessary.
+     *
+     * @param car Car that leaves crossing
+     */
+    public void add(Car car) {
+        this.add(car.name(), car.lane());
+    }
+
+    /**
+     * Appends car of given name and Lane to the buffer, growing it if necessary.
+     *
+     * @param name Name of the car that leaves crossing
+     * @param lane Lane occupied by the car
+     */
+    public void add(String name, Lane lane) {
+        if (this.size == this.names.length) {
+            this.names = Arrays.copyOf(this.names, this.names.length * 2);
+            this.lanes = Arrays.copyOf(this.lanes, this.lanes.length * 2);
+        }
+
+        this.names[this.size] = name;
+        this.lanes[this.size] = lane;
+        this.size++;
+    }
+
+    /**
+     * Creates car of given index.
+     *
+     * @param index Index of the car
+     * @return Car of given index
+     * @throws IndexOutOfBoundsException If index is not smaller than buffer size
+     */
+    public Car get(int index) throws IndexOutOfBoundsException {
+        return new Car(this.getName(index), this.lanes[index]);
+    }
+
+    /**
+     * Retrieves name of the car of given index.
+     *
+     * @param index Index of the car
+     * @return Name of the car
+     * @throws IndexOutOfBoundsException If index is not smaller than buffer size
+     */
+    public String getName(int index) throws IndexOutOfBoundsException {
+        this.checkIndex(index);
+
+        return this.names[index];
+    }
+
+    /**
+     * Retrieves Lane of the car of given index.
+     *
+     * @param index Index of the car
+     * @return Lane occupied by the car
+     * @throws IndexOutOfBoundsException If index is not smaller than buffer size
+     */
+    public Lane getLane(int index) throws IndexOutOfBoundsException {
+        this.checkIndex(index);
+
+        return this.lanes[index];
+    }
+
+    /**
+     * Returns the number of cars currently kept in the buffer.
+     *
+     * @return Number of cars
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Removes all cars from the buffer without releasing its memory.
+     */
+    public void clear() {
+        Arrays.fill(this.names, 0, this.size, null);
+        this.size = 0;
+    }
+
+    /**
+     * Creates cars kept in the buffer and returns them in a new list. Modifications to the returned list will not
+     * affect the buffer.
+     *
+     * @return A new list containing all cars from the buffer
+     */
+    public List<Car> toList() {
+        List<Car> carsList = new ArrayList<>(this.size);
+
+        for (int i = 0; i < this.size; i++) {
+            carsList.add(new Car(this.names[i], this.lanes[i]));
+        }
+
+        return carsList;
+    }
+
+    private void checkIndex(int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for size %d", index, this.size));
+        }
+    }
+}
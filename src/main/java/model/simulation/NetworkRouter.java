@@ -0,0 +1,29 @@
+package model.simulation;
+
+import model.enums.Direction;
+import model.traffic.Car;
+
+/**
+ * NetworkRouter interface decides which way cars go at intersections of NetworkSimulation. It is asked once for every
+ * car entering an intersection from a road segment, and the chosen exit together with the entry road determine the
+ * Lane the car occupies at that intersection.
+ *
+ * <p>Router is called from a single thread during the exchange phase of each tick, in deterministic order.</p>
+ */
+@FunctionalInterface
+public interface NetworkRouter {
+    /**
+     * Router which keeps cars going straight through every intersection.
+     */
+    NetworkRouter STRAIGHT = (nodeId, car, entryDirection) -> entryDirection.opposite();
+
+    /**
+     * Chooses direction in which car leaves the intersection.
+     *
+     * @param nodeId Identifier of the intersection the car enters
+     * @param car Car entering the intersection, with Lane it occupied at the previous intersection
+     * @param entryDirection Direction of the road on which car enters the intersection
+     * @return Direction of the road on which car leaves the intersection
+     */
+    Direction chooseExit(int nodeId, Car car, Direction entryDirection);
+}
@@ -0,0 +1,383 @@
+package model.simulation;
+
+import model.enums.Direction;
+import model.enums.Lane;
+import model.enums.LaneTopology;
+import model.traffic.Car;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+
+/**
+ * NetworkSimulation class simulates a network of intersections, e.g. a city corridor or a grid. Every intersection
+ * (node) is a separate Simulation, and nodes are connected with directed road segments (links). Car leaving a node in
+ * the exit direction of its Lane travels along the link of that direction and, after the travel delay of the link,
+ * enters the next node on the road facing the previous node. Lane it occupies there is chosen by NetworkRouter. Cars
+ * leaving a node in a direction without link leave the network.
+ *
+ * <p>Each tick of the network consists of two phases:</p>
+ * <ul>
+ *     <li><b>step</b> - all nodes perform a single step in parallel on a ForkJoinPool, each node writing departures
+ *     to its own DepartureBuffer, so nodes share no state</li>
+ *     <li><b>exchange</b> - departures are moved to links and cars whose travel ends are added to their next nodes,
+ *     sequentially and in order of node identifiers, so results do not depend on the number of threads</li>
+ * </ul>
+ *
+ * <p>Observers subscribed to a node are notified about its steps from worker threads of the pool, so an observer
+ * shared by many nodes has to be thread-safe. Nodes and links can not be added while a tick is running.</p>
+ *
+ * <p>Example</p>
+ * <pre>
+ *     NetworkSimulation network = NetworkSimulation.grid(50, 50, () -> new Simulation(createRoads()), 3);
+ *
+ *     network.addVehicle(0, new Car("vehicle1", Lane.WEST_STRAIGHT));
+ *     network.run(1000);
+ * </pre>
+ */
+public class NetworkSimulation {
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 16;
+
+    private record Link(int toNodeId, Direction entryDirection, int travelDelay) {
+    }
+
+    private record TransitCar(String name, Lane lane, int toNodeId, Direction entryDirection) {
+    }
+
+    private final NetworkRouter router;
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+
+    private final List<Simulation> nodes = new ArrayList<>();
+    private final List<Link[]> links = new ArrayList<>();
+    private final List<DepartureBuffer> departures = new ArrayList<>();
+    private final TreeMap<Long, ArrayDeque<TransitCar>> transitCarsByArrivalTick = new TreeMap<>();
+
+    private long tick = 0;
+    private long vehiclesInTransitCount = 0;
+    private long exitedVehiclesCount = 0;
+
+    public NetworkSimulation() {
+        this(NetworkRouter.STRAIGHT, ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    public NetworkSimulation(NetworkRouter router, ForkJoinPool pool) {
+        this(router, pool, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Creates empty network.
+     *
+     * @param router Router choosing exits of cars entering nodes from links
+     * @param pool Pool on which nodes are stepped
+     * @param parallelThreshold Maximum number of nodes stepped by a single task
+     * @throws IllegalArgumentException If threshold is not positive
+     */
+    public NetworkSimulation(NetworkRouter router, ForkJoinPool pool, int parallelThreshold)
+            throws IllegalArgumentException {
+        if (parallelThreshold <= 0) {
+            throw new IllegalArgumentException(
+                    String.format("Parallel threshold has to be positive: %d", parallelThreshold)
+            );
+        }
+
+        this.router = router;
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Creates network of intersections placed in a grid, like <i>grid()</i> with router and pool, in which cars go
+     * straight through all intersections and nodes are stepped on the common pool.
+     *
+     * @param rows Number of rows of the grid
+     * @param columns Number of columns of the grid
+     * @param nodeFactory Creates simulation of each intersection, which has to have roads of all directions
+     * @param travelDelay Number of ticks cars travel between neighbouring intersections
+     * @return Network of the grid
+     * @throws IllegalArgumentException If grid size or travel delay is not positive
+     */
+    public static NetworkSimulation grid(int rows, int columns, Supplier<Simulation> nodeFactory, int travelDelay)
+            throws IllegalArgumentException {
+        return grid(
+                rows, columns, nodeFactory, travelDelay,
+                NetworkRouter.STRAIGHT, ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD
+        );
+    }
+
+    /**
+     * Creates network of intersections placed in a grid, in which every pair of neighbouring intersections is
+     * connected with links in both directions. Node in row <i>r</i> and column <i>c</i> has identifier
+     * <i>r * columns + c</i>, and row 0 is the northernmost one.
+     *
+     * @param rows Number of rows of the grid
+     * @param columns Number of columns of the grid
+     * @param nodeFactory Creates simulation of each intersection, which has to have roads of all directions
+     * @param travelDelay Number of ticks cars travel between neighbouring intersections
+     * @param router Router choosing exits of cars entering nodes from links
+     * @param pool Pool on which nodes are stepped
+     * @param parallelThreshold Maximum number of nodes stepped by a single task
+     * @return Network of the grid
+     * @throws IllegalArgumentException If grid size, travel delay or threshold is not positive
+     */
+    public static NetworkSimulation grid(int rows, int columns, Supplier<Simulation> nodeFactory, int travelDelay,
+                                         NetworkRouter router, ForkJoinPool pool, int parallelThreshold)
+            throws IllegalArgumentException {
+        if (rows <= 0 || columns <= 0) {
+            throw new IllegalArgumentException(String.format("Wrong grid size: %d x %d", rows, columns));
+        }
+
+        NetworkSimulation network = new NetworkSimulation(router, pool, parallelThreshold);
+
+        for (int nodeId = 0; nodeId < rows * columns; nodeId++) {
+            network.addNode(nodeFactory.get());
+        }
+
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                int nodeId = row * columns + column;
+
+                if (row > 0) {
+                    network.link(nodeId, Direction.NORTH, nodeId - columns, travelDelay);
+                    network.link(nodeId - columns, Direction.SOUTH, nodeId, travelDelay);
+                }
+
+                if (column > 0) {
+                    network.link(nodeId, Direction.WEST, nodeId - 1, travelDelay);
+                    network.link(nodeId - 1, Direction.EAST, nodeId, travelDelay);
+                }
+            }
+        }
+
+        return network;
+    }
+
+    /**
+     * Adds intersection to the network.
+     *
+     * @param simulation Simulation of the intersection
+     * @return Identifier of the node
+     */
+    public int addNode(Simulation simulation) {
+        this.nodes.add(simulation);
+        this.links.add(new Link[Direction.count()]);
+        this.departures.add(new DepartureBuffer());
+
+        return this.nodes.size() - 1;
+    }
+
+    /**
+     * Connects two nodes with a directed road segment. Cars leaving the first node in given direction enter the
+     * second node on the road of the opposite direction.
+     *
+     * @param fromNodeId Identifier of the node cars leave
+     * @param exitDirection Direction in which cars leave the first node
+     * @param toNodeId Identifier of the node cars enter
+     * @param travelDelay Number of ticks cars travel along the segment
+     * @throws IllegalArgumentException If node does not exist, link already exists, travel delay is not positive or
+     * second node has no road cars could enter on
+     */
+    public void link(int fromNodeId, Direction exitDirection, int toNodeId, int travelDelay)
+            throws IllegalArgumentException {
+        Simulation toNode = this.getNode(toNodeId);
+        Link[] nodeLinks = this.links.get(this.checkNodeId(fromNodeId));
+        Direction entryDirection = exitDirection.opposite();
+
+        if (travelDelay <= 0) {
+            throw new IllegalArgumentException(String.format("Travel delay has to be positive: %d", travelDelay));
+        }
+        else if (nodeLinks[exitDirection.ordinal()] != null) {
+            throw new IllegalArgumentException(
+                    String.format("Node %d already has link in direction %s!!!", fromNodeId, exitDirection)
+            );
+        }
+        else if (toNode.getTrafficLanes(entryDirection) == null) {
+            throw new IllegalArgumentException(
+                    String.format("Node %d has no road of direction %s!!!", toNodeId, entryDirection)
+            );
+        }
+
+        nodeLinks[exitDirection.ordinal()] = new Link(toNodeId, entryDirection, travelDelay);
+    }
+
+    /**
+     * Retrieves simulation of the node.
+     *
+     * @param nodeId Identifier of the node
+     * @return Simulation of the node
+     * @throws IllegalArgumentException If node does not exist
+     */
+    public Simulation getNode(int nodeId) throws IllegalArgumentException {
+        return this.nodes.get(this.checkNodeId(nodeId));
+    }
+
+    public int getNodesCount() {
+        return this.nodes.size();
+    }
+
+    /**
+     * Adds vehicle to the node from outside of the network.
+     *
+     * @param nodeId Identifier of the node
+     * @param car Car that should be added
+     * @throws IllegalArgumentException If node does not exist
+     */
+    public void addVehicle(int nodeId, Car car) throws IllegalArgumentException {
+        this.getNode(nodeId).addVehicle(car);
+    }
+
+    /**
+     * Performs given number of ticks.
+     *
+     * @param ticksCount Number of ticks to perform
+     */
+    public void run(int ticksCount) {
+        for (int tickId = 0; tickId < ticksCount; tickId++) {
+            this.tick();
+        }
+    }
+
+    /**
+     * Performs single tick: steps all nodes in parallel, then moves departed cars to links and adds cars whose travel
+     * ends to their next nodes.
+     *
+     * @throws IllegalStateException If router chose exit that next node does not support. The car and cars arriving
+     * after it stay in transit and are delivered in the next tick.
+     */
+    public void tick() throws IllegalStateException {
+        if ( ! this.nodes.isEmpty()) {
+            this.pool.invoke(new StepTask(0, this.nodes.size()));
+        }
+
+        this.exchangeDepartures();
+        this.tick++;
+        this.deliverArrivingCars();
+    }
+
+    public long getTick() {
+        return this.tick;
+    }
+
+    /**
+     * Retrieves number of cars travelling along links.
+     *
+     * @return Number of cars between nodes
+     */
+    public long getVehiclesInTransitCount() {
+        return this.vehiclesInTransitCount;
+    }
+
+    /**
+     * Retrieves number of cars that left the network through exits without links.
+     *
+     * @return Number of cars that left the network
+     */
+    public long getExitedVehiclesCount() {
+        return this.exitedVehiclesCount;
+    }
+
+    /**
+     * Moves cars that left nodes during the last step to links, in order of node identifiers.
+     */
+    private void exchangeDepartures() {
+        for (int nodeId = 0; nodeId < this.nodes.size(); nodeId++) {
+            DepartureBuffer nodeDepartures = this.departures.get(nodeId);
+            Link[] nodeLinks = this.links.get(nodeId);
+
+            for (int departureId = 0; departureId < nodeDepartures.size(); departureId++) {
+                Lane lane = nodeDepartures.getLane(departureId);
+                Link link = nodeLinks[LaneTopology.getEndDirection(lane).ordinal()];
+
+                if (link == null) {
+                    this.exitedVehiclesCount++;
+                    continue;
+                }
+
+                this.transitCarsByArrivalTick
+                        .computeIfAbsent(this.tick + link.travelDelay(), arrivalTick -> new ArrayDeque<>())
+                        .add(new TransitCar(
+                                nodeDepartures.getName(departureId), lane, link.toNodeId(), link.entryDirection()
+                        ));
+                this.vehiclesInTransitCount++;
+            }
+
+            nodeDepartures.clear();
+        }
+    }
+
+    /**
+     * Adds cars whose travel ends before the current tick to their next nodes, in order they entered links. Car is
+     * removed from transit only after it was added to its next node.
+     *
+     * @throws IllegalStateException If router chose exit that next node does not support
+     */
+    private void deliverArrivingCars() throws IllegalStateException {
+        while ( ! this.transitCarsByArrivalTick.isEmpty() && this.transitCarsByArrivalTick.firstKey() <= this.tick) {
+            ArrayDeque<TransitCar> arrivals = this.transitCarsByArrivalTick.firstEntry().getValue();
+
+            while ( ! arrivals.isEmpty()) {
+                TransitCar transitCar = arrivals.peekFirst();
+                Simulation node = this.nodes.get(transitCar.toNodeId());
+                Car previousCar = new Car(transitCar.name(), transitCar.lane());
+                Direction exitDirection = this.router.chooseExit(
+                        transitCar.toNodeId(), previousCar, transitCar.entryDirection()
+                );
+                Lane lane = LaneTopology.getLane(transitCar.entryDirection(), exitDirection);
+
+                if ( ! node.supportsLane(lane)) {
+                    throw new IllegalStateException(String.format(
+                            "Node %d does not support lane %s chosen by router for %s!!!",
+                            transitCar.toNodeId(), lane, transitCar.name()
+                    ));
+                }
+
+                node.addVehicle(new Car(transitCar.name(), lane));
+                arrivals.pollFirst();
+                this.vehiclesInTransitCount--;
+            }
+
+            this.transitCarsByArrivalTick.pollFirstEntry();
+        }
+    }
+
+    private int checkNodeId(int nodeId) throws IllegalArgumentException {
+        if (nodeId < 0 || nodeId >= this.nodes.size()) {
+            throw new IllegalArgumentException(String.format("Node does not exist: %d", nodeId));
+        }
+
+        return nodeId;
+    }
+
+    /**
+     * Steps range of nodes, splitting it in halves until it is not larger than parallel threshold.
+     */
+    private class StepTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int fromNodeId;
+        private final int toNodeId;
+
+        StepTask(int fromNodeId, int toNodeId) {
+            this.fromNodeId = fromNodeId;
+            this.toNodeId = toNodeId;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.toNodeId - this.fromNodeId <= NetworkSimulation.this.parallelThreshold) {
+                for (int nodeId = this.fromNodeId; nodeId < this.toNodeId; nodeId++) {
+                    NetworkSimulation.this.nodes.get(nodeId).step(NetworkSimulation.this.departures.get(nodeId));
+                }
+
+                return;
+            }
+
+            int middleNodeId = (this.fromNodeId + this.toNodeId) >>> 1;
+            invokeAll(new StepTask(this.fromNodeId, middleNodeId), new StepTask(middleNodeId, this.toNodeId));
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package model.simulation;
+
+import model.commands.Command;
+import model.concurrent.SpscRingBuffer;
+import model.traffic.Car;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * PipelinedSimulationRunner class runs commands in three stages on separate threads. The parser thread pulls commands
+ * from the source iterator (which usually parses a file) and passes them through a bounded SpscRingBuffer to the
+ * simulation thread. The simulation thread runs them with SimulationRunner and passes simulation events through a
+ * second SpscRingBuffer to the output thread, which notifies the output observer. Reading, simulating and writing can
+ * therefore overlap.
+ *
+ * <p>Output observer receives events in exactly the same order as it would when subscribed to the simulation. When
+ * a command can not be parsed, commands read before it are still simulated and written, then all threads stop and
+ * the parsing error is rethrown. When simulation fails, parsing is interrupted and events produced so far are still
+ * written. When output fails, simulation and parsing are interrupted.</p>
+ *
+ * <p>Example</p>
+ * <pre>
+ *     PipelinedSimulationRunner runner = new PipelinedSimulationRunner(simulation);
+ *     runner.runCommands(commandStream, streamingOutputWriter);
+ * </pre>
+ */
+public class PipelinedSimulationRunner {
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private final Simulation simulation;
+    private final int capacity;
+
+    public PipelinedSimulationRunner(Simulation simulation) {
+        this(simulation, DEFAULT_CAPACITY);
+    }
+
+    public PipelinedSimulationRunner(Simulation simulation, int capacity) throws IllegalArgumentException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(String.format("Pipeline capacity has to be positive: %d", capacity));
+        }
+
+        this.simulation = simulation;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Runs commands in the pipeline and waits until all stages finish. Simulation and output observer must not be
+     * used by other threads during the run.
+     *
+     * @param commands Iterator over typed commands, used only by the parser thread
+     * @param outputObserver Observer notified about simulation events, used only by the output thread
+     * @throws RuntimeException First exception thrown by any of the stages, e.g. parsing error
+     * @throws IllegalStateException If calling thread is interrupted while waiting for the pipeline
+     */
+    public void runCommands(Iterator<? extends Command> commands, SimulationObserver outputObserver)
+            throws RuntimeException, IllegalStateException {
+        Pipeline pipeline = new Pipeline(commands, outputObserver);
+        pipeline.start();
+        pipeline.join();
+    }
+
+    private sealed interface Event permits StepEvent, AddVehicleEvent, EndEvent {
+    }
+
+    private record StepEvent(List<Car> carsLeavingCrossing) implements Event {
+    }
+
+    private record AddVehicleEvent(Car vehicle) implements Event {
+    }
+
+    private record EndEvent() implements Event {
+    }
+
+    /**
+     * State of a single run: ring buffers, threads of all stages and the first failure.
+     */
+    private class Pipeline implements SimulationObserver {
+        private static final Event END = new EndEvent();
+        private static final Object END_OF_COMMANDS = new Object();
+
+        private final Iterator<? extends Command> commands;
+        private final SimulationObserver outputObserver;
+
+        private final SpscRingBuffer<Object> commandsBuffer;
+        private final SpscRingBuffer<Event> eventsBuffer;
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private volatile boolean simulationFailed = false;
+        private volatile boolean outputFailed = false;
+
+        private final Thread parserThread;
+        private final Thread simulationThread;
+        private final Thread outputThread;
+
+        Pipeline(Iterator<? extends Command> commands, SimulationObserver outputObserver) {
+            this.commands = commands;
+            this.outputObserver = outputObserver;
+            this.commandsBuffer = new SpscRingBuffer<>(PipelinedSimulationRunner.this.capacity);
+            this.eventsBuffer = new SpscRingBuffer<>(PipelinedSimulationRunner.this.capacity);
+
+            this.parserThread = Thread.ofPlatform().name("pipeline-parser").unstarted(this::runParser);
+            this.simulationThread = Thread.ofPlatform().name("pipeline-simulation").unstarted(this::runSimulation);
+            this.outputThread = Thread.ofPlatform().name("pipeline-output").unstarted(this::runOutput);
+        }
+
+        void start() {
+            this.outputThread.start();
+            this.simulationThread.start();
+            this.parserThread.start();
+        }
+
+        void join() throws RuntimeException, IllegalStateException {
+            try {
+                this.parserThread.join();
+                this.simulationThread.join();
+                this.outputThread.join();
+            } catch (InterruptedException exception) {
+                this.failure.compareAndSet(null, exception);
+                this.simulationFailed = true;
+                this.outputFailed = true;
+                this.joinUninterruptibly();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the pipeline!!!", exception);
+            }
+
+            Throwable cause = this.failure.get();
+
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            else if (cause instanceof Error error) {
+                throw error;
+            }
+            else if (cause != null) {
+                throw new IllegalStateException("Pipeline failed!!!", cause);
+            }
+        }
+
+        /**
+         * Parser stage. On parsing error commands read so far are still passed on, so the pipeline ends cleanly.
+         */
+        private void runParser() {
+            try {
+                while (this.commands.hasNext()) {
+                    this.commandsBuffer.put(this.commands.next());
+                }
+            } catch (InterruptedException exception) {
+                return;
+            } catch (Throwable exception) {
+                this.failure.compareAndSet(null, exception);
+            }
+
+            if ( ! this.simulationFailed) {
+                putEnd(this.commandsBuffer, END_OF_COMMANDS);
+            }
+        }
+
+        /**
+         * Simulation stage. Simulation events are forwarded to the output stage through this observer.
+         */
+        private void runSimulation() {
+            PipelinedSimulationRunner.this.simulation.subscribe(this);
+
+            try {
+                new SimulationRunner(PipelinedSimulationRunner.this.simulation).runCommands(new Iterator<Command>() {
+                    private Object nextCommand = null;
+
+                    @Override
+                    public boolean hasNext() {
+                        if (this.nextCommand == null) {
+                            this.nextCommand = takeOrCancel(Pipeline.this.commandsBuffer);
+                        }
+
+                        return this.nextCommand != END_OF_COMMANDS;
+                    }
+
+                    @Override
+                    public Command next() {
+                        if ( ! this.hasNext()) {
+                            throw new NoSuchElementException("No more commands!!!");
+                        }
+
+                        Command command = (Command) this.nextCommand;
+                        this.nextCommand = null;
+
+                        return command;
+                    }
+                });
+            } catch (Throwable exception) {
+                this.failure.compareAndSet(null, exception);
+                this.simulationFailed = true;
+                this.parserThread.interrupt();
+            } finally {
+                PipelinedSimulationRunner.this.simulation.unsubscribe(this);
+            }
+
+            if ( ! this.outputFailed) {
+                putEnd(this.eventsBuffer, END);
+            }
+        }
+
+        /**
+         * Output stage. Notifies output observer about events in order they were produced.
+         */
+        private void runOutput() {
+            try {
+                Event event;
+
+                while ((event = this.eventsBuffer.take()) != END) {
+                    switch (event) {
+                        case StepEvent stepEvent -> this.outputObserver.notifySimulationStep(
+                                stepEvent.carsLeavingCrossing()
+                        );
+                        case AddVehicleEvent addVehicleEvent -> this.outputObserver.notifyAddVehicle(
+                                addVehicleEvent.vehicle()
+                        );
+                        case EndEvent endEvent -> throw new IllegalStateException("Unexpected end event!!!");
+                    }
+                }
+            } catch (Throwable exception) {
+                this.failure.compareAndSet(null, exception);
+                this.outputFailed = true;
+                this.simulationThread.interrupt();
+            }
+        }
+
+        @Override
+        public void notifySimulationStep(List<Car> carsLeavingCrossing) {
+            putOrCancel(this.eventsBuffer, new StepEvent(carsLeavingCrossing));
+        }
+
+        @Override
+        public void notifyAddVehicle(Car vehicle) {
+            putOrCancel(this.eventsBuffer, new AddVehicleEvent(vehicle));
+        }
+
+        /**
+         * Passes end marker downstream. Called only while downstream stage is running, so waiting ends either when
+         * the marker is added or when the stage is interrupted because downstream failed.
+         */
+        private static <T> void putEnd(SpscRingBuffer<T> buffer, T end) {
+            try {
+                buffer.put(end);
+            } catch (InterruptedException ignored) {
+                /* downstream stage failed and its failure is already recorded */
+            }
+        }
+
+        private void joinUninterruptibly() {
+            this.parserThread.interrupt();
+            this.simulationThread.interrupt();
+            this.outputThread.interrupt();
+
+            for (Thread thread : new Thread[]{this.parserThread, this.simulationThread, this.outputThread}) {
+                boolean joined = false;
+
+                while ( ! joined) {
+                    try {
+                        thread.join();
+                        joined = true;
+                    } catch (InterruptedException ignored) {
+                        /* keep waiting, interruption is restored by the caller */
+                    }
+                }
+            }
+        }
+
+        private static <T> T takeOrCancel(SpscRingBuffer<T> buffer) throws CancellationException {
+            try {
+                return buffer.take();
+            } catch (InterruptedException exception) {
+                throw new CancellationException("Pipeline was aborted!!!");
+            }
+        }
+
+        private static <T> void putOrCancel(SpscRingBuffer<T> buffer, T item) throws CancellationException {
+            try {
+                buffer.put(item);
+            } catch (InterruptedException exception) {
+                throw new CancellationException("Pipeline was aborted!!!");
+            }
+        }
+    }
+}
@@ -2,9 +2,10 @@ package model.simulation;
 
 import model.enums.Direction;
 import model.enums.Lane;
-import model.graphs.Graph;
-import model.graphs.Vertex;
-import model.graphs.WeightedBronKerbosch;
+import model.enums.LaneTopology;
+import model.graphs.BronKerboschPhaseSolver;
+import model.graphs.PhaseSolver;
+import model.traffic.CapacityPolicy;
 import model.traffic.Car;
 import model.traffic.Road;
 import model.traffic.TrafficLane;
@@ -14,14 +15,62 @@ import java.util.*;
 /**
  * Simulation class represents a traffic simulation system.
  * It manages the roads and vehicles in the simulation and allows for
- * simulating the movement of vehicles through the traffic lanes.
+ * simulating the movement of vehicles through the traffic lanes. Lanes that get green light during each step are
+ * selected by PhaseSolver provided at construction, by default BronKerboschPhaseSolver.
+ *
+ * <p>Result of each step depends only on the weights of Lanes, i.e. how many traffic lanes have first car occupying
+ * given Lane. Simulation keeps these weights up to date while cars are added and leave the crossing, and reuses the
+ * previous solution as long as the weights do not change. Because of that, cars should be added to roads only through
+ * <i>addVehicle()</i> method after the simulation is created.</p>
+ *
+ * <p>Observers implementing BatchingSimulationObserver receive events in blocks instead of one call per event. Events
+ * are collected in a reusable SimulationEventBatch and passed on when the batch is full or at the end of each public
+ * operation, e.g. <i>stepMany()</i>. While SimulationRunner runs commands, batches are passed on only when full and
+ * at the end of the run.</p>
+ *
+ * <p>Simulation is controlled by a single thread. After <i>enableConcurrentIngestion()</i> vehicles can additionally
+ * be added from any number of threads with lock-free <i>addVehicleConcurrently()</i>. Such vehicles are queued per
+ * traffic lane and join the crossing at the beginning of the next step operation, on the controlling thread, so each
+ * step works on a consistent state of the lanes and observers are still notified from a single thread.</p>
+ *
+ * <p>Vehicles added to roads with limited capacity (see Road) are handled according to CapacityPolicy of the road.
+ * Vehicles that are rejected or dropped are reported to observers with <i>notifyVehicleRejected()</i>. Vehicles spilled
+ * to the overflow store of a road join its traffic lanes at the beginning of the first step with free space. Vehicles
+ * added with <i>addVehicleConcurrently()</i> that do not fit are not reported to observers, which are notified only
+ * from the controlling thread. Instead, IllegalStateException is thrown to the thread adding the vehicle.</p>
  */
 
 public class Simulation {
     private final Map<Direction, Road> roadsMap = new HashMap<>();
+    private final TrafficLane[][] trafficLanesByDirection = new TrafficLane[Direction.count()][];
     private final List<SimulationObserver> subscribersList = new ArrayList<>();
+    private final List<BatchingSimulationObserver> batchingSubscribersList = new ArrayList<>();
+    private final PhaseSolver phaseSolver;
+
+    private final DepartureBuffer departureBuffer = new DepartureBuffer();
+    private TrafficLane[] servedTrafficLanes = new TrafficLane[0];
+
+    private final int[] laneWeights = new int[LaneTopology.LANES_COUNT];
+    private final int[] solvedLaneWeights = new int[LaneTopology.LANES_COUNT];
+    private int solvedGreenLightLanes = -1;
+
+    public static final int DEFAULT_EVENT_BATCH_SIZE = 4096;
+    private final SimulationEventBatch eventBatch = new SimulationEventBatch();
+    private int eventBatchSize = DEFAULT_EVENT_BATCH_SIZE;
+    private int eventBatchingDepth = 0;
+    private long performedStepsCount = 0;
+
+    private volatile boolean concurrentIngestion = false;
+
+    private final List<Road> spillingRoads = new ArrayList<>();
+    private int[] previousLaneOrdinals = new int[0];
 
     public Simulation(List<Road> roads) {
+        this(roads, new BronKerboschPhaseSolver());
+    }
+
+    public Simulation(List<Road> roads, PhaseSolver phaseSolver) {
+        this.phaseSolver = phaseSolver;
         roads.forEach(this::addRoad);
     }
 
@@ -40,6 +89,22 @@ public class Simulation {
         }
 
         this.roadsMap.put(roadDirection, road);
+
+        TrafficLane[] trafficLanes = road.getTrafficLaneList().toArray(new TrafficLane[0]);
+        this.trafficLanesByDirection[roadDirection.ordinal()] = trafficLanes;
+        this.servedTrafficLanes = new TrafficLane[this.servedTrafficLanes.length + trafficLanes.length];
+
+        for (TrafficLane trafficLane : trafficLanes) {
+            trafficLane.currentLaneType().ifPresent(lane -> this.laneWeights[lane.ordinal()]++);
+        }
+
+        if (road.getCapacityPolicy() == CapacityPolicy.SPILL) {
+            this.spillingRoads.add(road);
+        }
+
+        if (trafficLanes.length > this.previousLaneOrdinals.length) {
+            this.previousLaneOrdinals = new int[trafficLanes.length];
+        }
     }
 
     /**
@@ -50,9 +115,173 @@ public class Simulation {
     public void addVehicle(Car car) {
         Direction carDirection = car.lane().getDirection();
         Road road = this.roadsMap.get(carDirection);
-        road.addCar(car);
+
+        if (road.isBounded()) {
+            this.offerVehicle(road, car);
+            return;
+        }
+
+        TrafficLane trafficLane = road.addCar(car);
+
+        if (trafficLane.size() == 1) {
+            this.laneWeights[car.lane().ordinal()]++;
+        }
 
         this.notifyAddVehicle(car);
+        this.flushEventBatchIfIdle();
+    }
+
+    /**
+     * Adds vehicle to the road with limited capacity. Road can drop another car or change first cars of several
+     * traffic lanes, so Lanes weights are updated for all traffic lanes of the road.
+     *
+     * @param road Road of the car's direction
+     * @param car Car that should be added to the simulation
+     */
+    private void offerVehicle(Road road, Car car) {
+        TrafficLane[] trafficLanes = this.trafficLanesByDirection[road.getDirection().ordinal()];
+        this.saveLaneOrdinals(trafficLanes);
+        Car lostCar = road.offerCar(car);
+        this.updateLaneWeights(trafficLanes);
+
+        if (lostCar != car) {
+            this.notifyAddVehicle(car);
+        }
+
+        if (lostCar != null) {
+            this.notifyVehicleRejected(lostCar);
+        }
+
+        this.flushEventBatchIfIdle();
+    }
+
+    /**
+     * Moves vehicles spilled to overflow stores into traffic lanes with free space.
+     *
+     * @return `true` if some vehicles are still spilled, otherwise `false`
+     */
+    private boolean refillSpilledVehicles() {
+        boolean vehiclesSpilled = false;
+
+        for (Road road : this.spillingRoads) {
+            if (road.getSpilledCarsCount() == 0) {
+                continue;
+            }
+
+            TrafficLane[] trafficLanes = this.trafficLanesByDirection[road.getDirection().ordinal()];
+            this.saveLaneOrdinals(trafficLanes);
+            road.refillFromOverflowStore();
+            this.updateLaneWeights(trafficLanes);
+
+            vehiclesSpilled |= road.getSpilledCarsCount() > 0;
+        }
+
+        return vehiclesSpilled;
+    }
+
+    private boolean hasSpilledVehicles() {
+        for (Road road : this.spillingRoads) {
+            if (road.getSpilledCarsCount() > 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void saveLaneOrdinals(TrafficLane[] trafficLanes) {
+        for (int i = 0; i < trafficLanes.length; i++) {
+            this.previousLaneOrdinals[i] = trafficLanes[i].currentLaneOrdinal();
+        }
+    }
+
+    /**
+     * Updates Lanes weights of traffic lanes whose first car changed since <i>saveLaneOrdinals()</i>.
+     *
+     * @param trafficLanes Traffic lanes of a single road
+     */
+    private void updateLaneWeights(TrafficLane[] trafficLanes) {
+        for (int i = 0; i < trafficLanes.length; i++) {
+            int previousLaneOrdinal = this.previousLaneOrdinals[i];
+            int laneOrdinal = trafficLanes[i].currentLaneOrdinal();
+
+            if (previousLaneOrdinal == laneOrdinal) {
+                continue;
+            }
+
+            if (previousLaneOrdinal >= 0) {
+                this.laneWeights[previousLaneOrdinal]--;
+            }
+
+            if (laneOrdinal >= 0) {
+                this.laneWeights[laneOrdinal]++;
+            }
+        }
+    }
+
+    /**
+     * Enables adding vehicles from many threads with <i>addVehicleConcurrently()</i>. Has to be called by the thread
+     * controlling the simulation before other threads start adding vehicles.
+     */
+    public void enableConcurrentIngestion() {
+        for (Road road : this.roadsMap.values()) {
+            road.enableConcurrentIngestion();
+        }
+
+        this.concurrentIngestion = true;
+    }
+
+    /**
+     * Adds vehicle to the simulation from any thread without locking. Vehicle is queued to the least loaded traffic
+     * lane supporting its move and joins it at the beginning of the next step operation, when observers are notified
+     * about it.
+     *
+     * @param car Car that should be added to the simulation
+     * @throws IllegalStateException If concurrent ingestion is not enabled, no traffic lane supports car's move, road
+     * is full or road has spilled vehicles waiting
+     * @throws IllegalArgumentException If simulation has no road of car's direction
+     */
+    public void addVehicleConcurrently(Car car) throws IllegalStateException, IllegalArgumentException {
+        if ( ! this.concurrentIngestion) {
+            throw new IllegalStateException("Concurrent ingestion is not enabled!!!");
+        }
+
+        Direction carDirection = car.lane().getDirection();
+        Road road = this.roadsMap.get(carDirection);
+
+        if (road == null) {
+            throw new IllegalArgumentException(String.format("There is no road of direction %s!!!", carDirection));
+        }
+
+        road.addCarConcurrently(car);
+    }
+
+    /**
+     * Moves vehicles queued by <i>addVehicleConcurrently()</i> into their traffic lanes and notifies observers about
+     * them.
+     */
+    private void acceptQueuedVehicles() {
+        if ( ! this.concurrentIngestion) {
+            return;
+        }
+
+        for (TrafficLane[] trafficLanes : this.trafficLanesByDirection) {
+            if (trafficLanes == null) {
+                continue;
+            }
+
+            for (TrafficLane trafficLane : trafficLanes) {
+                Car car;
+
+                while ((car = trafficLane.acceptInboundCar()) != null) {
+                    if (trafficLane.size() == 1) {
+                        this.laneWeights[car.lane().ordinal()]++;
+                    }
+
+                    this.notifyAddVehicle(car);
+                }
+            }
+        }
     }
 
     /**
@@ -62,57 +291,313 @@ public class Simulation {
      * @return List of Cars that leave crossing during current simulation step
      */
     public List<Car> step() {
-        Map<Lane, List<TrafficLane>> allLanesMapping = this.getAllLanesMapping();
-        List<Vertex<Lane>> verticesList = this.getVerticesList(allLanesMapping);
-        Graph<Vertex<Lane>> graph = Graph.fromLanes(verticesList);
+        this.acceptQueuedVehicles();
+        this.moveCarsWithGreenLight(this.departureBuffer);
+        List<Car> carsLeavingCrossing = this.departureBuffer.toList();
+        this.recordStep(this.departureBuffer);
+        this.departureBuffer.clear();
 
-        WeightedBronKerbosch weightedBronKerbosch = new WeightedBronKerbosch(graph);
-        Set<Vertex<Lane>> maximumWeightClique = weightedBronKerbosch.findMaximumWeightClique();
+        this.notifySimulationStep(carsLeavingCrossing);
+        this.flushEventBatchIfIdle();
 
-        List<Car> carsLeavingCrossing = new ArrayList<>();
+        return carsLeavingCrossing;
+    }
 
-        for (Vertex<Lane> vertex : maximumWeightClique) {
-            Lane lane = vertex.id();
-            List<TrafficLane> trafficLaneWithGreenLightList = allLanesMapping.get(lane);
+    /**
+     * Simulates traffic lights switch and writes cars that leave crossing to given buffer. All intermediate state is
+     * kept in preallocated arrays indexed by Lane ordinal, so when no observer is subscribed and PhaseSolver does not
+     * allocate (e.g. PhaseTableSolver), the step does not allocate memory after warm-up.
+     *
+     * @param departures Buffer that is cleared and filled with cars that leave crossing
+     * @return Number of cars that leave crossing during current simulation step
+     */
+    public int step(DepartureBuffer departures) {
+        this.acceptQueuedVehicles();
+        this.moveCarsWithGreenLight(departures);
+        this.recordStep(departures);
 
-            trafficLaneWithGreenLightList.stream()
-                    .map(TrafficLane::moveFirstCar)
-                    .forEach(car -> carsLeavingCrossing.add(car));
+        if ( ! this.subscribersList.isEmpty()) {
+            this.notifySimulationStep(departures.toList());
         }
 
-        this.notifySimulationStep(carsLeavingCrossing);
+        this.flushEventBatchIfIdle();
 
-        return carsLeavingCrossing;
+        return departures.size();
     }
 
     /**
-     * Combines mappings from all roads into single Lanes to List of TrafficLanes mapping that represents which
-     * traffic lanes serve a specific Lane role during current simulation step.
+     * Performs given number of simulation steps. Consecutive steps with the same green light Lanes are performed in
+     * bulk: Simulation computes how many steps the selected Lanes stay unchanged, i.e. until first car of some
+     * traffic lane with green light occupies another Lane, and moves these cars without searching for green light
+     * Lanes again. Observers are notified about each step separately.
      *
-     * @return Lanes to List of TrafficLanes mapping
+     * @param stepsCount Number of steps to perform
+     * @return List of results of each step, each result is a List of Cars that leave crossing during that step
+     * @throws IllegalArgumentException If number of steps is negative
      */
-    private Map<Lane, List<TrafficLane>> getAllLanesMapping() {
-        Map<Lane, List<TrafficLane>> allLanesMapping = new HashMap<>();
+    public List<List<Car>> stepMany(int stepsCount) throws IllegalArgumentException {
+        if (stepsCount < 0) {
+            throw new IllegalArgumentException(String.format("Number of steps can not be negative: %d", stepsCount));
+        }
 
-        for (Road road : this.roadsMap.values()) {
-            Map<Lane, List<TrafficLane>> laneMapping = road.getLaneMapping();
-            allLanesMapping.putAll(laneMapping);
+        List<List<Car>> stepsResults = new ArrayList<>();
+        int performedSteps = 0;
+        this.acceptQueuedVehicles();
+
+        while (performedSteps < stepsCount) {
+            performedSteps += this.runPhase(stepsCount - performedSteps, stepsResults);
         }
 
-        return allLanesMapping;
+        this.flushEventBatchIfIdle();
+
+        return stepsResults;
     }
 
     /**
-     * Creates list of graph vertices useful for finding maximum set of non-colliding cars. Each vertex represents
-     * how many cars can potentially leave crossing from each Lane type.
+     * Performs simulation steps until no car is waiting at the crossing. Steps are performed in bulk the same way as
+     * in <i>stepMany()</i> and observers are notified about each step separately.
      *
-     * @param allLanesMapping All Lanes to List of TrafficLanes mapping
-     * @return List of Vertices useful for Graph creation
+     * @return Number of performed steps
      */
-    private List<Vertex<Lane>> getVerticesList(Map<Lane, List<TrafficLane>> allLanesMapping) {
-        return allLanesMapping.entrySet().stream()
-                .map(entry -> new Vertex<Lane>(entry.getKey(), entry.getValue().size()))
-                .toList();
+    public int runUntilDrained() {
+        int performedSteps = 0;
+        this.acceptQueuedVehicles();
+
+        while (this.hasWaitingCars() || this.hasSpilledVehicles()) {
+            performedSteps += this.runPhase(Integer.MAX_VALUE, null);
+        }
+
+        this.flushEventBatchIfIdle();
+
+        return performedSteps;
+    }
+
+    /**
+     * Performs given number of simulation steps like <i>stepMany()</i>, but results are only passed to observers.
+     *
+     * @param stepsCount Number of steps to perform
+     */
+    void runSteps(int stepsCount) {
+        int performedSteps = 0;
+        this.acceptQueuedVehicles();
+
+        while (performedSteps < stepsCount) {
+            performedSteps += this.runPhase(stepsCount - performedSteps, null);
+        }
+
+        this.flushEventBatchIfIdle();
+    }
+
+    /**
+     * Performs consecutive steps as long as green light Lanes stay the same, but no more than given number of steps.
+     *
+     * @param maxStepsCount Maximum number of steps to perform, has to be positive
+     * @param stepsResults List to which results of steps are appended, or null if results are not needed
+     * @return Number of performed steps
+     * @throws IllegalStateException If PhaseSolver did not select any Lane although cars are waiting
+     */
+    private int runPhase(int maxStepsCount, List<List<Car>> stepsResults) throws IllegalStateException {
+        if (this.refillSpilledVehicles()) {
+            // spilled vehicles join traffic lanes before each step, so phase can not be performed in bulk
+            maxStepsCount = 1;
+        }
+
+        int greenLightLanes = this.findGreenLightLanes();
+        int servedCount = this.collectServedTrafficLanes(greenLightLanes);
+        int phaseLength = maxStepsCount;
+
+        if (servedCount == 0 && this.hasWaitingCars()) {
+            throw new IllegalStateException("No lane got green light although cars are waiting!!!");
+        }
+
+        for (int i = 0; i < servedCount; i++) {
+            TrafficLane trafficLane = this.servedTrafficLanes[i];
+            phaseLength = Math.min(phaseLength, trafficLane.countLeadingCarsOfCurrentLaneType(phaseLength));
+        }
+
+        boolean resultsNeeded = stepsResults != null || ! this.subscribersList.isEmpty();
+        boolean batchNeeded = ! this.batchingSubscribersList.isEmpty();
+
+        for (int stepId = 0; stepId < phaseLength; stepId++) {
+            List<Car> carsLeavingCrossing = resultsNeeded ? new ArrayList<>(servedCount) : null;
+
+            if (batchNeeded) {
+                this.eventBatch.addStep(this.performedStepsCount);
+            }
+
+            for (int i = 0; i < servedCount; i++) {
+                TrafficLane trafficLane = this.servedTrafficLanes[i];
+
+                if (resultsNeeded) {
+                    Car car = this.moveFirstCar(trafficLane);
+                    carsLeavingCrossing.add(car);
+
+                    if (batchNeeded) {
+                        this.eventBatch.addDeparture(car.name(), car.lane());
+                    }
+                }
+                else {
+                    if (batchNeeded) {
+                        this.eventBatch.addDeparture(
+                                trafficLane.currentCarName(),
+                                LaneTopology.fromOrdinal(trafficLane.currentLaneOrdinal())
+                        );
+                    }
+
+                    this.removeFirstCar(trafficLane);
+                }
+            }
+
+            this.performedStepsCount++;
+
+            if (resultsNeeded) {
+                this.notifySimulationStep(carsLeavingCrossing);
+            }
+
+            if (stepsResults != null) {
+                stepsResults.add(carsLeavingCrossing);
+            }
+
+            if (batchNeeded) {
+                this.flushEventBatchIfFull();
+            }
+        }
+
+        return phaseLength;
+    }
+
+    /**
+     * Moves first cars out of all traffic lanes that get green light in current simulation state.
+     *
+     * @param departures Buffer that is cleared and filled with cars that leave crossing
+     */
+    private void moveCarsWithGreenLight(DepartureBuffer departures) {
+        this.refillSpilledVehicles();
+        int servedCount = this.collectServedTrafficLanes(this.findGreenLightLanes());
+        departures.clear();
+
+        for (int i = 0; i < servedCount; i++) {
+            TrafficLane trafficLane = this.servedTrafficLanes[i];
+            departures.add(trafficLane.currentCarName(), LaneTopology.fromOrdinal(trafficLane.currentLaneOrdinal()));
+            this.removeFirstCar(trafficLane);
+        }
+    }
+
+    /**
+     * Collects traffic lanes whose first car occupies one of given Lanes into preallocated array.
+     *
+     * @param greenLightLanes Mask of Lanes with green light
+     * @return Number of collected traffic lanes
+     */
+    private int collectServedTrafficLanes(int greenLightLanes) {
+        int servedCount = 0;
+
+        for (int directionId = 0; directionId < this.trafficLanesByDirection.length; directionId++) {
+            TrafficLane[] trafficLanes = this.trafficLanesByDirection[directionId];
+            int directionMask = LaneTopology.getDirectionMask(Direction.fromInteger(directionId));
+
+            if (trafficLanes == null || (greenLightLanes & directionMask) == 0) {
+                continue;
+            }
+
+            for (TrafficLane trafficLane : trafficLanes) {
+                int laneOrdinal = trafficLane.currentLaneOrdinal();
+
+                if (laneOrdinal >= 0 && (greenLightLanes & (1 << laneOrdinal)) != 0) {
+                    this.servedTrafficLanes[servedCount++] = trafficLane;
+                }
+            }
+        }
+
+        return servedCount;
+    }
+
+    /**
+     * Checks if any car is waiting at the crossing.
+     *
+     * @return `true` if at least one traffic lane has waiting cars, otherwise `false`
+     */
+    private boolean hasWaitingCars() {
+        for (int laneWeight : this.laneWeights) {
+            if (laneWeight > 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Finds mask of Lanes that get green light in current simulation state. When Lanes weights did not change since
+     * the last search, the previous result is returned without calling PhaseSolver.
+     *
+     * @return Mask of Lanes with green light
+     */
+    private int findGreenLightLanes() {
+        if (this.solvedGreenLightLanes >= 0 && Arrays.equals(this.laneWeights, this.solvedLaneWeights)) {
+            return this.solvedGreenLightLanes;
+        }
+
+        int greenLightLanes = this.phaseSolver.findMaximumWeightPhase(this.laneWeights);
+
+        System.arraycopy(this.laneWeights, 0, this.solvedLaneWeights, 0, this.laneWeights.length);
+        this.solvedGreenLightLanes = greenLightLanes;
+
+        return greenLightLanes;
+    }
+
+    /**
+     * Moves first car out of given traffic lane and updates Lanes weights according to the new first car.
+     *
+     * @param trafficLane Traffic lane with green light
+     * @return Car that leaves crossing
+     */
+    private Car moveFirstCar(TrafficLane trafficLane) {
+        Car car = trafficLane.moveFirstCar();
+        this.updateLaneWeights(car.lane().ordinal(), trafficLane);
+
+        return car;
+    }
+
+    /**
+     * Removes first car from given traffic lane without creating Car object and updates Lanes weights according to
+     * the new first car.
+     *
+     * @param trafficLane Traffic lane with green light
+     */
+    private void removeFirstCar(TrafficLane trafficLane) {
+        int laneOrdinal = trafficLane.currentLaneOrdinal();
+        trafficLane.removeFirstCar();
+        this.updateLaneWeights(laneOrdinal, trafficLane);
+    }
+
+    /**
+     * Updates Lanes weights after first car left given traffic lane.
+     *
+     * @param departedLaneOrdinal Ordinal of Lane occupied by the car that left
+     * @param trafficLane Traffic lane that the car left
+     */
+    private void updateLaneWeights(int departedLaneOrdinal, TrafficLane trafficLane) {
+        this.laneWeights[departedLaneOrdinal]--;
+
+        int nextLaneOrdinal = trafficLane.currentLaneOrdinal();
+
+        if (nextLaneOrdinal >= 0) {
+            this.laneWeights[nextLaneOrdinal]++;
+        }
+    }
+
+    /**
+     * Checks if vehicle occupying given Lane can be added to the simulation, that is if the simulation has a road of
+     * the Lane's direction with a traffic lane supporting its move.
+     *
+     * @param lane Lane of the vehicle
+     * @return `true` if vehicle can be added, otherwise `false`
+     */
+    public boolean supportsLane(Lane lane) {
+        Road road = this.roadsMap.get(lane.getDirection());
+
+        return road != null && road.supportsMove(lane.getMove());
     }
 
     /**
@@ -125,6 +610,47 @@ public class Simulation {
         return new HashMap<>(this.roadsMap);
     }
 
+    /**
+     * Retrieves traffic lanes of the road of given direction without copying them. Used by diagnostic tools of this
+     * package, returned array must not be modified.
+     *
+     * @param direction Direction of the road
+     * @return Traffic lanes of the road, or null if simulation has no road of given direction
+     */
+    TrafficLane[] getTrafficLanes(Direction direction) {
+        return this.trafficLanesByDirection[direction.ordinal()];
+    }
+
+    /**
+     * Creates immutable copy of the current state of all traffic lanes.
+     *
+     * @return Snapshot of the simulation
+     */
+    public SimulationSnapshot snapshot() {
+        Map<Direction, List<SimulationSnapshot.TrafficLaneSnapshot>> roads = new EnumMap<>(Direction.class);
+
+        for (Direction direction : Direction.values()) {
+            TrafficLane[] trafficLanes = this.trafficLanesByDirection[direction.ordinal()];
+
+            if (trafficLanes == null) {
+                continue;
+            }
+
+            List<SimulationSnapshot.TrafficLaneSnapshot> trafficLaneSnapshots = new ArrayList<>(trafficLanes.length);
+
+            for (TrafficLane trafficLane : trafficLanes) {
+                trafficLaneSnapshots.add(new SimulationSnapshot.TrafficLaneSnapshot(
+                        trafficLane.currentLaneType().orElse(null),
+                        trafficLane.size()
+                ));
+            }
+
+            roads.put(direction, trafficLaneSnapshots);
+        }
+
+        return new SimulationSnapshot(roads);
+    }
+
     /**
      * Notify subscribers about cars leaving crossing during current simulation step.
      *
@@ -145,14 +671,139 @@ public class Simulation {
         for (SimulationObserver subscriber : this.subscribersList) {
             subscriber.notifyAddVehicle(car);
         }
+
+        if ( ! this.batchingSubscribersList.isEmpty()) {
+            this.eventBatch.addArrival(car, this.performedStepsCount);
+            this.flushEventBatchIfFull();
+        }
+    }
+
+    /**
+     * Notify subscribers about a vehicle rejected or dropped because of capacity limits. Rejections are passed to
+     * BatchingSimulationObservers immediately, not through the event batch.
+     *
+     * @param car Car that was rejected or dropped
+     */
+    private void notifyVehicleRejected(Car car) {
+        for (SimulationObserver subscriber : this.subscribersList) {
+            subscriber.notifyVehicleRejected(car);
+        }
+
+        for (BatchingSimulationObserver subscriber : this.batchingSubscribersList) {
+            subscriber.notifyVehicleRejected(car);
+        }
     }
 
     /**
-     * Registers an observer to receive notifications about future simulation status changes.
+     * Counts performed step and records it in the event batch together with cars that left crossing.
+     *
+     * @param departures Buffer with cars that left crossing during the step
+     */
+    private void recordStep(DepartureBuffer departures) {
+        if ( ! this.batchingSubscribersList.isEmpty()) {
+            this.eventBatch.addStep(this.performedStepsCount);
+
+            for (int i = 0; i < departures.size(); i++) {
+                this.eventBatch.addDeparture(departures.getName(i), departures.getLane(i));
+            }
+
+            this.flushEventBatchIfFull();
+        }
+
+        this.performedStepsCount++;
+    }
+
+    /**
+     * Sets maximum number of events (steps and added vehicles) collected before the batch is passed to
+     * BatchingSimulationObservers.
+     *
+     * @param eventBatchSize Maximum number of events in a batch
+     * @throws IllegalArgumentException If batch size is not positive
+     */
+    public void setEventBatchSize(int eventBatchSize) throws IllegalArgumentException {
+        if (eventBatchSize <= 0) {
+            throw new IllegalArgumentException(
+                    String.format("Event batch size has to be positive: %d", eventBatchSize)
+            );
+        }
+
+        this.eventBatchSize = eventBatchSize;
+        this.flushEventBatchIfFull();
+    }
+
+    /**
+     * Passes collected events to BatchingSimulationObservers, even if the batch is not full.
+     */
+    public void flushEventBatch() {
+        if (this.eventBatch.isEmpty()) {
+            return;
+        }
+
+        try {
+            for (BatchingSimulationObserver subscriber : this.batchingSubscribersList) {
+                subscriber.notifyBatch(this.eventBatch);
+            }
+        } finally {
+            this.eventBatch.clear();
+        }
+    }
+
+    /**
+     * Stops passing batches at the end of each operation until matching <i>endEventBatching()</i> call. Batches are
+     * still passed when full.
+     */
+    void beginEventBatching() {
+        this.eventBatchingDepth++;
+    }
+
+    /**
+     * Ends period started with <i>beginEventBatching()</i> and passes collected events if no other period is open.
+     */
+    void endEventBatching() {
+        this.eventBatchingDepth--;
+        this.flushEventBatchIfIdle();
+    }
+
+    private void flushEventBatchIfFull() {
+        if (this.eventBatch.eventsCount() >= this.eventBatchSize) {
+            this.flushEventBatch();
+        }
+    }
+
+    private void flushEventBatchIfIdle() {
+        if (this.eventBatchingDepth == 0) {
+            this.flushEventBatch();
+        }
+    }
+
+    /**
+     * Registers an observer to receive notifications about future simulation status changes. BatchingSimulationObserver
+     * receives them in blocks.
      *
      * @param simulationObserver SimulationObserver object to register
      */
     public void subscribe(SimulationObserver simulationObserver) {
-        this.subscribersList.add(simulationObserver);
+        if (simulationObserver instanceof BatchingSimulationObserver batchingObserver) {
+            this.flushEventBatch();
+            this.batchingSubscribersList.add(batchingObserver);
+        }
+        else {
+            this.subscribersList.add(simulationObserver);
+        }
+    }
+
+    /**
+     * Stops sending notifications to given observer.
+     *
+     * @param simulationObserver SimulationObserver object to unregister
+     */
+    public void unsubscribe(SimulationObserver simulationObserver) {
+        if (simulationObserver instanceof BatchingSimulationObserver batchingObserver) {
+            this.flushEventBatch();
+            this.batchingSubscribersList.remove(batchingObserver);
+        }
+        else {
+            this.subscribersList.remove(simulationObserver);
+        }
     }
 }
@@ -0,0 +1,237 @@
+package model.simulation;
+
+import model.enums.Lane;
+import model.traffic.Car;
+
+import java.util.Arrays;
+
+/**
+ * SimulationEventBatch class is a reusable block of simulation events passed to BatchingSimulationObserver. It
+ * describes consecutive steps of the simulation together with cars that left the crossing during these steps
+ * (departures) and cars added to the simulation in the meantime (arrivals).
+ *
+ * <p>Steps are identified by their index, i.e. number of steps performed by the simulation before them. Every
+ * departure is described by the index of the step during which the car left, and every arrival by the index of the
+ * first step performed after the car was added. Departures and arrivals are kept in parallel arrays in the order they
+ * happened. Steps of the batch are consecutive, steps in which no car left are included as well.</p>
+ *
+ * <p>Batch is reused by Simulation, so it is valid only during <i>notifyBatch()</i> call and should not be kept.</p>
+ *
+ * <p>Example</p>
+ * <pre>
+ *     for (int i = 0; i < batch.getDeparturesCount(); i++) {
+ *         long stepIndex = batch.getDepartureStep(i);
+ *         String carName = batch.getDepartureName(i);
+ *     }
+ * </pre>
+ */
+public class SimulationEventBatch {
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private long firstStepIndex = 0;
+    private int stepsCount = 0;
+
+    private String[] departureNames = new String[DEFAULT_CAPACITY];
+    private Lane[] departureLanes = new Lane[DEFAULT_CAPACITY];
+    private long[] departureSteps = new long[DEFAULT_CAPACITY];
+    private int departuresCount = 0;
+
+    private Car[] arrivals = new Car[DEFAULT_CAPACITY];
+    private long[] arrivalSteps = new long[DEFAULT_CAPACITY];
+    private int arrivalsCount = 0;
+
+    /**
+     * Retrieves index of the first step of the batch. When batch has no steps, it is the index of the next step.
+     *
+     * @return Index of the first step
+     */
+    public long getFirstStepIndex() {
+        return this.firstStepIndex;
+    }
+
+    /**
+     * Retrieves number of consecutive steps described by the batch.
+     *
+     * @return Number of steps
+     */
+    public int getStepsCount() {
+        return this.stepsCount;
+    }
+
+    /**
+     * Retrieves number of cars that left the crossing during steps of the batch.
+     *
+     * @return Number of departures
+     */
+    public int getDeparturesCount() {
+        return this.departuresCount;
+    }
+
+    /**
+     * Retrieves name of the departed car of given index.
+     *
+     * @param index Index of the departure
+     * @return Name of the car
+     * @throws IndexOutOfBoundsException If index is not smaller than number of departures
+     */
+    public String getDepartureName(int index) throws IndexOutOfBoundsException {
+        return this.departureNames[checkIndex(index, this.departuresCount)];
+    }
+
+    /**
+     * Retrieves Lane occupied by the departed car of given index.
+     *
+     * @param index Index of the departure
+     * @return Lane of the car
+     * @throws IndexOutOfBoundsException If index is not smaller than number of departures
+     */
+    public Lane getDepartureLane(int index) throws IndexOutOfBoundsException {
+        return this.departureLanes[checkIndex(index, this.departuresCount)];
+    }
+
+    /**
+     * Retrieves index of the step during which the departed car of given index left the crossing.
+     *
+     * @param index Index of the departure
+     * @return Index of the step
+     * @throws IndexOutOfBoundsException If index is not smaller than number of departures
+     */
+    public long getDepartureStep(int index) throws IndexOutOfBoundsException {
+        return this.departureSteps[checkIndex(index, this.departuresCount)];
+    }
+
+    /**
+     * Creates departed car of given index.
+     *
+     * @param index Index of the departure
+     * @return Car that left the crossing
+     * @throws IndexOutOfBoundsException If index is not smaller than number of departures
+     */
+    public Car getDeparture(int index) throws IndexOutOfBoundsException {
+        return new Car(this.getDepartureName(index), this.departureLanes[index]);
+    }
+
+    /**
+     * Retrieves number of cars added to the simulation since the previous batch.
+     *
+     * @return Number of arrivals
+     */
+    public int getArrivalsCount() {
+        return this.arrivalsCount;
+    }
+
+    /**
+     * Retrieves car added to the simulation of given index.
+     *
+     * @param index Index of the arrival
+     * @return Added car
+     * @throws IndexOutOfBoundsException If index is not smaller than number of arrivals
+     */
+    public Car getArrival(int index) throws IndexOutOfBoundsException {
+        return this.arrivals[checkIndex(index, this.arrivalsCount)];
+    }
+
+    /**
+     * Retrieves index of the first step performed after the car of given index was added.
+     *
+     * @param index Index of the arrival
+     * @return Index of the step
+     * @throws IndexOutOfBoundsException If index is not smaller than number of arrivals
+     */
+    public long getArrivalStep(int index) throws IndexOutOfBoundsException {
+        return this.arrivalSteps[checkIndex(index, this.arrivalsCount)];
+    }
+
+    /**
+     * Checks if batch contains any event.
+     *
+     * @return `true` if batch has no steps and no arrivals, otherwise `false`
+     */
+    public boolean isEmpty() {
+        return this.stepsCount == 0 && this.arrivalsCount == 0;
+    }
+
+    /**
+     * Retrieves number of steps and arrivals of the batch.
+     *
+     * @return Number of events
+     */
+    int eventsCount() {
+        return this.stepsCount + this.arrivalsCount;
+    }
+
+    /**
+     * Appends step of given index. Steps have to be appended in order.
+     *
+     * @param stepIndex Index of the step
+     */
+    void addStep(long stepIndex) {
+        if (this.stepsCount == 0) {
+            this.firstStepIndex = stepIndex;
+        }
+
+        this.stepsCount++;
+    }
+
+    /**
+     * Appends car that left the crossing during the last appended step.
+     *
+     * @param name Name of the car
+     * @param lane Lane occupied by the car
+     */
+    void addDeparture(String name, Lane lane) {
+        if (this.departuresCount == this.departureNames.length) {
+            int capacity = this.departuresCount * 2;
+            this.departureNames = Arrays.copyOf(this.departureNames, capacity);
+            this.departureLanes = Arrays.copyOf(this.departureLanes, capacity);
+            this.departureSteps = Arrays.copyOf(this.departureSteps, capacity);
+        }
+
+        this.departureNames[this.departuresCount] = name;
+        this.departureLanes[this.departuresCount] = lane;
+        this.departureSteps[this.departuresCount] = this.firstStepIndex + this.stepsCount - 1;
+        this.departuresCount++;
+    }
+
+    /**
+     * Appends car added to the simulation before step of given index.
+     *
+     * @param car Added car
+     * @param stepIndex Index of the next step
+     */
+    void addArrival(Car car, long stepIndex) {
+        if (this.arrivalsCount == this.arrivals.length) {
+            int capacity = this.arrivalsCount * 2;
+            this.arrivals = Arrays.copyOf(this.arrivals, capacity);
+            this.arrivalSteps = Arrays.copyOf(this.arrivalSteps, capacity);
+        }
+
+        if (this.stepsCount == 0) {
+            this.firstStepIndex = stepIndex;
+        }
+
+        this.arrivals[this.arrivalsCount] = car;
+        this.arrivalSteps[this.arrivalsCount] = stepIndex;
+        this.arrivalsCount++;
+    }
+
+    /**
+     * Removes all events without releasing memory.
+     */
+    void clear() {
+        Arrays.fill(this.departureNames, 0, this.departuresCount, null);
+        Arrays.fill(this.arrivals, 0, this.arrivalsCount, null);
+        this.firstStepIndex += this.stepsCount;
+        this.stepsCount = 0;
+        this.departuresCount = 0;
+        this.arrivalsCount = 0;
+    }
+
+    private static int checkIndex(int index, int size) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for size %d", index, size));
+        }
+
+        return index;
+    }
+}
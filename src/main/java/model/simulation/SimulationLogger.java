@@ -1,11 +1,17 @@
 package model.simulation;
 
-import model.enums.Lane;
+import model.enums.Direction;
+import model.enums.LaneTopology;
 import model.traffic.Car;
-import model.traffic.Road;
 import model.traffic.TrafficLane;
 
-import java.util.Comparator;
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -30,61 +36,380 @@ import java.util.List;
  *
  * SOUTH_RIGHT on the last lane indicates only that the first car turns right. It does not mean that all cars waiting
  * in this lane will turn right, as this lane can support multiple maneuvers.
+ *
+ * <p>Logger is cheap enough to stay enabled for diagnostics of long runs. State of traffic lanes is read into reused
+ * arrays and every log entry is rendered into a reused StringBuilder and written to a buffered writer at once.
+ * Additionally logger can:</p>
+ * <ul>
+ *     <li>log only every n-th step, vehicles added in the meantime are only counted</li>
+ *     <li>work in DIFF mode, where only traffic lanes whose size or first car Lane changed since the previous log
+ *     entry are listed, e.g. <i>| #2 SOUTH_RIGHT: 3 |</i> for the third traffic lane of the road</li>
+ * </ul>
+ *
+ * <p>SimulationLogger implements SnapshotObserver, so it can be wrapped in AsyncSimulationObserver to print from
+ * another thread without slowing down the simulation.</p>
+ *
+ * <p>Example</p>
+ * <pre>
+ *     SimulationLogger logger = new SimulationLogger(simulation, writer, 100, SimulationLogger.Mode.DIFF);
+ *     simulation.subscribe(logger);
+ *     simulationRunner.runCommands(commands);
+ *     logger.flush();
+ * </pre>
  */
-public class SimulationLogger implements SimulationObserver {
+public class SimulationLogger implements SnapshotObserver, Flushable {
+    public enum Mode {
+        FULL,
+        DIFF
+    }
+
+    private static final String SEPARATOR = "==================================";
+    private static final String EMPTY_LANE = "---";
+    private static final Direction[] DIRECTIONS = Direction.values();
+
     private final Simulation simulation;
+    private final Writer output;
+    private final boolean autoFlush;
+    private final int sampleInterval;
+    private final Mode mode;
+
+    private final StringBuilder entry = new StringBuilder();
+    private final int[][] laneOrdinals = new int[DIRECTIONS.length][];
+    private final int[][] laneSizes = new int[DIRECTIONS.length][];
+    private final int[][] loggedLaneOrdinals = new int[DIRECTIONS.length][];
+    private final int[][] loggedLaneSizes = new int[DIRECTIONS.length][];
+    private int[] laneOrder = new int[0];
+    private char[] entryChars = new char[0];
+
+    private long stepsCount = 0;
+    private long skippedVehiclesCount = 0;
 
+    /**
+     * Creates logger printing full road states after every event to the console.
+     *
+     * @param simulation Logged simulation
+     */
     public SimulationLogger(Simulation simulation) {
+        this(simulation, new BufferedWriter(new OutputStreamWriter(System.out)), true, 1, Mode.FULL);
+    }
+
+    /**
+     * Creates logger writing to given writer. Output is buffered, so it should be flushed after the simulation.
+     *
+     * @param simulation Logged simulation
+     * @param output Destination of log entries
+     * @param sampleInterval Only every <i>sampleInterval</i>-th step is logged, with 1 every event is logged
+     * @param mode Whether all traffic lanes or only changed ones are listed
+     * @throws IllegalArgumentException If sample interval is not positive
+     */
+    public SimulationLogger(Simulation simulation, Writer output, int sampleInterval, Mode mode)
+            throws IllegalArgumentException {
+        this(simulation, output instanceof BufferedWriter ? output : new BufferedWriter(output), false,
+                sampleInterval, mode);
+    }
+
+    private SimulationLogger(Simulation simulation, Writer output, boolean autoFlush, int sampleInterval, Mode mode)
+            throws IllegalArgumentException {
+        if (sampleInterval <= 0) {
+            throw new IllegalArgumentException(String.format("Sample interval has to be positive: %d", sampleInterval));
+        }
+
         this.simulation = simulation;
+        this.output = output;
+        this.autoFlush = autoFlush;
+        this.sampleInterval = sampleInterval;
+        this.mode = mode;
     }
 
     public void displayRoadStates() {
-        System.out.println();
-        System.out.println("CURRENT ROAD STATES");
-        System.out.println();
-
-        for (Road road : this.simulation.getRoadsMap().values()) {
-            System.out.println("\nRoad: " + road.getDirection().name());
-            System.out.println();
-
-            List<TrafficLane> lanes = road.getTrafficLaneList().stream()
-                    .sorted(Comparator.comparingInt(
-                            (TrafficLane lane) -> lane.currentLaneType()
-                                    .map(Lane::ordinal)
-                                    .orElse(Integer.MAX_VALUE)
-                        ).reversed()
-                    )
-                    .toList();
-
-            System.out.print("|");
-
-            for (TrafficLane lane : lanes) {
-                String laneStrRepr = lane.currentLaneType().map(Lane::name).orElse("---");
-                System.out.print(String.format(" %s: %d |", laneStrRepr, lane.size()));
-            }
-            System.out.println();
+        this.captureState(this.simulation);
+        this.renderRoadStates();
+        this.writeEntry();
+    }
+
+    public void displayRoadStates(SimulationSnapshot snapshot) {
+        this.captureState(snapshot);
+        this.renderRoadStates();
+        this.writeEntry();
+    }
+
+    @Override
+    public void notifySimulationStep(List<Car> carsLeavingCrossing) throws UncheckedIOException {
+        if (this.isStepSampled()) {
+            this.captureState(this.simulation);
+            this.logStep();
         }
-        System.out.println("\n==================================\n");
     }
 
     @Override
-    public void notifySimulationStep(List<Car> carsLeavingCrossing) {
-        System.out.println("==================================");
-        System.out.println("SIMULATION STEP");
-        System.out.println("==================================");
+    public void notifyAddVehicle(Car car) throws UncheckedIOException {
+        if (this.isVehicleSampled()) {
+            this.captureState(this.simulation);
+            this.logAddVehicle(car);
+        }
+    }
 
-        this.displayRoadStates();
+    @Override
+    public void notifySimulationStep(List<Car> carsLeavingCrossing, SimulationSnapshot snapshot)
+            throws UncheckedIOException {
+        if (this.isStepSampled()) {
+            this.captureState(snapshot);
+            this.logStep();
+        }
     }
 
     @Override
-    public void notifyAddVehicle(Car car) {
-        System.out.println("==================================");
-        System.out.println("ADD VEHICLE");
-        System.out.println("==================================");
-        System.out.println();
-        System.out.println("Added Vehicle:");
-        System.out.println(car);
-
-        this.displayRoadStates();
+    public void notifyAddVehicle(Car car, SimulationSnapshot snapshot) throws UncheckedIOException {
+        if (this.isVehicleSampled()) {
+            this.captureState(snapshot);
+            this.logAddVehicle(car);
+        }
+    }
+
+    /**
+     * Writes buffered log entries to the destination.
+     *
+     * @throws IOException If writing fails
+     */
+    @Override
+    public void flush() throws IOException {
+        this.output.flush();
+    }
+
+    private boolean isStepSampled() {
+        return this.stepsCount++ % this.sampleInterval == 0;
+    }
+
+    private boolean isVehicleSampled() {
+        if (this.sampleInterval == 1) {
+            return true;
+        }
+
+        this.skippedVehiclesCount++;
+
+        return false;
+    }
+
+    private void logStep() {
+        this.entry.append(SEPARATOR).append('\n')
+                .append("SIMULATION STEP").append('\n')
+                .append(SEPARATOR).append('\n');
+
+        if (this.sampleInterval > 1) {
+            this.entry.append("Step: ").append(this.stepsCount - 1)
+                    .append(", vehicles added since previous entry: ").append(this.skippedVehiclesCount).append('\n');
+            this.skippedVehiclesCount = 0;
+        }
+
+        this.renderRoadStates();
+        this.writeEntry();
+    }
+
+    private void logAddVehicle(Car car) {
+        this.entry.append(SEPARATOR).append('\n')
+                .append("ADD VEHICLE").append('\n')
+                .append(SEPARATOR).append('\n')
+                .append('\n')
+                .append("Added Vehicle:").append('\n')
+                .append(car).append('\n');
+
+        this.renderRoadStates();
+        this.writeEntry();
+    }
+
+    /**
+     * Reads state of traffic lanes straight from the simulation into reused arrays.
+     *
+     * @param simulation Logged simulation
+     */
+    private void captureState(Simulation simulation) {
+        for (Direction direction : DIRECTIONS) {
+            TrafficLane[] trafficLanes = simulation.getTrafficLanes(direction);
+
+            if (trafficLanes == null) {
+                continue;
+            }
+
+            int directionId = direction.ordinal();
+            this.ensureCapacity(directionId, trafficLanes.length);
+
+            for (int laneId = 0; laneId < trafficLanes.length; laneId++) {
+                this.laneOrdinals[directionId][laneId] = trafficLanes[laneId].currentLaneOrdinal();
+                this.laneSizes[directionId][laneId] = trafficLanes[laneId].size();
+            }
+        }
+    }
+
+    /**
+     * Reads state of traffic lanes from the snapshot into reused arrays.
+     *
+     * @param snapshot Snapshot of the logged simulation
+     */
+    private void captureState(SimulationSnapshot snapshot) {
+        snapshot.roads().forEach((direction, trafficLanes) -> {
+            int directionId = direction.ordinal();
+            this.ensureCapacity(directionId, trafficLanes.size());
+
+            for (int laneId = 0; laneId < trafficLanes.size(); laneId++) {
+                SimulationSnapshot.TrafficLaneSnapshot trafficLane = trafficLanes.get(laneId);
+                this.laneOrdinals[directionId][laneId] = trafficLane.currentLane() == null
+                        ? -1
+                        : trafficLane.currentLane().ordinal();
+                this.laneSizes[directionId][laneId] = trafficLane.size();
+            }
+        });
+    }
+
+    private void ensureCapacity(int directionId, int trafficLanesCount) {
+        if (this.laneOrdinals[directionId] != null && this.laneOrdinals[directionId].length == trafficLanesCount) {
+            return;
+        }
+
+        this.laneOrdinals[directionId] = new int[trafficLanesCount];
+        this.laneSizes[directionId] = new int[trafficLanesCount];
+        this.loggedLaneOrdinals[directionId] = null;
+        this.loggedLaneSizes[directionId] = null;
+
+        if (this.laneOrder.length < trafficLanesCount) {
+            this.laneOrder = new int[trafficLanesCount];
+        }
+    }
+
+    private void renderRoadStates() {
+        this.entry.append('\n')
+                .append("CURRENT ROAD STATES").append('\n')
+                .append('\n');
+
+        for (int directionId = 0; directionId < DIRECTIONS.length; directionId++) {
+            if (this.laneOrdinals[directionId] == null) {
+                continue;
+            }
+
+            if (this.mode == Mode.DIFF) {
+                this.renderChangedLanes(directionId);
+            }
+            else {
+                this.renderAllLanes(directionId);
+            }
+        }
+
+        this.entry.append('\n')
+                .append(SEPARATOR).append('\n')
+                .append('\n');
+    }
+
+    /**
+     * Renders all traffic lanes of the road. Empty traffic lanes are listed first, then traffic lanes ordered by
+     * descending Lane of the first car.
+     *
+     * @param directionId Ordinal of the road direction
+     */
+    private void renderAllLanes(int directionId) {
+        int[] ordinals = this.laneOrdinals[directionId];
+        int trafficLanesCount = ordinals.length;
+
+        for (int laneId = 0; laneId < trafficLanesCount; laneId++) {
+            int position = laneId;
+
+            while (position > 0 && sortKey(ordinals[this.laneOrder[position - 1]]) < sortKey(ordinals[laneId])) {
+                this.laneOrder[position] = this.laneOrder[position - 1];
+                position--;
+            }
+
+            this.laneOrder[position] = laneId;
+        }
+
+        this.appendRoadHeader(directionId);
+        this.entry.append('|');
+
+        for (int i = 0; i < trafficLanesCount; i++) {
+            int laneId = this.laneOrder[i];
+            this.appendLane(ordinals[laneId], this.laneSizes[directionId][laneId]);
+        }
+
+        this.entry.append('\n');
+    }
+
+    /**
+     * Renders traffic lanes of the road that changed since the previous log entry, with their positions on the road.
+     * Roads without changes are skipped.
+     *
+     * @param directionId Ordinal of the road direction
+     */
+    private void renderChangedLanes(int directionId) {
+        int[] ordinals = this.laneOrdinals[directionId];
+        int[] sizes = this.laneSizes[directionId];
+        int[] loggedOrdinals = this.loggedLaneOrdinals[directionId];
+        int[] loggedSizes = this.loggedLaneSizes[directionId];
+        boolean roadChanged = false;
+
+        if (loggedOrdinals == null) {
+            loggedOrdinals = this.loggedLaneOrdinals[directionId] = new int[ordinals.length];
+            loggedSizes = this.loggedLaneSizes[directionId] = new int[ordinals.length];
+            Arrays.fill(loggedOrdinals, Integer.MIN_VALUE);
+        }
+
+        for (int laneId = 0; laneId < ordinals.length; laneId++) {
+            if (ordinals[laneId] == loggedOrdinals[laneId] && sizes[laneId] == loggedSizes[laneId]) {
+                continue;
+            }
+
+            if ( ! roadChanged) {
+                this.appendRoadHeader(directionId);
+                this.entry.append('|');
+                roadChanged = true;
+            }
+
+            this.entry.append(" #").append(laneId);
+            this.appendLane(ordinals[laneId], sizes[laneId]);
+            loggedOrdinals[laneId] = ordinals[laneId];
+            loggedSizes[laneId] = sizes[laneId];
+        }
+
+        if (roadChanged) {
+            this.entry.append('\n');
+        }
+    }
+
+    private void appendRoadHeader(int directionId) {
+        this.entry.append('\n')
+                .append("Road: ").append(DIRECTIONS[directionId].name()).append('\n')
+                .append('\n');
+    }
+
+    private void appendLane(int laneOrdinal, int size) {
+        this.entry.append(' ')
+                .append(laneOrdinal < 0 ? EMPTY_LANE : LaneTopology.fromOrdinal(laneOrdinal).name())
+                .append(": ").append(size).append(" |");
+    }
+
+    private static int sortKey(int laneOrdinal) {
+        return laneOrdinal < 0 ? Integer.MAX_VALUE : laneOrdinal;
+    }
+
+    /**
+     * Writes rendered entry to the buffered output through reused char array and clears it for the next entry.
+     *
+     * @throws UncheckedIOException If writing fails
+     */
+    private void writeEntry() throws UncheckedIOException {
+        try {
+            int length = this.entry.length();
+
+            if (this.entryChars.length < length) {
+                this.entryChars = new char[Math.max(length, this.entryChars.length * 2)];
+            }
+
+            this.entry.getChars(0, length, this.entryChars, 0);
+            this.output.write(this.entryChars, 0, length);
+
+            if (this.autoFlush) {
+                this.output.flush();
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } finally {
+            this.entry.setLength(0);
+        }
     }
 }
@@ -18,4 +18,14 @@ public interface SimulationObserver {
      * @param vehicle Car added to the simulation
      */
     void notifyAddVehicle(Car vehicle);
+
+    /**
+     * Notify subscriber about vehicle that was not added to the simulation, or was removed from it, because road or
+     * traffic lane reached its capacity (see CapacityPolicy).
+     *
+     * @param vehicle Car rejected or dropped by the simulation
+     */
+    default void notifyVehicleRejected(Car vehicle) {
+        /* empty */
+    }
 }
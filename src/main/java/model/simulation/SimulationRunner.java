@@ -1,21 +1,20 @@
 package model.simulation;
 
-import model.enums.Lane;
+import model.commands.AddVehicle;
+import model.commands.Command;
+import model.commands.Step;
+import model.commands.StepMany;
 import model.traffic.Car;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 /**
- * SimulationRunner class serves a role of tool for controlling simulation behaviour with text commands.
- * This tool is used to convert text commands to correct simulation actions.
+ * SimulationRunner class serves a role of tool for controlling simulation behaviour with commands.
+ * This tool is used to convert typed or text commands to correct simulation actions.
  */
 public class SimulationRunner {
-    private static final String COMMAND_TYPE = "type";
-    private static final String ADD_VEHICLE = "addVehicle";
-    private static final String STEP = "step";
-
     private final Simulation simulation;
 
     public SimulationRunner(Simulation simulation) {
@@ -23,56 +22,103 @@ public class SimulationRunner {
     }
 
     /**
-     * Runs simulation.
+     * Runs simulation. Consecutive step commands are collapsed into a single <i>stepMany()</i> call, so the simulation
+     * can perform them in bulk.
      *
      * @param commands Text commands that control simulation behaviour
      * @throws IllegalArgumentException If encounters unknown or incorrectly structured command
      */
     public void runSimulation(List<Map<String, String>> commands) throws IllegalArgumentException {
-        for (Map<String, String> command : commands) {
-            String commandType = command.get(COMMAND_TYPE);
+        this.runSimulation(commands.iterator());
+    }
 
-            switch (commandType) {
-                case ADD_VEHICLE -> {
-                    Optional<Car> optionalCar = this.mapToCar(command);
+    /**
+     * Runs simulation consuming commands one by one, so they do not have to be loaded into memory at once.
+     * Text commands are converted to typed commands and run with <i>runCommands()</i>.
+     *
+     * @param commands Iterator over text commands that control simulation behaviour
+     * @throws IllegalArgumentException If encounters unknown or incorrectly structured command
+     */
+    public void runSimulation(Iterator<Map<String, String>> commands) throws IllegalArgumentException {
+        this.runCommands(new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return commands.hasNext();
+            }
 
-                    if (optionalCar.isEmpty()) {
-                        throw new IllegalArgumentException(
-                                String.format("Wrong command structure: %s", command)
-                        );
-                    }
+            @Override
+            public Command next() {
+                return Command.fromMap(commands.next());
+            }
+        });
+    }
+
+    /**
+     * Runs simulation with typed commands.
+     *
+     * @param commands Typed commands that control simulation behaviour
+     */
+    public void runCommands(Iterable<? extends Command> commands) {
+        this.runCommands(commands.iterator());
+    }
 
-                    this.simulation.addVehicle(optionalCar.get());
+    /**
+     * Runs simulation consuming typed commands one by one. Consecutive step and stepMany commands are collapsed into
+     * a single <i>stepMany()</i> call, so the simulation can perform them in bulk. BatchingSimulationObservers receive
+     * events only when the batch is full and at the end of the run. If a command fails to decode, steps collected
+     * before it are performed before the exception is propagated.
+     *
+     * @param commands Iterator over typed commands that control simulation behaviour
+     */
+    public void runCommands(Iterator<? extends Command> commands) {
+        long pendingSteps = 0;
+        this.simulation.beginEventBatching();
+
+        try {
+            while (commands.hasNext()) {
+                Command command;
+
+                try {
+                    command = commands.next();
+                } catch (RuntimeException exception) {
+                    // steps of commands read before the failing one are not lost
+                    this.runPendingSteps(pendingSteps);
+                    throw exception;
+                }
+
+                switch (command) {
+                    case Step step -> pendingSteps++;
+                    case StepMany stepMany -> pendingSteps += stepMany.stepsCount();
+                    case AddVehicle addVehicle -> {
+                        this.runPendingSteps(pendingSteps);
+                        pendingSteps = 0;
+
+                        this.simulation.addVehicle(new Car(addVehicle.vehicleId(), addVehicle.lane()));
+                    }
                 }
-                case STEP -> this.simulation.step();
-                default -> throw new IllegalArgumentException(String.format("Unknown command type: %s", commandType));
             }
+
+            this.runPendingSteps(pendingSteps);
+        } finally {
+            this.simulation.endEventBatching();
         }
     }
 
     /**
-     * Creates car object based on the provided command parameters.
+     * Performs steps collected from consecutive step commands.
      *
-     * @param command Map that contain command with all its parameters
-     * @return An `Optional` containing the car if correct command is provided, otherwise an empty `Optional`.
+     * @param stepsCount Number of collected steps
      */
-    private Optional<Car> mapToCar(Map<String, String> command) {
-        String vehicleName = command.get("vehicleId");
-
-        if (vehicleName == null) {
-            return Optional.empty();
+    private void runPendingSteps(long stepsCount) {
+        if (stepsCount == 1) {
+            this.simulation.step();
+            return;
         }
 
-        String startRoad = command.get("startRoad");
-        String endRoad = command.get("endRoad");
-        Lane lane;
-
-        try {
-            lane = Lane.stringToLane(startRoad, endRoad);
-        } catch (IllegalArgumentException e) {
-            return Optional.empty();
+        while (stepsCount > 0) {
+            int stepsChunk = (int) Math.min(stepsCount, Integer.MAX_VALUE);
+            this.simulation.runSteps(stepsChunk);
+            stepsCount -= stepsChunk;
         }
-
-        return Optional.of(new Car(vehicleName, lane));
     }
 }
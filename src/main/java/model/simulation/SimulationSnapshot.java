@@ -0,0 +1,41 @@
+package model.simulation;
+
+import model.enums.Direction;
+import model.enums.Lane;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * SimulationSnapshot record is an immutable copy of the state of all traffic lanes at some moment of the simulation.
+ * It can be safely read by other threads while the simulation goes on (see AsyncSimulationObserver).
+ *
+ * @param roads Traffic lanes of each road, ordered by direction
+ */
+public record SimulationSnapshot(Map<Direction, List<TrafficLaneSnapshot>> roads) {
+    public SimulationSnapshot {
+        Map<Direction, List<TrafficLaneSnapshot>> roadsCopy = new EnumMap<>(Direction.class);
+        roads.forEach((direction, trafficLanes) -> roadsCopy.put(direction, List.copyOf(trafficLanes)));
+        roads = Collections.unmodifiableMap(roadsCopy);
+    }
+
+    /**
+     * TrafficLaneSnapshot record describes state of a single traffic lane.
+     *
+     * @param currentLane Lane occupied by the first car of the traffic lane, or `null` if traffic lane is empty
+     * @param size Number of cars waiting in the traffic lane
+     */
+    public record TrafficLaneSnapshot(Lane currentLane, int size) {
+        /**
+         * Retrieves Lane occupied by the first car of the traffic lane.
+         *
+         * @return Lane of the first car, or empty Optional if traffic lane is empty
+         */
+        public Optional<Lane> currentLaneType() {
+            return Optional.ofNullable(this.currentLane);
+        }
+    }
+}
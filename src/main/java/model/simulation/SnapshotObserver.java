@@ -0,0 +1,29 @@
+package model.simulation;
+
+import model.traffic.Car;
+
+import java.util.List;
+
+/**
+ * SnapshotObserver interface is implemented by observers which, besides the events themselves, need state of the
+ * simulation at the moment of each event. AsyncSimulationObserver notifies such observers with immutable snapshots
+ * instead of plain SimulationObserver methods, so they never read the simulation while it is being changed by another
+ * thread.
+ */
+public interface SnapshotObserver extends SimulationObserver {
+    /**
+     * Notify subscriber about cars that leave crossing during simulation step.
+     *
+     * @param carsLeavingCrossing List of cars that leave crossing during the step
+     * @param snapshot State of the simulation right after the step
+     */
+    void notifySimulationStep(List<Car> carsLeavingCrossing, SimulationSnapshot snapshot);
+
+    /**
+     * Notify subscriber about vehicle added to the simulation.
+     *
+     * @param vehicle Car added to the simulation
+     * @param snapshot State of the simulation right after the vehicle was added
+     */
+    void notifyAddVehicle(Car vehicle, SimulationSnapshot snapshot);
+}
@@ -0,0 +1,21 @@
+package model.traffic;
+
+/**
+ * CapacityPolicy enum describes what Road does with a car that does not fit in its traffic lanes, because all traffic
+ * lanes supporting the car's move are full or the road reached its own capacity.
+ *
+ * <ul>
+ *     <li><b>REJECT</b> - car is not added and is reported as rejected</li>
+ *     <li><b>DROP_OLDEST</b> - the longest waiting car of the traffic lane the car would join is removed and reported
+ *     as rejected, then the car is added. If that traffic lane has no waiting cars, because the road itself is full,
+ *     the first car of the longest traffic lane of the road is removed instead. If no car can be removed, because
+ *     cars added concurrently have not joined traffic lanes yet, the car is rejected</li>
+ *     <li><b>SPILL</b> - car is moved to the OverflowStore of the road and joins a traffic lane once there is free
+ *     space, in order it arrived</li>
+ * </ul>
+ */
+public enum CapacityPolicy {
+    REJECT,
+    DROP_OLDEST,
+    SPILL
+}
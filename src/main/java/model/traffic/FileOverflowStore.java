@@ -0,0 +1,189 @@
+package model.traffic;
+
+import model.enums.LaneTopology;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * FileOverflowStore class keeps spilled cars in a file, so memory used by the store does not depend on the number of
+ * stored cars. Cars are appended through a write buffer and read back through a read buffer, each record being the
+ * length of the name, UTF-8 bytes of the name and Lane ordinal. When the last stored car is removed the file is
+ * truncated, so disk space is reused after overload passes.
+ *
+ * <p>File is deleted when the store is closed. Reading and writing failures are reported with
+ * <i>UncheckedIOException</i>.</p>
+ */
+public class FileOverflowStore implements OverflowStore, Closeable {
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_NAME_LENGTH = BUFFER_SIZE - Short.BYTES - Byte.BYTES;
+
+    private final FileChannel channel;
+    private final ByteBuffer writeBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(BUFFER_SIZE).flip();
+
+    private long writePosition = 0;
+    private long readPosition = 0;
+    private Car firstCar = null;
+    private int size = 0;
+
+    public FileOverflowStore() throws IOException {
+        this(Files.createTempFile("overflow", ".bin"));
+    }
+
+    /**
+     * Creates store in given file. Content of the file is discarded.
+     *
+     * @param path Path to the file
+     * @throws IOException If file can not be opened
+     */
+    public FileOverflowStore(Path path) throws IOException {
+        this.channel = FileChannel.open(
+                path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.DELETE_ON_CLOSE
+        );
+    }
+
+    /**
+     * Adds car at the end of the store.
+     *
+     * @param car Car that should be stored
+     * @throws IllegalArgumentException If name of the car is too long
+     * @throws UncheckedIOException If writing fails
+     */
+    @Override
+    public void push(Car car) throws IllegalArgumentException, UncheckedIOException {
+        byte[] name = car.name().getBytes(StandardCharsets.UTF_8);
+
+        if (name.length > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException(String.format("Vehicle name is too long: %d bytes", name.length));
+        }
+
+        if (this.writeBuffer.remaining() < Short.BYTES + name.length + Byte.BYTES) {
+            this.flushWrites();
+        }
+
+        this.writeBuffer.putShort((short) name.length);
+        this.writeBuffer.put(name);
+        this.writeBuffer.put((byte) car.lane().ordinal());
+        this.size++;
+    }
+
+    @Override
+    public Car peek() throws UncheckedIOException {
+        if (this.firstCar == null && this.size > 0) {
+            this.firstCar = this.readCar();
+        }
+
+        return this.firstCar;
+    }
+
+    @Override
+    public Car poll() throws UncheckedIOException {
+        Car car = this.peek();
+
+        if (car == null) {
+            return null;
+        }
+
+        this.firstCar = null;
+        this.size--;
+
+        if (this.size == 0) {
+            this.truncate();
+        }
+
+        return car;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Closes and deletes the file.
+     *
+     * @throws IOException If closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    private Car readCar() throws UncheckedIOException {
+        this.ensureReadable(Short.BYTES);
+        int nameLength = Short.toUnsignedInt(this.readBuffer.getShort());
+        this.ensureReadable(nameLength + Byte.BYTES);
+
+        String name = new String(
+                this.readBuffer.array(), this.readBuffer.position(), nameLength, StandardCharsets.UTF_8
+        );
+        this.readBuffer.position(this.readBuffer.position() + nameLength);
+
+        return new Car(name, LaneTopology.fromOrdinal(this.readBuffer.get()));
+    }
+
+    /**
+     * Loads bytes to the read buffer until given number of bytes can be read from it.
+     */
+    private void ensureReadable(int bytesCount) throws UncheckedIOException {
+        try {
+            while (this.readBuffer.remaining() < bytesCount) {
+                if (this.readPosition == this.writePosition) {
+                    this.flushWrites();
+                }
+
+                this.readBuffer.compact();
+                int readBytes = this.channel.read(this.readBuffer, this.readPosition);
+                this.readBuffer.flip();
+
+                if (readBytes <= 0) {
+                    throw new IOException("Overflow store file is truncated!!!");
+                }
+
+                this.readPosition += readBytes;
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private void flushWrites() throws UncheckedIOException {
+        try {
+            this.writeBuffer.flip();
+
+            while (this.writeBuffer.hasRemaining()) {
+                this.writePosition += this.channel.write(this.writeBuffer, this.writePosition);
+            }
+
+            this.writeBuffer.clear();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private void truncate() throws UncheckedIOException {
+        try {
+            this.channel.truncate(0);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        this.writePosition = 0;
+        this.readPosition = 0;
+        this.writeBuffer.clear();
+        this.readBuffer.clear().flip();
+    }
+}
@@ -0,0 +1,47 @@
+package model.traffic;
+
+/**
+ * OverflowStore interface keeps cars that did not fit in traffic lanes of a Road with SPILL CapacityPolicy, in order
+ * they arrived. Store is used only by the thread running the simulation.
+ *
+ * <p>Example</p>
+ * <pre>
+ *     try (FileOverflowStore overflowStore = new FileOverflowStore()) {
+ *         Road road = new Road(Direction.NORTH, trafficLanes, 1000, CapacityPolicy.SPILL, overflowStore);
+ *         ...
+ *     }
+ * </pre>
+ */
+public interface OverflowStore {
+    /**
+     * Adds car at the end of the store.
+     *
+     * @param car Car that should be stored
+     */
+    void push(Car car);
+
+    /**
+     * Retrieves first stored car without removing it.
+     *
+     * @return First car, or null if store is empty
+     */
+    Car peek();
+
+    /**
+     * Removes first stored car.
+     *
+     * @return First car, or null if store is empty
+     */
+    Car poll();
+
+    /**
+     * Returns number of stored cars.
+     *
+     * @return Number of stored cars
+     */
+    int size();
+
+    default boolean isEmpty() {
+        return this.size() == 0;
+    }
+}
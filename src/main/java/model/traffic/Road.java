@@ -5,18 +5,82 @@ import model.enums.Lane;
 import model.enums.Move;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Road class represents a road in the traffic simulation.
  * It contains information about the road's direction and the traffic lanes it consists of.
+ *
+ * <p>Number of waiting cars can be limited both for each traffic lane (see TrafficLane capacity) and for the whole
+ * road. Cars offered with <i>offerCar()</i> that do not fit are handled according to CapacityPolicy of the road, so
+ * memory used by waiting cars stays bounded under overload. By default road is not limited.</p>
+ *
+ * <p>After <i>enableConcurrentIngestion()</i> cars can also be queued from many threads with
+ * <i>addCarConcurrently()</i>. Capacity of a limited road is then guarded by an atomic load counter of the road,
+ * updated by its traffic lanes, so concurrent threads can not exceed it together. Cars offered with <i>offerCar()</i>
+ * and refilled from the overflow store reserve their places against the same counters, so cars queued by other
+ * threads count against capacity of the road and its traffic lanes as well.</p>
+ *
+ * <p>Example</p>
+ * <pre>
+ *     Road road = new Road(
+ *             Direction.NORTH,
+ *             List.of(new TrafficLane(Set.of(Move.STRAIGHT), 100), new TrafficLane(Set.of(Move.LEFT), 50)),
+ *             120,
+ *             CapacityPolicy.DROP_OLDEST
+ *     );
+ * </pre>
  */
 public class Road {
+    public static final int UNLIMITED_CAPACITY = Integer.MAX_VALUE;
+
     private final Direction direction;
     private final List<TrafficLane> trafficLaneList;
+    private final int capacity;
+    private final CapacityPolicy capacityPolicy;
+    private final OverflowStore overflowStore;
+    private final boolean bounded;
+
+    private final AtomicInteger load = new AtomicInteger();
+    private volatile boolean concurrent = false;
+    private volatile boolean spilling = false;
 
     public Road(Direction direction, List<TrafficLane> trafficLaneList) {
+        this(direction, trafficLaneList, UNLIMITED_CAPACITY, CapacityPolicy.REJECT, null);
+    }
+
+    public Road(Direction direction, List<TrafficLane> trafficLaneList, int capacity, CapacityPolicy capacityPolicy)
+            throws IllegalArgumentException {
+        this(direction, trafficLaneList, capacity, capacityPolicy, null);
+    }
+
+    /**
+     * Creates road with limited number of waiting cars.
+     *
+     * @param direction Direction of the road
+     * @param trafficLaneList Traffic lanes of the road
+     * @param capacity Maximum number of cars waiting in all traffic lanes of the road
+     * @param capacityPolicy Policy applied to cars that do not fit
+     * @param overflowStore Store of spilled cars, required only by SPILL policy
+     * @throws IllegalArgumentException If capacity is not positive or SPILL policy is given without store
+     */
+    public Road(Direction direction, List<TrafficLane> trafficLaneList, int capacity, CapacityPolicy capacityPolicy,
+                OverflowStore overflowStore) throws IllegalArgumentException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(String.format("Road capacity has to be positive: %d", capacity));
+        }
+        else if (capacityPolicy == CapacityPolicy.SPILL && overflowStore == null) {
+            throw new IllegalArgumentException("SPILL policy requires overflow store!!!");
+        }
+
         this.direction = direction;
         this.trafficLaneList = trafficLaneList;
+        this.capacity = capacity;
+        this.capacityPolicy = capacityPolicy;
+        this.overflowStore = overflowStore;
+        this.spilling = overflowStore != null && ! overflowStore.isEmpty();
+        this.bounded = capacity != UNLIMITED_CAPACITY || trafficLaneList.stream()
+                .anyMatch(trafficLane -> trafficLane.getCapacity() != TrafficLane.UNLIMITED_CAPACITY);
     }
 
     /**
@@ -29,23 +93,374 @@ public class Road {
     }
 
     /**
-     * Adds a car to the appropriate traffic lane on the road based on the car's move type.
+     * Checks if any traffic lane of the road supports given move.
+     *
+     * @param move The move to check.
+     * @return `true` if the move is supported, otherwise `false`.
+     */
+    public boolean supportsMove(Move move) {
+        for (TrafficLane trafficLane : this.trafficLaneList) {
+            if (trafficLane.supportsMove(move)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks if number of waiting cars is limited, either for the road or for any of its traffic lanes.
+     *
+     * @return `true` if cars should be added with <i>offerCar()</i>, otherwise `false`
+     */
+    public boolean isBounded() {
+        return this.bounded;
+    }
+
+    public CapacityPolicy getCapacityPolicy() {
+        return this.capacityPolicy;
+    }
+
+    /**
+     * Returns number of cars waiting in the overflow store of the road.
+     *
+     * @return Number of spilled cars, 0 if road does not spill cars
+     */
+    public int getSpilledCarsCount() {
+        return this.overflowStore == null ? 0 : this.overflowStore.size();
+    }
+
+    /**
+     * Enables queueing cars from many threads with <i>addCarConcurrently()</i>. Has to be called by the thread running
+     * the simulation before other threads start adding cars.
+     */
+    public void enableConcurrentIngestion() {
+        boolean limited = this.capacity != UNLIMITED_CAPACITY;
+        this.load.set(this.countWaitingCars());
+
+        for (TrafficLane trafficLane : this.trafficLaneList) {
+            trafficLane.enableConcurrentIngestion(limited ? this.load : null);
+        }
+
+        this.concurrent = true;
+    }
+
+    /**
+     * Adds a car to the traffic lane with the lowest load among lanes supporting the car's move, respecting capacity
+     * of the road and its traffic lanes. Car that does not fit is handled according to CapacityPolicy. While road
+     * has spilled cars, new cars are spilled as well, so cars join traffic lanes in order they arrived.
      *
      * @param car The car to be added to the road.
+     * @return Car that was not added or was removed from the road (the given car if rejected, the dropped car if
+     * the oldest car was dropped), or null if no car was lost
      * @throws IllegalStateException If no traffic lane supports the car's move type.
      */
-    public void addCar(Car car) throws IllegalStateException {
+    public Car offerCar(Car car) throws IllegalStateException {
+        Move carMove = car.lane().getMove();
+
+        if (this.capacityPolicy == CapacityPolicy.SPILL && ! this.overflowStore.isEmpty()) {
+            this.checkSupportedMove(carMove);
+            this.overflowStore.push(car);
+
+            return null;
+        }
+
+        if (this.tryPlaceCar(car) != null) {
+            return null;
+        }
+
+        TrafficLane leastLoaded = this.checkSupportedMove(carMove);
+
+        return switch (this.capacityPolicy) {
+            case REJECT -> car;
+            case SPILL -> {
+                this.overflowStore.push(car);
+                this.spilling = true;
+                yield null;
+            }
+            case DROP_OLDEST -> {
+                // lane the car would join is full, or it has free space but the road is full
+                TrafficLane choice = this.findLaneWithFreeSpace(carMove);
+                TrafficLane target = choice != null ? choice : leastLoaded;
+
+                if (target.size() > 0) {
+                    yield target.replaceFirstCar(car);
+                }
+
+                TrafficLane victim = this.findLongestLane();
+
+                // with concurrent ingestion all waiting cars can still be queued, then there is no car to drop
+                if (victim.size() == 0 || ! target.tryAddCar(car)) {
+                    yield car;
+                }
+
+                yield victim.moveFirstCarKeepingRoadPlace();
+            }
+        };
+    }
+
+    /**
+     * Moves spilled cars to traffic lanes as long as the first spilled car fits.
+     *
+     * @return Number of moved cars
+     */
+    public int refillFromOverflowStore() {
+        if (this.overflowStore == null) {
+            return 0;
+        }
+
+        int movedCount = 0;
+
+        while ( ! this.overflowStore.isEmpty() && this.tryPlaceCar(this.overflowStore.peek()) != null) {
+            this.overflowStore.poll();
+            movedCount++;
+        }
+
+        this.spilling = ! this.overflowStore.isEmpty();
+
+        return movedCount;
+    }
+
+    /**
+     * Adds a car to the appropriate traffic lane on the road based on the car's move type. Capacity limits are not
+     * checked, see <i>offerCar()</i>.
+     *
+     * @param car The car to be added to the road.
+     * @return The traffic lane that the car was added to.
+     * @throws IllegalStateException If no traffic lane supports the car's move type.
+     */
+    public TrafficLane addCar(Car car) throws IllegalStateException {
         Move carMove = car.lane().getMove();
         TrafficLane choice = trafficLaneList.stream()
                 .filter(trafficLane -> trafficLane.supportsMove(carMove))
                 .min((trafficLane1, trafficLan2) ->
-                        Integer.compare(trafficLane1.size(), trafficLan2.size())
+                        Integer.compare(trafficLane1.load(), trafficLan2.load())
                 )
                 .orElseThrow(() -> new IllegalStateException(
                         String.format("There is no line that supports %s move", carMove.name())
                 ));
 
         choice.addCar(car);
+
+        return choice;
+    }
+
+    /**
+     * Queues a car to join the traffic lane with the lowest load among lanes supporting the car's move. Can be called
+     * from many threads at once after <i>enableConcurrentIngestion()</i>. Lane is chosen without locks: the car is
+     * queued only if load of the chosen lane did not change since it was compared with other lanes, otherwise the
+     * choice is repeated. If the road is limited, a place on the road is reserved first with the atomic road load
+     * counter, so road capacity holds under contention. Cars that do not fit are always rejected, whatever the
+     * CapacityPolicy of the road is, and so are cars added while the road has spilled cars waiting, which have to
+     * join traffic lanes first.
+     *
+     * @param car The car to be added to the road.
+     * @return The traffic lane that the car was queued to.
+     * @throws IllegalStateException If no traffic lane supports the car's move type, road is full, road has spilled
+     * cars waiting or concurrent ingestion of a limited road is not enabled.
+     */
+    public TrafficLane addCarConcurrently(Car car) throws IllegalStateException {
+        boolean limited = this.capacity != UNLIMITED_CAPACITY;
+
+        if (limited && ! this.concurrent) {
+            throw new IllegalStateException(
+                    String.format("Concurrent ingestion of road of direction %s is not enabled!!!", this.direction)
+            );
+        }
+        else if (this.spilling) {
+            throw new IllegalStateException(
+                    String.format("Road of direction %s has spilled cars waiting!!!", this.direction)
+            );
+        }
+
+        if ( ! this.tryReservePlace()) {
+            throw new IllegalStateException(String.format("Road of direction %s is full!!!", this.direction));
+        }
+
+        try {
+            return this.queueCar(car);
+        } catch (RuntimeException exception) {
+            this.releasePlace();
+            throw exception;
+        }
+    }
+
+    /**
+     * Adds car to the least loaded not full traffic lane supporting its move, if there is free space on the road.
+     * Should be called only from the thread running the simulation.
+     *
+     * @param car The car to be added.
+     * @return The traffic lane that the car was added to, or null if the car does not fit
+     */
+    private TrafficLane tryPlaceCar(Car car) {
+        if ( ! this.tryReservePlace()) {
+            return null;
+        }
+
+        Move carMove = car.lane().getMove();
+
+        while (true) {
+            TrafficLane choice = this.findLaneWithFreeSpace(carMove);
+
+            if (choice == null) {
+                this.releasePlace();
+                return null;
+            }
+
+            // lane can be filled by other threads in the meantime, then the choice is repeated
+            if (choice.tryAddCar(car)) {
+                return choice;
+            }
+        }
+    }
+
+    /**
+     * Reserves place for one car on the road. With concurrent ingestion enabled, a limited road reserves it in its
+     * atomic load counter.
+     *
+     * @return `true` if place was reserved, `false` if road is full
+     */
+    private boolean tryReservePlace() {
+        if (this.capacity == UNLIMITED_CAPACITY) {
+            return true;
+        }
+        else if ( ! this.concurrent) {
+            return this.countWaitingCars() < this.capacity;
+        }
+
+        while (true) {
+            int roadLoad = this.load.get();
+
+            if (roadLoad >= this.capacity) {
+                return false;
+            }
+
+            if (this.load.compareAndSet(roadLoad, roadLoad + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases place reserved with <i>tryReservePlace()</i> that was not taken by a car.
+     */
+    private void releasePlace() {
+        if (this.concurrent && this.capacity != UNLIMITED_CAPACITY) {
+            this.load.decrementAndGet();
+        }
+    }
+
+    /**
+     * Queues car to the least loaded not full traffic lane supporting its move, repeating the choice until load of
+     * the chosen lane is not changed by another thread in the meantime.
+     *
+     * @param car The car to be queued.
+     * @return The traffic lane that the car was queued to.
+     * @throws IllegalStateException If no traffic lane supports the car's move type or all such lanes are full.
+     */
+    private TrafficLane queueCar(Car car) throws IllegalStateException {
+        Move carMove = car.lane().getMove();
+
+        while (true) {
+            TrafficLane choice = null;
+            int choiceLoad = Integer.MAX_VALUE;
+            boolean moveSupported = false;
+
+            for (TrafficLane trafficLane : this.trafficLaneList) {
+                if ( ! trafficLane.supportsMove(carMove)) {
+                    continue;
+                }
+
+                moveSupported = true;
+                int load = trafficLane.load();
+
+                if (load < choiceLoad && load < trafficLane.getCapacity()) {
+                    choice = trafficLane;
+                    choiceLoad = load;
+                }
+            }
+
+            if ( ! moveSupported) {
+                throw new IllegalStateException(
+                        String.format("There is no line that supports %s move", carMove.name())
+                );
+            }
+            else if (choice == null) {
+                throw new IllegalStateException(String.format("Road of direction %s is full!!!", this.direction));
+            }
+
+            if (choice.tryQueueCar(car, choiceLoad)) {
+                return choice;
+            }
+        }
+    }
+
+    /**
+     * Finds traffic lane with the lowest load among not full lanes supporting the move. Load includes cars queued by
+     * other threads, so it is equal to the number of waiting cars unless concurrent ingestion is enabled.
+     *
+     * @param move Move of the car
+     * @return Found traffic lane, or null if there is no such lane
+     */
+    private TrafficLane findLaneWithFreeSpace(Move move) {
+        TrafficLane choice = null;
+        int choiceLoad = Integer.MAX_VALUE;
+
+        for (TrafficLane trafficLane : this.trafficLaneList) {
+            int load = trafficLane.load();
+
+            if (trafficLane.supportsMove(move) && load < trafficLane.getCapacity() && load < choiceLoad) {
+                choice = trafficLane;
+                choiceLoad = load;
+            }
+        }
+
+        return choice;
+    }
+
+    /**
+     * Finds traffic lane with the lowest number of waiting cars among lanes supporting the move.
+     *
+     * @param move Move of the car
+     * @return Found traffic lane
+     * @throws IllegalStateException If no traffic lane supports the move
+     */
+    private TrafficLane checkSupportedMove(Move move) throws IllegalStateException {
+        TrafficLane choice = null;
+
+        for (TrafficLane trafficLane : this.trafficLaneList) {
+            if (trafficLane.supportsMove(move) && (choice == null || trafficLane.size() < choice.size())) {
+                choice = trafficLane;
+            }
+        }
+
+        if (choice == null) {
+            throw new IllegalStateException(String.format("There is no line that supports %s move", move.name()));
+        }
+
+        return choice;
+    }
+
+    private TrafficLane findLongestLane() {
+        TrafficLane longest = this.trafficLaneList.getFirst();
+
+        for (TrafficLane trafficLane : this.trafficLaneList) {
+            if (trafficLane.size() > longest.size()) {
+                longest = trafficLane;
+            }
+        }
+
+        return longest;
+    }
+
+    private int countWaitingCars() {
+        int waitingCount = 0;
+
+        for (TrafficLane trafficLane : this.trafficLaneList) {
+            waitingCount += trafficLane.size();
+        }
+
+        return waitingCount;
     }
 
     /**
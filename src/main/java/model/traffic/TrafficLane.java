@@ -1,20 +1,70 @@
 package model.traffic;
 
+import model.concurrent.MpscQueue;
 import model.enums.Lane;
+import model.enums.LaneTopology;
 import model.enums.Move;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * TrafficLane class represents a lane in traffic that supports specific moves and manages a queue of cars waiting
  * for green light.
+ *
+ * <p>Waiting cars are not kept as Car objects. The queue is a growable ring buffer made of two parallel arrays: names
+ * of the cars and ordinals of Lanes they occupy. Car objects are created only when a car leaves the lane through
+ * <i>moveFirstCar()</i>.</p>
+ *
+ * <p>With concurrent ingestion enabled, cars can also be queued by many threads at once (see
+ * <i>Road.addCarConcurrently()</i>). Such cars wait in a lock-free inbound queue until the thread running the
+ * simulation accepts them with <i>acceptInboundCar()</i>, and the atomic load counter keeps number of cars waiting in
+ * the lane or queued to join it. If the road of the lane has limited capacity, the lane also updates the atomic load
+ * counter of the road. All other methods can be called only from the thread running the simulation.</p>
+ *
+ * <p>Traffic lane can be given a capacity. The ring buffer never grows beyond it, and <i>isFull()</i> tells Road to
+ * apply its CapacityPolicy instead of adding more cars. With concurrent ingestion enabled Road adds cars with
+ * <i>tryAddCar()</i>, which reserves a place in the atomic load counter, so cars queued by other threads are counted
+ * too. By default capacity is unlimited.</p>
  */
 public class TrafficLane {
+    public static final int UNLIMITED_CAPACITY = Integer.MAX_VALUE;
+
+    private static final int INITIAL_CAPACITY = 8;
+
     private final Set<Move> supportedMoves;
-    private final Queue<Car> waitingCars = new ArrayDeque<>();
+    private final int capacity;
+
+    private String[] carNames;
+    private byte[] carLaneOrdinals;
+    private int head = 0;
+    private int size = 0;
+
+    private final MpscQueue<Car> inboundCars = new MpscQueue<>();
+    private final AtomicInteger load = new AtomicInteger();
+    private AtomicInteger roadLoad = null;
+    private volatile boolean concurrent = false;
 
     public TrafficLane(Set<Move> supportedMoves) {
+        this(supportedMoves, UNLIMITED_CAPACITY);
+    }
+
+    /**
+     * Creates traffic lane holding at most given number of waiting cars.
+     *
+     * @param supportedMoves Moves supported by the traffic lane
+     * @param capacity Maximum number of waiting cars
+     * @throws IllegalArgumentException If capacity is not positive
+     */
+    public TrafficLane(Set<Move> supportedMoves, int capacity) throws IllegalArgumentException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(String.format("Traffic lane capacity has to be positive: %d", capacity));
+        }
+
         this.supportedMoves = supportedMoves;
+        this.capacity = capacity;
+        this.carNames = new String[Math.min(INITIAL_CAPACITY, capacity)];
+        this.carLaneOrdinals = new byte[this.carNames.length];
     }
 
     /**
@@ -33,20 +83,121 @@ public class TrafficLane {
      * @return An `Optional` containing the lane type if cars are waiting, otherwise an empty `Optional`.
      */
     public Optional<Lane> currentLaneType() {
-        if (this.waitingCars.isEmpty()) {
+        if (this.size == 0) {
             return Optional.empty();
         }
 
-        return Optional.ofNullable(this.waitingCars.peek().lane());
+        return Optional.of(LaneTopology.fromOrdinal(this.carLaneOrdinals[this.head]));
+    }
+
+    /**
+     * Retrieves ordinal of the lane type currently being served for first car in the queue. Unlike
+     * <i>currentLaneType()</i> it does not allocate.
+     *
+     * @return Ordinal of the lane type if cars are waiting, otherwise -1.
+     */
+    public int currentLaneOrdinal() {
+        if (this.size == 0) {
+            return -1;
+        }
+
+        return this.carLaneOrdinals[this.head];
+    }
+
+    /**
+     * Retrieves name of the first car in the queue without removing it.
+     *
+     * @return Name of the first car.
+     * @throws IllegalStateException If there are no cars waiting in the queue.
+     */
+    public String currentCarName() throws IllegalStateException {
+        if (this.size == 0) {
+            throw new IllegalStateException("currentCarName() called when no cars waiting!!!");
+        }
+
+        return this.carNames[this.head];
     }
 
     /**
-     * Adds a car to the queue of waiting cars in the traffic lane.
+     * Counts cars at the beginning of the queue that occupy the same lane type as the first car. Counting stops at
+     * the first car of another lane type or after reaching the limit.
+     *
+     * @param limit Maximum number of cars to count.
+     * @return Number of leading cars of the first car's lane type, 0 if no cars are waiting.
+     */
+    public int countLeadingCarsOfCurrentLaneType(int limit) {
+        if (this.size == 0) {
+            return 0;
+        }
+
+        byte firstCarLaneOrdinal = this.carLaneOrdinals[this.head];
+        int maxCount = Math.min(limit, this.size);
+        int count = 0;
+
+        while (count < maxCount && this.carLaneOrdinals[this.index(count)] == firstCarLaneOrdinal) {
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Adds a car to the queue of waiting cars in the traffic lane. Capacity is not checked, see <i>tryAddCar()</i>.
      *
      * @param car The car to add to the queue.
      */
     public void addCar(Car car) {
-        this.waitingCars.offer(car);
+        if (this.concurrent) {
+            this.load.incrementAndGet();
+
+            if (this.roadLoad != null) {
+                this.roadLoad.incrementAndGet();
+            }
+        }
+
+        this.appendCar(car);
+    }
+
+    /**
+     * Adds a car to the queue of waiting cars if the traffic lane is not full. With concurrent ingestion enabled, the
+     * place is reserved atomically against the load counter, which includes cars queued by other threads. Load counter
+     * of the road is not changed, as the place on the road is reserved by Road beforehand.
+     *
+     * @param car The car to add to the queue.
+     * @return `true` if car was added, `false` if the traffic lane is full
+     */
+    boolean tryAddCar(Car car) {
+        if (this.concurrent) {
+            while (true) {
+                int currentLoad = this.load.get();
+
+                if (currentLoad >= this.capacity) {
+                    return false;
+                }
+
+                if (this.load.compareAndSet(currentLoad, currentLoad + 1)) {
+                    break;
+                }
+            }
+        }
+        else if (this.isFull()) {
+            return false;
+        }
+
+        this.appendCar(car);
+
+        return true;
+    }
+
+    private void appendCar(Car car) {
+        if (this.size == this.carNames.length) {
+            this.grow();
+        }
+
+        int tail = this.index(this.size);
+        this.carNames[tail] = car.name();
+        this.carLaneOrdinals[tail] = (byte) car.lane().ordinal();
+        this.size++;
     }
 
     /**
@@ -55,7 +206,95 @@ public class TrafficLane {
      * @return The size of the queue of waiting cars.
      */
     public int size() {
-        return this.waitingCars.size();
+        return this.size;
+    }
+
+    /**
+     * Retrieves maximum number of cars that can wait in the traffic lane.
+     *
+     * @return Capacity of the traffic lane, UNLIMITED_CAPACITY if not limited
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Checks if the traffic lane reached its capacity.
+     *
+     * @return `true` if no more cars can wait in the traffic lane, otherwise `false`
+     */
+    public boolean isFull() {
+        return this.size >= this.capacity;
+    }
+
+    /**
+     * Returns the number of cars waiting in the traffic lane or queued to join it. Unlike <i>size()</i> it can be
+     * called from any thread when concurrent ingestion is enabled.
+     *
+     * @return Number of waiting and queued cars
+     */
+    public int load() {
+        return this.concurrent ? this.load.get() : this.size;
+    }
+
+    /**
+     * Enables queueing cars from many threads. Has to be called before other threads start adding cars.
+     */
+    public void enableConcurrentIngestion() {
+        this.enableConcurrentIngestion(null);
+    }
+
+    /**
+     * Enables queueing cars from many threads, keeping load counter of the road up to date.
+     *
+     * @param roadLoad Load counter of the road, or null if road is not limited
+     */
+    void enableConcurrentIngestion(AtomicInteger roadLoad) {
+        this.load.set(this.size);
+        this.roadLoad = roadLoad;
+        this.concurrent = true;
+    }
+
+    /**
+     * Checks if cars can be queued from many threads.
+     *
+     * @return `true` if concurrent ingestion is enabled, otherwise `false`
+     */
+    public boolean isConcurrent() {
+        return this.concurrent;
+    }
+
+    /**
+     * Queues car to join the traffic lane if load of the lane is still equal to the expected one. Can be called from
+     * any thread.
+     *
+     * @param car The car to queue.
+     * @param expectedLoad Load of the lane observed while choosing it.
+     * @return `true` if car was queued, `false` if load changed in the meantime.
+     */
+    boolean tryQueueCar(Car car, int expectedLoad) {
+        if ( ! this.load.compareAndSet(expectedLoad, expectedLoad + 1)) {
+            return false;
+        }
+
+        this.inboundCars.offer(car);
+
+        return true;
+    }
+
+    /**
+     * Moves next car queued from another thread to the end of the queue of waiting cars.
+     *
+     * @return Accepted car, or null if no queued car is visible
+     */
+    public Car acceptInboundCar() {
+        Car car = this.inboundCars.poll();
+
+        if (car != null) {
+            this.appendCar(car);
+        }
+
+        return car;
     }
 
     /**
@@ -65,10 +304,115 @@ public class TrafficLane {
      * @throws IllegalStateException If there are no cars waiting in the queue.
      */
     public Car moveFirstCar() throws IllegalStateException {
-        if (this.waitingCars.isEmpty()) {
+        if (this.size == 0) {
             throw new IllegalStateException("moveFirstCar() called when no cars waiting!!!");
         }
 
-        return this.waitingCars.poll();
+        Car car = this.firstCar();
+        this.removeFirstCar();
+
+        return car;
+    }
+
+    /**
+     * Removes the first car in the queue and adds given car at its end, so the number of waiting cars and loads of
+     * the traffic lane and its road do not change.
+     *
+     * @param car The car to add to the queue.
+     * @return The removed first car.
+     * @throws IllegalStateException If there are no cars waiting in the queue.
+     */
+    Car replaceFirstCar(Car car) throws IllegalStateException {
+        if (this.size == 0) {
+            throw new IllegalStateException("replaceFirstCar() called when no cars waiting!!!");
+        }
+
+        Car firstCar = this.firstCar();
+        this.dropFirstCar();
+        this.appendCar(car);
+
+        return firstCar;
+    }
+
+    /**
+     * Removes and returns the first car in the queue, keeping its place in the load counter of the road, which is
+     * taken over by a car added to another traffic lane of the road.
+     *
+     * @return The first car in the queue.
+     * @throws IllegalStateException If there are no cars waiting in the queue.
+     */
+    Car moveFirstCarKeepingRoadPlace() throws IllegalStateException {
+        if (this.size == 0) {
+            throw new IllegalStateException("moveFirstCarKeepingRoadPlace() called when no cars waiting!!!");
+        }
+
+        Car firstCar = this.firstCar();
+        this.dropFirstCar();
+
+        if (this.concurrent) {
+            this.load.decrementAndGet();
+        }
+
+        return firstCar;
+    }
+
+    /**
+     * Removes the first car in the queue of waiting cars without creating Car object.
+     *
+     * @throws IllegalStateException If there are no cars waiting in the queue.
+     */
+    public void removeFirstCar() throws IllegalStateException {
+        if (this.size == 0) {
+            throw new IllegalStateException("removeFirstCar() called when no cars waiting!!!");
+        }
+
+        this.dropFirstCar();
+
+        if (this.concurrent) {
+            this.load.decrementAndGet();
+
+            if (this.roadLoad != null) {
+                this.roadLoad.decrementAndGet();
+            }
+        }
+    }
+
+    private Car firstCar() {
+        return new Car(this.carNames[this.head], LaneTopology.fromOrdinal(this.carLaneOrdinals[this.head]));
+    }
+
+    private void dropFirstCar() {
+        this.carNames[this.head] = null;
+        this.head = this.index(1);
+        this.size--;
+    }
+
+    /**
+     * Converts position in the queue to index in the ring buffer.
+     *
+     * @param position Position counted from the first car.
+     * @return Index in the ring buffer arrays.
+     */
+    private int index(int position) {
+        return (this.head + position) % this.carNames.length;
+    }
+
+    /**
+     * Doubles capacity of the ring buffer, but not beyond capacity of the traffic lane, moving waiting cars to the
+     * beginning of new arrays.
+     */
+    private void grow() {
+        int newLength = (int) Math.min((long) this.carNames.length * 2, Math.max(this.capacity, this.size + 1));
+        String[] newCarNames = new String[newLength];
+        byte[] newCarLaneOrdinals = new byte[newLength];
+
+        for (int position = 0; position < this.size; position++) {
+            newCarNames[position] = this.carNames[this.index(position)];
+            newCarLaneOrdinals[position] = this.carLaneOrdinals[this.index(position)];
+        }
+
+        this.carNames = newCarNames;
+        this.carLaneOrdinals = newCarLaneOrdinals;
+        this.head = 0;
     }
 }
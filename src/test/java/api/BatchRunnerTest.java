@@ -0,0 +1,84 @@
+package api;
+
+import com.google.gson.Gson;
+import model.input.IntersectionLayout;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchRunnerTest {
+    private static final IntersectionLayout LAYOUT = IntersectionLayout.fromJson(new StringReader("""
+            {"roads": [
+              {"direction": "north", "trafficLanes": [["straight", "right", "left"]]},
+              {"direction": "south", "trafficLanes": [["straight", "right", "left"]]}
+            ]}
+            """));
+
+    @Test
+    void runBatch_FailingFilesAreRecordedInSummary() throws IOException {
+        // given
+        Path inputDirectory = Files.createTempDirectory("inputs");
+        Path outputDirectory = inputDirectory.resolve("outputs");
+        Files.writeString(inputDirectory.resolve("a_good.json"), """
+                {"commands": [
+                  {"type": "addVehicle", "vehicleId": "vehicle1", "startRoad": "south", "endRoad": "north"},
+                  {"type": "step"},
+                  {"type": "step"}
+                ]}
+                """);
+        Files.writeString(inputDirectory.resolve("b_malformed.json"), "{\"commands\": [{\"type\": ");
+        Files.writeString(inputDirectory.resolve("c_unknown_road.json"), """
+                {"commands": [
+                  {"type": "addVehicle", "vehicleId": "vehicle1", "startRoad": "east", "endRoad": "west"},
+                  {"type": "step"}
+                ]}
+                """);
+
+        // when
+        BatchSummary summary = BatchRunner.runBatch(
+                inputDirectory, "*.json", LAYOUT, outputDirectory, DataFormat.JSON, 2
+        );
+
+        // then
+        BatchSummary writtenSummary;
+
+        try (Reader reader = Files.newBufferedReader(outputDirectory.resolve(BatchRunner.SUMMARY_FILE_NAME))) {
+            writtenSummary = new Gson().fromJson(reader, BatchSummary.class);
+        }
+
+        List<BatchSummary.FileResult> results = writtenSummary.results();
+
+        assertEquals(3, writtenSummary.filesCount());
+        assertEquals(2, writtenSummary.failuresCount());
+        assertEquals(summary.results(), results);
+        assertEquals(List.of("a_good.json", "b_malformed.json", "c_unknown_road.json"),
+                results.stream().map(BatchSummary.FileResult::input).toList());
+        assertTrue(results.get(0).succeeded());
+        assertEquals(2, results.get(0).steps());
+        assertFalse(results.get(1).succeeded());
+        assertFalse(results.get(2).succeeded());
+    }
+
+    @Test
+    void runBatch_InputFilesWithTheSameOutputFile_ThrowsIllegalArgumentException() throws IOException {
+        // given
+        Path inputDirectory = Files.createTempDirectory("inputs");
+        Path outputDirectory = inputDirectory.resolve("outputs");
+        Files.writeString(inputDirectory.resolve("a.json"), "{\"commands\": []}");
+        Files.writeString(inputDirectory.resolve("a.ndjson"), "");
+
+        // when
+        // then
+        assertThrows(IllegalArgumentException.class, () -> BatchRunner.runBatch(
+                inputDirectory, "a.*", LAYOUT, outputDirectory, DataFormat.JSON, 2
+        ));
+        assertFalse(Files.exists(outputDirectory));
+    }
+}
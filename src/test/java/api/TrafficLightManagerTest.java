@@ -0,0 +1,85 @@
+package api;
+
+import com.google.gson.JsonParseException;
+import model.input.IntersectionLayout;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrafficLightManagerTest {
+    private static final IntersectionLayout LAYOUT = IntersectionLayout.fromJson(new StringReader("""
+            {"roads": [
+              {"direction": "north", "trafficLanes": [["straight", "right", "left"]]},
+              {"direction": "south", "trafficLanes": [["straight", "right", "left"]]}
+            ]}
+            """));
+
+    private static final String TRUNCATED_INPUT = """
+            {"commands": [
+              {"type": "addVehicle", "vehicleId": "vehicle1", "startRoad": "south", "endRoad": "north"},
+              {"type": "step"},
+              {"type":
+            """;
+
+    @Test
+    void runManagerOrThrow_WritesCompleteOutput() throws IOException {
+        // given
+        Path directory = Files.createTempDirectory("manager");
+        Path input = Files.writeString(directory.resolve("input.json"), """
+                {"commands": [
+                  {"type": "addVehicle", "vehicleId": "vehicle1", "startRoad": "south", "endRoad": "north"},
+                  {"type": "step"}
+                ]}
+                """);
+        Path output = directory.resolve("output.json");
+
+        // when
+        TrafficLightManager.runManagerOrThrow(
+                input.toString(), output.toString(), LAYOUT.createSimulation(), DataFormat.JSON, DataFormat.JSON, false
+        );
+
+        // then
+        assertTrue(Files.readString(output).contains("vehicle1"));
+    }
+
+    @Test
+    void runManagerOrThrow_MalformedInputLeavesNoOutput() throws IOException {
+        // given
+        Path directory = Files.createTempDirectory("manager");
+        Path input = Files.writeString(directory.resolve("input.json"), TRUNCATED_INPUT);
+
+        for (DataFormat outputFormat : DataFormat.values()) {
+            for (boolean pipelined : new boolean[] {false, true}) {
+                Path output = directory.resolve("output" + outputFormat.getExtension());
+
+                // when
+                assertThrows(JsonParseException.class, () -> TrafficLightManager.runManagerOrThrow(
+                        input.toString(), output.toString(), LAYOUT.createSimulation(), DataFormat.JSON, outputFormat,
+                        pipelined
+                ));
+
+                // then
+                assertFalse(Files.exists(output), outputFormat + (pipelined ? " pipelined" : ""));
+            }
+        }
+    }
+
+    @Test
+    void runManager_MalformedInputLeavesNoOutput() throws IOException {
+        // given
+        Path directory = Files.createTempDirectory("manager");
+        Path input = Files.writeString(directory.resolve("input.json"), TRUNCATED_INPUT);
+        Path output = directory.resolve("output.ndjson");
+
+        // when
+        TrafficLightManager.runManager(input.toString(), output.toString(), LAYOUT.createSimulation());
+
+        // then
+        assertFalse(Files.exists(output));
+    }
+}
@@ -0,0 +1,144 @@
+package api;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrafficLightServerTest {
+    private static final String LAYOUT = """
+            {"roads": [
+              {"direction": "north", "trafficLanes": [["straight", "right", "left"]]},
+              {"direction": "south", "trafficLanes": [["straight"]]}
+            ]}
+            """;
+
+    @Test
+    void server_CreatesIntersectionAndRunsCommands() {
+        assertTimeoutPreemptively(Duration.ofSeconds(20), () -> {
+            try (TrafficLightServer server = startServer()) {
+                HttpClient client = HttpClient.newHttpClient();
+
+                // when
+                HttpResponse<String> created = send(client, server, "POST", "", LAYOUT);
+                HttpResponse<String> commands = send(client, server, "POST", "/0/commands", """
+                        {"commands": [
+                          {"type": "addVehicle", "vehicleId": "vehicle1", "startRoad": "south", "endRoad": "north"},
+                          {"type": "addVehicle", "vehicleId": "vehicle2", "startRoad": "north", "endRoad": "south"},
+                          {"type": "addVehicle", "vehicleId": "vehicle3", "startRoad": "north", "endRoad": "south"},
+                          {"type": "step"}
+                        ]}
+                        """);
+                HttpResponse<String> queues = send(client, server, "GET", "/0/queues", null);
+                HttpResponse<String> step = send(client, server, "POST", "/0/step?stepsCount=2", null);
+                HttpResponse<String> deleted = send(client, server, "DELETE", "/0", null);
+                HttpResponse<String> missing = send(client, server, "GET", "/0/queues", null);
+
+                // then
+                assertEquals(201, created.statusCode());
+                assertEquals("{\"id\":0}", created.body());
+                assertEquals(200, commands.statusCode());
+                assertEquals("{\"stepStatuses\":[{\"leftVehicles\":[\"vehicle2\",\"vehicle1\"]}]}", commands.body());
+                assertEquals(200, queues.statusCode());
+                assertEquals(
+                        "{\"roads\":{\"NORTH\":[{\"lane\":\"NORTH_STRAIGHT\",\"size\":1}],"
+                                + "\"SOUTH\":[{\"lane\":null,\"size\":0}]}}",
+                        queues.body()
+                );
+                assertEquals(200, step.statusCode());
+                assertEquals(
+                        "{\"stepStatuses\":[{\"leftVehicles\":[\"vehicle3\"]},{\"leftVehicles\":[]}]}",
+                        step.body()
+                );
+                assertEquals(204, deleted.statusCode());
+                assertEquals(404, missing.statusCode());
+            }
+        });
+    }
+
+    @Test
+    void commands_UnsupportedLaneIsRejectedBeforeAnyCommandIsRun() {
+        assertTimeoutPreemptively(Duration.ofSeconds(20), () -> {
+            try (TrafficLightServer server = startServer()) {
+                HttpClient client = HttpClient.newHttpClient();
+                send(client, server, "POST", "", LAYOUT);
+
+                // when
+                HttpResponse<String> unsupportedMove = send(client, server, "POST", "/0/commands", """
+                        {"commands": [
+                          {"type": "addVehicle", "vehicleId": "vehicle1", "startRoad": "north", "endRoad": "south"},
+                          {"type": "addVehicle", "vehicleId": "vehicle2", "startRoad": "south", "endRoad": "west"}
+                        ]}
+                        """);
+                HttpResponse<String> unknownRoad = send(client, server, "POST", "/0/commands", """
+                        {"commands": [
+                          {"type": "addVehicle", "vehicleId": "vehicle1", "startRoad": "north", "endRoad": "south"},
+                          {"type": "addVehicle", "vehicleId": "vehicle3", "startRoad": "east", "endRoad": "west"}
+                        ]}
+                        """);
+                HttpResponse<String> queues = send(client, server, "GET", "/0/queues", null);
+
+                // then
+                assertEquals(400, unsupportedMove.statusCode());
+                assertTrue(unsupportedMove.body().contains("vehicle2"));
+                assertEquals(400, unknownRoad.statusCode());
+                assertTrue(unknownRoad.body().contains("vehicle3"));
+                assertEquals(
+                        "{\"roads\":{\"NORTH\":[{\"lane\":null,\"size\":0}],\"SOUTH\":[{\"lane\":null,\"size\":0}]}}",
+                        queues.body()
+                );
+            }
+        });
+    }
+
+    @Test
+    void step_IncorrectQueryIsRejected() {
+        assertTimeoutPreemptively(Duration.ofSeconds(20), () -> {
+            try (TrafficLightServer server = startServer()) {
+                HttpClient client = HttpClient.newHttpClient();
+                send(client, server, "POST", "", LAYOUT);
+
+                // when
+                HttpResponse<String> unknownParameter = send(client, server, "POST", "/0/step?x=1&stepsCount=5", null);
+                HttpResponse<String> negativeStepsCount = send(client, server, "POST", "/0/step?stepsCount=-1", null);
+                HttpResponse<String> wrongMethod = send(client, server, "GET", "/0/step", null);
+                HttpResponse<String> unknownIntersection = send(client, server, "POST", "/7/step", null);
+
+                // then
+                assertEquals(400, unknownParameter.statusCode());
+                assertEquals(400, negativeStepsCount.statusCode());
+                assertEquals(405, wrongMethod.statusCode());
+                assertEquals(404, unknownIntersection.statusCode());
+            }
+        });
+    }
+
+    private static TrafficLightServer startServer() throws IOException {
+        TrafficLightServer server = new TrafficLightServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+
+        return server;
+    }
+
+    private static HttpResponse<String> send(HttpClient client, TrafficLightServer server, String method, String path,
+                                             String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(String.format(
+                        "http://localhost:%d%s%s", server.getPort(), TrafficLightServer.INTERSECTIONS_PATH, path
+                )))
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
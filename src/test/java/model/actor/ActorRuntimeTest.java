@@ -0,0 +1,187 @@
+package model.actor;
+
+import model.commands.AddVehicle;
+import model.commands.StepMany;
+import model.enums.Direction;
+import model.enums.Lane;
+import model.enums.Move;
+import model.simulation.Simulation;
+import model.traffic.Car;
+import model.traffic.Road;
+import model.traffic.TrafficLane;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActorRuntimeTest {
+    private final static Set<Move> all = Set.of(Move.STRAIGHT, Move.RIGHT, Move.LEFT);
+
+    @Test
+    void actor_ProcessesMessagesInOrder() {
+        try (ActorRuntime runtime = new ActorRuntime()) {
+            // given
+            IntersectionActor actor = runtime.spawn(getSimulation());
+
+            // when
+            actor.addVehicle(new Car("vehicle1", Lane.NORTH_STRAIGHT));
+            actor.send(new AddVehicle("vehicle2", Lane.SOUTH_STRAIGHT));
+            CompletableFuture<List<Car>> departures = actor.step();
+            CompletableFuture<List<Car>> nextDepartures = actor.send(new StepMany(2));
+
+            // then
+            assertEquals(
+                    Set.of(new Car("vehicle1", Lane.NORTH_STRAIGHT), new Car("vehicle2", Lane.SOUTH_STRAIGHT)),
+                    Set.copyOf(departures.join())
+            );
+            assertEquals(List.of(), nextDepartures.join());
+        }
+    }
+
+    @Test
+    void actor_FailedMessageDoesNotStopActor() {
+        try (ActorRuntime runtime = new ActorRuntime()) {
+            // given
+            IntersectionActor actor = runtime.spawn(getSimulation());
+
+            // when
+            CompletableFuture<List<List<Car>>> failed = actor.stepMany(-1);
+            CompletableFuture<List<Car>> departures = actor.step();
+
+            // then
+            CompletionException exception = assertThrows(CompletionException.class, failed::join);
+            assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+            assertEquals(List.of(), departures.join());
+        }
+    }
+
+    @Test
+    void runtime_ManySendersAndActors() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            // given
+            int actorsCount = 2000;
+            int sendersCount = 8;
+            int carsPerSender = 5;
+            List<CompletableFuture<Void>> replies = new ArrayList<>();
+
+            try (ActorRuntime runtime = new ActorRuntime(4)) {
+                for (int actorId = 0; actorId < actorsCount; actorId++) {
+                    runtime.spawn(getSimulation());
+                }
+
+                // when
+                List<Thread> senders = new ArrayList<>();
+
+                for (int senderId = 0; senderId < sendersCount; senderId++) {
+                    int finalSenderId = senderId;
+                    senders.add(Thread.ofPlatform().start(() -> {
+                        List<CompletableFuture<Void>> senderReplies = new ArrayList<>();
+
+                        for (int actorId = 0; actorId < actorsCount; actorId++) {
+                            for (int carId = 0; carId < carsPerSender; carId++) {
+                                senderReplies.add(runtime.getActor(actorId).addVehicle(
+                                        new Car(finalSenderId + "_" + carId, Lane.NORTH_STRAIGHT)
+                                ));
+                            }
+                        }
+
+                        synchronized (replies) {
+                            replies.addAll(senderReplies);
+                        }
+                    }));
+                }
+
+                for (Thread sender : senders) {
+                    sender.join();
+                }
+
+                CompletableFuture.allOf(replies.toArray(CompletableFuture[]::new)).join();
+                int waitingCars = runtime.getActor(7).ask(simulation -> simulation.snapshot().roads().values().stream()
+                        .flatMap(List::stream)
+                        .mapToInt(trafficLane -> trafficLane.size())
+                        .sum()
+                ).join();
+
+                // then
+                List<ActorMetrics> metrics = runtime.getMetrics();
+
+                assertEquals(sendersCount * carsPerSender, waitingCars);
+                assertEquals(actorsCount, metrics.size());
+                assertEquals(7, metrics.get(7).actorId());
+                assertEquals(sendersCount * carsPerSender + 1, metrics.get(7).processedMessagesCount());
+                assertEquals(sendersCount * carsPerSender, metrics.get(0).processedMessagesCount());
+                assertEquals(0, metrics.get(0).mailboxDepth());
+                assertTrue(metrics.get(0).maxLatencyNanos() >= metrics.get(0).averageLatencyNanos());
+            }
+        });
+    }
+
+    @Test
+    void close_ProcessesSentMessagesAndRejectsNewOnes() {
+        // given
+        ActorRuntime runtime = new ActorRuntime();
+        IntersectionActor actor = runtime.spawn(getSimulation());
+        List<CompletableFuture<Void>> replies = new ArrayList<>();
+
+        for (int carId = 0; carId < 1000; carId++) {
+            replies.add(actor.addVehicle(new Car("vehicle" + carId, Lane.SOUTH_STRAIGHT)));
+        }
+
+        // when
+        runtime.close();
+
+        // then
+        assertTrue(replies.stream().allMatch(reply -> reply.isDone() && ! reply.isCompletedExceptionally()));
+        assertThrows(IllegalStateException.class, actor::step);
+        assertThrows(IllegalStateException.class, () -> runtime.spawn(getSimulation()));
+    }
+
+    @Test
+    void actor_MessagesSentBeforeExecutorIsClosedAreProcessed() {
+        // given
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        IntersectionActor actor = new IntersectionActor(0, getSimulation(), executor, 1);
+        executor.close();
+
+        // when
+        CompletableFuture<Void> added = actor.addVehicle(new Car("vehicle1", Lane.SOUTH_STRAIGHT));
+        CompletableFuture<List<Car>> departures = actor.step();
+
+        // then
+        assertNull(added.join());
+        assertEquals(List.of(new Car("vehicle1", Lane.SOUTH_STRAIGHT)), departures.join());
+        assertEquals(0, actor.getMetrics().mailboxDepth());
+    }
+
+    @Test
+    void actor_ErrorInMessageDoesNotStopActor() {
+        // given
+        IntersectionActor actor = new IntersectionActor(0, getSimulation(), Runnable::run, 1);
+
+        // when
+        // direct executor runs the message on this thread, so the error reaches the sender
+        assertThrows(StackOverflowError.class, () -> actor.ask(simulation -> {
+            throw new StackOverflowError();
+        }));
+        CompletableFuture<List<Car>> departures = actor.step();
+
+        // then
+        assertEquals(List.of(), departures.join());
+        assertEquals(0, actor.getMetrics().mailboxDepth());
+    }
+
+    private static Simulation getSimulation() {
+        return new Simulation(List.of(
+                new Road(Direction.NORTH, List.of(new TrafficLane(all))),
+                new Road(Direction.SOUTH, List.of(new TrafficLane(all)))
+        ));
+    }
+}
@@ -0,0 +1,147 @@
+package model.binary;
+
+import model.commands.AddVehicle;
+import model.commands.Command;
+import model.commands.Step;
+import model.commands.StepMany;
+import model.enums.Lane;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryCommandStreamTest {
+
+    @Test
+    void next_ReadsWrittenCommands() throws IOException {
+        // given
+        List<Command> commands = List.of(
+                new AddVehicle("vehicle1", Lane.SOUTH_STRAIGHT),
+                new AddVehicle("pojazd ż", Lane.WEST_LEFT),
+                Step.INSTANCE,
+                new AddVehicle("vehicle1", Lane.NORTH_RIGHT),
+                new StepMany(300)
+        );
+        Path path = Files.createTempFile("commands", ".bin");
+
+        try {
+            // when
+            writeCommands(path, commands);
+
+            // then
+            assertEquals(commands, readCommands(path, MappedInput.DEFAULT_WINDOW_SIZE));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void next_RemapsSmallWindows() throws IOException {
+        // given
+        Random random = new Random(1);
+        Lane[] lanes = Lane.values();
+        List<Command> commands = new ArrayList<>();
+
+        for (int i = 0; i < 5000; i++) {
+            commands.add(new AddVehicle("vehicle" + random.nextInt(1000), lanes[random.nextInt(lanes.length)]));
+            commands.add(random.nextBoolean() ? Step.INSTANCE : new StepMany(random.nextInt(100_000)));
+        }
+
+        Path path = Files.createTempFile("commands", ".bin");
+
+        try {
+            // when
+            writeCommands(path, commands);
+
+            // then
+            assertEquals(commands, readCommands(path, 7));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void constructor_WrongMagic() throws IOException {
+        // given
+        Path path = Files.createTempFile("results", ".bin");
+
+        try {
+            new BinaryResultWriter(Files.newOutputStream(path)).close();
+
+            // when then
+            assertThrows(IOException.class, () -> new BinaryCommandStream(path));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void next_TruncatedFile() throws IOException {
+        // given
+        Path path = Files.createTempFile("commands", ".bin");
+
+        try {
+            writeCommands(path, List.of(new AddVehicle("vehicle1", Lane.SOUTH_STRAIGHT)));
+            byte[] bytes = Files.readAllBytes(path);
+            Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+
+            // when
+            try (BinaryCommandStream commands = new BinaryCommandStream(path)) {
+                // then
+                assertThrows(IllegalArgumentException.class, commands::next);
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    void next_NegativeLaneOrdinal() throws IOException {
+        // given
+        Path path = Files.createTempFile("commands", ".bin");
+
+        try {
+            writeCommands(path, List.of(new AddVehicle("vehicle1", Lane.SOUTH_STRAIGHT)));
+            byte[] bytes = Files.readAllBytes(path);
+            byte[] negativeOrdinal = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+            byte[] malformedBytes = Arrays.copyOf(bytes, bytes.length - 1 + negativeOrdinal.length);
+            System.arraycopy(negativeOrdinal, 0, malformedBytes, bytes.length - 1, negativeOrdinal.length);
+            Files.write(path, malformedBytes);
+
+            try (BinaryCommandStream commands = new BinaryCommandStream(path)) {
+                // when
+                IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, commands::next);
+
+                // then
+                assertTrue(exception.getMessage().contains("Wrong Lane ordinal: -1"));
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    private static void writeCommands(Path path, List<Command> commands) throws IOException {
+        try (BinaryCommandWriter writer = new BinaryCommandWriter(Files.newOutputStream(path))) {
+            for (Command command : commands) {
+                writer.write(command);
+            }
+        }
+    }
+
+    private static List<Command> readCommands(Path path, long windowSize) throws IOException {
+        List<Command> commands = new ArrayList<>();
+
+        try (BinaryCommandStream commandStream = new BinaryCommandStream(path, windowSize)) {
+            commandStream.forEachRemaining(commands::add);
+        }
+
+        return commands;
+    }
+}
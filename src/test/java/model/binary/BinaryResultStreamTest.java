@@ -0,0 +1,44 @@
+package model.binary;
+
+import model.enums.Lane;
+import model.traffic.Car;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryResultStreamTest {
+
+    @Test
+    void next_ReadsWrittenStepStatuses() throws IOException {
+        // given
+        Path path = Files.createTempFile("results", ".bin");
+        List<List<String>> stepStatuses = new ArrayList<>();
+
+        try {
+            // when
+            try (BinaryResultWriter writer = new BinaryResultWriter(Files.newOutputStream(path))) {
+                writer.notifySimulationStep(List.of(
+                        new Car("vehicle1", Lane.SOUTH_STRAIGHT),
+                        new Car("vehicle2", Lane.NORTH_STRAIGHT)
+                ));
+                writer.notifySimulationStep(List.of());
+                writer.writeStepStatus(List.of("vehicle3"));
+            }
+
+            try (BinaryResultStream stream = new BinaryResultStream(path, 3)) {
+                stream.forEachRemaining(stepStatuses::add);
+            }
+
+            // then
+            assertEquals(List.of(List.of("vehicle1", "vehicle2"), List.of(), List.of("vehicle3")), stepStatuses);
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
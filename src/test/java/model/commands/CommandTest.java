@@ -0,0 +1,46 @@
+package model.commands;
+
+import model.enums.Lane;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommandTest {
+
+    @Test
+    void fromMap_ValidCommands() {
+        assertEquals(
+                new AddVehicle("vehicle1", Lane.WEST_RIGHT),
+                Command.fromMap(
+                        Map.of("type", "addVehicle", "vehicleId", "vehicle1", "startRoad", "west", "endRoad", "south")
+                )
+        );
+        assertSame(Step.INSTANCE, Command.fromMap(Map.of("type", "step")));
+        assertEquals(new StepMany(7), Command.fromMap(Map.of("type", "stepMany", "stepsCount", "7")));
+    }
+
+    @Test
+    void fromMap_UnknownType() {
+        assertThrows(IllegalArgumentException.class, () -> Command.fromMap(Map.of("type", "jump")));
+        assertThrows(IllegalArgumentException.class, () -> Command.fromMap(Map.of()));
+    }
+
+    @Test
+    void fromMap_WrongStructure() {
+        assertThrows(IllegalArgumentException.class, () -> Command.fromMap(Map.of("type", "addVehicle")));
+        assertThrows(IllegalArgumentException.class, () -> Command.fromMap(
+                Map.of("type", "addVehicle", "vehicleId", "vehicle1", "startRoad", "west", "endRoad", "invalid")
+        ));
+        assertThrows(IllegalArgumentException.class, () -> Command.fromMap(Map.of("type", "stepMany")));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> Command.fromMap(Map.of("type", "stepMany", "stepsCount", "-1"))
+        );
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> Command.fromMap(Map.of("type", "stepMany", "stepsCount", "x"))
+        );
+    }
+}
@@ -0,0 +1,77 @@
+package model.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MpscQueueTest {
+
+    @Test
+    void offerPoll_FifoOrder() {
+        // given
+        MpscQueue<Integer> queue = new MpscQueue<>();
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            queue.offer(i);
+        }
+
+        // then
+        for (int i = 0; i < 5; i++) {
+            assertFalse(queue.isEmpty());
+            assertEquals(Integer.valueOf(i), queue.poll());
+        }
+
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+        assertThrows(NullPointerException.class, () -> queue.offer(null));
+    }
+
+    @Test
+    void offerPoll_ManyProducersKeepOrderOfEachProducer() {
+        assertTimeoutPreemptively(Duration.ofSeconds(20), () -> {
+            // given
+            int producersCount = 4;
+            int itemsCount = 100_000;
+            MpscQueue<long[]> queue = new MpscQueue<>();
+            List<Thread> producers = new ArrayList<>();
+
+            for (int producerId = 0; producerId < producersCount; producerId++) {
+                long id = producerId;
+                producers.add(Thread.ofPlatform().start(() -> {
+                    for (long item = 0; item < itemsCount; item++) {
+                        queue.offer(new long[]{id, item});
+                    }
+                }));
+            }
+
+            // when
+            long[] nextItems = new long[producersCount];
+            int received = 0;
+
+            while (received < producersCount * itemsCount) {
+                long[] item = queue.poll();
+
+                if (item == null) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+
+                // then
+                assertEquals(nextItems[(int) item[0]], item[1]);
+                nextItems[(int) item[0]]++;
+                received++;
+            }
+
+            for (Thread producer : producers) {
+                producer.join();
+            }
+
+            assertNull(queue.poll());
+        });
+    }
+}
@@ -0,0 +1,101 @@
+package model.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpscRingBufferTest {
+
+    @Test
+    void constructor_CapacityRoundedToPowerOfTwo() {
+        assertEquals(1, new SpscRingBuffer<Integer>(1).capacity());
+        assertEquals(8, new SpscRingBuffer<Integer>(5).capacity());
+        assertEquals(8, new SpscRingBuffer<Integer>(8).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new SpscRingBuffer<Integer>(0));
+    }
+
+    @Test
+    void offerPoll_FifoOrderAndFullBuffer() {
+        // given
+        SpscRingBuffer<Integer> buffer = new SpscRingBuffer<>(4);
+
+        // when
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+
+        // then
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(Integer.valueOf(i), buffer.poll());
+        }
+
+        assertNull(buffer.poll());
+        assertThrows(NullPointerException.class, () -> buffer.offer(null));
+    }
+
+    @Test
+    void putTake_PreservesOrderBetweenThreads() {
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            // given
+            SpscRingBuffer<Integer> buffer = new SpscRingBuffer<>(16);
+            int itemsCount = 200_000;
+            List<Integer> received = new ArrayList<>(itemsCount);
+
+            Thread consumer = new Thread(() -> {
+                try {
+                    for (int i = 0; i < itemsCount; i++) {
+                        received.add(buffer.take());
+                    }
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            // when
+            consumer.start();
+
+            for (int i = 0; i < itemsCount; i++) {
+                buffer.put(i);
+            }
+
+            consumer.join();
+
+            // then
+            assertEquals(itemsCount, received.size());
+
+            for (int i = 0; i < itemsCount; i++) {
+                assertEquals(Integer.valueOf(i), received.get(i));
+            }
+        });
+    }
+
+    @Test
+    void take_Interrupted() throws InterruptedException {
+        // given
+        SpscRingBuffer<Integer> buffer = new SpscRingBuffer<>(4);
+        List<Throwable> thrown = new ArrayList<>();
+        Thread consumer = new Thread(() -> {
+            try {
+                buffer.take();
+            } catch (InterruptedException exception) {
+                thrown.add(exception);
+            }
+        });
+
+        // when
+        consumer.start();
+        consumer.interrupt();
+        consumer.join(10_000);
+
+        // then
+        assertFalse(consumer.isAlive());
+        assertEquals(1, thrown.size());
+    }
+}
@@ -22,6 +22,14 @@ class DirectionTest {
         );
     }
 
+    @Test
+    void opposite_ReturnsOppositeDirection() {
+        assertEquals(Direction.SOUTH, Direction.NORTH.opposite());
+        assertEquals(Direction.WEST, Direction.EAST.opposite());
+        assertEquals(Direction.NORTH, Direction.SOUTH.opposite());
+        assertEquals(Direction.EAST, Direction.WEST.opposite());
+    }
+
     @Test
     void fromInteger_ValidValues() {
         assertEquals(Direction.NORTH, Direction.fromInteger(0));
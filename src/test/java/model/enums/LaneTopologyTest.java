@@ -0,0 +1,87 @@
+package model.enums;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LaneTopologyTest {
+
+    @Test
+    void fromOrdinal_ValidValues() {
+        for (Lane lane : Lane.values()) {
+            assertEquals(lane, LaneTopology.fromOrdinal(lane.ordinal()));
+        }
+    }
+
+    @Test
+    void fromOrdinal_InvalidValues() {
+        assertThrows(IllegalArgumentException.class, () -> LaneTopology.fromOrdinal(-1));
+        assertThrows(IllegalArgumentException.class, () -> LaneTopology.fromOrdinal(LaneTopology.LANES_COUNT));
+    }
+
+    @Test
+    void getMoveAndDirection_MatchLaneOrdinal() {
+        for (Lane lane : Lane.values()) {
+            assertEquals(Move.fromInteger(lane.ordinal() % Move.count()), LaneTopology.getMove(lane));
+            assertEquals(Direction.fromInteger(lane.ordinal() / Move.count()), LaneTopology.getDirection(lane));
+        }
+    }
+
+    @Test
+    void getLane_MatchesMoveBetweenDirections() {
+        assertEquals(Lane.NORTH_RIGHT, LaneTopology.getLane(Direction.NORTH, Direction.WEST));
+        assertEquals(Lane.EAST_STRAIGHT, LaneTopology.getLane(Direction.EAST, Direction.WEST));
+        assertEquals(Lane.SOUTH_LEFT, LaneTopology.getLane(Direction.SOUTH, Direction.WEST));
+        assertEquals(Lane.WEST_LEFT, LaneTopology.getLane(Direction.WEST, Direction.WEST));
+
+        for (Direction start : Direction.values()) {
+            for (Direction end : Direction.values()) {
+                assertEquals(start, LaneTopology.getLane(start, end).getDirection());
+            }
+        }
+    }
+
+    @Test
+    void getEndDirection_InverseOfGetLane() {
+        for (Lane lane : Lane.values()) {
+            assertEquals(lane, LaneTopology.getLane(lane.getDirection(), LaneTopology.getEndDirection(lane)));
+        }
+    }
+
+    @Test
+    void getCompatibilityMask_IsSymmetric() {
+        for (Lane lane : Lane.values()) {
+            for (Lane other : Lane.values()) {
+                assertEquals(LaneTopology.collide(lane, other), LaneTopology.collide(other, lane));
+            }
+        }
+    }
+
+    @Test
+    void getCompatibilityMask_SameDirectionLanesAreCompatible() {
+        int northMask = LaneTopology.getLaneBit(Lane.NORTH_RIGHT) |
+                LaneTopology.getLaneBit(Lane.NORTH_STRAIGHT) |
+                LaneTopology.getLaneBit(Lane.NORTH_LEFT);
+
+        assertEquals(northMask, LaneTopology.getCompatibilityMask(Lane.NORTH_LEFT) & northMask);
+        assertTrue(LaneTopology.isCompatible(northMask));
+    }
+
+    @Test
+    void getCompatibilityMask_OppositeStraightLanes() {
+        int southStraightMask = LaneTopology.getCompatibilityMask(Lane.SOUTH_STRAIGHT);
+
+        assertNotEquals(0, southStraightMask & LaneTopology.getLaneBit(Lane.NORTH_STRAIGHT));
+        assertEquals(0, southStraightMask & LaneTopology.getLaneBit(Lane.NORTH_LEFT));
+        assertEquals(0, southStraightMask & LaneTopology.getLaneBit(Lane.EAST_STRAIGHT));
+        assertEquals(0, southStraightMask & ~LaneTopology.ALL_LANES_MASK);
+    }
+
+    @Test
+    void isCompatible_CollidingLanes() {
+        int mask = LaneTopology.getLaneBit(Lane.SOUTH_STRAIGHT) | LaneTopology.getLaneBit(Lane.EAST_STRAIGHT);
+
+        assertFalse(LaneTopology.isCompatible(mask));
+        assertTrue(LaneTopology.isCompatible(0));
+    }
+}
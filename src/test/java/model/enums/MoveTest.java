@@ -5,6 +5,21 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
 class MoveTest {
+    @Test
+    void fromString_ValidValues() {
+        assertEquals(Move.RIGHT, Move.fromString("right"));
+        assertEquals(Move.STRAIGHT, Move.fromString("straight"));
+        assertEquals(Move.LEFT, Move.fromString("left"));
+    }
+
+    @Test
+    void fromString_InvalidValue() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> Move.fromString("backwards")
+        );
+    }
+
     @Test
     void fromInteger_ValidValues() {
         assertEquals(Move.RIGHT, Move.fromInteger(0));
@@ -0,0 +1,185 @@
+package model.graphs;
+
+import model.enums.Lane;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitsetWeightedBronKerboschTest {
+
+    @Test
+    void findMaximumWeightClique_AllVerticesInClique() {
+        BitsetWeightedBronKerbosch algorithm = new BitsetWeightedBronKerbosch(4);
+
+        for (int vertex = 0; vertex < 4; vertex++) {
+            algorithm.setWeight(vertex, vertex + 1);
+
+            for (int neighbour = vertex + 1; neighbour < 4; neighbour++) {
+                algorithm.addEdge(vertex, neighbour);
+            }
+        }
+
+        long[] maxClique = algorithm.findMaximumWeightClique();
+
+        assertEquals(0b1111L, maxClique[0]);
+        assertEquals(10, algorithm.getMaximumCliqueWeight());
+        assertTrue(algorithm.getExploredNodesCount() > 0);
+    }
+
+    @Test
+    void findMaximumWeightClique_MaxWeightCliqueHasLessVerticesThanMaxSizeClique() {
+        BitsetWeightedBronKerbosch algorithm = new BitsetWeightedBronKerbosch(5);
+        int[] weights = {3, 100, 2, 1, 2};
+
+        for (int vertex = 0; vertex < weights.length; vertex++) {
+            algorithm.setWeight(vertex, weights[vertex]);
+        }
+
+        algorithm.addEdge(0, 2);
+        algorithm.addEdge(0, 3);
+        algorithm.addEdge(0, 4);
+        algorithm.addEdge(1, 2);
+        algorithm.addEdge(3, 4);
+
+        long[] maxClique = algorithm.findMaximumWeightClique();
+
+        assertEquals(0b00110L, maxClique[0]);
+        assertEquals(102, algorithm.getMaximumCliqueWeight());
+    }
+
+    @Test
+    void findMaximumWeightClique_EmptyGraph() {
+        BitsetWeightedBronKerbosch algorithm = new BitsetWeightedBronKerbosch(0);
+        long[] maxClique = algorithm.findMaximumWeightClique();
+
+        assertEquals(0L, maxClique[0]);
+        assertEquals(0, algorithm.getMaximumCliqueWeight());
+    }
+
+    @Test
+    void findMaximumWeightClique_AllowedVerticesOnly() {
+        BitsetWeightedBronKerbosch algorithm = new BitsetWeightedBronKerbosch(3);
+        algorithm.setWeight(0, 1);
+        algorithm.setWeight(1, 5);
+        algorithm.setWeight(2, 1);
+        algorithm.addEdge(0, 2);
+
+        long[] maxClique = algorithm.findMaximumWeightClique(new long[]{0b101L});
+
+        assertEquals(0b101L, maxClique[0]);
+        assertEquals(2, algorithm.getMaximumCliqueWeight());
+    }
+
+    @Test
+    void findMaximumWeightClique_MultipleWordsGraph() {
+        int vertexCount = 150;
+        int[] plantedClique = {3, 64, 70, 127, 128, 149};
+        Random random = new Random(7);
+        BitsetWeightedBronKerbosch algorithm = new BitsetWeightedBronKerbosch(vertexCount);
+
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            algorithm.setWeight(vertex, 1);
+
+            for (int neighbour = vertex + 1; neighbour < vertexCount; neighbour++) {
+                if (random.nextInt(10) == 0) {
+                    algorithm.addEdge(vertex, neighbour);
+                }
+            }
+        }
+
+        for (int vertex : plantedClique) {
+            algorithm.setWeight(vertex, 1000);
+
+            for (int neighbour : plantedClique) {
+                algorithm.addEdge(vertex, neighbour);
+            }
+        }
+
+        long[] maxClique = algorithm.findMaximumWeightClique();
+
+        for (int vertex : plantedClique) {
+            assertNotEquals(0L, maxClique[vertex / Long.SIZE] & (1L << (vertex % Long.SIZE)));
+        }
+
+        assertTrue(algorithm.getMaximumCliqueWeight() >= 1000 * plantedClique.length);
+    }
+
+    @Test
+    void findMaximumWeightClique_MatchesBruteForceOnRandomGraphs() {
+        Random random = new Random(11);
+        int vertexCount = 14;
+
+        for (int iteration = 0; iteration < 100; iteration++) {
+            BitsetWeightedBronKerbosch algorithm = new BitsetWeightedBronKerbosch(vertexCount);
+            int[] weights = new int[vertexCount];
+            int[] neighbourMasks = new int[vertexCount];
+
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                weights[vertex] = random.nextInt(20);
+                algorithm.setWeight(vertex, weights[vertex]);
+
+                for (int neighbour = vertex + 1; neighbour < vertexCount; neighbour++) {
+                    if (random.nextBoolean()) {
+                        algorithm.addEdge(vertex, neighbour);
+                        neighbourMasks[vertex] |= 1 << neighbour;
+                        neighbourMasks[neighbour] |= 1 << vertex;
+                    }
+                }
+            }
+
+            algorithm.findMaximumWeightClique();
+
+            assertEquals(bruteForceMaximumWeight(weights, neighbourMasks), algorithm.getMaximumCliqueWeight());
+        }
+    }
+
+    @Test
+    void findMaximumWeightClique_MatchesWeightedBronKerboschOnLanes() {
+        Random random = new Random(3);
+
+        for (int iteration = 0; iteration < 500; iteration++) {
+            List<Vertex<Lane>> vertices = new ArrayList<>();
+
+            for (Lane lane : Lane.values()) {
+                if (random.nextBoolean()) {
+                    vertices.add(new Vertex<>(lane, 1 + random.nextInt(10)));
+                }
+            }
+
+            Set<Vertex<Lane>> expected = new WeightedBronKerbosch(Graph.fromLanes(vertices)).findMaximumWeightClique();
+            int expectedWeight = expected.stream().mapToInt(Vertex::weight).sum();
+
+            BitsetWeightedBronKerbosch algorithm = BitsetWeightedBronKerbosch.fromLanes(vertices);
+            algorithm.findMaximumWeightClique();
+
+            assertEquals(expectedWeight, algorithm.getMaximumCliqueWeight());
+        }
+    }
+
+    private static int bruteForceMaximumWeight(int[] weights, int[] neighbourMasks) {
+        int best = 0;
+
+        for (int subset = 1; subset < (1 << weights.length); subset++) {
+            boolean isClique = true;
+            int weight = 0;
+
+            for (int vertex = 0; vertex < weights.length && isClique; vertex++) {
+                if ((subset & (1 << vertex)) != 0) {
+                    isClique = (subset & ~(1 << vertex) & ~neighbourMasks[vertex]) == 0;
+                    weight += weights[vertex];
+                }
+            }
+
+            if (isClique) {
+                best = Math.max(best, weight);
+            }
+        }
+
+        return best;
+    }
+}
@@ -0,0 +1,93 @@
+package model.graphs;
+
+import model.enums.Lane;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingPhaseSolverTest {
+
+    @Test
+    void findMaximumWeightClique_RepeatedWeightsAreCached() {
+        int[] solverCalls = {0};
+        PhaseSolver countingPhaseSolver = vertices -> {
+            solverCalls[0]++;
+            return new PhaseTableSolver().findMaximumWeightClique(vertices);
+        };
+        CachingPhaseSolver cachingPhaseSolver = new CachingPhaseSolver(countingPhaseSolver, 16);
+
+        Vertex<Lane> v1 = new Vertex<>(Lane.SOUTH_STRAIGHT, 1);
+        Vertex<Lane> v2 = new Vertex<>(Lane.NORTH_STRAIGHT, 1);
+        Vertex<Lane> v3 = new Vertex<>(Lane.WEST_STRAIGHT, 1);
+
+        Set<Vertex<Lane>> firstClique = cachingPhaseSolver.findMaximumWeightClique(List.of(v1, v2, v3));
+        Set<Vertex<Lane>> secondClique = cachingPhaseSolver.findMaximumWeightClique(List.of(v3, v2, v1));
+
+        assertEquals(Set.of(v1, v2), firstClique);
+        assertEquals(firstClique, secondClique);
+        assertEquals(1, solverCalls[0]);
+        assertEquals(1, cachingPhaseSolver.getHitsCount());
+        assertEquals(1, cachingPhaseSolver.getMissesCount());
+        assertEquals(1, cachingPhaseSolver.size());
+    }
+
+    @Test
+    void findMaximumWeightClique_DifferentWeightsAreNotMixed() {
+        CachingPhaseSolver cachingPhaseSolver = new CachingPhaseSolver(new PhaseTableSolver(), 16);
+
+        Vertex<Lane> v1 = new Vertex<>(Lane.SOUTH_STRAIGHT, 1);
+        Vertex<Lane> v2 = new Vertex<>(Lane.WEST_STRAIGHT, 2);
+        Vertex<Lane> v3 = new Vertex<>(Lane.SOUTH_STRAIGHT, 3);
+
+        assertEquals(Set.of(v2), cachingPhaseSolver.findMaximumWeightClique(List.of(v1, v2)));
+        assertEquals(Set.of(v3), cachingPhaseSolver.findMaximumWeightClique(List.of(v3, v2)));
+        assertEquals(0, cachingPhaseSolver.getHitsCount());
+        assertEquals(2, cachingPhaseSolver.getMissesCount());
+    }
+
+    @Test
+    void findMaximumWeightClique_LeastRecentlyUsedResultIsEvicted() {
+        CachingPhaseSolver cachingPhaseSolver = new CachingPhaseSolver(new PhaseTableSolver(), 2);
+
+        List<Vertex<Lane>> vertices1 = List.of(new Vertex<>(Lane.SOUTH_STRAIGHT, 1));
+        List<Vertex<Lane>> vertices2 = List.of(new Vertex<>(Lane.SOUTH_STRAIGHT, 2));
+        List<Vertex<Lane>> vertices3 = List.of(new Vertex<>(Lane.SOUTH_STRAIGHT, 3));
+
+        cachingPhaseSolver.findMaximumWeightClique(vertices1);
+        cachingPhaseSolver.findMaximumWeightClique(vertices2);
+        cachingPhaseSolver.findMaximumWeightClique(vertices1);
+        cachingPhaseSolver.findMaximumWeightClique(vertices3);
+
+        assertEquals(1, cachingPhaseSolver.getEvictionsCount());
+        assertEquals(2, cachingPhaseSolver.size());
+
+        cachingPhaseSolver.findMaximumWeightClique(vertices1);
+        assertEquals(2, cachingPhaseSolver.getHitsCount());
+
+        cachingPhaseSolver.findMaximumWeightClique(vertices2);
+        assertEquals(4, cachingPhaseSolver.getMissesCount());
+    }
+
+    @Test
+    void findMaximumWeightClique_BigWeightsAreNotCached() {
+        CachingPhaseSolver cachingPhaseSolver = new CachingPhaseSolver(new PhaseTableSolver(), 16);
+        List<Vertex<Lane>> vertices = List.of(new Vertex<>(Lane.SOUTH_STRAIGHT, 100));
+
+        cachingPhaseSolver.findMaximumWeightClique(vertices);
+        cachingPhaseSolver.findMaximumWeightClique(vertices);
+
+        assertEquals(0, cachingPhaseSolver.size());
+        assertEquals(2, cachingPhaseSolver.getMissesCount());
+    }
+
+    @Test
+    void constructor_InvalidCapacity() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new CachingPhaseSolver(new PhaseTableSolver(), 0)
+        );
+    }
+}
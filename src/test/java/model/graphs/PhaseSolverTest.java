@@ -0,0 +1,128 @@
+package model.graphs;
+
+import model.enums.Lane;
+import model.enums.LaneTopology;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PhaseSolverTest {
+
+    @Test
+    void findMaximumWeightClique_ExactSolversAgree() {
+        Random random = new Random(5);
+        PhaseSolver reference = new BronKerboschPhaseSolver();
+        List<PhaseSolver> solvers = List.of(new BitsetPhaseSolver(), new PhaseTableSolver());
+
+        for (int iteration = 0; iteration < 1000; iteration++) {
+            List<Vertex<Lane>> vertices = randomVertices(random);
+            int expectedWeight = cliqueWeight(reference.findMaximumWeightClique(vertices));
+
+            for (PhaseSolver solver : solvers) {
+                Set<Vertex<Lane>> clique = solver.findMaximumWeightClique(vertices);
+
+                assertEquals(expectedWeight, cliqueWeight(clique), solver.getClass().getSimpleName());
+                assertTrue(vertices.containsAll(clique));
+                assertTrue(LaneTopology.isCompatible(lanesMask(clique)));
+            }
+        }
+    }
+
+    @Test
+    void findMaximumWeightPhase_ExactSolversAgree() {
+        Random random = new Random(13);
+        PhaseSolver reference = new BronKerboschPhaseSolver();
+        List<PhaseSolver> solvers = List.of(
+                new BitsetPhaseSolver(),
+                new PhaseTableSolver(),
+                new CachingPhaseSolver(new PhaseTableSolver(), 64)
+        );
+
+        for (int iteration = 0; iteration < 1000; iteration++) {
+            int[] laneWeights = new int[LaneTopology.LANES_COUNT];
+
+            for (int laneId = 0; laneId < laneWeights.length; laneId++) {
+                laneWeights[laneId] = random.nextBoolean() ? 0 : 1 + random.nextInt(4);
+            }
+
+            int expectedWeight = phaseWeight(laneWeights, reference.findMaximumWeightPhase(laneWeights));
+
+            for (PhaseSolver solver : solvers) {
+                int phase = solver.findMaximumWeightPhase(laneWeights);
+
+                assertEquals(expectedWeight, phaseWeight(laneWeights, phase), solver.getClass().getSimpleName());
+                assertTrue(LaneTopology.isCompatible(phase));
+            }
+        }
+    }
+
+    @Test
+    void findMaximumWeightClique_GreedySolverReturnsNonCollidingLanes() {
+        Random random = new Random(9);
+        PhaseSolver reference = new BronKerboschPhaseSolver();
+        PhaseSolver greedySolver = new GreedyPhaseSolver();
+
+        for (int iteration = 0; iteration < 1000; iteration++) {
+            List<Vertex<Lane>> vertices = randomVertices(random);
+            Set<Vertex<Lane>> clique = greedySolver.findMaximumWeightClique(vertices);
+
+            assertTrue(vertices.containsAll(clique));
+            assertTrue(LaneTopology.isCompatible(lanesMask(clique)));
+            assertTrue(cliqueWeight(clique) <= cliqueWeight(reference.findMaximumWeightClique(vertices)));
+            assertEquals(vertices.isEmpty(), clique.isEmpty());
+        }
+    }
+
+    @Test
+    void findMaximumWeightClique_GreedySolverTakesHeaviestLane() {
+        Vertex<Lane> v1 = new Vertex<>(Lane.SOUTH_STRAIGHT, 2);
+        Vertex<Lane> v2 = new Vertex<>(Lane.NORTH_STRAIGHT, 2);
+        Vertex<Lane> v3 = new Vertex<>(Lane.WEST_STRAIGHT, 3);
+
+        Set<Vertex<Lane>> clique = new GreedyPhaseSolver().findMaximumWeightClique(List.of(v1, v2, v3));
+
+        assertEquals(Set.of(v3), clique);
+    }
+
+    private static List<Vertex<Lane>> randomVertices(Random random) {
+        List<Vertex<Lane>> vertices = new ArrayList<>();
+
+        for (Lane lane : Lane.values()) {
+            if (random.nextBoolean()) {
+                vertices.add(new Vertex<>(lane, 1 + random.nextInt(10)));
+            }
+        }
+
+        return vertices;
+    }
+
+    private static int phaseWeight(int[] laneWeights, int phase) {
+        int weight = 0;
+
+        for (int laneId = 0; laneId < laneWeights.length; laneId++) {
+            if ((phase & (1 << laneId)) != 0) {
+                assertTrue(laneWeights[laneId] > 0);
+                weight += laneWeights[laneId];
+            }
+        }
+
+        return weight;
+    }
+
+    private static int cliqueWeight(Set<Vertex<Lane>> clique) {
+        return clique.stream()
+                .mapToInt(Vertex::weight)
+                .sum();
+    }
+
+    private static int lanesMask(Set<Vertex<Lane>> clique) {
+        return clique.stream()
+                .mapToInt(vertex -> LaneTopology.getLaneBit(vertex.id()))
+                .reduce(0, (mask1, mask2) -> mask1 | mask2);
+    }
+}
@@ -0,0 +1,98 @@
+package model.graphs;
+
+import model.enums.Lane;
+import model.enums.LaneTopology;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PhaseTableSolverTest {
+
+    @Test
+    void getPhases_AllPhasesAreMaximalAndCompatible() {
+        int[] phases = PhaseTableSolver.getPhases();
+
+        assertTrue(phases.length > 0);
+
+        for (int phase : phases) {
+            assertTrue(LaneTopology.isCompatible(phase));
+
+            for (Lane lane : Lane.values()) {
+                int extendedPhase = phase | LaneTopology.getLaneBit(lane);
+
+                if (extendedPhase != phase) {
+                    assertFalse(LaneTopology.isCompatible(extendedPhase));
+                }
+            }
+        }
+    }
+
+    @Test
+    void findMaximumWeightClique_OppositeStraightLanes() {
+        Vertex<Lane> v1 = new Vertex<>(Lane.SOUTH_STRAIGHT, 1);
+        Vertex<Lane> v2 = new Vertex<>(Lane.NORTH_STRAIGHT, 1);
+        Vertex<Lane> v3 = new Vertex<>(Lane.WEST_STRAIGHT, 1);
+
+        Set<Vertex<Lane>> maxClique = new PhaseTableSolver().findMaximumWeightClique(List.of(v1, v2, v3));
+
+        assertEquals(Set.of(v1, v2), maxClique);
+    }
+
+    @Test
+    void findMaximumWeightClique_HeavyVertexWins() {
+        Vertex<Lane> v1 = new Vertex<>(Lane.SOUTH_STRAIGHT, 1);
+        Vertex<Lane> v2 = new Vertex<>(Lane.NORTH_STRAIGHT, 1);
+        Vertex<Lane> v3 = new Vertex<>(Lane.WEST_STRAIGHT, 5);
+
+        Set<Vertex<Lane>> maxClique = new PhaseTableSolver().findMaximumWeightClique(List.of(v1, v2, v3));
+
+        assertEquals(Set.of(v3), maxClique);
+    }
+
+    @Test
+    void findMaximumWeightClique_NoVertices() {
+        Set<Vertex<Lane>> maxClique = new PhaseTableSolver().findMaximumWeightClique(List.of());
+
+        assertTrue(maxClique.isEmpty());
+    }
+
+    @Test
+    void findMaximumWeightClique_MatchesWeightedBronKerboschOnRandomWeights() {
+        Random random = new Random(42);
+        PhaseTableSolver phaseTableSolver = new PhaseTableSolver();
+
+        for (int iteration = 0; iteration < 2000; iteration++) {
+            List<Vertex<Lane>> vertices = new ArrayList<>();
+
+            for (Lane lane : Lane.values()) {
+                if (random.nextBoolean()) {
+                    vertices.add(new Vertex<>(lane, 1 + random.nextInt(10)));
+                }
+            }
+
+            Set<Vertex<Lane>> expected = new WeightedBronKerbosch(Graph.fromLanes(vertices)).findMaximumWeightClique();
+            Set<Vertex<Lane>> actual = phaseTableSolver.findMaximumWeightClique(vertices);
+
+            assertEquals(cliqueWeight(expected), cliqueWeight(actual), vertices.toString());
+            assertTrue(vertices.containsAll(actual));
+            assertTrue(LaneTopology.isCompatible(lanesMask(actual)));
+        }
+    }
+
+    private static int cliqueWeight(Set<Vertex<Lane>> clique) {
+        return clique.stream()
+                .mapToInt(Vertex::weight)
+                .sum();
+    }
+
+    private static int lanesMask(Set<Vertex<Lane>> clique) {
+        return clique.stream()
+                .mapToInt(vertex -> LaneTopology.getLaneBit(vertex.id()))
+                .reduce(0, (mask1, mask2) -> mask1 | mask2);
+    }
+}
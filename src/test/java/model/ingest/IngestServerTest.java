@@ -0,0 +1,167 @@
+package model.ingest;
+
+import model.enums.Direction;
+import model.enums.Lane;
+import model.enums.Move;
+import model.simulation.Simulation;
+import model.traffic.Car;
+import model.traffic.Road;
+import model.traffic.TrafficLane;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IngestServerTest {
+    private final static Set<Move> all = Set.of(Move.STRAIGHT, Move.RIGHT, Move.LEFT);
+
+    @Test
+    void ingest_FramesAddVehiclesToTheirIntersections() {
+        assertTimeoutPreemptively(Duration.ofSeconds(20), () -> {
+            // given
+            Simulation first = getSimulation();
+            Simulation second = getSimulation();
+
+            try (IngestServer server = new IngestServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+                server.register(0, first);
+                server.register(1, second);
+                server.start();
+
+                ByteBuffer frames = ByteBuffer.allocate(4 * DetectorFrame.SIZE);
+                DetectorFrame.write(frames, 0, 7, Direction.SOUTH, Direction.NORTH);
+                DetectorFrame.write(frames, 1, 8, Direction.WEST, Direction.EAST);
+                DetectorFrame.write(frames, 5, 9, Direction.WEST, Direction.EAST);
+                DetectorFrame.write(frames, 0, 10, Direction.NORTH, Direction.SOUTH);
+                frames.flip();
+
+                // when
+                try (SocketChannel channel = SocketChannel.open(
+                        new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort())
+                )) {
+                    // frame split between writes is decoded once complete
+                    channel.write(frames.slice(0, DetectorFrame.SIZE + 5));
+                    Thread.sleep(50);
+                    channel.write(frames.slice(DetectorFrame.SIZE + 5, 3 * DetectorFrame.SIZE - 5));
+                }
+
+                while (server.getAcceptedEventsCount() + server.getRejectedEventsCount() < 4) {
+                    Thread.onSpinWait();
+                }
+
+                // then
+                assertEquals(3, server.getAcceptedEventsCount());
+                assertEquals(1, server.getRejectedEventsCount());
+                assertEquals(
+                        Set.of(new Car("vehicle7", Lane.SOUTH_STRAIGHT), new Car("vehicle10", Lane.NORTH_STRAIGHT)),
+                        Set.copyOf(first.step())
+                );
+                assertEquals(List.of(new Car("vehicle8", Lane.WEST_STRAIGHT)), second.step());
+            }
+        });
+    }
+
+    @Test
+    void ingest_LoadGeneratorEventsAreAllAccepted() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            // given
+            int intersectionsCount = 10;
+            List<Simulation> simulations = new ArrayList<>();
+
+            try (IngestServer server = new IngestServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+                for (int intersectionId = 0; intersectionId < intersectionsCount; intersectionId++) {
+                    simulations.add(getSimulation());
+                    server.register(intersectionId, simulations.getLast());
+                }
+
+                server.start();
+
+                // when
+                long sentEvents = DetectorLoadGenerator.generate(
+                        new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()),
+                        4, 20_000, intersectionsCount
+                );
+
+                while (server.getAcceptedEventsCount() + server.getRejectedEventsCount() < sentEvents) {
+                    Thread.onSpinWait();
+                }
+
+                // then
+                assertEquals(80_000, sentEvents);
+                assertEquals(sentEvents, server.getAcceptedEventsCount());
+
+                long waitingVehicles = 0;
+
+                for (Simulation simulation : simulations) {
+                    int departures = simulation.step().size();
+                    waitingVehicles += departures + simulation.snapshot().roads().values().stream()
+                            .flatMap(List::stream)
+                            .mapToLong(trafficLane -> trafficLane.size())
+                            .sum();
+                }
+
+                assertEquals(sentEvents, waitingVehicles);
+            }
+        });
+    }
+
+    @Test
+    void intern_ReturnsSameNameForSameVehicle() {
+        // given
+        VehicleNameTable vehicleNames = new VehicleNameTable();
+
+        // when
+        for (long vehicleId = 0; vehicleId < 5000; vehicleId++) {
+            vehicleNames.intern(vehicleId);
+        }
+
+        String name = vehicleNames.intern(1234);
+
+        // then
+        assertEquals("vehicle1234", name);
+        assertSame(name, vehicleNames.intern(1234));
+        assertEquals(5000, vehicleNames.size());
+    }
+
+    @Test
+    void intern_FullTableIsCleared() {
+        // given
+        VehicleNameTable vehicleNames = new VehicleNameTable(100);
+
+        // when
+        for (long vehicleId = 0; vehicleId < 1000; vehicleId++) {
+            vehicleNames.intern(vehicleId);
+        }
+
+        String name = vehicleNames.intern(1234);
+
+        // then
+        assertEquals("vehicle1234", name);
+        assertSame(name, vehicleNames.intern(1234));
+        assertEquals(Integer.valueOf(1), Integer.valueOf(vehicleNames.size()));
+    }
+
+    @Test
+    void register_AlreadyRegisteredIntersection_ThrowsIllegalArgumentException() throws Exception {
+        try (IngestServer server = new IngestServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            server.register(0, getSimulation());
+
+            assertThrows(IllegalArgumentException.class, () -> server.register(0, getSimulation()));
+            assertThrows(IllegalArgumentException.class, () -> server.register(-1, getSimulation()));
+        }
+    }
+
+    private static Simulation getSimulation() {
+        return new Simulation(Arrays.stream(Direction.values())
+                .map(direction -> new Road(direction, List.of(new TrafficLane(all))))
+                .toList());
+    }
+}
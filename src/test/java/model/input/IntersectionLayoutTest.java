@@ -0,0 +1,76 @@
+package model.input;
+
+import model.enums.Direction;
+import model.enums.Move;
+import model.traffic.Road;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntersectionLayoutTest {
+
+    @Test
+    void fromJson_ReadsTrafficLanesOfEachRoad() {
+        // given
+        String json = """
+                {
+                  "roads": [
+                    {"direction": "south", "trafficLanes": [["right", "straight"], ["left"]]},
+                    {"direction": "north", "trafficLanes": [["right", "straight", "left"]]}
+                  ]
+                }
+                """;
+
+        // when
+        IntersectionLayout layout = IntersectionLayout.fromJson(new StringReader(json));
+
+        // then
+        assertEquals(Map.of(
+                Direction.NORTH, List.of(Set.of(Move.RIGHT, Move.STRAIGHT, Move.LEFT)),
+                Direction.SOUTH, List.of(Set.of(Move.RIGHT, Move.STRAIGHT), Set.of(Move.LEFT))
+        ), layout.trafficLanes());
+    }
+
+    @Test
+    void createRoads_CreatesNewRoadsOrderedByDirection() {
+        // given
+        String json = """
+                {"roads": [{"direction": "west", "trafficLanes": [["left"]]},
+                           {"direction": "east", "trafficLanes": [["right"], ["straight"]]}]}
+                """;
+        IntersectionLayout layout = IntersectionLayout.fromJson(new StringReader(json));
+
+        // when
+        List<Road> roads = layout.createRoads();
+
+        // then
+        assertEquals(List.of(Direction.EAST, Direction.WEST), roads.stream().map(Road::getDirection).toList());
+        assertEquals(2, roads.get(0).getTrafficLaneList().size());
+        assertTrue(roads.get(0).getTrafficLaneList().get(1).supportsMove(Move.STRAIGHT));
+        assertNotSame(roads.get(1), layout.createRoads().get(1));
+    }
+
+    @Test
+    void fromJson_IncorrectLayout_ThrowsIllegalArgumentException() {
+        // given
+        String noRoads = "{\"lanes\": []}";
+        String repeatedRoad = """
+                {"roads": [{"direction": "west", "trafficLanes": [["left"]]},
+                           {"direction": "west", "trafficLanes": [["right"]]}]}
+                """;
+        String emptyTrafficLane = "{\"roads\": [{\"direction\": \"west\", \"trafficLanes\": [[]]}]}";
+        String unknownMove = "{\"roads\": [{\"direction\": \"west\", \"trafficLanes\": [[\"back\"]]}]}";
+        String missingDirection = "{\"roads\": [{\"trafficLanes\": [[\"left\"]]}]}";
+
+        // when
+        // then
+        for (String json : List.of(noRoads, repeatedRoad, emptyTrafficLane, unknownMove, missingDirection)) {
+            assertThrows(IllegalArgumentException.class, () -> IntersectionLayout.fromJson(new StringReader(json)));
+        }
+    }
+}
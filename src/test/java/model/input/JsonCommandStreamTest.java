@@ -0,0 +1,111 @@
+package model.input;
+
+import com.google.gson.JsonSyntaxException;
+import model.commands.AddVehicle;
+import model.commands.Command;
+import model.commands.Step;
+import model.commands.StepMany;
+import model.enums.Lane;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonCommandStreamTest {
+
+    @Test
+    void next_ReadsCommandsInOrder() throws IOException {
+        // given
+        String json = """
+                {
+                  "commands": [
+                    {"type": "addVehicle", "vehicleId": "vehicle1", "startRoad": "south", "endRoad": "north"},
+                    {"type": "step"},
+                    {"type": "stepMany", "stepsCount": 3}
+                  ]
+                }
+                """;
+
+        // when
+        List<Command> commands = readAll(json);
+
+        // then
+        assertEquals(
+                List.of(new AddVehicle("vehicle1", Lane.SOUTH_STRAIGHT), Step.INSTANCE, new StepMany(3)),
+                commands
+        );
+    }
+
+    @Test
+    void hasCommandsArray_SkipsOtherTopLevelValues() throws IOException {
+        // given
+        String json = """
+                {"meta": {"version": [1, 2]}, "commands": [{"type": "step", "note": {}}], "tail": 1}
+                """;
+
+        // when
+        try (JsonCommandStream commands = new JsonCommandStream(new StringReader(json))) {
+            // then
+            assertTrue(commands.hasCommandsArray());
+            assertEquals(Step.INSTANCE, commands.next());
+            assertFalse(commands.hasNext());
+            assertThrows(NoSuchElementException.class, commands::next);
+        }
+    }
+
+    @Test
+    void hasCommandsArray_NoCommands() throws IOException {
+        // given
+        String json = "{\"other\": []}";
+
+        // when
+        try (JsonCommandStream commands = new JsonCommandStream(new StringReader(json))) {
+            // then
+            assertFalse(commands.hasCommandsArray());
+            assertFalse(commands.hasNext());
+        }
+    }
+
+    @Test
+    void next_MalformedCommand() throws IOException {
+        // given
+        String json = "{\"commands\": [{\"type\": \"step\"}, {\"type\": [\"step\"]}]}";
+
+        // when
+        try (JsonCommandStream commands = new JsonCommandStream(new StringReader(json))) {
+            commands.next();
+
+            // then
+            assertThrows(JsonSyntaxException.class, commands::next);
+        }
+    }
+
+    @Test
+    void next_IncorrectlyStructuredCommand() throws IOException {
+        // given
+        String json = """
+                {"commands": [{"type": "addVehicle", "vehicleId": "vehicle1", "startRoad": "south"}]}
+                """;
+
+        // when
+        try (JsonCommandStream commands = new JsonCommandStream(new StringReader(json))) {
+            // then
+            assertThrows(IllegalArgumentException.class, commands::next);
+        }
+    }
+
+    private static List<Command> readAll(String json) throws IOException {
+        List<Command> commands = new ArrayList<>();
+
+        try (JsonCommandStream commandStream = new JsonCommandStream(new StringReader(json))) {
+            commandStream.forEachRemaining(commands::add);
+        }
+
+        return commands;
+    }
+}
@@ -0,0 +1,69 @@
+package model.input;
+
+import model.commands.AddVehicle;
+import model.commands.Command;
+import model.commands.Step;
+import model.commands.StepMany;
+import model.enums.Lane;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonCommandWriterTest {
+    private static final List<Command> COMMANDS = List.of(
+            new AddVehicle("vehicle1", Lane.SOUTH_STRAIGHT),
+            new AddVehicle("vehicle2", Lane.EAST_LEFT),
+            new AddVehicle("vehicle3", Lane.WEST_RIGHT),
+            Step.INSTANCE,
+            new StepMany(4)
+    );
+
+    @Test
+    void write_JsonReadableByJsonCommandStream() throws IOException {
+        // given
+        StringWriter output = new StringWriter();
+        List<Command> commands = new ArrayList<>();
+
+        // when
+        writeAll(new JsonCommandWriter(output, false));
+
+        try (JsonCommandStream commandStream = new JsonCommandStream(new StringReader(output.toString()))) {
+            commandStream.forEachRemaining(commands::add);
+        }
+
+        // then
+        assertEquals(COMMANDS, commands);
+    }
+
+    @Test
+    void write_NdjsonReadableByNdjsonCommandStream() throws IOException {
+        // given
+        StringWriter output = new StringWriter();
+        List<Command> commands = new ArrayList<>();
+
+        // when
+        writeAll(new JsonCommandWriter(output, true));
+
+        try (NdjsonCommandStream commandStream = new NdjsonCommandStream(new StringReader(output.toString()))) {
+            commandStream.forEachRemaining(commands::add);
+        }
+
+        // then
+        assertEquals(COMMANDS.size(), output.toString().lines().count());
+        assertEquals(COMMANDS, commands);
+    }
+
+    private static void writeAll(JsonCommandWriter writer) throws IOException {
+        try (writer) {
+            for (Command command : COMMANDS) {
+                writer.write(command);
+            }
+        }
+    }
+}
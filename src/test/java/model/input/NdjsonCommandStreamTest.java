@@ -0,0 +1,69 @@
+package model.input;
+
+import com.google.gson.JsonSyntaxException;
+import model.commands.AddVehicle;
+import model.commands.Command;
+import model.commands.Step;
+import model.commands.StepMany;
+import model.enums.Lane;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NdjsonCommandStreamTest {
+
+    @Test
+    void next_ReadsCommandFromEachLine() throws IOException {
+        // given
+        String ndjson = """
+                {"type": "addVehicle", "vehicleId": "vehicle1", "startRoad": "west", "endRoad": "east"}
+
+                {"type": "step"}
+                {"type": "stepMany", "stepsCount": 2}
+                """;
+        List<Command> commands = new ArrayList<>();
+
+        // when
+        try (NdjsonCommandStream commandStream = new NdjsonCommandStream(new StringReader(ndjson))) {
+            commandStream.forEachRemaining(commands::add);
+        }
+
+        // then
+        assertEquals(List.of(new AddVehicle("vehicle1", Lane.WEST_STRAIGHT), Step.INSTANCE, new StepMany(2)), commands);
+    }
+
+    @Test
+    void next_MalformedLine() throws IOException {
+        // given
+        String ndjson = "{\"type\": \"step\"}\n{\"type\": \"step\"} {\"type\": \"step\"}\n";
+
+        // when
+        try (NdjsonCommandStream commands = new NdjsonCommandStream(new StringReader(ndjson))) {
+            commands.next();
+
+            // then
+            assertThrows(JsonSyntaxException.class, commands::next);
+        }
+    }
+
+    @Test
+    void next_UnknownCommandReportsLine() throws IOException {
+        // given
+        String ndjson = "{\"type\": \"step\"}\n\n{\"type\": \"jump\"}\n";
+
+        // when
+        try (NdjsonCommandStream commands = new NdjsonCommandStream(new StringReader(ndjson))) {
+            commands.next();
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, commands::next);
+
+            // then
+            assertTrue(exception.getMessage().contains("line 3"));
+            assertFalse(commands.hasNext());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package model.output;
+
+import model.enums.Lane;
+import model.traffic.Car;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonStepStatusStreamTest {
+    private static final List<List<Car>> STEPS = List.of(
+            List.of(new Car("vehicle1", Lane.SOUTH_STRAIGHT), new Car("vehicle2", Lane.NORTH_STRAIGHT)),
+            List.of(),
+            List.of(new Car("vehicle3", Lane.WEST_LEFT))
+    );
+    private static final List<List<String>> STEP_STATUSES = List.of(
+            List.of("vehicle1", "vehicle2"),
+            List.of(),
+            List.of("vehicle3")
+    );
+
+    @Test
+    void next_ReadsJsonOutput() throws IOException {
+        // given
+        OutputCollector outputCollector = new OutputCollector();
+        STEPS.forEach(outputCollector::notifySimulationStep);
+
+        // when
+        List<List<String>> stepStatuses = readAll(outputCollector.toString(), false);
+
+        // then
+        assertEquals(STEP_STATUSES, stepStatuses);
+    }
+
+    @Test
+    void next_ReadsNdjsonOutput() throws IOException {
+        // given
+        StringWriter output = new StringWriter();
+
+        try (NdjsonOutputWriter outputWriter = new NdjsonOutputWriter(output)) {
+            STEPS.forEach(outputWriter::notifySimulationStep);
+        }
+
+        // when
+        List<List<String>> stepStatuses = readAll(output.toString(), true);
+
+        // then
+        assertEquals(STEP_STATUSES, stepStatuses);
+    }
+
+    private static List<List<String>> readAll(String output, boolean ndjson) throws IOException {
+        List<List<String>> stepStatuses = new ArrayList<>();
+
+        try (JsonStepStatusStream stream = new JsonStepStatusStream(new StringReader(output), ndjson)) {
+            stream.forEachRemaining(stepStatuses::add);
+        }
+
+        return stepStatuses;
+    }
+}
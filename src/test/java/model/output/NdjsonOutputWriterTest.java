@@ -0,0 +1,57 @@
+package model.output;
+
+import model.enums.Lane;
+import model.traffic.Car;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NdjsonOutputWriterTest {
+
+    @Test
+    void notifySimulationStep_WritesLinePerStep() throws IOException {
+        // given
+        StringWriter output = new StringWriter();
+
+        // when
+        try (NdjsonOutputWriter outputWriter = new NdjsonOutputWriter(output)) {
+            outputWriter.notifySimulationStep(List.of(
+                    new Car("vehicle1", Lane.SOUTH_STRAIGHT),
+                    new Car("vehicle2", Lane.NORTH_STRAIGHT)
+            ));
+            outputWriter.notifySimulationStep(List.of());
+        }
+
+        // then
+        assertEquals("{\"leftVehicles\":[\"vehicle1\",\"vehicle2\"]}\n{\"leftVehicles\":[]}\n", output.toString());
+    }
+
+    @Test
+    void notifySimulationStep_FlushEachStep() {
+        // given
+        StringWriter output = new StringWriter();
+        NdjsonOutputWriter outputWriter = new NdjsonOutputWriter(output, true);
+
+        // when
+        outputWriter.notifySimulationStep(List.of(new Car("vehicle1", Lane.SOUTH_STRAIGHT)));
+
+        // then
+        assertEquals("{\"leftVehicles\":[\"vehicle1\"]}\n", output.toString());
+    }
+
+    @Test
+    void close_NoSteps() throws IOException {
+        // given
+        StringWriter output = new StringWriter();
+
+        // when
+        new NdjsonOutputWriter(output).close();
+
+        // then
+        assertEquals("", output.toString());
+    }
+}
@@ -0,0 +1,76 @@
+package model.output;
+
+import com.google.gson.Gson;
+import model.enums.Lane;
+import model.traffic.Car;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingOutputWriterTest {
+    private static final List<List<Car>> STEPS = List.of(
+            List.of(new Car("vehicle1", Lane.SOUTH_STRAIGHT), new Car("vehicle2", Lane.NORTH_STRAIGHT)),
+            List.of(),
+            List.of(new Car("<vehicle&3>", Lane.WEST_LEFT))
+    );
+
+    @Test
+    void close_PrettyOutputIdenticalToOutputCollector() throws IOException {
+        // given
+        OutputCollector outputCollector = new OutputCollector();
+        StringWriter output = new StringWriter();
+
+        // when
+        try (StreamingOutputWriter outputWriter = new StreamingOutputWriter(output)) {
+            STEPS.forEach(outputWriter::notifySimulationStep);
+        }
+
+        STEPS.forEach(outputCollector::notifySimulationStep);
+
+        // then
+        assertEquals(outputCollector.toString(), output.toString());
+    }
+
+    @Test
+    void close_CompactOutputIdenticalToGson() throws IOException {
+        // given
+        OutputCollector outputCollector = new OutputCollector();
+        StringWriter output = new StringWriter();
+
+        // when
+        try (StreamingOutputWriter outputWriter = new StreamingOutputWriter(output, false)) {
+            STEPS.forEach(outputWriter::notifySimulationStep);
+        }
+
+        STEPS.forEach(outputCollector::notifySimulationStep);
+
+        // then
+        assertEquals(new Gson().toJson(outputCollector), output.toString());
+    }
+
+    @Test
+    void close_NoSteps() throws IOException {
+        // given
+        StringWriter output = new StringWriter();
+
+        // when
+        new StreamingOutputWriter(output).close();
+
+        // then
+        assertEquals(new OutputCollector().toString(), output.toString());
+    }
+
+    @Test
+    void notifySimulationStep_AfterClose() throws IOException {
+        // given
+        StreamingOutputWriter outputWriter = new StreamingOutputWriter(new StringWriter());
+        outputWriter.close();
+
+        // when then
+        assertThrows(IllegalStateException.class, () -> outputWriter.notifySimulationStep(List.of()));
+    }
+}
@@ -0,0 +1,239 @@
+package model.simulation;
+
+import model.enums.Direction;
+import model.enums.Lane;
+import model.enums.Move;
+import model.traffic.Car;
+import model.traffic.Road;
+import model.traffic.TrafficLane;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncSimulationObserverTest {
+
+    @Test
+    void block_DeliversAllEventsInOrderWithSnapshots() {
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            // given
+            Simulation simulation = getSimulation();
+            RecordingObserver observer = new SnapshotRecordingObserver();
+            AsyncSimulationObserver asyncObserver = new AsyncSimulationObserver(
+                    simulation, List.of(observer), 2, AsyncSimulationObserver.OverflowPolicy.BLOCK
+            );
+            simulation.subscribe(asyncObserver);
+
+            // when
+            simulation.addVehicle(new Car("vehicle1", Lane.SOUTH_STRAIGHT));
+            simulation.addVehicle(new Car("vehicle2", Lane.SOUTH_LEFT));
+            simulation.step();
+            simulation.step();
+            asyncObserver.close();
+
+            // then
+            assertEquals(List.of(
+                    "add vehicle1 waiting 1",
+                    "add vehicle2 waiting 2",
+                    "step [vehicle1] waiting 1",
+                    "step [vehicle2] waiting 0"
+            ), observer.events);
+            assertEquals(0, asyncObserver.getDroppedEventsCount());
+        });
+    }
+
+    @Test
+    void drop_DropsEventsThatDoNotFit() {
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            // given
+            Simulation simulation = getSimulation();
+            CountDownLatch release = new CountDownLatch(1);
+            RecordingObserver blockedObserver = new RecordingObserver() {
+                @Override
+                public void notifyAddVehicle(Car vehicle) {
+                    awaitUninterruptibly(release);
+                    super.notifyAddVehicle(vehicle);
+                }
+            };
+            AsyncSimulationObserver asyncObserver = new AsyncSimulationObserver(
+                    simulation, List.of(blockedObserver), 4, AsyncSimulationObserver.OverflowPolicy.DROP
+            );
+            simulation.subscribe(asyncObserver);
+
+            // when
+            for (int i = 0; i < 100; i++) {
+                simulation.addVehicle(new Car("vehicle" + i, Lane.NORTH_RIGHT));
+            }
+
+            release.countDown();
+            asyncObserver.close();
+
+            // then
+            assertTrue(asyncObserver.getDroppedEventsCount() > 0);
+            assertEquals(100, blockedObserver.events.size() + asyncObserver.getDroppedEventsCount());
+            assertEquals("add vehicle0", blockedObserver.events.get(0));
+        });
+    }
+
+    @Test
+    void sample_PublishesAllEventsWhileBufferHasFreeSpace() {
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            // given
+            Simulation simulation = getSimulation();
+            RecordingObserver observer = new RecordingObserver();
+            AsyncSimulationObserver asyncObserver = new AsyncSimulationObserver(
+                    simulation, List.of(observer), 16, AsyncSimulationObserver.OverflowPolicy.SAMPLE, 3
+            );
+            simulation.subscribe(asyncObserver);
+
+            // when
+            for (int i = 0; i < 7; i++) {
+                simulation.addVehicle(new Car("vehicle" + i, Lane.EAST_LEFT));
+            }
+
+            asyncObserver.close();
+
+            // then
+            assertEquals(7, observer.events.size());
+            assertEquals(0, asyncObserver.getDroppedEventsCount());
+        });
+    }
+
+    @Test
+    void sample_PublishesEveryNthEventWhileBufferIsFull() {
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            // given
+            Simulation simulation = getSimulation();
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            RecordingObserver blockedObserver = new RecordingObserver() {
+                @Override
+                public void notifyAddVehicle(Car vehicle) {
+                    started.countDown();
+                    awaitUninterruptibly(release);
+                    super.notifyAddVehicle(vehicle);
+                }
+            };
+            AsyncSimulationObserver asyncObserver = new AsyncSimulationObserver(
+                    simulation, List.of(blockedObserver), 4, AsyncSimulationObserver.OverflowPolicy.SAMPLE, 3
+            );
+            simulation.subscribe(asyncObserver);
+            Thread releaseThread = Thread.ofPlatform().start(() -> {
+                while (asyncObserver.getDroppedEventsCount() < 2) {
+                    Thread.onSpinWait();
+                }
+
+                release.countDown();
+            });
+
+            // when
+            simulation.addVehicle(new Car("vehicle0", Lane.EAST_LEFT));
+            awaitUninterruptibly(started);
+
+            // vehicles 1-4 fill the buffer, 5 and 6 are dropped, 7 waits until observer is released
+            for (int i = 1; i < 8; i++) {
+                simulation.addVehicle(new Car("vehicle" + i, Lane.EAST_LEFT));
+            }
+
+            asyncObserver.close();
+            releaseThread.join();
+
+            // then
+            assertEquals(List.of(
+                    "add vehicle0", "add vehicle1", "add vehicle2", "add vehicle3", "add vehicle4", "add vehicle7"
+            ), blockedObserver.events);
+            assertEquals(2, asyncObserver.getDroppedEventsCount());
+        });
+    }
+
+    @Test
+    void close_RethrowsObserverFailure() {
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            // given
+            Simulation simulation = getSimulation();
+            SimulationObserver failingObserver = new RecordingObserver() {
+                @Override
+                public void notifySimulationStep(List<Car> carsLeavingCrossing) {
+                    throw new IllegalStateException("observer error");
+                }
+            };
+            AsyncSimulationObserver asyncObserver = new AsyncSimulationObserver(
+                    simulation, List.of(failingObserver), 2, AsyncSimulationObserver.OverflowPolicy.BLOCK
+            );
+            simulation.subscribe(asyncObserver);
+
+            // when
+            for (int i = 0; i < 50; i++) {
+                simulation.step();
+            }
+
+            IllegalStateException exception = assertThrows(IllegalStateException.class, asyncObserver::close);
+
+            // then
+            assertEquals("observer error", exception.getMessage());
+            assertThrows(IllegalStateException.class, simulation::step);
+        });
+    }
+
+    private static class RecordingObserver implements SimulationObserver {
+        protected final List<String> events = new ArrayList<>();
+
+        @Override
+        public void notifySimulationStep(List<Car> carsLeavingCrossing) {
+            this.events.add("step " + carsLeavingCrossing.stream().map(Car::name).sorted().toList());
+        }
+
+        @Override
+        public void notifyAddVehicle(Car vehicle) {
+            this.events.add("add " + vehicle.name());
+        }
+    }
+
+    private static class SnapshotRecordingObserver extends RecordingObserver implements SnapshotObserver {
+        @Override
+        public void notifySimulationStep(List<Car> carsLeavingCrossing, SimulationSnapshot snapshot) {
+            this.notifySimulationStep(carsLeavingCrossing);
+            this.addWaitingCount(snapshot);
+        }
+
+        @Override
+        public void notifyAddVehicle(Car vehicle, SimulationSnapshot snapshot) {
+            this.notifyAddVehicle(vehicle);
+            this.addWaitingCount(snapshot);
+        }
+
+        private void addWaitingCount(SimulationSnapshot snapshot) {
+            int waitingCount = snapshot.roads().values().stream()
+                    .flatMap(List::stream)
+                    .mapToInt(SimulationSnapshot.TrafficLaneSnapshot::size)
+                    .sum();
+            int last = this.events.size() - 1;
+
+            this.events.set(last, this.events.get(last) + " waiting " + waitingCount);
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Simulation getSimulation() {
+        Set<Move> all = Set.of(Move.STRAIGHT, Move.RIGHT, Move.LEFT);
+        List<Road> roads = new ArrayList<>();
+
+        for (Direction direction : Direction.values()) {
+            roads.add(new Road(direction, List.of(new TrafficLane(all))));
+        }
+
+        return new Simulation(roads);
+    }
+}
@@ -0,0 +1,227 @@
+package model.simulation;
+
+import model.enums.Direction;
+import model.enums.Lane;
+import model.enums.Move;
+import model.traffic.Car;
+import model.traffic.Road;
+import model.traffic.TrafficLane;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NetworkSimulationTest {
+    private final static Set<Move> all = Set.of(Move.STRAIGHT, Move.RIGHT, Move.LEFT);
+
+    @Test
+    void tick_CarReachesLinkedNodeAfterTravelDelay() {
+        // given
+        NetworkSimulation network = new NetworkSimulation();
+        int westNode = network.addNode(getSimulation());
+        int eastNode = network.addNode(getSimulation());
+        network.link(westNode, Direction.EAST, eastNode, 3);
+
+        network.addVehicle(westNode, new Car("vehicle1", Lane.WEST_STRAIGHT));
+
+        // when
+        network.tick();
+        long inTransitAfterFirstTick = network.getVehiclesInTransitCount();
+        network.run(2);
+        long inTransitAfterThirdTick = network.getVehiclesInTransitCount();
+        List<Car> departures = network.getNode(eastNode).step();
+
+        // then
+        assertEquals(1, inTransitAfterFirstTick);
+        assertEquals(0, inTransitAfterThirdTick);
+        assertEquals(List.of(new Car("vehicle1", Lane.WEST_STRAIGHT)), departures);
+        assertEquals(0, network.getExitedVehiclesCount());
+    }
+
+    @Test
+    void tick_CarWithoutLinkLeavesNetwork() {
+        // given
+        NetworkSimulation network = new NetworkSimulation();
+        int westNode = network.addNode(getSimulation());
+        int eastNode = network.addNode(getSimulation());
+        network.link(westNode, Direction.EAST, eastNode, 1);
+
+        network.addVehicle(westNode, new Car("vehicle1", Lane.WEST_LEFT));
+
+        // when
+        network.tick();
+
+        // then
+        assertEquals(1, network.getExitedVehiclesCount());
+        assertEquals(0, network.getVehiclesInTransitCount());
+    }
+
+    @Test
+    void tick_RouterChoosesLaneAtNextNode() {
+        // given
+        NetworkRouter turnRight = (nodeId, car, entryDirection) -> Direction.fromInteger(
+                (entryDirection.ordinal() + 1) % Direction.count()
+        );
+        NetworkSimulation network = new NetworkSimulation(turnRight, ForkJoinPool.commonPool());
+        int westNode = network.addNode(getSimulation());
+        int eastNode = network.addNode(getSimulation());
+        network.link(westNode, Direction.EAST, eastNode, 1);
+
+        network.addVehicle(westNode, new Car("vehicle1", Lane.WEST_STRAIGHT));
+
+        // when
+        network.tick();
+        List<Car> departures = network.getNode(eastNode).step();
+
+        // then
+        assertEquals(1, departures.size());
+        assertEquals(Direction.WEST, departures.getFirst().lane().getDirection());
+        assertNotEquals(Lane.WEST_STRAIGHT, departures.getFirst().lane());
+    }
+
+    @Test
+    void grid_ResultsDoNotDependOnNumberOfThreads() {
+        // given
+        ForkJoinPool singleThreadPool = new ForkJoinPool(1);
+        ForkJoinPool multiThreadPool = new ForkJoinPool(4);
+
+        // when
+        List<Long> singleThreadResult = runGrid(singleThreadPool);
+        List<Long> multiThreadResult = runGrid(multiThreadPool);
+
+        singleThreadPool.shutdown();
+        multiThreadPool.shutdown();
+
+        // then
+        assertEquals(singleThreadResult, multiThreadResult);
+    }
+
+    @Test
+    void grid_ConservesVehicles() {
+        // given
+        NetworkSimulation network = NetworkSimulation.grid(4, 5, NetworkSimulationTest::getSimulation, 2);
+        int vehiclesCount = addRandomVehicles(network, 500);
+
+        // when
+        network.run(40);
+
+        // then
+        long waitingVehiclesCount = 0;
+
+        for (int nodeId = 0; nodeId < network.getNodesCount(); nodeId++) {
+            waitingVehiclesCount += getWaitingVehiclesCount(network.getNode(nodeId));
+        }
+
+        assertEquals(20, network.getNodesCount());
+        assertEquals(
+                vehiclesCount,
+                waitingVehiclesCount + network.getVehiclesInTransitCount() + network.getExitedVehiclesCount()
+        );
+    }
+
+    @Test
+    void tick_UnsupportedRouterChoiceKeepsCarsInTransit() {
+        // given
+        AtomicBoolean turnRight = new AtomicBoolean(true);
+        NetworkRouter router = (nodeId, car, entryDirection) -> turnRight.get() && car.name().equals("vehicle1")
+                ? Direction.fromInteger((entryDirection.ordinal() + 1) % Direction.count())
+                : entryDirection.opposite();
+        NetworkSimulation network = new NetworkSimulation(router, ForkJoinPool.commonPool());
+        int westNode = network.addNode(new Simulation(List.of(
+                new Road(Direction.WEST, List.of(new TrafficLane(all), new TrafficLane(all)))
+        )));
+        int eastNode = network.addNode(new Simulation(List.of(
+                new Road(Direction.WEST, List.of(new TrafficLane(Set.of(Move.STRAIGHT))))
+        )));
+        network.link(westNode, Direction.EAST, eastNode, 1);
+
+        network.addVehicle(westNode, new Car("vehicle1", Lane.WEST_STRAIGHT));
+        network.addVehicle(westNode, new Car("vehicle2", Lane.WEST_STRAIGHT));
+
+        // when
+        // then
+        assertThrows(IllegalStateException.class, network::tick);
+        assertEquals(2, network.getVehiclesInTransitCount());
+
+        turnRight.set(false);
+        network.tick();
+
+        assertEquals(0, network.getVehiclesInTransitCount());
+        assertEquals(
+                List.of(new Car("vehicle1", Lane.WEST_STRAIGHT)),
+                network.getNode(eastNode).step()
+        );
+    }
+
+    @Test
+    void link_NodeWithoutEntryRoad_ThrowsIllegalArgumentException() {
+        // given
+        NetworkSimulation network = new NetworkSimulation();
+        int westNode = network.addNode(getSimulation());
+        int eastNode = network.addNode(new Simulation(List.of(
+                new Road(Direction.EAST, List.of(new TrafficLane(all)))
+        )));
+
+        // when
+        // then
+        assertThrows(IllegalArgumentException.class, () -> network.link(westNode, Direction.EAST, eastNode, 1));
+        assertThrows(IllegalArgumentException.class, () -> network.link(eastNode, Direction.WEST, westNode, 0));
+        assertThrows(IllegalArgumentException.class, () -> network.link(westNode, Direction.EAST, 5, 1));
+    }
+
+    private static List<Long> runGrid(ForkJoinPool pool) {
+        NetworkSimulation network = NetworkSimulation.grid(
+                3, 3, NetworkSimulationTest::getSimulation, 2, NetworkRouter.STRAIGHT, pool, 1
+        );
+
+        addRandomVehicles(network, 300);
+
+        List<Long> result = new ArrayList<>();
+
+        for (int tickId = 0; tickId < 30; tickId++) {
+            network.tick();
+            result.add(network.getVehiclesInTransitCount());
+            result.add(network.getExitedVehiclesCount());
+
+            for (int nodeId = 0; nodeId < network.getNodesCount(); nodeId++) {
+                result.add(getWaitingVehiclesCount(network.getNode(nodeId)));
+            }
+        }
+
+        return result;
+    }
+
+    private static int addRandomVehicles(NetworkSimulation network, int vehiclesCount) {
+        Random random = new Random(21);
+        Lane[] lanes = Lane.values();
+
+        for (int vehicleId = 0; vehicleId < vehiclesCount; vehicleId++) {
+            network.addVehicle(
+                    random.nextInt(network.getNodesCount()),
+                    new Car("vehicle" + vehicleId, lanes[random.nextInt(lanes.length)])
+            );
+        }
+
+        return vehiclesCount;
+    }
+
+    private static long getWaitingVehiclesCount(Simulation simulation) {
+        return simulation.snapshot().roads().values().stream()
+                .flatMap(List::stream)
+                .mapToLong(SimulationSnapshot.TrafficLaneSnapshot::size)
+                .sum();
+    }
+
+    private static Simulation getSimulation() {
+        return new Simulation(Arrays.stream(Direction.values())
+                .map(direction -> new Road(direction, List.of(new TrafficLane(all))))
+                .toList());
+    }
+}
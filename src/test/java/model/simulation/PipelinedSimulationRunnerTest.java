@@ -0,0 +1,171 @@
+package model.simulation;
+
+import model.commands.AddVehicle;
+import model.commands.Command;
+import model.commands.Step;
+import model.commands.StepMany;
+import model.enums.Direction;
+import model.enums.Lane;
+import model.enums.Move;
+import model.traffic.Car;
+import model.traffic.Road;
+import model.traffic.TrafficLane;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PipelinedSimulationRunnerTest {
+
+    @Test
+    void runCommands_SameEventsAsSequentialRunner() {
+        // given
+        List<Command> commands = randomCommands(new Random(5), 20_000);
+        RecordingObserver sequentialObserver = new RecordingObserver();
+        RecordingObserver pipelinedObserver = new RecordingObserver();
+
+        Simulation sequentialSimulation = getSimulation();
+        sequentialSimulation.subscribe(sequentialObserver);
+
+        // when
+        new SimulationRunner(sequentialSimulation).runCommands(commands);
+        new PipelinedSimulationRunner(getSimulation(), 8).runCommands(commands.iterator(), pipelinedObserver);
+
+        // then
+        assertEquals(sequentialObserver.events, pipelinedObserver.events);
+    }
+
+    @Test
+    void runCommands_ParseErrorStopsPipelineAfterEarlierCommands() {
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            // given
+            List<Command> commands = List.of(
+                    new AddVehicle("vehicle1", Lane.SOUTH_STRAIGHT),
+                    Step.INSTANCE,
+                    new AddVehicle("vehicle2", Lane.NORTH_STRAIGHT)
+            );
+            RecordingObserver observer = new RecordingObserver();
+            Iterator<Command> failingCommands = failAfter(commands, new IllegalArgumentException("parse error"));
+
+            // when
+            IllegalArgumentException exception = assertThrows(
+                    IllegalArgumentException.class,
+                    () -> new PipelinedSimulationRunner(getSimulation(), 2).runCommands(failingCommands, observer)
+            );
+
+            // then
+            assertEquals("parse error", exception.getMessage());
+            assertEquals(List.of("add vehicle1", "step [vehicle1]", "add vehicle2"), observer.events);
+        });
+    }
+
+    @Test
+    void runCommands_OutputErrorStopsPipeline() {
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            // given
+            Iterator<Command> endlessCommands = new Iterator<>() {
+                private int commandId = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return true;
+                }
+
+                @Override
+                public Command next() {
+                    this.commandId++;
+
+                    return this.commandId % 2 == 0 ? Step.INSTANCE : new AddVehicle("vehicle", Lane.SOUTH_LEFT);
+                }
+            };
+            SimulationObserver failingObserver = new RecordingObserver() {
+                @Override
+                public void notifySimulationStep(List<Car> carsLeavingCrossing) {
+                    throw new IllegalStateException("output error");
+                }
+            };
+            PipelinedSimulationRunner runner = new PipelinedSimulationRunner(getSimulation(), 4);
+
+            // when
+            IllegalStateException exception = assertThrows(
+                    IllegalStateException.class,
+                    () -> runner.runCommands(endlessCommands, failingObserver)
+            );
+
+            // then
+            assertEquals("output error", exception.getMessage());
+        });
+    }
+
+    private static class RecordingObserver implements SimulationObserver {
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void notifySimulationStep(List<Car> carsLeavingCrossing) {
+            this.events.add("step " + carsLeavingCrossing.stream().map(Car::name).sorted().toList());
+        }
+
+        @Override
+        public void notifyAddVehicle(Car vehicle) {
+            this.events.add("add " + vehicle.name());
+        }
+    }
+
+    private static Iterator<Command> failAfter(List<Command> commands, RuntimeException exception) {
+        Iterator<Command> iterator = commands.iterator();
+
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Command next() {
+                if (iterator.hasNext()) {
+                    return iterator.next();
+                }
+
+                throw exception;
+            }
+        };
+    }
+
+    private static List<Command> randomCommands(Random random, int count) {
+        Lane[] lanes = Lane.values();
+        List<Command> commands = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            int choice = random.nextInt(10);
+
+            if (choice < 6) {
+                commands.add(new AddVehicle("vehicle" + i, lanes[random.nextInt(lanes.length)]));
+            }
+            else if (choice < 9) {
+                commands.add(Step.INSTANCE);
+            }
+            else {
+                commands.add(new StepMany(random.nextInt(5)));
+            }
+        }
+
+        return commands;
+    }
+
+    private static Simulation getSimulation() {
+        Set<Move> all = Set.of(Move.STRAIGHT, Move.RIGHT, Move.LEFT);
+        List<Road> roads = new ArrayList<>();
+
+        for (Direction direction : Direction.values()) {
+            roads.add(new Road(direction, List.of(new TrafficLane(all), new TrafficLane(all))));
+        }
+
+        return new Simulation(roads);
+    }
+}
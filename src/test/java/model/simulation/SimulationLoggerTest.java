@@ -0,0 +1,136 @@
+package model.simulation;
+
+import model.enums.Direction;
+import model.enums.Lane;
+import model.enums.Move;
+import model.traffic.Car;
+import model.traffic.Road;
+import model.traffic.TrafficLane;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationLoggerTest {
+
+    @Test
+    void displayRoadStates_ListsLanesOfEachRoad() throws IOException {
+        // given
+        Simulation simulation = getSimulation();
+        StringWriter output = new StringWriter();
+        SimulationLogger logger = new SimulationLogger(simulation, output, 1, SimulationLogger.Mode.FULL);
+
+        simulation.addVehicle(new Car("vehicle1", Lane.SOUTH_STRAIGHT));
+        simulation.addVehicle(new Car("vehicle2", Lane.SOUTH_LEFT));
+
+        // when
+        logger.displayRoadStates();
+        logger.flush();
+
+        // then
+        assertEquals("""
+
+                CURRENT ROAD STATES
+
+
+                Road: NORTH
+
+                | ---: 0 | ---: 0 |
+
+                Road: SOUTH
+
+                | ---: 0 | SOUTH_LEFT: 1 | SOUTH_STRAIGHT: 1 |
+
+                ==================================
+
+                """, output.toString());
+    }
+
+    @Test
+    void diffMode_ListsOnlyChangedLanes() throws IOException {
+        // given
+        Simulation simulation = getSimulation();
+        StringWriter output = new StringWriter();
+        SimulationLogger logger = new SimulationLogger(simulation, output, 1, SimulationLogger.Mode.DIFF);
+
+        logger.displayRoadStates();
+        logger.flush();
+        output.getBuffer().setLength(0);
+
+        // when
+        simulation.subscribe(logger);
+        simulation.addVehicle(new Car("vehicle1", Lane.SOUTH_LEFT));
+        logger.flush();
+
+        // then
+        assertEquals("""
+                ==================================
+                ADD VEHICLE
+                ==================================
+
+                Added Vehicle:
+                Car[name=vehicle1, lane=SOUTH_LEFT]
+
+                CURRENT ROAD STATES
+
+
+                Road: SOUTH
+
+                | #1 SOUTH_LEFT: 1 |
+
+                ==================================
+
+                """, output.toString());
+    }
+
+    @Test
+    void sampling_LogsEveryNthStep() throws IOException {
+        // given
+        Simulation simulation = getSimulation();
+        StringWriter output = new StringWriter();
+        SimulationLogger logger = new SimulationLogger(simulation, output, 3, SimulationLogger.Mode.DIFF);
+        simulation.subscribe(logger);
+
+        // when
+        for (int stepId = 0; stepId < 7; stepId++) {
+            simulation.addVehicle(new Car("vehicle" + stepId, Lane.NORTH_RIGHT));
+            simulation.step();
+        }
+
+        logger.flush();
+
+        // then
+        String log = output.toString();
+
+        assertEquals(3, log.split("SIMULATION STEP", -1).length - 1);
+        assertFalse(log.contains("ADD VEHICLE"));
+        assertTrue(log.contains("Step: 0, vehicles added since previous entry: 1"));
+        assertTrue(log.contains("Step: 3, vehicles added since previous entry: 3"));
+        assertTrue(log.contains("Step: 6, vehicles added since previous entry: 3"));
+    }
+
+    @Test
+    void constructor_NonPositiveSampleInterval_ThrowsIllegalArgumentException() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new SimulationLogger(getSimulation(), new StringWriter(), 0, SimulationLogger.Mode.FULL)
+        );
+    }
+
+    private static Simulation getSimulation() {
+        Set<Move> all = Set.of(Move.STRAIGHT, Move.RIGHT, Move.LEFT);
+
+        return new Simulation(List.of(
+                new Road(Direction.NORTH, List.of(new TrafficLane(all), new TrafficLane(all))),
+                new Road(Direction.SOUTH, List.of(
+                        new TrafficLane(Set.of(Move.STRAIGHT)),
+                        new TrafficLane(Set.of(Move.LEFT)),
+                        new TrafficLane(Set.of(Move.RIGHT))
+                ))
+        ));
+    }
+}
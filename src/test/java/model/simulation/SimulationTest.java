@@ -1,16 +1,33 @@
 package model.simulation;
 
+import model.commands.AddVehicle;
+import model.commands.Command;
+import model.commands.StepMany;
 import model.enums.Direction;
 import model.enums.Lane;
 import model.enums.Move;
+import model.graphs.BitsetPhaseSolver;
+import model.graphs.BronKerboschPhaseSolver;
+import model.graphs.PhaseSolver;
+import model.graphs.PhaseTableSolver;
+import model.traffic.CapacityPolicy;
 import model.traffic.Car;
+import model.traffic.FileOverflowStore;
+import model.traffic.OverflowStore;
 import model.traffic.Road;
 import model.traffic.TrafficLane;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -164,6 +181,541 @@ class SimulationTest {
         assertEquals(Set.of(car2, car3, car4, car5, car7), new HashSet<>(leftAfterStep1));
     }
 
+    @Test
+    void simulation_ExactPhaseSolversGiveTheSameResult() {
+        List<PhaseSolver> solvers = List.of(
+                new BronKerboschPhaseSolver(),
+                new BitsetPhaseSolver(),
+                new PhaseTableSolver()
+        );
+
+        for (PhaseSolver solver : solvers) {
+            // given
+            Simulation simulation = getMultipleLanesForMultipleDirectionsSimulation(solver);
+            Car car1 = new Car("vehicle1", Lane.stringToLane("north", "east"));
+            Car car2 = new Car("vehicle2", Lane.stringToLane("east", "north"));
+            Car car3 = new Car("vehicle3", Lane.stringToLane("east", "west"));
+            Car car4 = new Car("vehicle4", Lane.stringToLane("south", "east"));
+            Car car5 = new Car("vehicle5", Lane.stringToLane("south", "east"));
+            Car car6 = new Car("vehicle6", Lane.stringToLane("south", "north"));
+            Car car7 = new Car("vehicle7", Lane.stringToLane("west", "south"));
+            Car car8 = new Car("vehicle8", Lane.stringToLane("west", "east"));
+            Car car9 = new Car("vehicle9", Lane.stringToLane("west", "north"));
+
+            // when
+            List.of(car1, car2, car3, car4, car5, car6, car7, car8, car9).forEach(simulation::addVehicle);
+            List<Car> leftAfterStep1 = simulation.step();
+
+            // then
+            assertEquals(Set.of(car2, car3, car4, car5, car7), new HashSet<>(leftAfterStep1));
+        }
+    }
+
+    @Test
+    void simulation_ReusesPhaseWhileLaneWeightsDoNotChange() {
+        // given
+        BronKerboschPhaseSolver bronKerboschPhaseSolver = new BronKerboschPhaseSolver();
+        int[] solverCalls = {0};
+        PhaseSolver countingPhaseSolver = vertices -> {
+            solverCalls[0]++;
+            return bronKerboschPhaseSolver.findMaximumWeightClique(vertices);
+        };
+        Simulation simulation = getSingleLanesSimulation(countingPhaseSolver);
+
+        Car car1 = new Car("vehicle1", Lane.stringToLane("south", "north"));
+        Car car2 = new Car("vehicle2", Lane.stringToLane("south", "north"));
+        Car car3 = new Car("vehicle3", Lane.stringToLane("south", "north"));
+        Car car4 = new Car("vehicle4", Lane.stringToLane("south", "west"));
+
+        // when
+        simulation.addVehicle(car1);
+        simulation.addVehicle(car2);
+        simulation.addVehicle(car3);
+        simulation.addVehicle(car4);
+
+        List<Car> leftAfterStep1 = simulation.step();
+        List<Car> leftAfterStep2 = simulation.step();
+        List<Car> leftAfterStep3 = simulation.step();
+        int solverCallsAfterStraightCars = solverCalls[0];
+        List<Car> leftAfterStep4 = simulation.step();
+        List<Car> leftAfterStep5 = simulation.step();
+
+        // then
+        assertEquals(List.of(car1), leftAfterStep1);
+        assertEquals(List.of(car2), leftAfterStep2);
+        assertEquals(List.of(car3), leftAfterStep3);
+        assertEquals(List.of(car4), leftAfterStep4);
+        assertEquals(List.of(), leftAfterStep5);
+
+        assertEquals(1, solverCallsAfterStraightCars);
+        assertEquals(3, solverCalls[0]);
+    }
+
+    @Test
+    void step_BufferVariantReturnsTheSameCars() {
+        // given
+        Simulation simulation = getMultipleLanesForMultipleDirectionsSimulation(new PhaseTableSolver());
+        DepartureBuffer departures = new DepartureBuffer(1);
+        Car car1 = new Car("vehicle1", Lane.stringToLane("south", "north"));
+        Car car2 = new Car("vehicle2", Lane.stringToLane("north", "south"));
+        Car car3 = new Car("vehicle3", Lane.stringToLane("south", "east"));
+
+        // when
+        simulation.addVehicle(car1);
+        simulation.addVehicle(car2);
+        simulation.addVehicle(car3);
+
+        int leftCount = simulation.step(departures);
+
+        // then
+        assertEquals(3, leftCount);
+        assertEquals(Set.of(car1, car2, car3), new HashSet<>(departures.toList()));
+        assertEquals(0, simulation.step(departures));
+        assertEquals(0, departures.size());
+    }
+
+    @Test
+    void step_BufferVariantDoesNotAllocateAfterWarmUp() {
+        // given
+        Simulation simulation = getMultipleLanesForMultipleDirectionsSimulation(new PhaseTableSolver());
+        DepartureBuffer departures = new DepartureBuffer();
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Random random = new Random(1);
+        Lane[] lanes = Lane.values();
+
+        for (int carId = 0; carId < 40000; carId++) {
+            simulation.addVehicle(new Car("vehicle" + carId, lanes[random.nextInt(lanes.length)]));
+        }
+
+        for (int stepId = 0; stepId < 3000; stepId++) {
+            simulation.step(departures);
+        }
+
+        // when
+        // JIT compilation can occasionally allocate on the stepping thread, so the lowest of a few rounds is checked
+        long minimumAllocatedBytes = Long.MAX_VALUE;
+
+        for (int round = 0; round < 5; round++) {
+            long allocatedBefore = threadMXBean.getCurrentThreadAllocatedBytes();
+
+            for (int stepId = 0; stepId < 1000; stepId++) {
+                simulation.step(departures);
+            }
+
+            long allocatedAfter = threadMXBean.getCurrentThreadAllocatedBytes();
+            minimumAllocatedBytes = Math.min(minimumAllocatedBytes, allocatedAfter - allocatedBefore);
+        }
+
+        // then
+        assertEquals(0, minimumAllocatedBytes);
+    }
+
+    @Test
+    void stepMany_GivesTheSameResultsAsSingleSteps() {
+        // given
+        Simulation simulation = getMultipleLanesForMultipleDirectionsSimulation(new PhaseTableSolver());
+        Simulation referenceSimulation = getMultipleLanesForMultipleDirectionsSimulation(new PhaseTableSolver());
+        List<List<Car>> observedSteps = new ArrayList<>();
+        simulation.subscribe(new SimulationObserver() {
+            @Override
+            public void notifySimulationStep(List<Car> carsLeavingCrossing) {
+                observedSteps.add(carsLeavingCrossing);
+            }
+
+            @Override
+            public void notifyAddVehicle(Car vehicle) {
+                /* empty */
+            }
+        });
+
+        Random random = new Random(21);
+        Lane[] lanes = Lane.values();
+        List<List<Car>> expectedSteps = new ArrayList<>();
+        List<List<Car>> actualSteps = new ArrayList<>();
+
+        // when
+        for (int round = 0; round < 50; round++) {
+            int carsCount = random.nextInt(30);
+
+            for (int carId = 0; carId < carsCount; carId++) {
+                Car car = new Car(String.format("vehicle%d_%d", round, carId), lanes[random.nextInt(lanes.length)]);
+                simulation.addVehicle(car);
+                referenceSimulation.addVehicle(car);
+            }
+
+            int stepsCount = random.nextInt(20);
+
+            for (int stepId = 0; stepId < stepsCount; stepId++) {
+                expectedSteps.add(referenceSimulation.step());
+            }
+
+            actualSteps.addAll(simulation.stepMany(stepsCount));
+        }
+
+        // then
+        assertEquals(expectedSteps, actualSteps);
+        assertEquals(expectedSteps, observedSteps);
+    }
+
+    @Test
+    void runUntilDrained_MovesAllCars() {
+        // given
+        Simulation simulation = getMultipleLanesForMultipleDirectionsSimulation(new PhaseTableSolver());
+        Simulation referenceSimulation = getMultipleLanesForMultipleDirectionsSimulation(new PhaseTableSolver());
+        Random random = new Random(8);
+        Lane[] lanes = Lane.values();
+
+        for (int carId = 0; carId < 500; carId++) {
+            Car car = new Car("vehicle" + carId, lanes[random.nextInt(lanes.length)]);
+            simulation.addVehicle(car);
+            referenceSimulation.addVehicle(car);
+        }
+
+        // when
+        int performedSteps = simulation.runUntilDrained();
+        int expectedSteps = 0;
+
+        while ( ! referenceSimulation.step().isEmpty()) {
+            expectedSteps++;
+        }
+
+        // then
+        assertEquals(expectedSteps, performedSteps);
+        assertEquals(List.of(), simulation.step());
+        assertEquals(0, simulation.runUntilDrained());
+    }
+
+    @Test
+    void stepMany_EmptySimulation() {
+        Simulation simulation = getSingleLanesSimulation();
+
+        assertEquals(List.of(List.of(), List.of(), List.of()), simulation.stepMany(3));
+        assertThrows(IllegalArgumentException.class, () -> simulation.stepMany(-1));
+    }
+
+    @Test
+    void subscribe_BatchingObserverReceivesTheSameEventsInBatches() {
+        // given
+        Simulation simulation = getMultipleLanesForMultipleDirectionsSimulation(new PhaseTableSolver());
+        List<String> expectedEvents = new ArrayList<>();
+        List<String> batchedEvents = new ArrayList<>();
+        List<Integer> batchSizes = new ArrayList<>();
+
+        simulation.subscribe(new SimulationObserver() {
+            @Override
+            public void notifySimulationStep(List<Car> carsLeavingCrossing) {
+                expectedEvents.add("step " + carsLeavingCrossing.stream().map(Car::name).toList());
+            }
+
+            @Override
+            public void notifyAddVehicle(Car vehicle) {
+                expectedEvents.add("add " + vehicle.name());
+            }
+        });
+        simulation.subscribe(new BatchingSimulationObserver() {
+            @Override
+            public void notifyBatch(SimulationEventBatch batch) {
+                batchSizes.add(batch.getStepsCount() + batch.getArrivalsCount());
+                int arrivalId = 0;
+                int departureId = 0;
+
+                for (long stepIndex = batch.getFirstStepIndex();
+                     stepIndex <= batch.getFirstStepIndex() + batch.getStepsCount(); stepIndex++) {
+                    while (arrivalId < batch.getArrivalsCount() && batch.getArrivalStep(arrivalId) == stepIndex) {
+                        batchedEvents.add("add " + batch.getArrival(arrivalId++).name());
+                    }
+
+                    if (stepIndex == batch.getFirstStepIndex() + batch.getStepsCount()) {
+                        break;
+                    }
+
+                    List<String> leftVehicles = new ArrayList<>();
+
+                    while (departureId < batch.getDeparturesCount()
+                            && batch.getDepartureStep(departureId) == stepIndex) {
+                        leftVehicles.add(batch.getDepartureName(departureId++));
+                    }
+
+                    batchedEvents.add("step " + leftVehicles);
+                }
+            }
+
+            @Override
+            public void notifySimulationStep(List<Car> carsLeavingCrossing) {
+                throw new IllegalStateException("Batching observer notified about single step!!!");
+            }
+
+            @Override
+            public void notifyAddVehicle(Car vehicle) {
+                throw new IllegalStateException("Batching observer notified about single vehicle!!!");
+            }
+        });
+        simulation.setEventBatchSize(64);
+
+        Random random = new Random(3);
+        Lane[] lanes = Lane.values();
+        List<Command> commands = new ArrayList<>();
+
+        for (int commandId = 0; commandId < 2_000; commandId++) {
+            commands.add(random.nextInt(3) == 0
+                    ? new StepMany(random.nextInt(4))
+                    : new AddVehicle("vehicle" + commandId, lanes[random.nextInt(lanes.length)]));
+        }
+
+        // when
+        new SimulationRunner(simulation).runCommands(commands);
+        simulation.step();
+
+        // then
+        assertEquals(expectedEvents, batchedEvents);
+        assertTrue(batchSizes.size() < expectedEvents.size() / 32);
+        assertTrue(batchSizes.stream().allMatch(batchSize -> batchSize <= 64));
+        assertEquals(Integer.valueOf(1), batchSizes.get(batchSizes.size() - 1));
+    }
+
+    @Test
+    void runSimulation_PerformsPendingStepsBeforeDecodingError() {
+        // given
+        Simulation simulation = getSingleLanesSimulation();
+        List<Map<String, String>> commands = List.of(
+                Map.of("type", "addVehicle", "vehicleId", "vehicle1", "startRoad", "south", "endRoad", "north"),
+                Map.of("type", "step"),
+                Map.of("type", "unknown")
+        );
+
+        // when
+        assertThrows(IllegalArgumentException.class, () -> new SimulationRunner(simulation).runSimulation(commands));
+        List<Car> leftAfterFailure = simulation.step();
+
+        // then
+        assertEquals(List.of(), leftAfterFailure);
+    }
+
+    @Test
+    void addVehicleConcurrently_NoCarLostOrDuplicatedUnderContention() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            // given
+            Simulation simulation = getMultipleLanesForMultipleDirectionsSimulation(new PhaseTableSolver());
+            int producersCount = 8;
+            int carsPerProducer = 20_000;
+            List<String> addedCars = new ArrayList<>();
+            List<String> departedCars = new ArrayList<>();
+
+            simulation.subscribe(new SimulationObserver() {
+                @Override
+                public void notifySimulationStep(List<Car> carsLeavingCrossing) {
+                    carsLeavingCrossing.forEach(car -> departedCars.add(car.name()));
+                }
+
+                @Override
+                public void notifyAddVehicle(Car vehicle) {
+                    addedCars.add(vehicle.name());
+                }
+            });
+            simulation.enableConcurrentIngestion();
+
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> producers = new ArrayList<>();
+            Lane[] lanes = Lane.values();
+
+            for (int producerId = 0; producerId < producersCount; producerId++) {
+                int id = producerId;
+                producers.add(Thread.ofPlatform().start(() -> {
+                    Random random = new Random(id);
+                    awaitUninterruptibly(start);
+
+                    for (int carId = 0; carId < carsPerProducer; carId++) {
+                        Lane lane = lanes[random.nextInt(lanes.length)];
+                        simulation.addVehicleConcurrently(new Car(String.format("vehicle%d_%d", id, carId), lane));
+                    }
+                }));
+            }
+
+            // when
+            start.countDown();
+
+            while (producers.stream().anyMatch(Thread::isAlive)) {
+                simulation.step();
+            }
+
+            for (Thread producer : producers) {
+                producer.join();
+            }
+
+            simulation.runUntilDrained();
+
+            // then
+            int carsCount = producersCount * carsPerProducer;
+
+            assertEquals(carsCount, addedCars.size());
+            assertEquals(carsCount, new HashSet<>(addedCars).size());
+            assertEquals(carsCount, departedCars.size());
+            assertEquals(new HashSet<>(addedCars), new HashSet<>(departedCars));
+            assertEquals(List.of(), simulation.step());
+        });
+    }
+
+    @Test
+    void addVehicleConcurrently_NotEnabled_ThrowsIllegalStateException() {
+        Simulation simulation = getSingleLanesSimulation();
+
+        assertThrows(
+                IllegalStateException.class,
+                () -> simulation.addVehicleConcurrently(new Car("vehicle1", Lane.SOUTH_LEFT))
+        );
+    }
+
+    @Test
+    void addVehicle_NotifiesObserversAboutRejectedVehicles() {
+        // given
+        Simulation simulation = getBoundedNorthRoadSimulation(CapacityPolicy.REJECT, null);
+        List<Car> addedCars = new ArrayList<>();
+        List<Car> rejectedCars = new ArrayList<>();
+        simulation.subscribe(new SimulationObserver() {
+            @Override
+            public void notifySimulationStep(List<Car> carsLeavingCrossing) {
+            }
+
+            @Override
+            public void notifyAddVehicle(Car vehicle) {
+                addedCars.add(vehicle);
+            }
+
+            @Override
+            public void notifyVehicleRejected(Car vehicle) {
+                rejectedCars.add(vehicle);
+            }
+        });
+        Car car1 = new Car("vehicle1", Lane.stringToLane("north", "south"));
+        Car car2 = new Car("vehicle2", Lane.stringToLane("north", "south"));
+        Car car3 = new Car("vehicle3", Lane.stringToLane("north", "south"));
+
+        // when
+        simulation.addVehicle(car1);
+        simulation.addVehicle(car2);
+        simulation.addVehicle(car3);
+
+        // then
+        assertEquals(List.of(car1, car2), addedCars);
+        assertEquals(List.of(car3), rejectedCars);
+        assertEquals(List.of(car1), simulation.step());
+        assertEquals(List.of(car2), simulation.step());
+        assertEquals(List.of(), simulation.step());
+    }
+
+    @Test
+    void addVehicle_VehiclesAddedConcurrentlyCountAgainstCapacity() {
+        // given
+        Simulation simulation = getBoundedNorthRoadSimulation(CapacityPolicy.REJECT, null);
+        List<Car> rejectedCars = new ArrayList<>();
+        simulation.subscribe(new SimulationObserver() {
+            @Override
+            public void notifySimulationStep(List<Car> carsLeavingCrossing) {
+            }
+
+            @Override
+            public void notifyAddVehicle(Car vehicle) {
+            }
+
+            @Override
+            public void notifyVehicleRejected(Car vehicle) {
+                rejectedCars.add(vehicle);
+            }
+        });
+        simulation.enableConcurrentIngestion();
+        Car car1 = new Car("vehicle1", Lane.stringToLane("north", "south"));
+        Car car2 = new Car("vehicle2", Lane.stringToLane("north", "south"));
+        Car car3 = new Car("vehicle3", Lane.stringToLane("north", "south"));
+        Car car4 = new Car("vehicle4", Lane.stringToLane("north", "south"));
+
+        // when
+        simulation.addVehicleConcurrently(car1);
+        simulation.addVehicleConcurrently(car2);
+        simulation.addVehicle(car3);
+        simulation.addVehicle(car4);
+        simulation.stepMany(0);
+
+        // then
+        assertEquals(List.of(car3, car4), rejectedCars);
+        assertEquals(2, simulation.snapshot().roads().get(Direction.NORTH).getFirst().size());
+        assertThrows(IllegalStateException.class, () -> simulation.addVehicleConcurrently(car3));
+        assertEquals(List.of(car1), simulation.step());
+    }
+
+    @Test
+    void runUntilDrained_MovesSpilledVehiclesThroughCrossing() throws IOException {
+        try (FileOverflowStore overflowStore = new FileOverflowStore()) {
+            // given
+            Simulation simulation = getBoundedNorthRoadSimulation(CapacityPolicy.SPILL, overflowStore);
+            List<Car> cars = new ArrayList<>();
+            List<Car> leftCars = new ArrayList<>();
+            simulation.subscribe(new SimulationObserver() {
+                @Override
+                public void notifySimulationStep(List<Car> carsLeavingCrossing) {
+                    leftCars.addAll(carsLeavingCrossing);
+                }
+
+                @Override
+                public void notifyAddVehicle(Car vehicle) {
+                }
+            });
+
+            for (int i = 0; i < 10; i++) {
+                cars.add(new Car("vehicle" + i, Lane.stringToLane("north", "south")));
+            }
+
+            // when
+            cars.forEach(simulation::addVehicle);
+            int performedSteps = simulation.runUntilDrained();
+
+            // then
+            assertEquals(10, performedSteps);
+            assertEquals(cars, leftCars);
+            assertEquals(0, overflowStore.size());
+        }
+    }
+
+    @Test
+    void stepMany_WithSpilledVehiclesGivesTheSameResultAsStep() throws IOException {
+        Random random = new Random(25);
+        Lane[] lanes = Lane.values();
+        List<Car> cars = new ArrayList<>();
+
+        for (int i = 0; i < 200; i++) {
+            cars.add(new Car("vehicle" + i, lanes[random.nextInt(lanes.length)]));
+        }
+
+        try (FileOverflowStore overflowStore1 = new FileOverflowStore();
+             FileOverflowStore overflowStore2 = new FileOverflowStore()) {
+            // given
+            Simulation simulation1 = getBoundedNorthRoadSimulation(CapacityPolicy.SPILL, overflowStore1);
+            Simulation simulation2 = getBoundedNorthRoadSimulation(CapacityPolicy.SPILL, overflowStore2);
+            List<List<Car>> expectedSteps = new ArrayList<>();
+
+            // when
+            cars.forEach(simulation1::addVehicle);
+            cars.forEach(simulation2::addVehicle);
+
+            for (int i = 0; i < 150; i++) {
+                expectedSteps.add(simulation1.step());
+            }
+
+            List<List<Car>> steps = simulation2.stepMany(150);
+
+            // then
+            assertEquals(expectedSteps, steps);
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private static Simulation getSeparateLaneForEachDirectionSimulation() {
         Road roadNorth = new Road(
                 Direction.NORTH,
@@ -201,6 +753,10 @@ class SimulationTest {
 
     // Example 1 - Roads with single Lanes in README.md
     private static Simulation getSingleLanesSimulation() {
+        return getSingleLanesSimulation(new BronKerboschPhaseSolver());
+    }
+
+    private static Simulation getSingleLanesSimulation(PhaseSolver phaseSolver) {
         Road roadNorth = new Road(
                 Direction.NORTH,
                 List.of(
@@ -224,11 +780,15 @@ class SimulationTest {
 
         return new Simulation(List.of(
                 roadNorth, roadEast, roadSouth, roadWest
-        ));
+        ), phaseSolver);
     }
 
     // Example 2 - Roads with multiple Lanes in README.md
     private static Simulation getMultipleLanesForMultipleDirectionsSimulation() {
+        return getMultipleLanesForMultipleDirectionsSimulation(new BronKerboschPhaseSolver());
+    }
+
+    private static Simulation getMultipleLanesForMultipleDirectionsSimulation(PhaseSolver phaseSolver) {
         Road roadNorth = new Road(
                 Direction.NORTH,
                 List.of(
@@ -259,6 +819,34 @@ class SimulationTest {
                         new TrafficLane(left)
                 ));
 
+        return new Simulation(List.of(
+                roadNorth, roadEast, roadSouth, roadWest
+        ), phaseSolver);
+    }
+
+    private static Simulation getBoundedNorthRoadSimulation(CapacityPolicy capacityPolicy,
+                                                            OverflowStore overflowStore) {
+        Road roadNorth = new Road(
+                Direction.NORTH,
+                List.of(
+                        new TrafficLane(all, 2)
+                ), 2, capacityPolicy, overflowStore);
+        Road roadEast = new Road(
+                Direction.EAST,
+                List.of(
+                        new TrafficLane(all)
+                ));
+        Road roadSouth = new Road(
+                Direction.SOUTH,
+                List.of(
+                        new TrafficLane(all)
+                ));
+        Road roadWest = new Road(
+                Direction.WEST,
+                List.of(
+                        new TrafficLane(all)
+                ));
+
         return new Simulation(List.of(
                 roadNorth, roadEast, roadSouth, roadWest
         ));
@@ -0,0 +1,61 @@
+package model.traffic;
+
+import model.enums.Lane;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileOverflowStoreTest {
+
+    @Test
+    void poll_ReturnsCarsInOrderTheyWerePushed() throws IOException {
+        // given
+        Lane[] lanes = Lane.values();
+        List<Car> cars = new ArrayList<>();
+
+        for (int i = 0; i < 5000; i++) {
+            cars.add(new Car("vehicle" + i, lanes[i % lanes.length]));
+        }
+
+        try (FileOverflowStore overflowStore = new FileOverflowStore()) {
+            // when
+            List<Car> polledCars = new ArrayList<>();
+
+            for (int i = 0; i < cars.size(); i++) {
+                overflowStore.push(cars.get(i));
+
+                if (i % 3 == 0) {
+                    polledCars.add(overflowStore.poll());
+                }
+            }
+
+            while ( ! overflowStore.isEmpty()) {
+                polledCars.add(overflowStore.poll());
+            }
+
+            // then
+            assertEquals(cars, polledCars);
+            assertNull(overflowStore.poll());
+        }
+    }
+
+    @Test
+    void peek_DoesNotRemoveCar() throws IOException {
+        try (FileOverflowStore overflowStore = new FileOverflowStore()) {
+            Car car = new Car("vehicle1", Lane.NORTH_LEFT);
+
+            assertNull(overflowStore.peek());
+
+            overflowStore.push(car);
+
+            assertEquals(car, overflowStore.peek());
+            assertEquals(1, overflowStore.size());
+            assertEquals(car, overflowStore.poll());
+            assertTrue(overflowStore.isEmpty());
+        }
+    }
+}
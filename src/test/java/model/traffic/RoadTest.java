@@ -5,9 +5,14 @@ import model.enums.Lane;
 import model.enums.Move;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -21,8 +26,9 @@ class RoadTest {
         Car car = new Car("", Lane.SOUTH_LEFT);
 
         Road road = new Road(Direction.SOUTH, List.of(lane1, lane2));
-        road.addCar(car);
+        TrafficLane choice = road.addCar(car);
 
+        assertSame(lane1, choice);
         assertEquals(1, lane1.size());
         assertEquals(0, lane2.size());
     }
@@ -45,6 +51,25 @@ class RoadTest {
         );
     }
 
+    @Test
+    void addCarConcurrently_QueuesCarToLeastLoadedTrafficLane() {
+        TrafficLane lane1 = new TrafficLane(ALL);
+        TrafficLane lane2 = new TrafficLane(ALL);
+        lane1.enableConcurrentIngestion();
+        lane2.enableConcurrentIngestion();
+        Road road = new Road(Direction.SOUTH, List.of(lane1, lane2));
+
+        assertSame(lane1, road.addCarConcurrently(new Car("vehicle1", Lane.SOUTH_LEFT)));
+        assertSame(lane2, road.addCarConcurrently(new Car("vehicle2", Lane.SOUTH_LEFT)));
+        assertSame(lane1, road.addCarConcurrently(new Car("vehicle3", Lane.SOUTH_LEFT)));
+
+        assertEquals(2, lane1.load());
+        assertEquals(0, lane1.size());
+        assertEquals(new Car("vehicle1", Lane.SOUTH_LEFT), lane1.acceptInboundCar());
+        assertEquals(1, lane1.size());
+        assertEquals(2, lane1.load());
+    }
+
     @Test
     void getLaneMapping_ReturnsCorrectMapping() {
         TrafficLane lane1 = new TrafficLane(Set.of(Move.STRAIGHT));
@@ -82,4 +107,173 @@ class RoadTest {
         assertEquals(1, laneMapping.size());
         assertTrue(laneMapping.get(Lane.SOUTH_RIGHT).contains(lane1));
     }
+
+    @Test
+    void offerCar_RejectsCarWhenRoadIsFull() {
+        TrafficLane lane1 = new TrafficLane(ALL);
+        TrafficLane lane2 = new TrafficLane(ALL);
+        Road road = new Road(Direction.SOUTH, List.of(lane1, lane2), 2, CapacityPolicy.REJECT);
+        Car rejectedCar = new Car("vehicle3", Lane.SOUTH_LEFT);
+
+        assertNull(road.offerCar(new Car("vehicle1", Lane.SOUTH_LEFT)));
+        assertNull(road.offerCar(new Car("vehicle2", Lane.SOUTH_LEFT)));
+        assertSame(rejectedCar, road.offerCar(rejectedCar));
+
+        assertEquals(1, lane1.size());
+        assertEquals(1, lane2.size());
+    }
+
+    @Test
+    void offerCar_DropsOldestCarOfFullTrafficLane() {
+        TrafficLane lane = new TrafficLane(ALL, 2);
+        Road road = new Road(Direction.SOUTH, List.of(lane), Road.UNLIMITED_CAPACITY, CapacityPolicy.DROP_OLDEST);
+
+        road.offerCar(new Car("vehicle1", Lane.SOUTH_LEFT));
+        road.offerCar(new Car("vehicle2", Lane.SOUTH_STRAIGHT));
+        Car droppedCar = road.offerCar(new Car("vehicle3", Lane.SOUTH_RIGHT));
+
+        assertEquals(new Car("vehicle1", Lane.SOUTH_LEFT), droppedCar);
+        assertEquals(2, lane.size());
+        assertEquals("vehicle2", lane.currentCarName());
+    }
+
+    @Test
+    void offerCar_DropsFirstCarOfLongestLaneWhenRoadIsFull() {
+        TrafficLane straightLane = new TrafficLane(Set.of(Move.STRAIGHT));
+        TrafficLane leftLane = new TrafficLane(Set.of(Move.LEFT));
+        Road road = new Road(Direction.SOUTH, List.of(straightLane, leftLane), 2, CapacityPolicy.DROP_OLDEST);
+
+        road.offerCar(new Car("vehicle1", Lane.SOUTH_STRAIGHT));
+        road.offerCar(new Car("vehicle2", Lane.SOUTH_STRAIGHT));
+        Car droppedCar = road.offerCar(new Car("vehicle3", Lane.SOUTH_LEFT));
+
+        assertEquals(new Car("vehicle1", Lane.SOUTH_STRAIGHT), droppedCar);
+        assertEquals("vehicle2", straightLane.currentCarName());
+        assertEquals("vehicle3", leftLane.currentCarName());
+    }
+
+    @Test
+    void offerCar_RejectsCarWhenOnlyQueuedCarsCouldBeDropped() {
+        TrafficLane lane = new TrafficLane(ALL, 2);
+        Road road = new Road(Direction.SOUTH, List.of(lane), 2, CapacityPolicy.DROP_OLDEST);
+        road.enableConcurrentIngestion();
+        Car rejectedCar = new Car("vehicle3", Lane.SOUTH_LEFT);
+
+        road.addCarConcurrently(new Car("vehicle1", Lane.SOUTH_LEFT));
+        road.addCarConcurrently(new Car("vehicle2", Lane.SOUTH_LEFT));
+
+        assertSame(rejectedCar, road.offerCar(rejectedCar));
+
+        lane.acceptInboundCar();
+
+        assertEquals(new Car("vehicle1", Lane.SOUTH_LEFT), road.offerCar(new Car("vehicle4", Lane.SOUTH_LEFT)));
+
+        lane.acceptInboundCar();
+
+        assertEquals(2, lane.size());
+        assertEquals(2, lane.load());
+        assertEquals("vehicle4", lane.currentCarName());
+    }
+
+    @Test
+    void offerCar_SpillsCarsAndRefillsThemInOrder() throws IOException {
+        TrafficLane lane = new TrafficLane(ALL, 1);
+
+        try (FileOverflowStore overflowStore = new FileOverflowStore()) {
+            Road road = new Road(Direction.SOUTH, List.of(lane), 1, CapacityPolicy.SPILL, overflowStore);
+
+            for (int i = 1; i <= 3; i++) {
+                assertNull(road.offerCar(new Car("vehicle" + i, Lane.SOUTH_LEFT)));
+            }
+
+            assertEquals(1, lane.size());
+            assertEquals(2, road.getSpilledCarsCount());
+            assertEquals(0, road.refillFromOverflowStore());
+
+            lane.removeFirstCar();
+
+            assertEquals(1, road.refillFromOverflowStore());
+            assertEquals("vehicle2", lane.currentCarName());
+            assertEquals(1, road.getSpilledCarsCount());
+        }
+    }
+
+    @Test
+    void addCarConcurrently_RoadCapacityHoldsUnderContention() {
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            List<TrafficLane> lanes = List.of(new TrafficLane(ALL), new TrafficLane(ALL), new TrafficLane(ALL));
+            Road road = new Road(Direction.SOUTH, lanes, 100, CapacityPolicy.REJECT);
+            road.enableConcurrentIngestion();
+            AtomicInteger queuedCount = new AtomicInteger();
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> producers = new ArrayList<>();
+
+            for (int producerId = 0; producerId < 8; producerId++) {
+                int firstCarId = producerId * 1_000;
+                producers.add(Thread.ofPlatform().start(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException exception) {
+                        return;
+                    }
+
+                    for (int carId = firstCarId; carId < firstCarId + 1_000; carId++) {
+                        try {
+                            road.addCarConcurrently(new Car("vehicle" + carId, Lane.SOUTH_LEFT));
+                            queuedCount.incrementAndGet();
+                        } catch (IllegalStateException exception) {
+                            // road is full
+                        }
+                    }
+                }));
+            }
+
+            start.countDown();
+
+            for (Thread producer : producers) {
+                producer.join();
+            }
+
+            assertEquals(100, queuedCount.get());
+            assertEquals(100, lanes.stream().mapToInt(TrafficLane::load).sum());
+
+            lanes.getFirst().acceptInboundCar();
+            lanes.getFirst().removeFirstCar();
+
+            assertNotNull(road.addCarConcurrently(new Car("vehicle", Lane.SOUTH_LEFT)));
+            assertThrows(IllegalStateException.class, () -> road.addCarConcurrently(new Car("", Lane.SOUTH_LEFT)));
+        });
+    }
+
+    @Test
+    void addCarConcurrently_RejectsCarsWhileRoadHasSpilledCars() throws IOException {
+        TrafficLane lane = new TrafficLane(ALL, 2);
+
+        try (FileOverflowStore overflowStore = new FileOverflowStore()) {
+            Road road = new Road(Direction.SOUTH, List.of(lane), 2, CapacityPolicy.SPILL, overflowStore);
+            road.enableConcurrentIngestion();
+
+            for (int i = 1; i <= 3; i++) {
+                assertNull(road.offerCar(new Car("vehicle" + i, Lane.SOUTH_LEFT)));
+            }
+
+            lane.removeFirstCar();
+
+            assertThrows(IllegalStateException.class, () -> road.addCarConcurrently(new Car("", Lane.SOUTH_LEFT)));
+            assertEquals(1, road.refillFromOverflowStore());
+
+            lane.removeFirstCar();
+
+            assertSame(lane, road.addCarConcurrently(new Car("vehicle4", Lane.SOUTH_LEFT)));
+            assertEquals("vehicle3", lane.currentCarName());
+        }
+    }
+
+    @Test
+    void constructor_ThrowsExceptionWhenSpillPolicyHasNoOverflowStore() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new Road(Direction.SOUTH, List.of(new TrafficLane(ALL)), 10, CapacityPolicy.SPILL)
+        );
+    }
 }
@@ -4,6 +4,8 @@ import model.enums.Lane;
 import model.enums.Move;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -36,6 +38,34 @@ class TrafficLaneTest {
         assertEquals(Optional.empty(), trafficLane.currentLaneType());
     }
 
+    @Test
+    void currentLaneOrdinal_ReturnsOrdinalOfFirstCarLane() {
+        TrafficLane trafficLane = new TrafficLane(Set.of(Move.STRAIGHT, Move.LEFT));
+
+        assertEquals(-1, trafficLane.currentLaneOrdinal());
+
+        trafficLane.addCar(new Car("", Lane.NORTH_LEFT));
+        trafficLane.addCar(new Car("", Lane.NORTH_STRAIGHT));
+
+        assertEquals(Lane.NORTH_LEFT.ordinal(), trafficLane.currentLaneOrdinal());
+    }
+
+    @Test
+    void countLeadingCarsOfCurrentLaneType_StopsAtOtherLaneTypeOrLimit() {
+        TrafficLane trafficLane = new TrafficLane(Set.of(Move.STRAIGHT, Move.LEFT));
+
+        assertEquals(0, trafficLane.countLeadingCarsOfCurrentLaneType(10));
+
+        trafficLane.addCar(new Car("", Lane.NORTH_LEFT));
+        trafficLane.addCar(new Car("", Lane.NORTH_LEFT));
+        trafficLane.addCar(new Car("", Lane.NORTH_LEFT));
+        trafficLane.addCar(new Car("", Lane.NORTH_STRAIGHT));
+        trafficLane.addCar(new Car("", Lane.NORTH_LEFT));
+
+        assertEquals(3, trafficLane.countLeadingCarsOfCurrentLaneType(10));
+        assertEquals(2, trafficLane.countLeadingCarsOfCurrentLaneType(2));
+    }
+
     @Test
     void addCar_IncreasesQueueSize() {
         TrafficLane trafficLane = new TrafficLane(Set.of(Move.STRAIGHT));
@@ -67,4 +97,37 @@ class TrafficLaneTest {
                 () -> trafficLane.moveFirstCar()
         );
     }
+
+    @Test
+    void moveFirstCar_KeepsOrderWhenQueueGrowsAfterRemovals() {
+        TrafficLane trafficLane = new TrafficLane(Set.of(Move.STRAIGHT, Move.LEFT));
+        List<Car> expectedCars = new ArrayList<>();
+
+        for (int carId = 0; carId < 5; carId++) {
+            trafficLane.addCar(new Car("vehicle" + carId, Lane.NORTH_STRAIGHT));
+        }
+
+        for (int carId = 0; carId < 3; carId++) {
+            trafficLane.moveFirstCar();
+        }
+
+        expectedCars.add(new Car("vehicle3", Lane.NORTH_STRAIGHT));
+        expectedCars.add(new Car("vehicle4", Lane.NORTH_STRAIGHT));
+
+        for (int carId = 5; carId < 40; carId++) {
+            Car car = new Car("vehicle" + carId, carId % 2 == 0 ? Lane.NORTH_STRAIGHT : Lane.NORTH_LEFT);
+            trafficLane.addCar(car);
+            expectedCars.add(car);
+        }
+
+        assertEquals(expectedCars.size(), trafficLane.size());
+        assertEquals("vehicle3", trafficLane.currentCarName());
+
+        for (Car expectedCar : expectedCars) {
+            assertEquals(expectedCar, trafficLane.moveFirstCar());
+        }
+
+        assertEquals(0, trafficLane.size());
+        assertThrows(IllegalStateException.class, () -> trafficLane.removeFirstCar());
+    }
 }